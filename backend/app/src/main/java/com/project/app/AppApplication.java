@@ -1,9 +1,14 @@
 package com.project.app;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 
@@ -26,13 +31,29 @@ public class AppApplication {
 		SpringApplication.run(AppApplication.class, args);
 	}
 
+	/**
+	 * 외부 API 공용 HTTP 클라이언트 (JDK HttpClient)
+	 * HTTP/1.1 keep-alive 연결 풀을 애플리케이션 전체가 함께 사용합니다 (온비드 호출은 OnbidHttpClient 를 거칩니다)
+	 */
+	@Bean
+	public HttpClient httpClient(@Value("${onbid.http.connect-timeout-ms:5000}") long connectTimeoutMillis) {
+		return HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+	}
+
 	/**
 	 * RestTemplate Bean 등록
-	 * 외부 API를 호출할 때 사용하는 HTTP 클라이언트 도구
+	 * 외부 API를 호출할 때 사용하는 HTTP 클라이언트 도구 (공용 HttpClient 의 연결 풀과 시간 제한 사용)
 	 */
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(HttpClient httpClient,
+			@Value("${onbid.http.read-timeout-ms:60000}") long readTimeoutMillis) {
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+		return new RestTemplate(requestFactory);
 	}
 	
 	/**
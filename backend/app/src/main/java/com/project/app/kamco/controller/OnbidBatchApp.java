@@ -1,37 +1,33 @@
 package com.project.app.kamco.controller;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import javax.sql.DataSource;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+
+import com.project.app.kamco.dto.OnbidBatchJobStatus;
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidBatchRunStatsDto;
+import com.project.app.kamco.dto.OnbidLoadMode;
+import com.project.app.kamco.service.OnbidBatchJob;
+import com.project.app.kamco.service.OnbidBatchJobManager;
+import com.project.app.kamco.service.OnbidBatchService;
+import com.project.app.kamco.service.OnbidIngestJobLauncher;
+import com.project.app.kamco.service.OnbidPageArchive;
 
 @SpringBootApplication
 @RestController
@@ -39,10 +35,16 @@ import org.w3c.dom.NodeList;
 public class OnbidBatchApp implements CommandLineRunner {
 
     @Autowired
-    private DataSource dataSource;
+    private OnbidBatchService onbidBatchService;
+
+    @Autowired
+    private OnbidBatchJobManager onbidBatchJobManager;
+
+    @Autowired
+    private OnbidIngestJobLauncher onbidIngestJobLauncher;
 
-	@Value("${onbid.api.service-key}")
-	private String onbidApiServiceKey;
+    @Autowired
+    private OnbidPageArchive onbidPageArchive;
 
     public static void main(String[] args) {
         SpringApplication.run(OnbidBatchApp.class, args);
@@ -53,319 +55,194 @@ public class OnbidBatchApp implements CommandLineRunner {
         System.out.println("✅ OnbidBatchApp 실행 완료. /fetchOnbidData 호출로 데이터 적재 가능.");
     }
 
+    /**
+     * 적재가 끝날 때까지 기다렸다가 결과를 돌려주는 기존 호출 방식.
+     * 작업 실행기를 거치므로 이미 같은 적재가 진행 중이면 그 결과를 기다리고, 다른 적재와는 겹쳐 실행되지 않습니다.
+     * 요청 스레드를 붙잡지 않으려면 POST /batch/jobs 를 사용합니다.
+     */
     @GetMapping("/batch")
-    public String fetchAndInsertData() {
-    	
-    	Instant start = Instant.now(); 
-    	
-        int totalCount = 0;
+    public String fetchAndInsertData(@RequestParam(defaultValue = "FULL") OnbidLoadMode mode) {
         try {
-            // === 추가된 로직: 데이터 적재 전 테이블 초기화 ===
-            try (Connection conn = dataSource.getConnection();
-                 Statement stmt = conn.createStatement()) {
-                
-                System.out.println("🗑️ 기존 데이터 삭제 시작...");
-                int deletedRows = stmt.executeUpdate("DELETE FROM KAMCO_AUCTION_ITEMS");
-                //conn.commit(); 
-                System.out.println("🗑️ 기존 데이터 " + deletedRows + "건 삭제 완료 및 오토 커밋.");
-            }
-            // ===========================================
-
-            int currentPage = 1;
-            int totalPages = 10; // 테스트를 위해 1페이지만 가져오도록 제한
-
-            do {
-                System.out.println("📡 [페이지 " + currentPage + "] 데이터 수집 시작...");
-
-                String xmlResponse = fetchXmlFromApi(currentPage);
-                List<OnbidItem> list = parseXmlToList(xmlResponse);
-                System.out.println("📦 [페이지 " + currentPage + "] 파싱된 건수: " + list.size());
-
-                insertOnbidList(list);
-                totalCount += list.size();
-
-                Thread.sleep(1000); 
-                currentPage++;
-            } while (currentPage <= totalPages);
-
-         // --- 종료 시간 측정 및 경과 시간 계산 ---
-            Instant end = Instant.now();
-            Duration timeElapsed = Duration.between(start, end); // 두 Instant 사이의 Duration 계산
-            long seconds = timeElapsed.getSeconds();
-            long millis = timeElapsed.toMillis() % 1000;
-            // -------------------------------------
-
-            return "✅ 총 " + totalCount + "건 DB 적재 완료 (1~" + totalPages + "페이지). 소요 시간: " + seconds + "." + String.format("%03d", millis) + "초";
+            return describe(onbidBatchJobManager.start(mode).job().await());
         } catch (Exception e) {
             e.printStackTrace();
             return "❌ 오류 발생: " + e.getMessage();
         }
     }
 
-    private String fetchXmlFromApi(int pageNo) throws Exception {
-        String serviceKey = onbidApiServiceKey; 
-        
-        StringBuilder urlBuilder = new StringBuilder("http://openapi.onbid.co.kr/openapi/services/KamcoPblsalThingInquireSvc/getKamcoPbctCltrList");
-        urlBuilder.append("?" + URLEncoder.encode("serviceKey","UTF-8") + "=" + URLEncoder.encode(serviceKey, "UTF-8"));
-        urlBuilder.append("&" + URLEncoder.encode("numOfRows","UTF-8") + "=" + URLEncoder.encode("10000", "UTF-8"));
-        urlBuilder.append("&" + URLEncoder.encode("pageNo","UTF-8") + "=" + URLEncoder.encode(String.valueOf(pageNo), "UTF-8"));
-
-        URL url = new URL(urlBuilder.toString());
-        
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setRequestProperty("Content-type", "application/xml");
-
-        int responseCode = conn.getResponseCode();
-        BufferedReader rd;
-        if (responseCode >= 200 && responseCode <= 300) {
-            rd = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8));
-        } else {
-            rd = new BufferedReader(new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8));
-            System.err.println("❌ OpenAPI 호출 에러 코드: " + responseCode);
-            StringBuilder errorSb = new StringBuilder();
-            String errorLine;
-            while ((errorLine = rd.readLine()) != null) errorSb.append(errorLine);
-            System.err.println("❌ OpenAPI 에러 메시지: " + errorSb.toString());
-            throw new Exception("Failed to fetch XML from OpenAPI. Response Code: " + responseCode + ", Error: " + errorSb.toString());
+    /** 실패한 실행에서 완료되지 않은 페이지만 다시 적재 */
+    @PostMapping("/batch/runs/{runId}/resume")
+    public String resumeBatch(@PathVariable String runId) {
+        try {
+            return describe(onbidBatchJobManager.resume(runId).job().await());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "❌ 오류 발생: " + e.getMessage();
         }
-
-        StringBuilder sb = new StringBuilder();
-        String line;
-        while ((line = rd.readLine()) != null) sb.append(line);
-        rd.close();
-        conn.disconnect();
-        return sb.toString();
     }
 
-    private List<OnbidItem> parseXmlToList(String xmlResponse) throws Exception {
-        List<OnbidItem> list = new ArrayList<>();
-        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-        Document doc = dBuilder.parse(new java.io.ByteArrayInputStream(xmlResponse.getBytes(StandardCharsets.UTF_8)));
-        doc.getDocumentElement().normalize();
-
-        NodeList responseNodes = doc.getElementsByTagName("response");
-        if (responseNodes.getLength() == 0) {
-            System.err.println("XML 응답에서 <response> 태그를 찾을 수 없습니다.");
-            return list;
-        }
-
-        Element responseElement = (Element) responseNodes.item(0);
-        NodeList bodyNodes = responseElement.getElementsByTagName("body");
-        if (bodyNodes.getLength() == 0) {
-            System.err.println("XML 응답에서 <body> 태그를 찾을 수 없습니다.");
-            return list;
-        }
-        Element bodyElement = (Element) bodyNodes.item(0);
-
-        NodeList itemsNodes = bodyElement.getElementsByTagName("items");
-        if (itemsNodes.getLength() == 0) {
-            System.err.println("XML 응답에서 <items> 태그를 찾을 수 없습니다.");
-            return list;
+    /**
+     * 적재 작업 시작. 작업 ID 와 상태를 바로 돌려주며 진행률은 GET /batch/jobs/{jobId} 로 확인합니다.
+     * resumeRunId 를 주면 해당 실행을 재개하고, replayRunId 를 주면 보관된 페이지 원문으로 mode 적재를 합니다 (OpenAPI 호출 없음).
+     * 재생의 FULL/SHADOW 는 모든 페이지가 보관된 완료 실행만 가능하며, 그 외에는 INCREMENTAL(삭제 없는 MERGE)로 재생합니다.
+     * 다른 적재가 진행 중이면 409, 같은 적재가 진행 중이면 그 작업(attached=true)을 돌려줍니다.
+     */
+    @PostMapping("/batch/jobs")
+    public ResponseEntity<?> startBatchJob(@RequestParam(defaultValue = "FULL") OnbidLoadMode mode,
+            @RequestParam(required = false) String resumeRunId,
+            @RequestParam(required = false) String replayRunId) {
+        try {
+            OnbidBatchJobManager.Submission submission = resumeRunId != null ? onbidBatchJobManager.resume(resumeRunId)
+                    : replayRunId != null ? onbidBatchJobManager.replay(replayRunId, mode)
+                    : onbidBatchJobManager.start(mode);
+            OnbidBatchJobStatus status = submission.job().status();
+            status.setAttached(submission.attached());
+            return submission.attached() ? ResponseEntity.ok(status) : ResponseEntity.accepted().body(status);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
-        Element itemsElement = (Element) itemsNodes.item(0);
+    }
 
-        NodeList nList = itemsElement.getElementsByTagName("item");
+    /**
+     * 최근 적재 작업 실행 요약 (최신순). 단계별 시간, JDBC execute/commit 시간, rows/s 를 작업마다 한 행으로 보여줍니다.
+     * 실시간 지표는 /actuator/metrics/onbid.ingest.* 에서 확인합니다.
+     */
+    @GetMapping("/batch/stats")
+    public List<OnbidBatchRunStatsDto> getRunStats(@RequestParam(defaultValue = "20") int count) {
+        return onbidBatchService.recentRunStats(count);
+    }
 
-        if (nList.getLength() == 0) {
-             System.out.println("현재 페이지에 파싱할 <item> 요소가 없습니다.");
-             return list;
+    /** 보관된 페이지 원문 목록 (onbid.archive.enabled, 최신순) */
+    @GetMapping("/batch/archives")
+    public ResponseEntity<?> getArchivedRuns() {
+        try {
+            return ResponseEntity.ok(onbidPageArchive.list());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("보관 목록 조회 실패: " + e.getMessage());
         }
+    }
 
-        for (int i = 0; i < nList.getLength(); i++) {
-            Node nNode = nList.item(i);
-            if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-                Element e = (Element) nNode;
-                OnbidItem item = new OnbidItem();
-                
-                item.RNUM = getTagValue("RNUM", e);
-                item.PLNM_NO = getTagValue("PLNM_NO", e);
-                item.PBCT_NO = getTagValue("PBCT_NO", e);
-                item.PBCT_CDTN_NO = getTagValue("PBCT_CDTN_NO", e);
-                item.CLTR_NO = getTagValue("CLTR_NO", e);
-                item.CLTR_HSTR_NO = getTagValue("CLTR_HSTR_NO", e);
-                item.SCRN_GRP_CD = getTagValue("SCRN_GRP_CD", e);
-                item.CTGR_FULL_NM = getTagValue("CTGR_FULL_NM", e);
-                item.BID_MNMT_NO = getTagValue("BID_MNMT_NO", e);
-                item.CLTR_NM = getTagValue("CLTR_NM", e);
-                item.CLTR_MNMT_NO = getTagValue("CLTR_MNMT_NO", e);
-                item.LDNM_ADRS = getTagValue("LDNM_ADRS", e);
-                item.NMRD_ADRS = getTagValue("NMRD_ADRS", e);
-                item.LDNM_PNU = getTagValue("LDNM_PNU", e);
-                item.DPSL_MTD_CD = getTagValue("DPSL_MTD_CD", e);
-                item.DPSL_MTD_NM = getTagValue("DPSL_MTD_NM", e);
-                item.BID_MTD_NM = getTagValue("BID_MTD_NM", e);
-                item.MIN_BID_PRC = getTagValue("MIN_BID_PRC", e);
-                item.APSL_ASES_AVG_AMT = getTagValue("APSL_ASES_AVG_AMT", e);
-                item.FEE_RATE = getTagValue("FEE_RATE", e);
-                item.PBCT_BEGN_DTM = getTagValue("PBCT_BEGN_DTM", e);
-                item.PBCT_CLS_DTM = getTagValue("PBCT_CLS_DTM", e);
-                item.PBCT_CLTR_STAT_NM = getTagValue("PBCT_CLTR_STAT_NM", e);
-                item.USCBD_CNT = getTagValue("USCBD_CNT", e);
-                item.IQRY_CNT = getTagValue("IQRY_CNT", e);
-                item.GOODS_NM = getTagValue("GOODS_NM", e);
-                item.MANF = getTagValue("MANF", e);
-                item.MDL = getTagValue("MDL", e);
-                item.NRGT = getTagValue("NRGT", e);
-                item.GRBX = getTagValue("GRBX", e);
-                item.ENDPC = getTagValue("ENDPC", e);
-                item.VHCL_MLGE = getTagValue("VHCL_MLGE", e);
-                item.FUEL = getTagValue("FUEL", e);
-                item.SCRT_NM = getTagValue("SCRT_NM", e);
-                item.TPBZ = getTagValue("TPBZ", e);
-                item.ITM_NM = getTagValue("ITM_NM", e);
-                item.MMB_RGT_NM = getTagValue("MMB_RGT_NM", e);
-                
-                List<String> imageUrls = new ArrayList<>();
-                
-                NodeList cltrImgFilesNodeList = e.getElementsByTagName("CLTR_IMG_FILES");
-                
-                if (cltrImgFilesNodeList.getLength() > 0) {
-                    Element cltrImgFilesElement = (Element) cltrImgFilesNodeList.item(0);
-                    NodeList cltrImgFileNodes = cltrImgFilesElement.getElementsByTagName("CLTR_IMG_FILE");
+    /** 최근 적재 작업 목록 (최신순) */
+    @GetMapping("/batch/jobs")
+    public List<OnbidBatchJobStatus> getBatchJobs() {
+        return onbidBatchJobManager.recent().stream().map(OnbidBatchJob::status).toList();
+    }
 
-                    for (int k = 0; k < cltrImgFileNodes.getLength(); k++) {
-                        Node imgFileNode = cltrImgFileNodes.item(k);
-                        String imgUrl = imgFileNode.getTextContent().trim();
-                        // 유효한 URL인 경우에만 리스트에 추가합니다.
-                        if (!imgUrl.isEmpty() && (imgUrl.startsWith("https://") || imgUrl.startsWith("http://"))) {
-                            imageUrls.add(imgUrl);
-                        }
-                    }
-                }
-                
-                // 이미지 링크가 하나라도 있으면 콤마로 연결된 문자열로, 없으면 null로 저장
-                if (imageUrls.isEmpty()) {
-                    item.CLTR_IMG_FILES = null;
-                } else {
-                    item.CLTR_IMG_FILES = imageUrls.stream().collect(Collectors.joining(","));
-                }
+    /** 적재 작업 진행률 (완료 페이지, 건수, rows/s, 남은 예상 시간, 단계별 시간) */
+    @GetMapping("/batch/jobs/{jobId}")
+    public ResponseEntity<OnbidBatchJobStatus> getBatchJob(@PathVariable String jobId) {
+        OnbidBatchJob job = onbidBatchJobManager.get(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job.status());
+    }
 
-                list.add(item);
-            }
+    /** 적재 작업 취소. 확정되지 않은 적재분은 롤백되고 실행은 CANCELLED 로 남아 재개할 수 있습니다. */
+    @PostMapping("/batch/jobs/{jobId}/cancel")
+    public ResponseEntity<OnbidBatchJobStatus> cancelBatchJob(@PathVariable String jobId) {
+        OnbidBatchJob job = onbidBatchJobManager.get(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
         }
-        return list;
+        if (!job.cancel()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job.status());
+        }
+        return ResponseEntity.accepted().body(job.status());
     }
-    
-    private String getTagValue(String tag, Element e) {
-        NodeList nodeList = e.getElementsByTagName(tag);
-        if (nodeList.getLength() > 0 && nodeList.item(0).getFirstChild() != null) {
-            return nodeList.item(0).getTextContent().trim(); 
-        } else {
-            return null;
+
+    /**
+     * Spring Batch 적재 잡(onbidIngestJob) 시작. 진행률은 돌려준 작업 ID 로 GET /batch/jobs/{jobId} 에서 확인합니다.
+     * restartExecutionId 를 주면 실패/중지된 잡 실행을 마지막 확정 chunk 부터 재시작합니다.
+     */
+    @PostMapping("/batch/spring-jobs")
+    public ResponseEntity<?> startIngestJob(@RequestParam(required = false) Long restartExecutionId) {
+        try {
+            OnbidBatchJobManager.Submission submission = onbidBatchJobManager.startIngestJob(restartExecutionId);
+            OnbidBatchJobStatus status = submission.job().status();
+            status.setAttached(submission.attached());
+            return submission.attached() ? ResponseEntity.ok(status) : ResponseEntity.accepted().body(status);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
 
-    private void insertOnbidList(List<OnbidItem> list) throws Exception {
-    	String sql = "INSERT INTO KAMCO_AUCTION_ITEMS (" +
-                "RNUM, PLNM_NO, PBCT_NO, PBCT_CDTN_NO, CLTR_NO, CLTR_HSTR_NO, SCRN_GRP_CD, CTGR_FULL_NM, BID_MNMT_NO, CLTR_NM, CLTR_MNMT_NO, LDNM_ADRS, NMRD_ADRS, LDNM_PNU, DPSL_MTD_CD, DPSL_MTD_NM, BID_MTD_NM, MIN_BID_PRC, APSL_ASES_AVG_AMT, FEE_RATE, PBCT_BEGN_DTM, PBCT_CLS_DTM, PBCT_CLTR_STAT_NM, USCBD_CNT, IQRY_CNT, GOODS_NM, MANF, MDL, NRGT, GRBX, ENDPC, VHCL_MLGE, FUEL, SCRT_NM, TPBZ, ITM_NM, MMB_RGT_NM, CLTR_IMG_FILES) " +
-                "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    /** Spring Batch 적재 잡 실행 이력 (최근 인스턴스 최신순, 읽기/쓰기/커밋/롤백/skip 건수와 소요 시간) */
+    @GetMapping("/batch/spring-jobs")
+    public List<Map<String, Object>> getIngestJobHistory(@RequestParam(defaultValue = "20") int count) {
+        return onbidIngestJobLauncher.history(count);
+    }
 
-        try (Connection conn = dataSource.getConnection()) {
-            conn.setAutoCommit(false); 
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+    /** Spring Batch 적재 잡 실행 하나의 단계(페이지 파티션)별 건수 */
+    @GetMapping("/batch/spring-jobs/{executionId}")
+    public ResponseEntity<Map<String, Object>> getIngestJobExecution(@PathVariable long executionId) {
+        Map<String, Object> execution = onbidIngestJobLauncher.execution(executionId);
+        return execution == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(execution);
+    }
 
-                int count = 0;
-                for (OnbidItem item : list) {
-                    ps.setString(1, item.RNUM);
-                    ps.setString(2, item.PLNM_NO);
-                    ps.setString(3, item.PBCT_NO);
-                    ps.setString(4, item.PBCT_CDTN_NO);
-                    ps.setString(5, item.CLTR_NO);
-                    ps.setString(6, item.CLTR_HSTR_NO);
-                    ps.setString(7, item.SCRN_GRP_CD);
-                    ps.setString(8, item.CTGR_FULL_NM);
-                    ps.setString(9, item.BID_MNMT_NO);
-                    ps.setString(10, item.CLTR_NM);
-                    ps.setString(11, item.CLTR_MNMT_NO);
-                    ps.setString(12, item.LDNM_ADRS);
-                    ps.setString(13, item.NMRD_ADRS);
-                    ps.setString(14, item.LDNM_PNU);
-                    ps.setString(15, item.DPSL_MTD_CD);
-                    ps.setString(16, item.DPSL_MTD_NM);
-                    ps.setString(17, item.BID_MTD_NM);
-                    ps.setString(18, item.MIN_BID_PRC);
-                    ps.setString(19, item.APSL_ASES_AVG_AMT);
-                    ps.setString(20, item.FEE_RATE);
-                    ps.setString(21, item.PBCT_BEGN_DTM);
-                    ps.setString(22, item.PBCT_CLS_DTM);
-                    ps.setString(23, item.PBCT_CLTR_STAT_NM);
-                    ps.setString(24, item.USCBD_CNT);
-                    ps.setString(25, item.IQRY_CNT);
-                    ps.setString(26, item.GOODS_NM);
-                    ps.setString(27, item.MANF);
-                    ps.setString(28, item.MDL);
-                    ps.setString(29, item.NRGT);
-                    ps.setString(30, item.GRBX);
-                    ps.setString(31, item.ENDPC);
-                    ps.setString(32, item.VHCL_MLGE);
-                    ps.setString(33, item.FUEL);
-                    ps.setString(34, item.SCRT_NM);
-                    ps.setString(35, item.TPBZ);
-                    ps.setString(36, item.ITM_NM);
-                    ps.setString(37, item.MMB_RGT_NM);
-                    ps.setString(38, item.CLTR_IMG_FILES);
-                    ps.addBatch();
+    /** 실행 상태와 파티션별 진행, 페이지별 체크포인트 조회 */
+    @GetMapping("/batch/runs/{runId}")
+    public ResponseEntity<Map<String, Object>> getBatchRun(@PathVariable String runId) {
+        OnbidBatchRunDto run = onbidBatchService.getRun(runId);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("run", run);
+        body.put("partitions", onbidBatchService.getRunPartitions(runId));
+        body.put("pages", onbidBatchService.getRunPages(runId));
+        return ResponseEntity.ok(body);
+    }
 
-                    if (++count % 1000 == 0) { 
-                        ps.executeBatch();
-                        conn.commit(); 
-                        ps.clearBatch();
-                        System.out.println("💾 " + count + "건 저장 완료 (배치)");
-                    }
-                }
-                ps.executeBatch(); 
-                conn.commit(); 
-                System.out.println("💾 " + count + "건 저장 완료 (최종 배치)");
-            } catch (SQLException e) {
-                conn.rollback(); 
-                throw e; 
-            } finally {
-                conn.setAutoCommit(true); 
-            }
+    private String describe(OnbidBatchResult result) {
+        OnbidLoadMode mode = result.getMode();
+
+        // --- 경과 시간 표시 ---
+        long seconds = result.getElapsedMillis() / 1000;
+        long millis = result.getElapsedMillis() % 1000;
+        // -------------------------------------
+
+        String elapsed = seconds + "." + String.format("%03d", millis) + "초";
+        if (!result.getFailedPages().isEmpty()) {
+            return "⚠️ 실행 " + result.getRunId() + ": " + result.getFailedPages().size() + "개 페이지 실패 " + result.getFailedPages()
+                    + " (수신 " + result.getTotalCount() + "건, 저장 " + result.getWrittenRows() + "건). "
+                    + (result.getReplayOf() != null ? "보관 실행 " + result.getReplayOf() + " 을 다시 재생하세요."
+                            : "POST /api/onbid/batch/runs/" + result.getRunId() + "/resume 으로 실패한 페이지만 다시 적재할 수 있습니다.")
+                    + " 소요 시간: " + elapsed;
+        }
+        String notes = result.getRefetchedPages() == null || result.getRefetchedPages().isEmpty() ? ""
+                : ", totalCount " + result.getReportedTotalCount() + " → " + result.getFinalTotalCount() + " 변동으로 "
+                        + result.getRefetchedPages() + " 재수집";
+        if (result.getDedupSkipped() > 0) {
+            notes += ", 페이지 간 중복 " + result.getDedupSkipped() + "건 제외";
+        }
+        if (result.getChangeEvents() != null && !result.getChangeEvents().isEmpty()) {
+            notes += ", 변경 이벤트 " + result.getChangeEvents();
         }
+        String prefix = result.isResumed() ? "🔁 [재개 " + result.getRunId() + "] "
+                : result.getReplayOf() != null ? "▶️ [재생 " + result.getReplayOf() + " → " + result.getRunId() + "] "
+                : "[" + result.getRunId() + "] ";
+        if (mode == OnbidLoadMode.INCREMENTAL) {
+            return prefix + "✅ 총 " + result.getTotalCount() + "건 증분 적재 완료 (1~" + result.getPlannedPages() + "페이지, 신규 "
+                    + result.getInsertedCount() + " / 변경 " + result.getUpdatedCount() + " / 동일 "
+                    + result.getUnchangedCount() + " / 삭제 " + result.getRemovedCount() + notes + "). 소요 시간: " + elapsed;
+        }
+        if (mode == OnbidLoadMode.SHADOW) {
+            return prefix + "✅ 총 " + result.getInsertedCount() + "건 섀도 적재 후 공개 완료 (1~" + result.getPlannedPages() + "페이지, "
+                    + result.getPreviousTable() + " → " + result.getPublishedTable() + ", 중복 제거 "
+                    + result.getDuplicateCount() + notes + "). 소요 시간: " + elapsed;
+        }
+        return prefix + "✅ 총 " + result.getTotalCount() + "건 DB 적재 완료 (1~" + result.getPlannedPages() + "페이지" + notes + "). 소요 시간: " + elapsed;
     }
 
-    // ✅ 데이터 매핑용 DTO (Inner Class)
-    static class OnbidItem {
-        public String RNUM;
-        public String PLNM_NO;
-        public String PBCT_NO;
-        public String PBCT_CDTN_NO;
-        public String CLTR_NO;
-        public String CLTR_HSTR_NO;
-        public String SCRN_GRP_CD;
-        public String CTGR_FULL_NM;
-        public String BID_MNMT_NO;
-        public String CLTR_NM;
-        public String CLTR_MNMT_NO;
-        public String LDNM_ADRS;
-        public String NMRD_ADRS;
-        public String LDNM_PNU;
-        public String DPSL_MTD_CD;
-        public String DPSL_MTD_NM;
-        public String BID_MTD_NM;
-        public String MIN_BID_PRC;
-        public String APSL_ASES_AVG_AMT;
-        public String FEE_RATE;
-        public String PBCT_BEGN_DTM;
-        public String PBCT_CLS_DTM;
-        public String PBCT_CLTR_STAT_NM;
-        public String USCBD_CNT;
-        public String IQRY_CNT;
-        public String GOODS_NM;
-        public String MANF;
-        public String MDL;
-        public String NRGT;
-        public String GRBX;
-        public String ENDPC;
-        public String VHCL_MLGE;
-        public String FUEL;
-        public String SCRT_NM;
-        public String TPBZ;
-        public String ITM_NM;
-        public String MMB_RGT_NM;
-        public String CLTR_IMG_FILES;
+    /** 섀도 적재 롤백. 적재 작업이 진행 중이거나 되돌릴 세대가 없으면 409, 그 밖의 실패는 500 */
+    @PostMapping("/batch/rollback")
+    public ResponseEntity<String> rollbackShadowLoad() {
+        try {
+            String table = onbidBatchJobManager.rollbackShadow();
+            return ResponseEntity.ok("↩️ 이전 세대 테이블(" + table + ")로 되돌렸습니다.");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("❌ 오류 발생: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
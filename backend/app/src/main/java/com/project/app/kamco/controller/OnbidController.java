@@ -1,15 +1,28 @@
 package com.project.app.kamco.controller;
 
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.project.app.kamco.dto.OnbidChangeEventDto;
+import com.project.app.kamco.dto.OnbidItemImageDto;
 import com.project.app.kamco.service.OnbidApiService;
+import com.project.app.kamco.service.OnbidChangeEventService;
+import com.project.app.kamco.service.OnbidSearchService;
+import com.project.app.kamco.service.OnbidUpstreamException;
+import com.project.app.kamco.service.OnbidUpstreamGovernor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,9 +35,16 @@ import lombok.extern.slf4j.Slf4j;
 public class OnbidController {
 
     private final OnbidApiService onbidApiService;
+    private final OnbidUpstreamGovernor onbidUpstreamGovernor;
+    private final OnbidChangeEventService onbidChangeEventService;
+    private final OnbidSearchService onbidSearchService;
 
-    public OnbidController(OnbidApiService onbidApiService) {
+    public OnbidController(OnbidApiService onbidApiService, OnbidUpstreamGovernor onbidUpstreamGovernor,
+            OnbidChangeEventService onbidChangeEventService, OnbidSearchService onbidSearchService) {
         this.onbidApiService = onbidApiService;
+        this.onbidUpstreamGovernor = onbidUpstreamGovernor;
+        this.onbidChangeEventService = onbidChangeEventService;
+        this.onbidSearchService = onbidSearchService;
     }
 
     @Operation(summary = "온비드 공매 물건 목록 조회 API", description = "지역, 물건 등으로 필터링된 공매물건의 이력 목록을 반환합니다.")
@@ -43,11 +63,73 @@ public class OnbidController {
         try {
             Map<String, Object> result = onbidApiService.getOnbidAuctionList(
                     numOfRows, pageNo, prptDvsnCd, sido, sgk, emd, cltrMnmtNo, cltrNm);
+            // 갱신하지 못한 이전 결과면 Age 헤더로 경과 시간(초)을 알립니다
+            if (result.get("ageSeconds") instanceof Number age) {
+                return ResponseEntity.ok().header(HttpHeaders.AGE, String.valueOf(age.longValue())).body(result);
+            }
             return ResponseEntity.ok(result);
+        } catch (OnbidUpstreamException e) {
+            if (e.isThrottled()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Onbid API rate limited: " + e.getMessage());
+            }
+            if (e.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Onbid API unavailable: " + e.getMessage());
+            }
+            return ResponseEntity.internalServerError().body("Error calling Onbid API: " + e.getMessage());
         } catch (JsonProcessingException e) {
             return ResponseEntity.internalServerError().body("Failed to parse OpenAPI response: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error calling Onbid API: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "온비드 공매 물건 검색 API", description = "적재된 물건의 물건명, 물품명, 지번/도로명주소에서 검색어(공백으로 구분, 모두 포함)를 찾아 점수 순으로 반환합니다. 검색 색인을 만드는 중이면 503 을 반환합니다.")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> result = onbidSearchService.search(q, limit);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Search index is not ready");
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "온비드 공매 물건 이미지 조회 API", description = "상세 화면에서 물건 이미지 목록을 조회합니다. 적재되지 않은 물건은 OpenAPI 에서 조회합니다.")
+    @GetMapping("/items/{cltrMnmtNo}/{cltrHstrNo}/images")
+    public ResponseEntity<?> getItemImages(@PathVariable String cltrMnmtNo, @PathVariable String cltrHstrNo) {
+        try {
+            List<OnbidItemImageDto> images = onbidApiService.getItemImages(cltrMnmtNo, cltrHstrNo);
+            return ResponseEntity.ok(images);
+        } catch (OnbidUpstreamException e) {
+            if (e.isThrottled()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Onbid API rate limited: " + e.getMessage());
+            }
+            return ResponseEntity.internalServerError().body("Error calling Onbid API: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error loading item images: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "온비드 호출 거버너 상태 조회 API", description = "현재 호출 속도, 대기 시간, 거절/한도 초과/재시도 건수를 반환합니다.")
+    @GetMapping("/upstream/stats")
+    public ResponseEntity<OnbidUpstreamGovernor.Stats> getUpstreamStats() {
+        return ResponseEntity.ok(onbidUpstreamGovernor.stats());
+    }
+
+    @Operation(summary = "온비드 물건 변경 이벤트 조회 API", description = "적재 중 계산된 변경 이벤트(신규, 새 회차, 가격 인하, 상태 변경, 삭제)를 after 이후 EVENT_ID 순으로 반환합니다. 마지막 eventId 를 다음 after 로 사용합니다.")
+    @GetMapping("/events")
+    public ResponseEntity<List<OnbidChangeEventDto>> getChangeEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int count) {
+        return ResponseEntity.ok(onbidChangeEventService.after(after, count));
+    }
+
+    @Operation(summary = "온비드 물건 변경 이벤트 구독 API (SSE)", description = "변경 이벤트를 Server-Sent Events 로 보냅니다. 재연결 시 Last-Event-ID(또는 after) 이후부터 이어서 받으며, 둘 다 없으면 지금 이후의 이벤트만 받습니다.")
+    @GetMapping(value = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChangeEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+        return onbidChangeEventService.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
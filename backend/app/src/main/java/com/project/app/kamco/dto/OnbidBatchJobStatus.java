@@ -0,0 +1,46 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 비동기 적재 작업 진행 상태 (GET /api/onbid/batch/jobs/{jobId})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidBatchJobStatus {
+	private String jobId;			//작업 ID
+	private String runId;			//배치 실행 ID (재개 작업은 재개 대상 실행 ID)
+	private String kind;			//RUN, RESUME, REPLAY, SPRING_BATCH
+	private String replayOf;		//재생 작업이 읽는 보관 실행 ID
+	private OnbidLoadMode mode;		//적재 방식 (재개 작업은 실행 이력 조회 후 채워짐)
+	private String status;			//QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+	private String phase;			//PLANNING, LOADING, REFETCHING, FINISHING
+	private boolean cancelRequested;	//취소 요청 여부
+	private boolean attached;		//이미 진행 중인 작업에 합류한 응답인지 여부
+	private int plannedPages;		//계획한 페이지 수
+	private int pagesDone;			//적재(확정)까지 끝난 페이지 수
+	private int pagesFailed;		//실패한 페이지 수
+	private long parsedItems;		//파싱한 물건 건수
+	private long writtenRows;		//확정된 적재 건수
+	private long rowsPerSecond;		//시작 후 평균 적재 속도
+	private Long etaSeconds;		//남은 예상 시간 (완료 페이지가 없으면 null)
+	private long fetchedBytes;
+	private long fetchMillis;		//단계별 누적 작업 시간
+	private long parseMillis;
+	private long writeMillis;
+	private long elapsedMillis;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+	private String errorMsg;
+	private List<OnbidBatchPartitionDto> partitions;	//파티션별 진행 (파티션 적재일 때)
+	private OnbidBatchResult result;	//완료 시 최종 결과
+}
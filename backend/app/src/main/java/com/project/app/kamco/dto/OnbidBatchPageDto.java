@@ -0,0 +1,26 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 배치 페이지 체크포인트 (KAMCO_BATCH_PAGE)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidBatchPageDto {
+	private String runId;			//실행 ID
+	private String partitionCd;		//파티션 (DPSL_MTD_CD, 기본 목록은 ALL)
+	private Integer pageNo;			//페이지 번호
+	private String status;			//DONE, FAILED
+	private Integer itemCount;		//페이지 물건 수
+	private Long pageHash;			//페이지 내용 해시 (물건 CONTENT_HASH 순서 결합)
+	private String errorMsg;
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 배치 실행의 파티션별 진행 상태 (KAMCO_BATCH_PARTITION, 작업 진행 상태의 partitions)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidBatchPartitionDto {
+	private String runId;			//실행 ID
+	private String partitionCd;		//처분방식코드(DPSL_MTD_CD) 요청값, 기본 목록은 ALL
+	private String status;			//RUNNING, COMPLETED, FAILED, CANCELLED
+	private Integer totalPages;		//파티션 계획 페이지 수
+	private Integer reportedTotal;	//파티션 1페이지 응답의 totalCount
+	private Integer pagesDone;		//적재(확정)까지 끝난 페이지 수 (작업 진행 상태에서만 사용)
+	private Long itemCount;			//완료된 페이지의 물건 수 합계
+	private String failedPages;		//실패 페이지 목록 (콤마 구분)
+	private String errorMsg;
+	private LocalDateTime startedAt;
+	private LocalDateTime endedAt;
+}
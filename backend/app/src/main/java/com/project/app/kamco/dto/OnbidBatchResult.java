@@ -0,0 +1,46 @@
+package com.project.app.kamco.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data                   // getter, setter, equals, hashCode, toString 자동 생성
+@NoArgsConstructor      // 파라미터 없는 기본 생성자
+@AllArgsConstructor     // 모든 필드를 파라미터로 받는 생성자
+@Builder                // 빌더 패턴 구현
+public class OnbidBatchResult {
+	private String runId;			// 실행 ID (재개 시 사용)
+	private boolean resumed;		// 재개 실행 여부
+	private String replayOf;		// 보관 원문 재생 실행이면 재생한 보관 실행 ID
+	private OnbidLoadMode mode;		// 적재 방식
+	private int reportedTotalCount;	// 1페이지 응답의 totalCount
+	private int finalTotalCount;	// 마지막으로 받은 페이지의 totalCount (실행 중 변동 확인)
+	private int plannedPages;		// totalCount 로 계획한 페이지 수
+	private int totalPages;			// 실제로 처리한 페이지 수 (재수집 포함)
+	private List<Integer> refetchedPages;	// totalCount 변동으로 다시 수집한 페이지
+	private long dedupSkipped;		// 재수집 등으로 중복되어 쓰지 않은 물건 건수
+	private List<Integer> failedPages;	// 실패한 페이지 (비어 있으면 전체 성공, 파티션 적재는 파티션별 목록을 partitions 에서 확인)
+	private List<OnbidBatchPartitionDto> partitions;	// 파티션별 결과 (파티션 적재일 때)
+	private long totalCount;		// 수신(파싱)한 물건 건수
+	private long writtenRows;		// 실제로 DB에 쓴 건수 (INSERT/MERGE)
+	private long deletedRows;		// 전체 적재 전 삭제 건수
+	private long insertedCount;		// 신규 물건 건수
+	private long updatedCount;		// 내용이 바뀐 물건 건수 (증분)
+	private long unchangedCount;	// 변경 없어 쓰지 않은 물건 건수 (증분)
+	private long removedCount;		// 더 이상 수신되지 않아 삭제한 물건 건수 (증분)
+	private long duplicateCount;	// 중복 키로 제거된 건수 (섀도)
+	private Map<String, Long> changeEvents;	// 유형별 변경 이벤트 건수 (NEW_ITEM, PRICE_DROP 등, 0건 유형 제외)
+	private String publishedTable;	// 새로 공개된 세대 테이블 (섀도)
+	private String previousTable;	// 롤백 대상 이전 세대 테이블 (섀도)
+	private long indexMillis;		// 인덱스 생성 + 통계 수집 시간 (섀도)
+	private long rowsPerSecond;		// 전체 소요 시간 기준 저장 속도 (건/초)
+	private long fetchedBytes;		// 수신한 원문 크기 (byte)
+	private long elapsedMillis;		// 전체 소요 시간 (wall-clock)
+	private long fetchMillis;		// fetch 단계 작업 시간 합계
+	private long parseMillis;		// parse 단계 작업 시간 합계
+	private long writeMillis;		// write 단계 작업 시간 합계
+}
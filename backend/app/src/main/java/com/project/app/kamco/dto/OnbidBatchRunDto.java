@@ -0,0 +1,28 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 배치 실행 이력 (KAMCO_BATCH_RUN)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidBatchRunDto {
+	private String runId;			//실행 ID
+	private String loadMode;		//FULL, INCREMENTAL, SHADOW
+	private String status;			//RUNNING, COMPLETED, FAILED
+	private Integer totalPages;		//대상 페이지 수
+	private Long itemCount;			//완료된 페이지의 물건 수 합계
+	private String failedPages;		//실패 페이지 목록 (콤마 구분)
+	private String targetTable;		//적재 대상 테이블 (섀도 적재 시 세대 테이블)
+	private String errorMsg;
+	private LocalDateTime startedAt;
+	private LocalDateTime endedAt;
+}
@@ -0,0 +1,39 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 적재 작업 실행 요약 (KAMCO_BATCH_RUN_STATS)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidBatchRunStatsDto {
+	private String jobId;			//작업 ID
+	private String runId;			//배치 실행 ID
+	private String jobKind;			//RUN, RESUME, REPLAY, SPRING_BATCH
+	private String loadMode;		//FULL, INCREMENTAL, SHADOW
+	private String status;			//COMPLETED, FAILED, CANCELLED
+	private Integer plannedPages;	//계획한 페이지 수
+	private Integer donePages;		//완료 페이지 수
+	private Integer failedPages;	//실패 페이지 수
+	private Long parsedItems;		//파싱한 물건 건수
+	private Long writtenRows;		//확정된 적재 건수
+	private Long fetchedBytes;		//수신 바이트
+	private Long fetchMs;			//단계별 누적 작업 시간 (스레드 합계)
+	private Long parseMs;
+	private Long writeMs;
+	private Long jdbcExecuteMs;		//executeBatch 누적 시간
+	private Long jdbcCommitMs;		//commit 누적 시간
+	private Long elapsedMs;			//작업 전체 시간
+	private Long rowsPerSecond;		//전체 시간 기준 적재 속도
+	private String errorMsg;
+	private LocalDateTime startedAt;
+	private LocalDateTime endedAt;
+}
@@ -0,0 +1,30 @@
+package com.project.app.kamco.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 물건 변경 이벤트 (KAMCO_AUCTION_ITEM_EVENTS)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidChangeEventDto {
+	private Long eventId;			//이벤트 순번 (구독 커서)
+	private String runId;			//이벤트를 만든 배치 실행 ID
+	private String eventType;		//NEW_ITEM, NEW_ROUND, PRICE_DROP, STATUS_CHANGED, REMOVED
+	private String cltrMnmtNo;		//물건관리번호
+	private String cltrHstrNo;		//물건이력번호
+	private String prevHstrNo;		//비교한 직전 회차 물건이력번호
+	private String cltrNm;			//물건명 (REMOVED 는 없음)
+	private Long oldMinBidPrc;		//이전 최저입찰가
+	private Long newMinBidPrc;		//새 최저입찰가
+	private String oldStatNm;		//이전 물건상태
+	private String newStatNm;		//새 물건상태
+	private LocalDateTime createdAt;
+}
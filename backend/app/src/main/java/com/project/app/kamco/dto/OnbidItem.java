@@ -0,0 +1,71 @@
+package com.project.app.kamco.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 온비드 배치 적재용 물건 DTO
+ *
+ * - OpenAPI XML의 <item> 하나에 대응합니다 (필드명 = XML 태그명)
+ * - KAMCO_AUCTION_ITEMS 테이블 컬럼과 1:1로 매핑됩니다 (이미지 URL 은 자식 테이블 KAMCO_AUCTION_ITEM_IMAGES, sql/06)
+ * - 금액/건수/일시 컬럼은 파싱 시 숫자/일시 타입으로 변환하고, 원문은 *_TXT 에 따로 둡니다 (OnbidValues, sql/04, sql/12)
+ */
+public class OnbidItem {
+    public String RNUM;
+    public String PLNM_NO;
+    public String PBCT_NO;
+    public String PBCT_CDTN_NO;
+    public String CLTR_NO;
+    public String CLTR_HSTR_NO;
+    public String SCRN_GRP_CD;
+    public String CTGR_FULL_NM;
+    public String BID_MNMT_NO;
+    public String CLTR_NM;
+    public String CLTR_MNMT_NO;
+    public String LDNM_ADRS;
+    public String NMRD_ADRS;
+    public String LDNM_PNU;
+    public String DPSL_MTD_CD;
+    public String DPSL_MTD_NM;
+    public String BID_MTD_NM;
+    public Long MIN_BID_PRC;			// 최저입찰가 (원)
+    public Long APSL_ASES_AVG_AMT;		// 감정평가평균금액 (원)
+    public BigDecimal FEE_RATE;			// 수수료율 (%)
+    public LocalDateTime PBCT_BEGN_DTM;	// 공고시작일시
+    public LocalDateTime PBCT_CLS_DTM;	// 공고종료일시
+    public String PBCT_CLTR_STAT_NM;
+    public Integer USCBD_CNT;			// 유찰횟수
+    public Integer IQRY_CNT;			// 조회수
+    public String GOODS_NM;
+    public String MANF;
+    public String MDL;
+    public String NRGT;
+    public String GRBX;
+    public String ENDPC;
+    public Long VHCL_MLGE;				// 주행거리 (km)
+    public String FUEL;
+    public String SCRT_NM;
+    public String TPBZ;
+    public String ITM_NM;
+    public String MMB_RGT_NM;
+    public long CONTENT_HASH;		// 변경 감지용 내용 해시 (파싱 시 계산, RNUM 제외. 파티션 적재는 파티션 코드 포함)
+    public String PARTITION_CD;		// 적재 파티션 (DPSL_MTD_CD 요청값, 기본 목록 적재는 null)
+
+    // 숫자/일시로 바꾼 항목의 OpenAPI 원문 (적재 데이터 목록 조회가 OpenAPI 와 같은 문자열을 돌려주도록, sql/12)
+    public String MIN_BID_PRC_TXT;
+    public String APSL_ASES_AVG_AMT_TXT;
+    public String FEE_RATE_TXT;
+    public String PBCT_BEGN_DTM_TXT;
+    public String PBCT_CLS_DTM_TXT;
+    public String USCBD_CNT_TXT;
+    public String IQRY_CNT_TXT;
+    public String VHCL_MLGE_TXT;
+
+    public List<String> imageUrls = List.of();	// <CLTR_IMG_FILES> 하위 유효 URL 목록 (파싱 순서 = IMG_SEQ, KAMCO_AUCTION_ITEM_IMAGES 에 저장)
+
+    /** 증분 적재/중복 판단용 업무 키 (물건관리번호 + 물건이력번호) */
+    public String itemKey() {
+        return CLTR_MNMT_NO + "|" + CLTR_HSTR_NO;
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.app.kamco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 물건 이미지 (KAMCO_AUCTION_ITEM_IMAGES)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidItemImageDto {
+	private String cltrMnmtNo;		//물건관리번호
+	private String cltrHstrNo;		//물건이력번호
+	private Integer seq;			//이미지 순번 (1부터)
+	private String url;				//이미지 URL
+}
@@ -0,0 +1,68 @@
+package com.project.app.kamco.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 목록 조회 응답의 물건 한 건 (OpenAPI &lt;item&gt; 의 SNAKE_CASE 태그 → camelCase 필드, 값은 원문 문자열)
+ * Jackson 이 그대로 직렬화합니다. 응답에 없던 태그는 null 이며 JSON 에서 빠지고, 빈 태그는 빈 문자열입니다.
+ * 이미지(CLTR_IMG_FILES)는 목록에 넣지 않습니다 (상세 화면에서 이미지 API 로 조회).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OnbidListItem(
+		String rnum,	// 순번 (RNUM)
+		String plnmNo,	// 공매계획번호 (PLNM_NO)
+		String pbctNo,	// 공고번호 (PBCT_NO)
+		String pbctCdtnNo,	// 공고조건번호 (PBCT_CDTN_NO)
+		String cltrNo,	// 물건번호 (CLTR_NO)
+		String cltrHstrNo,	// 물건이력번호 (CLTR_HSTR_NO)
+		String scrnGrpCd,	// 화면그룹코드 (SCRN_GRP_CD)
+		String ctgrFullNm,	// 카테고리전체명 (CTGR_FULL_NM)
+		String bidMnmtNo,	// 입찰관리번호 (BID_MNMT_NO)
+		String cltrNm,	// 물건명 (CLTR_NM)
+		String cltrMnmtNo,	// 물건관리번호 (CLTR_MNMT_NO)
+		String ldnmAdrs,	// 지번주소 (LDNM_ADRS)
+		String nmrdAdrs,	// 도로명주소 (NMRD_ADRS)
+		String ldnmPnu,	// 지번고유번호 (LDNM_PNU)
+		String dpslMtdCd,	// 처분방법코드 (DPSL_MTD_CD)
+		String dpslMtdNm,	// 처분방법명 (DPSL_MTD_NM)
+		String bidMtdNm,	// 입찰방법명 (BID_MTD_NM)
+		String minBidPrc,	// 최저입찰가 (MIN_BID_PRC)
+		String apslAsesAvgAmt,	// 감정평가평균금액 (APSL_ASES_AVG_AMT)
+		String feeRate,	// 수수료율 (FEE_RATE)
+		String pbctBegnDtm,	// 공고시작일시 (PBCT_BEGN_DTM)
+		String pbctClsDtm,	// 공고종료일시 (PBCT_CLS_DTM)
+		String pbctCltrStatNm,	// 공고물건상태명 (PBCT_CLTR_STAT_NM)
+		String uscbdCnt,	// 유찰횟수 (USCBD_CNT)
+		String iqryCnt,	// 조회건수 (IQRY_CNT)
+		String goodsNm,	// 물품명세 (GOODS_NM)
+		String manf,	// 제조사 (MANF)
+		String mdl,	// 모델 (MDL)
+		String nrgt,	// 배기량 (NRGT)
+		String grbx,	// 변속기 (GRBX)
+		String endpc,	// 최종출력 (ENDPC)
+		String vhclMlge,	// 주행거리 (VHCL_MLGE)
+		String fuel,	// 연료 (FUEL)
+		String scrtNm,	// 보증서명 (SCRT_NM)
+		String tpbz,	// 업종 (TPBZ)
+		String itmNm,	// 품목명 (ITM_NM)
+		String mmbRgtNm) {	// 회원권종명 (MMB_RGT_NM)
+
+	/** 컴포넌트 순서와 같은 OpenAPI 태그 이름 */
+	public static final List<String> TAGS = List.of(
+			"RNUM", "PLNM_NO", "PBCT_NO", "PBCT_CDTN_NO", "CLTR_NO", "CLTR_HSTR_NO", "SCRN_GRP_CD",
+			"CTGR_FULL_NM", "BID_MNMT_NO", "CLTR_NM", "CLTR_MNMT_NO", "LDNM_ADRS", "NMRD_ADRS", "LDNM_PNU",
+			"DPSL_MTD_CD", "DPSL_MTD_NM", "BID_MTD_NM", "MIN_BID_PRC", "APSL_ASES_AVG_AMT", "FEE_RATE",
+			"PBCT_BEGN_DTM", "PBCT_CLS_DTM", "PBCT_CLTR_STAT_NM", "USCBD_CNT", "IQRY_CNT", "GOODS_NM",
+			"MANF", "MDL", "NRGT", "GRBX", "ENDPC", "VHCL_MLGE", "FUEL", "SCRT_NM", "TPBZ", "ITM_NM",
+			"MMB_RGT_NM");
+
+	/** TAGS 순서의 값 배열로 생성 */
+	public static OnbidListItem of(String[] v) {
+		return new OnbidListItem(
+				v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9], v[10], v[11], v[12], v[13], v[14],
+				v[15], v[16], v[17], v[18], v[19], v[20], v[21], v[22], v[23], v[24], v[25], v[26], v[27], v[28],
+				v[29], v[30], v[31], v[32], v[33], v[34], v[35], v[36]);
+	}
+}
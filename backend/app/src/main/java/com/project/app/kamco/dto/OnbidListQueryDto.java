@@ -0,0 +1,25 @@
+package com.project.app.kamco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 적재된 물건 목록 조회 조건 (OnbidItemMapper.selectLocalItems / countLocalItems)
+ * 문자열 조건은 LIKE 특수문자(%, _, \)를 이스케이프한 값입니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OnbidListQueryDto {
+	private String dpslMtdCd;		//처분방식코드 (목록 화면의 물건구분코드)
+	private String adrsPrefix;		//지번주소 앞부분 ("시도 시군구 읍면동")
+	private String cltrMnmtNo;		//물건관리번호 (일치)
+	private String cltrNm;			//물건명 (포함)
+	private Integer numOfRows;		//페이지 크기
+	private Integer offset;			//건너뛸 건수 (keyset 을 모를 때만)
+	private String afterMnmtNo;		//keyset: 직전 페이지 마지막 물건관리번호
+	private String afterHstrNo;		//keyset: 직전 페이지 마지막 물건이력번호
+}
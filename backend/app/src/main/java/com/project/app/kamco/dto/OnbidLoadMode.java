@@ -0,0 +1,10 @@
+package com.project.app.kamco.dto;
+
+/**
+ * 온비드 배치 적재 방식
+ */
+public enum OnbidLoadMode {
+	FULL,			// 전체 삭제 후 재적재
+	INCREMENTAL,	// 내용 해시 비교로 신규/변경분만 반영하고 사라진 물건은 삭제
+	SHADOW			// 공개되지 않은 세대 테이블에 적재 후 시노님 전환으로 한 번에 공개
+}
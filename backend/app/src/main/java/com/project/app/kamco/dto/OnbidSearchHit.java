@@ -0,0 +1,14 @@
+package com.project.app.kamco.dto;
+
+/**
+ * 물건 검색 결과 한 건 (OnbidSearchService, 점수 높은 순)
+ */
+public record OnbidSearchHit(
+		String cltrMnmtNo,	// 물건관리번호
+		String cltrHstrNo,	// 물건이력번호
+		String cltrNm,	// 물건명
+		String goodsNm,	// 물품명
+		String ldnmAdrs,	// 지번주소
+		String nmrdAdrs,	// 도로명주소
+		int score) {	// 순위 점수 (검색어별 일치 필드 가중치 합)
+}
@@ -0,0 +1,27 @@
+package com.project.app.kamco.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.project.app.kamco.dto.OnbidBatchPageDto;
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidBatchRunStatsDto;
+
+@Mapper
+public interface OnbidBatchMapper {
+
+	int insertRun(OnbidBatchRunDto run);
+	int updateRun(OnbidBatchRunDto run); // 상태, 건수, 실패 페이지, 종료 시각 (totalPages 는 값이 있을 때만)
+	OnbidBatchRunDto selectRun(String runId);
+	List<OnbidBatchRunDto> selectRecentRuns(int count); // 최신순
+	int mergePage(OnbidBatchPageDto page);
+	List<OnbidBatchPageDto> selectPages(String runId);
+	int insertPartition(OnbidBatchPartitionDto partition);
+	int updatePartition(OnbidBatchPartitionDto partition);
+	List<OnbidBatchPartitionDto> selectPartitions(String runId);
+	int insertRunStats(OnbidBatchRunStatsDto stats);
+	List<OnbidBatchRunStatsDto> selectRecentRunStats(int count); // 최신순
+
+}
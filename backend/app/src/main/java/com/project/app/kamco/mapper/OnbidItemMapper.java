@@ -0,0 +1,24 @@
+package com.project.app.kamco.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.project.app.kamco.dto.OnbidChangeEventDto;
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidItemImageDto;
+import com.project.app.kamco.dto.OnbidListQueryDto;
+
+@Mapper
+public interface OnbidItemMapper {
+
+	List<OnbidItemImageDto> selectItemImages(OnbidItemImageDto key); // cltrMnmtNo, cltrHstrNo
+	int countItem(OnbidItemImageDto key); // 적재된 물건인지 확인 (0 또는 1)
+	List<OnbidChangeEventDto> selectChangeEvents(@Param("afterId") long afterId, @Param("count") int count); // EVENT_ID 순
+	Long selectLastEventId(); // 이벤트가 없으면 null
+	List<OnbidItem> selectLocalItems(OnbidListQueryDto query); // 업무 키 순, keyset 또는 offset
+	int countLocalItems(OnbidListQueryDto query); // keyset 조건 없이 호출
+	List<OnbidItem> selectSearchDocs(); // 검색 색인 대상 전체 (업무 키, CONTENT_HASH, 물건명/물품명/주소)
+
+}
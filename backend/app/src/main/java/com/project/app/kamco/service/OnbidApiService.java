@@ -4,18 +4,15 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.project.app.kamco.dto.OnbidItemImageDto;
+import com.project.app.kamco.mapper.OnbidItemMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,17 +29,131 @@ public class OnbidApiService {
 	@Value("${onbid.api.service-key}")
 	private String onbidApiServiceKey;
 
-	private final RestTemplate restTemplate;
-	private final XmlMapper xmlMapper; // XML을 JSON으로 변환할 매퍼
-
-	public OnbidApiService(RestTemplate restTemplate) {
-		this.restTemplate = restTemplate;
-		this.xmlMapper = new XmlMapper();
+	@Value("${onbid.list-cache.prefetch.enabled:true}")
+	private boolean prefetchEnabled;
+
+	@Value("${onbid.list-cache.prefetch.previous-page:false}")
+	private boolean prefetchPreviousPage;
+
+	private final OnbidHttpClient onbidHttpClient;
+	private final OnbidUpstreamGovernor onbidUpstreamGovernor;
+	private final OnbidItemMapper onbidItemMapper;
+	private final OnbidXmlStreamParser onbidXmlStreamParser;
+	private final OnbidListCache onbidListCache;
+	private final OnbidLocalListService onbidLocalListService;
+
+	public OnbidApiService(OnbidHttpClient onbidHttpClient, OnbidUpstreamGovernor onbidUpstreamGovernor,
+			OnbidItemMapper onbidItemMapper, OnbidXmlStreamParser onbidXmlStreamParser,
+			OnbidListCache onbidListCache, OnbidLocalListService onbidLocalListService) {
+		this.onbidHttpClient = onbidHttpClient;
+		this.onbidUpstreamGovernor = onbidUpstreamGovernor;
+		this.onbidItemMapper = onbidItemMapper;
+		this.onbidXmlStreamParser = onbidXmlStreamParser;
+		this.onbidListCache = onbidListCache;
+		this.onbidLocalListService = onbidLocalListService;
 	}
 
+	/**
+	 * 목록 조회. 이미지 URL(CLTR_IMG_FILES)은 목록 응답에서 제외하며 상세 화면에서 getItemImages 로 따로 조회합니다.
+	 * 같은 조건의 결과는 변환까지 끝난 상태로 OnbidListCache 에 잠시 보관하여 OpenAPI 를 다시 호출하지 않습니다 (읽기 전용 Map).
+	 * 캐시에 없는 같은 조건이 동시에 들어오면 조회는 한 번만 하고 결과(또는 예외)를 함께 받습니다.
+	 * 적재된 데이터로 답할 수 있으면 OnbidLocalListService 로 조회하고, 아니면(오래됨, 지원하지 않는 조건, DB 오류) OpenAPI 를 호출합니다.
+	 * 응답의 source 는 조회한 곳입니다 (local / upstream).
+	 * 응답 후 같은 조건의 다음 페이지(설정 시 이전 페이지도)를 낮은 우선순위로 미리 조회해 둡니다.
+	 */
 	public Map<String, Object> getOnbidAuctionList(int numOfRows, int pageNo, String prptDvsnCd, String sido,
-			String sgk, String emd, String cltrMnmtNo, String cltrNm) throws JsonProcessingException {
+			String sgk, String emd, String cltrMnmtNo, String cltrNm) throws Exception {
+		OnbidListCache.Key key = OnbidListCache.Key.of(numOfRows, pageNo, prptDvsnCd, sido, sgk, emd, cltrMnmtNo,
+				cltrNm);
+		Map<String, Object> result = onbidListCache.get(key,
+				() -> loadList(key, OnbidUpstreamGovernor.Priority.INTERACTIVE));
+		if (prefetchEnabled) {
+			prefetchNeighbours(key, result);
+		}
+		return result;
+	}
+
+	private Map<String, Object> loadList(OnbidListCache.Key key, OnbidUpstreamGovernor.Priority priority)
+			throws Exception {
+		Map<String, Object> local = findLocal(key);
+		return local != null ? local : loadAuctionList(key, priority);
+	}
+
+	// 페이지를 넘기는 화면이므로 다음 페이지를 미리 받아 둡니다. OpenAPI 로 조회해야 하는데 호출 여유가 없으면 건너뜁니다
+	private void prefetchNeighbours(OnbidListCache.Key key, Map<String, Object> result) {
+		int totalCount = result.get("totalCount") instanceof Number n ? n.intValue() : 0;
+		List<OnbidListCache.Key> neighbours = new ArrayList<>(2);
+		if ((long) key.pageNo() * key.numOfRows() < totalCount) {
+			neighbours.add(key.withPageNo(key.pageNo() + 1));
+		}
+		if (prefetchPreviousPage && key.pageNo() > 1) {
+			neighbours.add(key.withPageNo(key.pageNo() - 1));
+		}
+		boolean local = OnbidLocalListService.SOURCE_LOCAL.equals(result.get("source"));
+		for (OnbidListCache.Key neighbour : neighbours) {
+			if (!local && !onbidUpstreamGovernor.hasSpareCapacity()) {
+				onbidListCache.prefetchSkipped();
+				continue;
+			}
+			onbidListCache.prefetch(neighbour, () -> loadList(neighbour, OnbidUpstreamGovernor.Priority.PREFETCH));
+		}
+	}
+
+	private Map<String, Object> findLocal(OnbidListCache.Key key) {
+		try {
+			return onbidLocalListService.find(key);
+		} catch (RuntimeException e) {
+			log.warn("적재 목록 조회 실패, OpenAPI 로 조회합니다: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	// 응답 스트림을 OnbidListItem 으로 바로 읽습니다 (JsonNode 트리, 항목별 HashMap 없음. Jackson 이 record 를 그대로 직렬화)
+	private Map<String, Object> loadAuctionList(OnbidListCache.Key key, OnbidUpstreamGovernor.Priority priority)
+			throws Exception {
+		OnbidXmlStreamParser.ListPage page = fetchList(key.numOfRows(), key.pageNo(), key.prptDvsnCd(), key.sido(),
+				key.sgk(), key.emd(), key.cltrMnmtNo(), key.cltrNm(), priority, onbidXmlStreamParser::parseList);
+
+		Map<String, Object> result = new HashMap<>();
+		result.put("totalCount", page.totalCount());
+		result.put("items", page.items());
+		result.put("source", "upstream");
+		return result;
+	}
+
+	/**
+	 * 물건 이미지 목록 (상세 조회 시에만 호출)
+	 * - 적재된 물건이면 KAMCO_AUCTION_ITEM_IMAGES 에서 읽습니다 (이미지가 없으면 빈 목록)
+	 * - 아직 적재되지 않은 물건이면 물건관리번호로 OpenAPI 를 조회하여 같은 이력번호의 이미지를 돌려줍니다
+	 */
+	public List<OnbidItemImageDto> getItemImages(String cltrMnmtNo, String cltrHstrNo) throws Exception {
+		OnbidItemImageDto key = OnbidItemImageDto.builder().cltrMnmtNo(cltrMnmtNo).cltrHstrNo(cltrHstrNo).build();
+		List<OnbidItemImageDto> images = onbidItemMapper.selectItemImages(key);
+		if (!images.isEmpty() || onbidItemMapper.countItem(key) > 0) {
+			return images;
+		}
+
+		List<OnbidItemImageDto> upstreamImages = new ArrayList<>();
+		fetchList(100, 1, "0001", null, null, null, cltrMnmtNo, null, OnbidUpstreamGovernor.Priority.INTERACTIVE,
+				in -> onbidXmlStreamParser.parse(in, item -> {
+				if (!upstreamImages.isEmpty() || !cltrMnmtNo.equals(item.CLTR_MNMT_NO)
+						|| !cltrHstrNo.equals(item.CLTR_HSTR_NO)) {
+					return;
+				}
+				for (int i = 0; i < item.imageUrls.size(); i++) {
+					upstreamImages.add(new OnbidItemImageDto(cltrMnmtNo, cltrHstrNo, i + 1, item.imageUrls.get(i)));
+				}
+		}));
+		return upstreamImages;
+	}
 
+	/**
+	 * 목록 OpenAPI 호출. 응답 본문(gzip 은 해제된 상태)을 reader 가 스트림으로 읽습니다.
+	 * 거버너 재시도는 호출과 읽기를 함께 다시 수행합니다 (읽는 도중 연결이 끊긴 경우 포함).
+	 */
+	private <T> T fetchList(int numOfRows, int pageNo, String prptDvsnCd, String sido, String sgk, String emd,
+			String cltrMnmtNo, String cltrNm, OnbidUpstreamGovernor.Priority priority, OnbidHttpClient.BodyReader<T> reader)
+			throws Exception {
 		URI baseUri;
 		try {
 			baseUri = new URI(onbidApiBaseUrl + onbidApiListEndpoint);
@@ -72,138 +183,12 @@ public class OnbidApiService {
 
 		// String finalUrl = uriBuilder.encode().toUriString();
 		String finalUrl = uriBuilder.build().toUriString(); // <<-- encode() 호출 제거
-		System.out.println("Calling Onbid API: " + finalUrl); // 백엔드 로그 확인용
-
-		String xmlResponse = restTemplate.getForObject(finalUrl, String.class);
-		// System.out.println(xmlResponse);
-
-		// XML을 JsonNode로 변환
-		JsonNode jsonNode = xmlMapper.readTree(xmlResponse);
-		//System.out.println("jsonNode : " + jsonNode);
-
-		// 원하는 데이터 구조로 파싱 (OpenAPI XML 응답 구조에 따라 정확히 조정 필요)
-		// 예시: <response><body ...></response>
-		JsonNode bodyNode = jsonNode.path("body");
-		//System.out.println("bodyNode : " + bodyNode);
-
-		// totalCount 추출
-		int totalCount = bodyNode.path("totalCount").asInt(0);
-
-		// item 리스트 추출
-		// <items><item>...</item><item>...</item></items>
-		JsonNode itemsNode = bodyNode.path("items").path("item");
-		// 아이템들을 List<Map<String, Object>> 형태로 변환
-		// 여기서 XML 키(SNAKE_CASE)를 JSON 키(camelCase)로 변환하는 로직을 구현할 수 있습니다.
-		List<Map<String, Object>> itemList = new ArrayList<>();
-		if (itemsNode.isArray()) {
-			for (JsonNode item : itemsNode) {
-				itemList.add(convertNodeToCamelCaseMap(item)); // 사용자 정의 유틸리티 함수
-			}
-		} else if (itemsNode.isObject()) { // 아이템이 하나인 경우 배열이 아닌 객체로 올 수 있음
-			itemList.add(convertNodeToCamelCaseMap(itemsNode));
-		}
+		log.debug("Calling Onbid API: {}", finalUrl);
 
-		Map<String, Object> result = new HashMap<>();
-		result.put("totalCount", totalCount);
-		result.put("items", itemList);
-		return result;
-	}
+		// RestTemplate 이 하던 것처럼 쿼리의 허용되지 않는 문자(한글, 공백 등)만 인코딩
+		URI finalUri = uriBuilder.build().encode().toUri();
 
-	// JsonNode의 키를 CamelCase로 변환하는 유틸리티 메서드 (재귀)
-	private Map<String, Object> convertNodeToCamelCaseMap(JsonNode node) {
-		Map<String, Object> map = new HashMap<>();
-        
-        Iterator<String> fieldNames = node.fieldNames();
-
-        while (fieldNames.hasNext()) {
-            String originalKey = fieldNames.next();
-            JsonNode valueNode = node.get(originalKey);
-            String camelCaseKey = toCamelCase(originalKey); 
-
-            // =========================================================
-            //  클래스 내부의 imageLinks 처리 로직 시작
-            // =========================================================
-            if (camelCaseKey.equals("cltrImgFiles")) { // <- 부모 필드명은 여전히 camelCase인 'cltrImgFiles'
-                List<Map<String, String>> imageLinks = new ArrayList<>();
-                String originalCltrImgFilesValue = ""; 
-
-                // valueNode가 객체이고, 그 객체 안에 "CLTR_IMG_FILE" 필드가 있는 경우에만 이미지 링크를 파싱
-                // 여기서 필드명 "CLTR_IMG_FILE"는 JSON에 파싱된 그대로의 대문자를 사용합니다.
-                if (valueNode.isObject() && valueNode.has("CLTR_IMG_FILE")) {
-
-                    JsonNode imgFileNode = valueNode.path("CLTR_IMG_FILE");
-                    
-                    if (imgFileNode.isArray()) { 
-                        int seqCounter = 1;
-                        for (JsonNode imgUrlNode : imgFileNode) {
-                            String imgUrl = imgUrlNode.asText("").trim();
-                            if (!imgUrl.isEmpty() && (imgUrl.startsWith("https://") || imgUrl.startsWith("http://"))) {
-                                Map<String, String> linkInfo = new HashMap<>();
-                                linkInfo.put("seq", String.valueOf(seqCounter++));
-                                linkInfo.put("url", imgUrl);
-                                imageLinks.add(linkInfo);
-                            }
-                        }
-                    } else if (imgFileNode.isValueNode()) { 
-                        String imgUrl = imgFileNode.asText("").trim();
-                        if (!imgUrl.isEmpty() && (imgUrl.startsWith("https://") || imgUrl.startsWith("http://"))) {
-                            Map<String, String> linkInfo = new HashMap<>();
-                            linkInfo.put("seq", "1");
-                            linkInfo.put("url", imgUrl);
-                            imageLinks.add(linkInfo);
-                        }
-                    }
-                    originalCltrImgFilesValue = valueNode.toPrettyString(); 
-                } else {
-                    originalCltrImgFilesValue = "";
-                }
-                
-                map.put("imageLinks", imageLinks); 
-                map.put(camelCaseKey, originalCltrImgFilesValue); 
-            }
-            else if (valueNode.isObject()) {
-                map.put(camelCaseKey, convertNodeToCamelCaseMap(valueNode));
-            } else if (valueNode.isArray()) {
-                List<Object> list = new ArrayList<>();
-                for (JsonNode element : valueNode) {
-                    if (element.isObject()) {
-                        list.add(convertNodeToCamelCaseMap(element));
-                    } else if (element.isValueNode()) {
-                        list.add(element.asText("").trim());
-                    } else {
-                        list.add(element.toString().trim()); 
-                    }
-                }
-                map.put(camelCaseKey, list);
-            } else if (valueNode.isValueNode()) {
-                map.put(camelCaseKey, valueNode.asText("").trim());
-            } else {
-                 map.put(camelCaseKey, ""); 
-            }
-        }
-        return map;
-    }
-
-	// SNAKE_CASE to camelCase 변환 메서드 (OnbidApiService 클래스 내부에)
-	private String toCamelCase(String snakeCase) {
-		if (snakeCase == null || snakeCase.isEmpty()) {
-			return "";
-		}
-		StringBuilder camelCase = new StringBuilder();
-		boolean nextCharUpperCase = false;
-		for (int i = 0; i < snakeCase.length(); i++) {
-			char c = snakeCase.charAt(i);
-			if (c == '_') {
-				nextCharUpperCase = true;
-			} else {
-				if (nextCharUpperCase) {
-					camelCase.append(Character.toUpperCase(c));
-					nextCharUpperCase = false;
-				} else {
-					camelCase.append(Character.toLowerCase(c));
-				}
-			}
-		}
-		return camelCase.toString();
+		// 화면 조회는 배치 수집보다 먼저 토큰을 받습니다 (대기가 길면 429 로 거절). 미리 조회는 남는 토큰만 씁니다
+		return onbidUpstreamGovernor.execute(priority, () -> onbidHttpClient.get(finalUri, reader));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,369 @@
+package com.project.app.kamco.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import com.project.app.kamco.dto.OnbidBatchJobStatus;
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidLoadMode;
+
+/**
+ * 비동기 적재 작업 하나의 진행 상태
+ *
+ * - OnbidBatchJobManager 가 만들고, OnbidBatchService 가 실행하면서 단계/페이지 진행을 기록합니다
+ * - 건수와 단계별 시간은 진행 중인 파이프라인의 snapshot() 과 이미 끝난 라운드(재수집 전)의 합계로 계산합니다
+ * - 취소는 진행 중인 파이프라인을 멈추고, 파이프라인 밖 단계(계획, 마무리 전)에서는 checkCancelled() 로 확인합니다
+ * - 파티션 적재는 파티션마다 파이프라인이 동시에 돌기 때문에 페이지 진행을 파티션별로 나눠 집계합니다
+ *   (기본 목록 적재와 Spring Batch 잡은 ALL 파티션 하나)
+ */
+public class OnbidBatchJob {
+
+    public enum Kind {
+        RUN,
+        RESUME,
+        REPLAY,         // 보관 원문 재생 (OnbidPageArchive)
+        SPRING_BATCH    // Spring Batch 적재 잡 (OnbidIngestJobConfig)
+    }
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private final String jobId;
+    private final Kind kind;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final CompletableFuture<OnbidBatchResult> completion = new CompletableFuture<>();
+
+    /** 파티션 하나의 페이지 진행 */
+    private static final class PartitionProgress {
+        final Set<Integer> donePages = ConcurrentHashMap.newKeySet();
+        final Set<Integer> failedPages = ConcurrentHashMap.newKeySet();
+        volatile int plannedPages;
+        volatile String status = QUEUED;
+    }
+
+    private final Map<String, PartitionProgress> partitions = new ConcurrentSkipListMap<>();
+
+    private volatile OnbidLoadMode mode;
+    private volatile String runId;
+    private volatile String replayOf;
+    private volatile String status = QUEUED;
+    private volatile String phase;
+    private volatile int plannedPages;
+    private volatile boolean cancelRequested;
+    private volatile long startedNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMsg;
+    private volatile OnbidBatchResult result;
+
+    // 진행 중인 파이프라인들과 이미 끝난 라운드들의 집계 (this 로 동기화)
+    private final List<OnbidIngestPipeline> pipelines = new ArrayList<>();
+    private long doneParsed;
+    private long doneWritten;
+    private long doneBytes;
+    private long doneFetchNanos;
+    private long doneParseNanos;
+    private long doneWriteNanos;
+
+    OnbidBatchJob(String jobId, Kind kind, OnbidLoadMode mode, String runId) {
+        this.jobId = jobId;
+        this.kind = kind;
+        this.mode = mode;
+        this.runId = runId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public OnbidLoadMode getMode() {
+        return mode;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /** 재생 작업이 읽는 보관 실행 ID (재생이 아니면 null) */
+    public String getReplayOf() {
+        return replayOf;
+    }
+
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    /** 작업 종료까지 대기합니다. 실패/취소는 실행 중 발생한 예외 그대로 던집니다. */
+    public OnbidBatchResult await() throws Exception {
+        try {
+            return completion.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ex ? ex : e;
+        }
+    }
+
+    /** 취소 요청. 이미 끝난 작업이면 false */
+    public boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        List<OnbidIngestPipeline> running;
+        synchronized (this) {
+            running = List.copyOf(pipelines);
+        }
+        running.forEach(OnbidIngestPipeline::cancel);
+        return true;
+    }
+
+    // --- OnbidBatchService 가 실행 중에 호출 ---
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void checkCancelled() {
+        if (cancelRequested) {
+            throw new CancellationException("적재 취소 요청");
+        }
+    }
+
+    void runId(String runId) {
+        this.runId = runId;
+    }
+
+    void replayOf(String replayOf) {
+        this.replayOf = replayOf;
+    }
+
+    void mode(OnbidLoadMode mode) {
+        this.mode = mode;
+    }
+
+    void phase(String phase) {
+        this.phase = phase;
+    }
+
+    void plannedPages(int plannedPages) {
+        this.plannedPages = plannedPages;
+    }
+
+    /** 실행 중 계획 페이지 증가 (파티션의 totalCount 가 늘어 계획이 커진 경우) */
+    synchronized void addPlannedPages(int delta) {
+        this.plannedPages += delta;
+    }
+
+    /** 파티션 계획 (파티션 적재가 아니면 호출하지 않아도 ALL 로 집계됩니다) */
+    void partition(String partitionCd, int plannedPages) {
+        progress(partitionCd).plannedPages = plannedPages;
+    }
+
+    void partitionStatus(String partitionCd, String status) {
+        progress(partitionCd).status = status;
+    }
+
+    /** 체크포인트 기록과 함께 페이지 완료/실패를 집계하는 listener */
+    OnbidIngestPipeline.PageListener track(OnbidIngestPipeline.PageListener delegate) {
+        return track(OnbidBatchService.DEFAULT_PARTITION, delegate);
+    }
+
+    OnbidIngestPipeline.PageListener track(String partitionCd, OnbidIngestPipeline.PageListener delegate) {
+        PartitionProgress progress = progress(partitionCd);
+        return new OnbidIngestPipeline.PageListener() {
+            @Override
+            public void pageParsed(int pageNo, int itemCount, long parseNanos) {
+                delegate.pageParsed(pageNo, itemCount, parseNanos);
+            }
+
+            @Override
+            public void pageCompleted(int pageNo, int itemCount, long pageHash) {
+                delegate.pageCompleted(pageNo, itemCount, pageHash);
+                progress.failedPages.remove(pageNo);
+                progress.donePages.add(pageNo);
+            }
+
+            @Override
+            public void pageFailed(int pageNo, Exception cause) {
+                delegate.pageFailed(pageNo, cause);
+                progress.failedPages.add(pageNo);
+            }
+        };
+    }
+
+    void pageCompleted(int pageNo) {
+        PartitionProgress progress = progress(OnbidBatchService.DEFAULT_PARTITION);
+        progress.failedPages.remove(pageNo);
+        progress.donePages.add(pageNo);
+    }
+
+    void pageFailed(int pageNo) {
+        progress(OnbidBatchService.DEFAULT_PARTITION).failedPages.add(pageNo);
+    }
+
+    private PartitionProgress progress(String partitionCd) {
+        return partitions.computeIfAbsent(partitionCd, code -> new PartitionProgress());
+    }
+
+    /** 파이프라인 밖에서 적재한 건수 반영 (Spring Batch 잡은 페이지 step 이 끝날 때마다 반영) */
+    synchronized void addProgress(long parsed, long written) {
+        doneParsed += parsed;
+        doneWritten += written;
+    }
+
+    /** 파이프라인 라운드 시작. 이미 취소 요청이 있으면 바로 멈춥니다. */
+    void attach(OnbidIngestPipeline next) {
+        synchronized (this) {
+            pipelines.add(next);
+        }
+        if (cancelRequested) {
+            next.cancel();
+        }
+    }
+
+    /** 파이프라인 라운드 종료 (성공/실패 모두). 집계를 누적합니다. */
+    synchronized void detach(OnbidIngestPipeline pipeline) {
+        if (!pipelines.remove(pipeline)) {
+            return;
+        }
+        OnbidIngestPipeline.Result done = pipeline.snapshot();
+        doneParsed += done.parsedItems();
+        doneWritten += done.writtenRows();
+        doneBytes += done.fetchedBytes();
+        doneFetchNanos += done.fetchNanos();
+        doneParseNanos += done.parseNanos();
+        doneWriteNanos += done.writeNanos();
+    }
+
+    // --- OnbidBatchJobManager 가 호출 ---
+
+    void started() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = RUNNING;
+        phase = "PLANNING";
+    }
+
+    void completed(OnbidBatchResult result) {
+        this.result = result;
+        this.runId = result.getRunId();
+        this.status = result.getFailedPages() == null || result.getFailedPages().isEmpty() ? COMPLETED : FAILED;
+        finish();
+        completion.complete(result);
+    }
+
+    void failed(Exception cause) {
+        this.status = cause instanceof CancellationException ? CANCELLED : FAILED;
+        this.errorMsg = cause.getMessage();
+        finish();
+        completion.completeExceptionally(cause);
+    }
+
+    private void finish() {
+        synchronized (this) {
+            List.copyOf(pipelines).forEach(this::detach);
+        }
+        phase = null;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public OnbidBatchJobStatus status() {
+        long parsed;
+        long written;
+        long bytes;
+        long fetchNanos;
+        long parseNanos;
+        long writeNanos;
+        synchronized (this) {
+            parsed = doneParsed;
+            written = doneWritten;
+            bytes = doneBytes;
+            fetchNanos = doneFetchNanos;
+            parseNanos = doneParseNanos;
+            writeNanos = doneWriteNanos;
+            for (OnbidIngestPipeline pipeline : pipelines) {
+                OnbidIngestPipeline.Result live = pipeline.snapshot();
+                parsed += live.parsedItems();
+                written += live.writtenRows();
+                bytes += live.fetchedBytes();
+                fetchNanos += live.fetchNanos();
+                parseNanos += live.parseNanos();
+                writeNanos += live.writeNanos();
+            }
+        }
+        long elapsedMillis = startedAt == null ? 0
+                : finishedAt != null ? Duration.between(startedAt, finishedAt).toMillis()
+                        : (System.nanoTime() - startedNanos) / 1_000_000;
+        int done = 0;
+        int failed = 0;
+        List<OnbidBatchPartitionDto> partitionStatus = new ArrayList<>();
+        for (Map.Entry<String, PartitionProgress> entry : partitions.entrySet()) {
+            PartitionProgress progress = entry.getValue();
+            done += progress.donePages.size();
+            failed += progress.failedPages.size();
+            partitionStatus.add(OnbidBatchPartitionDto.builder()
+                    .runId(runId)
+                    .partitionCd(entry.getKey())
+                    .status(progress.status)
+                    .totalPages(progress.plannedPages)
+                    .pagesDone(progress.donePages.size())
+                    .failedPages(progress.failedPages.isEmpty() ? null
+                            : progress.failedPages.stream().sorted().map(String::valueOf)
+                                    .collect(Collectors.joining(",")))
+                    .build());
+        }
+        boolean partitioned = partitions.size() > 1 || (partitions.size() == 1
+                && !partitions.containsKey(OnbidBatchService.DEFAULT_PARTITION));
+        int remaining = Math.max(0, plannedPages - done - failed);
+        Long etaSeconds = null;
+        if (!isFinished() && done > 0) {
+            etaSeconds = elapsedMillis * remaining / done / 1000;
+        }
+        return OnbidBatchJobStatus.builder()
+                .jobId(jobId)
+                .runId(runId)
+                .kind(kind.name())
+                .replayOf(replayOf)
+                .mode(mode)
+                .status(status)
+                .phase(phase)
+                .cancelRequested(cancelRequested)
+                .plannedPages(plannedPages)
+                .pagesDone(done)
+                .pagesFailed(failed)
+                .parsedItems(parsed)
+                .writtenRows(written)
+                .rowsPerSecond(written * 1000 / Math.max(1, elapsedMillis))
+                .etaSeconds(etaSeconds)
+                .fetchedBytes(bytes)
+                .fetchMillis(fetchNanos / 1_000_000)
+                .parseMillis(parseNanos / 1_000_000)
+                .writeMillis(writeNanos / 1_000_000)
+                .elapsedMillis(elapsedMillis)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .errorMsg(errorMsg)
+                .partitions(partitioned ? partitionStatus : null)
+                .result(result)
+                .build();
+    }
+}
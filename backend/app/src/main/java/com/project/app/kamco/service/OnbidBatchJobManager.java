@@ -0,0 +1,190 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.stereotype.Service;
+
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidLoadMode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 적재 작업 실행기
+ *
+ * - 적재(전체/증분/섀도, 재개, Spring Batch 잡)는 요청 스레드가 아닌 전용 작업 스레드 하나에서 실행하고, 요청에는 작업 ID 를 바로 돌려줍니다
+ * - 한 번에 하나의 적재만 실행합니다 (single-flight). 같은 적재 요청은 진행 중인 작업에 합류하고, 다른 적재 요청은 거절합니다
+ * - 섀도 롤백도 여기를 거쳐 적재 작업과 겹치지 않게 합니다
+ * - 최근 작업 MAX_RECENT_JOBS 개의 상태를 메모리에 보관합니다 (서버 재시작 후에는 KAMCO_BATCH_RUN 이력으로 확인)
+ */
+@Slf4j
+@Service
+public class OnbidBatchJobManager {
+
+    private static final int MAX_RECENT_JOBS = 20;
+
+    /** 시작 결과. attached 가 true 면 이미 진행 중인 작업에 합류한 것입니다. */
+    public record Submission(OnbidBatchJob job, boolean attached) {
+    }
+
+    private final OnbidBatchService onbidBatchService;
+    private final OnbidIngestJobLauncher onbidIngestJobLauncher;
+    private final OnbidIngestMetrics onbidIngestMetrics;
+    private final OnbidSearchService onbidSearchService;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("onbid-batch-job").factory());
+
+    // 작업 ID → 작업 (삽입 순서, 오래된 작업부터 정리)
+    private final Map<String, OnbidBatchJob> jobs = new LinkedHashMap<>();
+    private OnbidBatchJob active;
+
+    public OnbidBatchJobManager(OnbidBatchService onbidBatchService, OnbidIngestJobLauncher onbidIngestJobLauncher,
+            OnbidIngestMetrics onbidIngestMetrics, OnbidSearchService onbidSearchService) {
+        this.onbidBatchService = onbidBatchService;
+        this.onbidIngestJobLauncher = onbidIngestJobLauncher;
+        this.onbidIngestMetrics = onbidIngestMetrics;
+        this.onbidSearchService = onbidSearchService;
+    }
+
+    /** 새 적재를 시작합니다. 같은 방식의 적재가 진행 중이면 그 작업에 합류합니다. */
+    public synchronized Submission start(OnbidLoadMode mode) {
+        if (isRunning()) {
+            if (active.getKind() == OnbidBatchJob.Kind.RUN && active.getMode() == mode) {
+                return new Submission(active, true);
+            }
+            throw conflict();
+        }
+        String jobId = OnbidBatchService.newRunId();
+        OnbidBatchJob job = new OnbidBatchJob(jobId, OnbidBatchJob.Kind.RUN, mode, jobId);
+        return new Submission(submit(job, () -> onbidBatchService.run(mode, job)), false);
+    }
+
+    /** 실패/취소된 실행을 이어서 적재합니다. 같은 실행의 재개가 진행 중이면 그 작업에 합류합니다. */
+    public synchronized Submission resume(String runId) {
+        if (isRunning()) {
+            if (active.getKind() == OnbidBatchJob.Kind.RESUME && runId.equals(active.getRunId())) {
+                return new Submission(active, true);
+            }
+            throw conflict();
+        }
+        String jobId = OnbidBatchService.newRunId();
+        OnbidBatchJob job = new OnbidBatchJob(jobId, OnbidBatchJob.Kind.RESUME, null, runId);
+        return new Submission(submit(job, () -> onbidBatchService.resume(runId, job)), false);
+    }
+
+    /** 보관된 페이지 원문(OnbidPageArchive)으로 적재합니다. 같은 보관 실행의 재생이 진행 중이면 그 작업에 합류합니다. */
+    public synchronized Submission replay(String archivedRunId, OnbidLoadMode mode) {
+        if (isRunning()) {
+            if (active.getKind() == OnbidBatchJob.Kind.REPLAY && archivedRunId.equals(active.getReplayOf())
+                    && active.getMode() == mode) {
+                return new Submission(active, true);
+            }
+            throw conflict();
+        }
+        String jobId = OnbidBatchService.REPLAY_RUN_PREFIX + OnbidBatchService.newRunId();
+        OnbidBatchJob job = new OnbidBatchJob(jobId, OnbidBatchJob.Kind.REPLAY, mode, jobId);
+        job.replayOf(archivedRunId);
+        return new Submission(submit(job, () -> onbidBatchService.replay(archivedRunId, mode, job)), false);
+    }
+
+    /**
+     * Spring Batch 적재 잡 실행. restartExecutionId 를 주면 해당 실행(실패/중지)을 마지막 확정 chunk 부터 재시작합니다.
+     * 다른 적재와 마찬가지로 한 번에 하나만 실행되며, Spring Batch 잡이 진행 중이면 그 작업에 합류합니다.
+     */
+    public synchronized Submission startIngestJob(Long restartExecutionId) {
+        if (isRunning()) {
+            if (active.getKind() == OnbidBatchJob.Kind.SPRING_BATCH) {
+                return new Submission(active, true);
+            }
+            throw conflict();
+        }
+        String jobId = OnbidBatchService.newRunId();
+        OnbidBatchJob job = new OnbidBatchJob(jobId, OnbidBatchJob.Kind.SPRING_BATCH, OnbidLoadMode.FULL, jobId);
+        return new Submission(submit(job, () -> onbidIngestJobLauncher.launch(job, restartExecutionId)), false);
+    }
+
+    /**
+     * 섀도 적재로 공개된 테이블을 이전 세대로 되돌립니다 (OnbidBatchService.rollbackShadow).
+     * 적재가 진행 중이면 세대 테이블을 쓰거나 공개하는 중일 수 있으므로 거절하고, 되돌리는 동안에는 새 적재를 시작하지 않습니다.
+     */
+    public synchronized String rollbackShadow() throws Exception {
+        if (isRunning()) {
+            throw conflict();
+        }
+        return onbidBatchService.rollbackShadow();
+    }
+
+    public synchronized OnbidBatchJob get(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /** 최근 작업 (최신순) */
+    public synchronized List<OnbidBatchJob> recent() {
+        List<OnbidBatchJob> list = new ArrayList<>(jobs.values());
+        return list.reversed();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        OnbidBatchJob running;
+        synchronized (this) {
+            running = isRunning() ? active : null;
+        }
+        if (running != null) {
+            log.warn("서버 종료로 적재 작업 {} 을 취소합니다 (실행 {} 은 재개 가능)", running.getJobId(), running.getRunId());
+            running.cancel();
+        }
+        executor.shutdown();
+    }
+
+    private boolean isRunning() {
+        return active != null && !active.isFinished();
+    }
+
+    private IllegalStateException conflict() {
+        return new IllegalStateException("진행 중인 적재 작업이 있습니다: " + active.getJobId() + " (" + active.getKind()
+                + (active.getMode() != null ? " " + active.getMode() : "") + ", 실행 " + active.getRunId() + ")");
+    }
+
+    private OnbidBatchJob submit(OnbidBatchJob job, Callable<OnbidBatchResult> task) {
+        active = job;
+        jobs.put(job.getJobId(), job);
+        while (jobs.size() > MAX_RECENT_JOBS) {
+            String oldest = jobs.keySet().iterator().next();
+            if (!jobs.get(oldest).isFinished()) {
+                break;
+            }
+            jobs.remove(oldest);
+        }
+        executor.execute(() -> execute(job, task));
+        return job;
+    }
+
+    private void execute(OnbidBatchJob job, Callable<OnbidBatchResult> task) {
+        job.started();
+        onbidIngestMetrics.runStarted(job);
+        try {
+            job.completed(task.call());
+            onbidSearchService.ingested();
+        } catch (CancellationException e) {
+            log.info("온비드 적재 작업 {} 취소됨 (실행 {})", job.getJobId(), job.getRunId());
+            job.failed(e);
+        } catch (Exception e) {
+            log.error("온비드 적재 작업 {} 실패: {}", job.getJobId(), e.getMessage(), e);
+            job.failed(e);
+        } catch (Error e) {
+            job.failed(new IllegalStateException(e));
+            throw e;
+        } finally {
+            onbidIngestMetrics.runFinished(job);
+        }
+    }
+}
@@ -0,0 +1,920 @@
+package com.project.app.kamco.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.app.kamco.dto.OnbidBatchPageDto;
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidBatchRunStatsDto;
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidLoadMode;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 공매물건 전체 적재 배치
+ *
+ * fetch → parse → write 파이프라인(OnbidIngestPipeline)으로 KAMCO_AUCTION_ITEMS 를 적재합니다.
+ * 단계별 동시성/큐 크기는 onbid.batch.* 설정으로 조정합니다.
+ * 실행마다 KAMCO_BATCH_RUN / KAMCO_BATCH_PAGE 에 실행 ID와 페이지별 체크포인트를 남깁니다 (sql/03_kamco_batch_checkpoint.sql).
+ * 처분방식코드(DPSL_MTD_CD)별 파티션 적재는 파티션마다 KAMCO_BATCH_PARTITION 에 진행 상태를 남깁니다 (sql/08).
+ * 적재하면서 이전 데이터와 비교한 변경 이벤트(신규, 가격 인하, 상태 변경 등)를 KAMCO_AUCTION_ITEM_EVENTS 에 추가합니다 (sql/09).
+ */
+@Slf4j
+@Service
+public class OnbidBatchService {
+
+	@Value("${onbid.batch.max-pages:0}")
+	private int maxPages;
+
+	@Value("${onbid.batch.fetch-concurrency:2}")
+	private int fetchConcurrency;
+
+	@Value("${onbid.batch.parse-concurrency:2}")
+	private int parseConcurrency;
+
+	@Value("${onbid.batch.writer-concurrency:2}")
+	private int writerConcurrency;
+
+	@Value("${onbid.batch.queue-capacity:4}")
+	private int queueCapacity;
+
+	@Value("${onbid.batch.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${onbid.batch.jdbc-batch-size:1000}")
+	private int jdbcBatchSize;
+
+	@Value("${onbid.batch.commit-size:10000}")
+	private int commitSize;
+
+	@Value("${onbid.batch.append-values:false}")
+	private boolean appendValues;
+
+	// 섀도 staging 테이블은 NOLOGGING 이므로 direct-path 로 적재해야 redo 를 남기지 않습니다
+	@Value("${onbid.batch.shadow-append-values:true}")
+	private boolean shadowAppendValues;
+
+	@Value("${onbid.batch.categories:}")
+	private String categories;
+
+	@Value("${onbid.batch.category-concurrency:2}")
+	private int categoryConcurrency;
+
+	@Value("${onbid.events.enabled:true}")
+	private boolean changeEvents;
+
+	/** 파티션을 나누지 않은 기본 목록 적재의 파티션 코드 */
+	static final String DEFAULT_PARTITION = "ALL";
+	private static final Pattern PARTITION_CD = Pattern.compile("[A-Za-z0-9]{1,10}");
+
+	private static final String STATUS_QUEUED = "QUEUED";
+	private static final String STATUS_RUNNING = "RUNNING";
+	private static final String STATUS_COMPLETED = "COMPLETED";
+	private static final String STATUS_FAILED = "FAILED";
+	private static final String STATUS_CANCELLED = "CANCELLED";
+	private static final String PAGE_DONE = "DONE";
+	// 보관 원문 재생 실행의 실행 ID 접두어
+	static final String REPLAY_RUN_PREFIX = "replay-";
+	// totalCount 가 계속 바뀌어도 경계 페이지 재수집은 이 횟수까지만
+	private static final int MAX_DRIFT_ROUNDS = 3;
+	private static final DateTimeFormatter RUN_ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final OnbidXmlStreamParser onbidXmlStreamParser;
+	private final OnbidItemWriter onbidItemWriter;
+	private final OnbidShadowTableManager onbidShadowTableManager;
+	private final OnbidBatchMapper onbidBatchMapper;
+	private final OnbidPageClient onbidPageClient;
+	private final OnbidPageArchive onbidPageArchive;
+	private final OnbidIngestMetrics onbidIngestMetrics;
+	private final OnbidChangeEventService onbidChangeEventService;
+
+	// 같은 실행을 동시에 두 번 재개하지 않도록 (서버 재시작 후 RUNNING 으로 남은 실행은 재개 가능)
+	private final Set<String> activeRuns = ConcurrentHashMap.newKeySet();
+
+	public OnbidBatchService(OnbidXmlStreamParser onbidXmlStreamParser, OnbidItemWriter onbidItemWriter,
+			OnbidShadowTableManager onbidShadowTableManager, OnbidBatchMapper onbidBatchMapper,
+			OnbidPageClient onbidPageClient, OnbidPageArchive onbidPageArchive, OnbidIngestMetrics onbidIngestMetrics,
+			OnbidChangeEventService onbidChangeEventService) {
+		this.onbidXmlStreamParser = onbidXmlStreamParser;
+		this.onbidItemWriter = onbidItemWriter;
+		this.onbidShadowTableManager = onbidShadowTableManager;
+		this.onbidBatchMapper = onbidBatchMapper;
+		this.onbidPageClient = onbidPageClient;
+		this.onbidPageArchive = onbidPageArchive;
+		this.onbidIngestMetrics = onbidIngestMetrics;
+		this.onbidChangeEventService = onbidChangeEventService;
+	}
+
+	/** 최근 적재 작업 실행 요약 (최신순, KAMCO_BATCH_RUN_STATS) */
+	public List<OnbidBatchRunStatsDto> recentRunStats(int count) {
+		return onbidBatchMapper.selectRecentRunStats(Math.max(1, count));
+	}
+
+	/**
+	 * 섀도 적재로 공개된 테이블을 이전 세대로 되돌립니다.
+	 * 이미지도 물건과 같은 세대로 나뉘어 있어 시노님 전환 한 번으로 함께 되돌아갑니다 (sql/11).
+	 */
+	public String rollbackShadow() throws Exception {
+		return onbidShadowTableManager.rollback();
+	}
+
+	/** 실행 이력과 페이지별 체크포인트 조회 */
+	public OnbidBatchRunDto getRun(String runId) {
+		return onbidBatchMapper.selectRun(runId);
+	}
+
+	public List<OnbidBatchPageDto> getRunPages(String runId) {
+		return onbidBatchMapper.selectPages(runId);
+	}
+
+	public List<OnbidBatchPartitionDto> getRunPartitions(String runId) {
+		return onbidBatchMapper.selectPartitions(runId);
+	}
+
+	/**
+	 * 1페이지의 totalCount 로 수집할 페이지를 정한 뒤 적재합니다.
+	 * - FULL        : 테이블을 비우고 전부 INSERT
+	 * - INCREMENTAL : 저장된 CONTENT_HASH 와 비교하여 신규/변경분만 MERGE, 사라진 물건은 DELETE
+	 * - SHADOW      : 공개되지 않은 세대 테이블에 인덱스 없이 적재 → 인덱스 일괄 생성 → 시노님 전환
+	 * 페이지마다 체크포인트를 남기며, 실패한 페이지가 있으면 실행은 FAILED 로 끝나고 resume(runId) 로 이어서 적재할 수 있습니다.
+	 * 진행 상황은 job 에 기록되며 실행 ID 는 작업 ID 를 그대로 사용합니다. 취소되면 CANCELLED 로 남고 역시 재개할 수 있습니다.
+	 * 호출 스레드에서 끝까지 실행되므로 요청 스레드가 아닌 OnbidBatchJobManager 의 작업 스레드에서 호출합니다.
+	 *
+	 * onbid.batch.categories 에 처분방식코드(DPSL_MTD_CD)를 지정하면 코드마다 파티션을 나눠 따로 계획하고
+	 * category-concurrency 개까지 동시에 적재합니다. 모든 파티션은 같은 테이블에 PARTITION_CD 를 표시하여 쓰고,
+	 * 마무리 단계(사라진 물건 삭제, 섀도 공개)는 모든 파티션이 끝난 뒤 한 번만 실행합니다.
+	 */
+	public OnbidBatchResult run(OnbidLoadMode mode, OnbidBatchJob job) throws Exception {
+		Instant start = Instant.now();
+		String runId = job.getJobId();
+		OnbidBatchResult.OnbidBatchResultBuilder builder = OnbidBatchResult.builder().mode(mode).runId(runId);
+
+		// 파티션마다 1페이지를 먼저 받아 전체 건수를 확인합니다 (하나라도 실패하면 기존 데이터를 건드리지 않고 종료)
+		List<PartitionPlan> plans = new ArrayList<>();
+		int reportedTotal = 0;
+		int plannedPages = 0;
+		for (String partitionCd : categories()) {
+			OnbidIngestPipeline.PageFetcher source = onbidPageArchive.archiving(archiveRunId(runId, partitionCd),
+					onbidPageClient.partition(dpslMtdCd(partitionCd)));
+			byte[] firstPage = source.fetch(1);
+			int partitionTotal = onbidXmlStreamParser.peekTotalCount(firstPage);
+			int partitionPages = planPages(partitionTotal);
+			log.info("{}페이지 계획: totalCount {}건 / 페이지당 {}건 → {}페이지{}", label(partitionCd), partitionTotal,
+					onbidPageClient.numOfRows(), partitionPages,
+					partitionPages < planPages(partitionTotal, 0) ? " (max-pages 제한)" : "");
+
+			// 1페이지는 이미 받은 원문을 그대로 사용
+			AtomicReference<byte[]> prefetched = new AtomicReference<>(firstPage);
+			OnbidIngestPipeline.PageFetcher fetcher = pageNo -> {
+				byte[] body = pageNo == 1 ? prefetched.getAndSet(null) : null;
+				return body != null ? body : source.fetch(pageNo);
+			};
+			plans.add(new PartitionPlan(partitionCd, partitionTotal,
+					IntStream.rangeClosed(1, partitionPages).boxed().toList(), fetcher, source));
+			job.partition(partitionCd, partitionPages);
+			reportedTotal += partitionTotal;
+			plannedPages += partitionPages;
+			job.checkCancelled();
+		}
+		builder.reportedTotalCount(reportedTotal).plannedPages(plannedPages);
+		job.plannedPages(plannedPages);
+		return load(job, runId, mode, plans, false, builder, start);
+	}
+
+	/**
+	 * 보관된 페이지 원문(OnbidPageArchive)으로 적재합니다. OpenAPI 를 호출하지 않으며 parse/write 경로는 일반 적재와 같습니다.
+	 * 보관된 페이지만 적재하고 totalCount 변동은 확인하지 않습니다.
+	 * - FULL, SHADOW : 공개 데이터를 통째로 바꾸므로 완료된 실행이고 모든 파티션의 계획 페이지가 보관된 경우에만 재생합니다
+	 * - INCREMENTAL  : 보관이 일부 페이지/파티션뿐이어도 재생하며, MERGE 만 하고 사라진 물건 삭제는 하지 않습니다
+	 * archivedRunId 가 실행 ID 면 그 실행의 모든 파티션 보관(실행ID_파티션)을 함께 재생하고,
+	 * 실행ID_파티션 이면 그 파티션만 재생합니다 (증분 재생만 가능).
+	 * 실행 이력에는 replay- 로 시작하는 실행 ID 로 남으며, 실패하면 재개 대신 다시 재생합니다.
+	 */
+	public OnbidBatchResult replay(String archivedRunId, OnbidLoadMode mode, OnbidBatchJob job) throws Exception {
+		Instant start = Instant.now();
+		String runId = job.getJobId();
+		boolean complete = mode != OnbidLoadMode.INCREMENTAL;
+		List<PartitionPlan> plans = complete ? completeReplayPlans(archivedRunId) : archivedReplayPlans(archivedRunId);
+		int reportedTotal = plans.stream().mapToInt(PartitionPlan::reportedTotal).sum();
+		int plannedPages = plans.stream().mapToInt(p -> p.pages().size()).sum();
+		log.info("보관 원문 재생: {} ({}{}, totalCount {}건)", archivedRunId, complete ? "완료된 실행 전체, " : "보관된 페이지만, ",
+				plans.stream().map(p -> label(p.partitionCd()) + p.pages().size() + "페이지").collect(Collectors.joining(" ")),
+				reportedTotal);
+		OnbidBatchResult.OnbidBatchResultBuilder builder = OnbidBatchResult.builder()
+				.mode(mode)
+				.runId(runId)
+				.replayOf(archivedRunId)
+				.reportedTotalCount(reportedTotal)
+				.plannedPages(plannedPages);
+		for (PartitionPlan plan : plans) {
+			job.partition(plan.partitionCd(), plan.pages().size());
+		}
+		job.plannedPages(plannedPages);
+		job.checkCancelled();
+		return load(job, runId, mode, plans, !complete, builder, start);
+	}
+
+	/**
+	 * 공개 데이터를 바꾸는 재생(FULL, SHADOW)의 계획: 완료된 실행의 모든 파티션, 파티션마다 1페이지부터 계획 페이지까지.
+	 * 실행 이력이 없거나 완료되지 않았거나 보관되지 않은 페이지가 있으면 일부 목록으로 공개 데이터를 덮어쓰지 않도록 거절합니다.
+	 */
+	private List<PartitionPlan> completeReplayPlans(String archivedRunId) throws Exception {
+		OnbidBatchRunDto run = onbidBatchMapper.selectRun(archivedRunId);
+		if (run == null || !STATUS_COMPLETED.equals(run.getStatus())) {
+			throw new IllegalStateException("전체/섀도 재생은 완료된 실행의 보관 원문만 가능합니다 (증분 재생은 가능): "
+					+ archivedRunId);
+		}
+		List<PartitionPlan> plans = new ArrayList<>();
+		for (OnbidBatchPartitionDto partition : partitionsOf(archivedRunId, run)) {
+			String partitionCd = partition.getPartitionCd();
+			String archiveId = archiveRunId(archivedRunId, partitionCd);
+			OnbidPageArchive.ArchivedRun archived = onbidPageArchive.find(archiveId);
+			Set<Integer> archivedPages = archived != null ? new HashSet<>(archived.pages()) : Set.of();
+			List<Integer> pages = IntStream.rangeClosed(1, partition.getTotalPages()).boxed().toList();
+			List<Integer> missing = pages.stream().filter(pageNo -> !archivedPages.contains(pageNo)).toList();
+			if (pages.isEmpty() || !missing.isEmpty()) {
+				throw new IllegalStateException(label(partitionCd) + "보관되지 않은 페이지가 있어 전체/섀도 재생을 할 수 없습니다 "
+						+ "(없는 페이지 " + missing.size() + "개, 증분 재생은 가능): " + archiveId);
+			}
+			plans.add(replayPlan(partitionCd, archiveId, pages));
+		}
+		return plans;
+	}
+
+	// 증분 재생의 계획: 보관된 파티션의 보관된 페이지만
+	private List<PartitionPlan> archivedReplayPlans(String archivedRunId) throws Exception {
+		List<PartitionPlan> plans = new ArrayList<>();
+		for (OnbidPageArchive.ArchivedRun archived : onbidPageArchive.findRun(archivedRunId)) {
+			plans.add(replayPlan(archivedPartition(archived.runId()), archived.runId(), archived.pages()));
+		}
+		if (plans.isEmpty()) {
+			throw new IllegalArgumentException("보관된 원문이 없는 실행입니다: " + archivedRunId);
+		}
+		return plans;
+	}
+
+	private PartitionPlan replayPlan(String partitionCd, String archiveId, List<Integer> pages) throws Exception {
+		OnbidIngestPipeline.PageFetcher source = onbidPageArchive.replaying(archiveId);
+		int reportedTotal = onbidXmlStreamParser.peekTotalCount(source.fetch(pages.get(0)));
+		return new PartitionPlan(partitionCd, reportedTotal, pages, source, null);
+	}
+
+	/**
+	 * 실행 이력을 남기고 적재 방식별 writer 를 준비하여 적재합니다.
+	 * 파티션 계획에 refetcher 가 있으면 실행 중 totalCount 변동을 확인하여 경계 페이지를 다시 받습니다.
+	 */
+	private OnbidBatchResult load(OnbidBatchJob job, String runId, OnbidLoadMode mode, List<PartitionPlan> plans,
+			boolean partial, OnbidBatchResult.OnbidBatchResultBuilder builder, Instant start) throws Exception {
+		String stagingTable = null;
+		if (mode == OnbidLoadMode.SHADOW) {
+			stagingTable = onbidShadowTableManager.prepareStaging();
+			log.info("섀도 적재 대상: {}", stagingTable);
+		}
+		onbidBatchMapper.insertRun(OnbidBatchRunDto.builder()
+				.runId(runId)
+				.loadMode(mode.name())
+				.status(STATUS_RUNNING)
+				.totalPages(plans.stream().mapToInt(p -> p.pages().size()).sum())
+				.targetTable(stagingTable)
+				.build());
+		for (PartitionPlan partition : plans) {
+			onbidBatchMapper.insertPartition(OnbidBatchPartitionDto.builder()
+					.runId(runId)
+					.partitionCd(partition.partitionCd())
+					.status(STATUS_QUEUED)
+					.totalPages(partition.pages().size())
+					.reportedTotal(partition.reportedTotal())
+					.build());
+		}
+		log.info("배치 실행 ID: {}", runId);
+
+		activeRuns.add(runId);
+		try {
+			WritePlan plan;
+			if (mode == OnbidLoadMode.SHADOW) {
+				plan = insertPlan(stagingTable, changeFeed(runId));
+			} else if (mode == OnbidLoadMode.INCREMENTAL) {
+				plan = incrementalPlan(runId);
+			} else {
+				// 변경 이벤트 기준은 지우기 전에 읽습니다
+				OnbidChangeFeed feed = changeFeed(runId);
+				log.info("기존 데이터 삭제 시작");
+				int deletedRows = onbidItemWriter.deleteAll();
+				log.info("기존 데이터 {}건 삭제 완료 및 오토 커밋", deletedRows);
+				builder.deletedRows(deletedRows);
+				plan = insertPlan(null, feed);
+			}
+			return execute(job, runId, mode, plans, plan, partial, builder, start);
+		} catch (Exception e) {
+			finishRun(runId, failedStatus(e), null, e.getMessage());
+			throw e;
+		} finally {
+			activeRuns.remove(runId);
+		}
+	}
+
+	/**
+	 * 실패한 실행을 이어서 적재합니다. DONE 체크포인트가 없는 페이지(실패 또는 미처리)만 파티션별로 다시 수집합니다.
+	 * - FULL        : 이미 적재된 페이지를 지우지 않도록 DELETE 없이 MERGE 로 적재
+	 * - INCREMENTAL : 재개 실행은 전체 페이지를 보지 않으므로 사라진 물건 삭제는 하지 않음 (다음 정기 실행에서 처리)
+	 * - SHADOW      : 공개되지 않은 같은 세대 테이블에 이어서 적재한 뒤 모든 페이지가 끝나면 공개
+	 * 재개 실행은 처음 계획한 페이지 범위만 다루며 totalCount 변동은 확인하지 않습니다.
+	 * 파티션 기록이 없는 실행(파티션 도입 이전)은 기본 목록(ALL) 하나로 재개합니다.
+	 */
+	public OnbidBatchResult resume(String runId, OnbidBatchJob job) throws Exception {
+		Instant start = Instant.now();
+		OnbidBatchRunDto run = onbidBatchMapper.selectRun(runId);
+		if (run == null) {
+			throw new IllegalArgumentException("존재하지 않는 실행 ID: " + runId);
+		}
+		if (STATUS_COMPLETED.equals(run.getStatus())) {
+			throw new IllegalStateException("이미 완료된 실행입니다: " + runId);
+		}
+		if (runId.startsWith(REPLAY_RUN_PREFIX)) {
+			throw new IllegalStateException("재생 실행은 재개할 수 없습니다. 보관 원문을 다시 재생하세요: " + runId);
+		}
+		if (!activeRuns.add(runId)) {
+			throw new IllegalStateException("진행 중인 실행입니다: " + runId);
+		}
+		try {
+			OnbidLoadMode mode = OnbidLoadMode.valueOf(run.getLoadMode());
+			job.mode(mode);
+			List<OnbidBatchPartitionDto> partitions = partitionsOf(runId, run);
+			Map<String, Set<Integer>> donePages = new HashMap<>();
+			for (OnbidBatchPageDto page : onbidBatchMapper.selectPages(runId)) {
+				if (PAGE_DONE.equals(page.getStatus())) {
+					donePages.computeIfAbsent(page.getPartitionCd(), code -> new HashSet<>()).add(page.getPageNo());
+				}
+			}
+			List<PartitionPlan> plans = new ArrayList<>();
+			Map<String, List<Integer>> remaining = new LinkedHashMap<>();
+			for (OnbidBatchPartitionDto partition : partitions) {
+				String partitionCd = partition.getPartitionCd();
+				Set<Integer> done = donePages.getOrDefault(partitionCd, Set.of());
+				List<Integer> pages = IntStream.rangeClosed(1, partition.getTotalPages()).boxed()
+						.filter(pageNo -> !done.contains(pageNo))
+						.toList();
+				OnbidIngestPipeline.PageFetcher fetcher = onbidPageArchive.archiving(archiveRunId(runId, partitionCd),
+						onbidPageClient.partition(dpslMtdCd(partitionCd)));
+				int reportedTotal = partition.getReportedTotal() != null ? partition.getReportedTotal() : -1;
+				plans.add(new PartitionPlan(partitionCd, reportedTotal, pages, fetcher, null));
+				job.partition(partitionCd, pages.size());
+				remaining.put(partitionCd, pages);
+			}
+			log.info("배치 재개: {} ({}, 남은 페이지 {})", runId, mode,
+					remaining.size() == 1 && remaining.containsKey(DEFAULT_PARTITION)
+							? remaining.get(DEFAULT_PARTITION) : remaining);
+			job.plannedPages(plans.stream().mapToInt(p -> p.pages().size()).sum());
+			job.checkCancelled();
+
+			WritePlan plan;
+			if (mode == OnbidLoadMode.SHADOW) {
+				String stagingTable = run.getTargetTable();
+				if (stagingTable == null || stagingTable.equals(onbidShadowTableManager.activeTable())) {
+					throw new IllegalStateException(stagingTable + " 은 이미 공개된 테이블이라 이어서 적재할 수 없습니다.");
+				}
+				plan = insertPlan(stagingTable, changeFeed(runId));
+			} else if (mode == OnbidLoadMode.INCREMENTAL) {
+				plan = incrementalPlan(runId);
+			} else {
+				// 전체 적재는 처음 실행에서 기존 데이터를 지웠으므로 비교할 기준이 없어 변경 이벤트를 만들지 않습니다
+				plan = new WritePlan(() -> onbidItemWriter.openUpsertSession(jdbcBatchSize), null, null, false, null);
+			}
+
+			onbidBatchMapper.updateRun(OnbidBatchRunDto.builder().runId(runId).status(STATUS_RUNNING).build());
+			OnbidBatchResult.OnbidBatchResultBuilder builder = OnbidBatchResult.builder()
+					.mode(mode)
+					.runId(runId)
+					.resumed(true)
+					.plannedPages(run.getTotalPages());
+			return execute(job, runId, mode, plans, plan, true, builder, start);
+		} finally {
+			activeRuns.remove(runId);
+		}
+	}
+
+	// 실행의 파티션 기록. 파티션 도입 이전 실행은 기본 목록(ALL) 하나
+	private List<OnbidBatchPartitionDto> partitionsOf(String runId, OnbidBatchRunDto run) {
+		List<OnbidBatchPartitionDto> partitions = onbidBatchMapper.selectPartitions(runId);
+		if (partitions.isEmpty()) {
+			return List.of(OnbidBatchPartitionDto.builder()
+					.partitionCd(DEFAULT_PARTITION)
+					.totalPages(run.getTotalPages())
+					.build());
+		}
+		return partitions;
+	}
+
+	/**
+	 * 파티션별 계획 페이지를 적재합니다. 파티션은 category-concurrency 개까지 동시에 실행되며
+	 * 한 파티션이 느리거나 실패해도 나머지 파티션은 끝까지 적재합니다 (실패한 파티션은 재개 대상으로 남음).
+	 * partial 은 전체 목록을 보지 않는 실행(재개, 재생)으로, 증분 적재의 사라진 물건 삭제를 하지 않습니다.
+	 */
+	private OnbidBatchResult execute(OnbidBatchJob job, String runId, OnbidLoadMode mode, List<PartitionPlan> plans,
+			WritePlan plan, boolean partial, OnbidBatchResult.OnbidBatchResultBuilder builder, Instant start)
+			throws Exception {
+		OnbidIncrementalSync sync = plan.sync();
+		// 증분 적재는 OnbidIncrementalSync 가 이미 키 단위로 중복을 거릅니다. 중복 제거는 파티션 사이에도 공유합니다
+		OnbidItemDedup dedup = sync == null ? new OnbidItemDedup() : null;
+		OnbidIngestPipeline.Settings settings = pipelineSettings(plan.directPath());
+		if (plan.directPath()) {
+			log.info("direct-path(APPEND_VALUES) 적재: 테이블 잠금 때문에 writer 1개로 적재합니다");
+		}
+		// direct-path 는 테이블 잠금 때문에 파티션도 하나씩 적재합니다
+		int concurrency = plan.directPath() ? 1 : Math.max(1, Math.min(categoryConcurrency, plans.size()));
+		boolean partitioned = plans.size() > 1 || !DEFAULT_PARTITION.equals(plans.get(0).partitionCd());
+		if (partitioned) {
+			log.info("파티션 {} 적재 (동시 {}개)", plans.stream().map(PartitionPlan::partitionCd).toList(), concurrency);
+		}
+
+		OnbidIngestPipeline.Result result;
+		List<PartitionOutcome> outcomes;
+		try {
+			job.phase("LOADING");
+			outcomes = runPartitions(job, runId, plans, plan.writers(), dedup, settings, concurrency);
+			for (PartitionOutcome outcome : outcomes) {
+				if (outcome.error() != null) {
+					throw outcome.error();
+				}
+			}
+			result = combine(outcomes);
+			int plannedPages = outcomes.stream().mapToInt(PartitionOutcome::plannedPages).sum();
+			if (plans.stream().anyMatch(p -> p.refetcher() != null)) {
+				builder.plannedPages(plannedPages)
+						.finalTotalCount(outcomes.stream().mapToInt(PartitionOutcome::finalTotalCount).sum());
+				onbidBatchMapper.updateRun(OnbidBatchRunDto.builder()
+						.runId(runId)
+						.status(STATUS_RUNNING)
+						.totalPages(plannedPages)
+						.build());
+			}
+
+			if (result.failedPages().isEmpty()) {
+				// 마무리 단계(삭제 판단, 공개)는 모든 파티션의 모든 페이지가 적재된 경우에만 실행합니다. 시작한 뒤에는 취소하지 않습니다
+				job.checkCancelled();
+				job.phase("FINISHING");
+				finish(mode, plan, dedup, partial, builder, result);
+			} else if (sync != null) {
+				builder.insertedCount(sync.getInserted())
+						.updatedCount(sync.getUpdated())
+						.unchangedCount(sync.getUnchanged());
+			} else {
+				builder.insertedCount(result.writtenRows());
+			}
+		} catch (Exception e) {
+			finishRun(runId, failedStatus(e), null, e.getMessage());
+			throw e;
+		}
+
+		if (result.failedPages().isEmpty()) {
+			finishRun(runId, STATUS_COMPLETED, null, null);
+		} else {
+			String failed = outcomes.stream()
+					.flatMap(o -> o.result().failedPages().stream()
+							.map(pageNo -> partitioned ? o.partitionCd() + ":" + pageNo : String.valueOf(pageNo)))
+					.collect(Collectors.joining(","));
+			finishRun(runId, STATUS_FAILED, failed, null);
+			System.err.println("⚠️ 실패한 페이지 " + failed + " → POST /api/onbid/batch/runs/" + runId + "/resume 로 재개하세요.");
+		}
+
+		List<Integer> refetchedPages = outcomes.stream()
+				.flatMap(o -> o.refetchedPages().stream())
+				.sorted()
+				.toList();
+		long elapsedMillis = Duration.between(start, Instant.now()).toMillis();
+		long rowsPerSecond = result.writtenRows() * 1000 / Math.max(1, elapsedMillis);
+		long writeRowsPerSecond = result.writtenRows() * 1_000_000_000L / Math.max(1, result.writeNanos())
+				* Math.max(1, settings.writerConcurrency()) * concurrency;
+		log.info("적재 속도: {} rows/s (전체 {}건 / {}ms, write 단계 {} rows/s)", rowsPerSecond, result.writtenRows(),
+				elapsedMillis, writeRowsPerSecond);
+		log.info("온비드 적재 {}({}, {}): 수신 {}건, 쓰기 {}건, 실패 페이지 {}, 재수집 페이지 {}, {}ms (fetch {}ms / parse {}ms / write {}ms)",
+				partial ? "부분 완료" : "완료", mode, runId, result.parsedItems(), result.writtenRows(), result.failedPages(),
+				refetchedPages, elapsedMillis, result.fetchNanos() / 1_000_000, result.parseNanos() / 1_000_000,
+				result.writeNanos() / 1_000_000);
+		if (dedup != null && dedup.skipped() > 0) {
+			log.info("페이지 간 중복 {}건 제외 (키 {}개, 키 집합 {}KB)", dedup.skipped(), dedup.size(),
+					dedup.memoryBytes() / 1024);
+		}
+
+		return builder
+				.totalPages(result.pageCount())
+				.failedPages(result.failedPages())
+				.refetchedPages(refetchedPages)
+				.partitions(partitioned ? outcomes.stream().map(o -> o.summary(runId)).toList() : null)
+				.dedupSkipped(dedup != null ? dedup.skipped() : 0)
+				.changeEvents(plan.feed() != null ? plan.feed().counts() : null)
+				.totalCount(result.parsedItems())
+				.writtenRows(result.writtenRows())
+				.rowsPerSecond(rowsPerSecond)
+				.fetchedBytes(result.fetchedBytes())
+				.elapsedMillis(elapsedMillis)
+				.fetchMillis(result.fetchNanos() / 1_000_000)
+				.parseMillis(result.parseNanos() / 1_000_000)
+				.writeMillis(result.writeNanos() / 1_000_000)
+				.build();
+	}
+
+	/** 파티션들을 동시에 적재합니다. 파티션 하나면 호출 스레드에서 바로 실행합니다. */
+	private List<PartitionOutcome> runPartitions(OnbidBatchJob job, String runId, List<PartitionPlan> plans,
+			OnbidIngestPipeline.WriterFactory writers, OnbidItemDedup dedup, OnbidIngestPipeline.Settings settings,
+			int concurrency) throws Exception {
+		if (plans.size() == 1) {
+			return List.of(runPartition(job, runId, plans.get(0), writers, dedup, settings));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+				Thread.ofPlatform().name("onbid-partition-", 1).factory());
+		try {
+			List<Future<PartitionOutcome>> futures = new ArrayList<>();
+			for (PartitionPlan partition : plans) {
+				futures.add(executor.submit(() -> runPartition(job, runId, partition, writers, dedup, settings)));
+			}
+			List<PartitionOutcome> outcomes = new ArrayList<>();
+			for (Future<PartitionOutcome> future : futures) {
+				try {
+					outcomes.add(future.get());
+				} catch (ExecutionException e) {
+					throw e.getCause() instanceof Exception cause ? cause : e;
+				}
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 파티션 하나를 적재합니다. 체크포인트/진행 상태는 파티션별로 남기고, 예외는 던지지 않고 결과에 담아 돌려줍니다.
+	 * refetcher 가 있으면 실행 중 totalCount 변동을 확인하여
+	 * 목록이 바뀐 뒤에 받은 페이지와 어긋나는 페이지(경계 페이지)를 refetcher 로 다시 수집합니다.
+	 */
+	private PartitionOutcome runPartition(OnbidBatchJob job, String runId, PartitionPlan partition,
+			OnbidIngestPipeline.WriterFactory writers, OnbidItemDedup dedup, OnbidIngestPipeline.Settings settings) {
+		String partitionCd = partition.partitionCd();
+		OnbidIngestPipeline.WriterFactory writer = partitionWriter(partitionCd, writers, dedup);
+		OnbidIngestPipeline.PageListener checkpoint = onbidIngestMetrics
+				.track(job.track(partitionCd, new OnbidRunCheckpoint(onbidBatchMapper, runId, partitionCd)));
+		int plannedPages = partition.pages().size();
+		try {
+			job.checkCancelled();
+			job.partitionStatus(partitionCd, STATUS_RUNNING);
+			finishPartition(runId, partitionCd, STATUS_RUNNING, null, null, null);
+			OnbidIngestPipeline.Result result = runPipeline(job, new OnbidIngestPipeline(settings, partition.fetcher(),
+					onbidXmlStreamParser, writer, checkpoint), partition.pages());
+
+			List<Integer> refetchedPages = new ArrayList<>();
+			if (partition.refetcher() != null) {
+				for (int round = 1; round <= MAX_DRIFT_ROUNDS; round++) {
+					int latestTotal = result.lastTotalCount();
+					if (latestTotal < 0) {
+						break;
+					}
+					int latestPages = planPages(latestTotal);
+					List<Integer> redo = driftedPages(result, latestTotal, plannedPages, latestPages);
+					if (redo.isEmpty()) {
+						break;
+					}
+					log.info("{}totalCount 변동 감지 ({} → {}), 경계 페이지 재수집 {}차: {}", label(partitionCd),
+							partition.reportedTotal(), latestTotal, round, redo);
+					job.phase("REFETCHING");
+					if (latestPages > plannedPages) {
+						job.addPlannedPages(latestPages - plannedPages);
+						plannedPages = latestPages;
+						job.partition(partitionCd, plannedPages);
+						finishPartition(runId, partitionCd, STATUS_RUNNING, plannedPages, null, null);
+					}
+					OnbidIngestPipeline.Result next = runPipeline(job, new OnbidIngestPipeline(settings,
+							partition.refetcher(), onbidXmlStreamParser, writer, checkpoint), redo);
+					result = result.merge(redo, next);
+					refetchedPages.addAll(redo);
+				}
+			}
+
+			String failed = result.failedPages().stream().map(String::valueOf).collect(Collectors.joining(","));
+			String status = failed.isEmpty() ? STATUS_COMPLETED : STATUS_FAILED;
+			job.partitionStatus(partitionCd, status);
+			finishPartition(runId, partitionCd, status, plannedPages, failed.isEmpty() ? null : failed, null);
+			return new PartitionOutcome(partitionCd, plannedPages, partition.reportedTotal(), result, refetchedPages,
+					null);
+		} catch (Exception e) {
+			String status = failedStatus(e);
+			job.partitionStatus(partitionCd, status);
+			finishPartition(runId, partitionCd, status, null, null, e.getMessage());
+			if (!(e instanceof CancellationException)) {
+				log.warn("온비드 파티션 적재 실패 (run={}, partition={}): {}", runId, partitionCd, e.getMessage());
+			}
+			return new PartitionOutcome(partitionCd, plannedPages, partition.reportedTotal(), null, List.of(), e);
+		}
+	}
+
+	/**
+	 * 파티션 writer. 파티션 적재는 물건에 PARTITION_CD 를 표시하고 해시에 파티션 코드를 섞은 뒤
+	 * 중복 제거 → 적재 방식별 writer(증분 적재는 변경분 선별) 순서로 넘깁니다.
+	 */
+	private OnbidIngestPipeline.WriterFactory partitionWriter(String partitionCd,
+			OnbidIngestPipeline.WriterFactory writers, OnbidItemDedup dedup) {
+		return () -> {
+			OnbidIngestPipeline.ChunkWriter writer = writers.open();
+			if (dedup != null) {
+				writer = writer.filtered(dedup.session());
+			}
+			if (DEFAULT_PARTITION.equals(partitionCd)) {
+				return writer;
+			}
+			return writer.filtered(items -> {
+				for (OnbidItem item : items) {
+					item.PARTITION_CD = partitionCd;
+					item.CONTENT_HASH = OnbidContentHash.withPartition(item.CONTENT_HASH, partitionCd);
+				}
+				return items;
+			});
+		};
+	}
+
+	// 파티션 결과 합계. 실패 페이지는 파티션과 관계없이 페이지 번호만 모읍니다 (파티션별 목록은 partitions)
+	private OnbidIngestPipeline.Result combine(List<PartitionOutcome> outcomes) {
+		if (outcomes.size() == 1) {
+			return outcomes.get(0).result();
+		}
+		int pageCount = 0;
+		Set<Integer> failed = new TreeSet<>();
+		long parsed = 0;
+		long written = 0;
+		long bytes = 0;
+		long fetchNanos = 0;
+		long parseNanos = 0;
+		long writeNanos = 0;
+		for (PartitionOutcome outcome : outcomes) {
+			OnbidIngestPipeline.Result r = outcome.result();
+			pageCount += r.pageCount();
+			failed.addAll(r.failedPages());
+			parsed += r.parsedItems();
+			written += r.writtenRows();
+			bytes += r.fetchedBytes();
+			fetchNanos += r.fetchNanos();
+			parseNanos += r.parseNanos();
+			writeNanos += r.writeNanos();
+		}
+		return new OnbidIngestPipeline.Result(pageCount, List.copyOf(failed), Map.of(), -1, parsed, written, bytes,
+				fetchNanos, parseNanos, writeNanos);
+	}
+
+	// 작업이 진행률을 읽고 취소할 수 있도록 실행 중인 파이프라인을 연결합니다
+	private OnbidIngestPipeline.Result runPipeline(OnbidBatchJob job, OnbidIngestPipeline pipeline, List<Integer> pages)
+			throws Exception {
+		job.attach(pipeline);
+		try {
+			return pipeline.run(pages);
+		} finally {
+			job.detach(pipeline);
+		}
+	}
+
+	/**
+	 * 다시 수집할 페이지: 최신 totalCount 와 다른 목록 상태에서 받은 페이지, 그리고 늘어난 건수만큼 새로 생긴 페이지.
+	 * 목록이 줄어 사라진 뒤쪽 페이지는 다시 받지 않습니다.
+	 */
+	private List<Integer> driftedPages(OnbidIngestPipeline.Result result, int latestTotal, int plannedPages,
+			int latestPages) {
+		List<Integer> redo = new ArrayList<>();
+		result.pageTotals().forEach((pageNo, total) -> {
+			if (total != latestTotal && pageNo <= latestPages) {
+				redo.add(pageNo);
+			}
+		});
+		for (int pageNo = plannedPages + 1; pageNo <= latestPages; pageNo++) {
+			redo.add(pageNo);
+		}
+		return redo;
+	}
+
+	private int planPages(int totalCount) {
+		return onbidPageClient.planPages(totalCount, maxPages);
+	}
+
+	private int planPages(int totalCount, int limit) {
+		return onbidPageClient.planPages(totalCount, limit);
+	}
+
+	/**
+	 * 모든 페이지가 적재된 뒤의 마무리 (사라진 물건 삭제, 섀도 공개).
+	 * 목록 전체를 본 실행(partial 아님)은 사라진 물건의 REMOVED 변경 이벤트도 여기서 추가합니다.
+	 */
+	private void finish(OnbidLoadMode mode, WritePlan plan, OnbidItemDedup dedup, boolean partial,
+			OnbidBatchResult.OnbidBatchResultBuilder builder, OnbidIngestPipeline.Result result) throws Exception {
+		OnbidIncrementalSync sync = plan.sync();
+		OnbidChangeFeed feed = partial ? null : plan.feed();
+		if (sync != null) {
+			int removedRows = 0;
+			if (!partial) {
+				List<String> removedKeys = sync.removedKeys();
+				removedRows = onbidItemWriter.deleteByKeys(removedKeys, chunkSize);
+				if (feed != null) {
+					feed.removed(removedKeys);
+				}
+			}
+			builder.insertedCount(sync.getInserted())
+					.updatedCount(sync.getUpdated())
+					.unchangedCount(sync.getUnchanged())
+					.removedCount(removedRows);
+		} else if (mode == OnbidLoadMode.SHADOW) {
+			OnbidShadowTableManager.PublishResult published = onbidShadowTableManager.buildAndPublish(plan.stagingTable());
+			log.info("섀도 테이블 공개 완료: {} → {}", published.previousTable(), published.publishedTable());
+			builder.insertedCount(published.rowCount())
+					.duplicateCount(published.duplicatesRemoved())
+					.publishedTable(published.publishedTable())
+					.previousTable(published.previousTable())
+					.indexMillis(published.indexMillis());
+			if (feed != null) {
+				feed.removed(feed.unseenKeys(dedup));
+			}
+		} else {
+			builder.insertedCount(result.writtenRows());
+			if (feed != null) {
+				feed.removed(feed.unseenKeys(dedup));
+			}
+		}
+	}
+
+	private String failedStatus(Exception e) {
+		return e instanceof CancellationException ? STATUS_CANCELLED : STATUS_FAILED;
+	}
+
+	// 실행 상태 기록 실패가 적재 결과를 가리지 않도록 로그만 남깁니다
+	private void finishRun(String runId, String status, String failedPages, String errorMsg) {
+		try {
+			onbidBatchMapper.updateRun(OnbidBatchRunDto.builder()
+					.runId(runId)
+					.status(status)
+					.failedPages(failedPages)
+					.errorMsg(OnbidRunCheckpoint.truncate(errorMsg))
+					.build());
+		} catch (Exception e) {
+			log.warn("배치 실행 상태 저장 실패 (run={}): {}", runId, e.getMessage());
+		}
+	}
+
+	// 파티션 상태 기록 실패도 적재 결과를 가리지 않도록 로그만 남깁니다
+	private void finishPartition(String runId, String partitionCd, String status, Integer totalPages,
+			String failedPages, String errorMsg) {
+		try {
+			onbidBatchMapper.updatePartition(OnbidBatchPartitionDto.builder()
+					.runId(runId)
+					.partitionCd(partitionCd)
+					.status(status)
+					.totalPages(totalPages)
+					.failedPages(failedPages)
+					.errorMsg(OnbidRunCheckpoint.truncate(errorMsg))
+					.build());
+		} catch (Exception e) {
+			log.warn("배치 파티션 상태 저장 실패 (run={}, partition={}): {}", runId, partitionCd, e.getMessage());
+		}
+	}
+
+	/**
+	 * 파티션 하나의 적재 계획
+	 * - pages     : 적재할 페이지 (재개는 DONE 이 아닌 페이지만)
+	 * - refetcher : totalCount 변동 시 경계 페이지를 다시 받을 fetcher (재개, 재생은 null)
+	 */
+	private record PartitionPlan(String partitionCd, int reportedTotal, List<Integer> pages,
+			OnbidIngestPipeline.PageFetcher fetcher, OnbidIngestPipeline.PageFetcher refetcher) {
+	}
+
+	/** 파티션 하나의 적재 결과. 파이프라인 밖 예외로 끝났으면 result 는 null, error 에 예외 */
+	private record PartitionOutcome(String partitionCd, int plannedPages, int reportedTotal,
+			OnbidIngestPipeline.Result result, List<Integer> refetchedPages, Exception error) {
+
+		int finalTotalCount() {
+			return result != null && result.lastTotalCount() >= 0 ? result.lastTotalCount() : reportedTotal;
+		}
+
+		OnbidBatchPartitionDto summary(String runId) {
+			return OnbidBatchPartitionDto.builder()
+					.runId(runId)
+					.partitionCd(partitionCd)
+					.status(result.failedPages().isEmpty() ? STATUS_COMPLETED : STATUS_FAILED)
+					.totalPages(plannedPages)
+					.reportedTotal(reportedTotal)
+					.pagesDone(result.pageCount() - result.failedPages().size())
+					.itemCount(result.parsedItems())
+					.failedPages(result.failedPages().isEmpty() ? null
+							: result.failedPages().stream().map(String::valueOf).collect(Collectors.joining(",")))
+					.build();
+		}
+	}
+
+	/** 설정한 파티션 코드 목록 (onbid.batch.categories). 비어 있으면 기본 목록 하나 */
+	private List<String> categories() {
+		List<String> codes = Arrays.stream(categories.split(","))
+				.map(String::trim)
+				.filter(code -> !code.isEmpty())
+				.distinct()
+				.toList();
+		for (String code : codes) {
+			if (!PARTITION_CD.matcher(code).matches() || DEFAULT_PARTITION.equals(code)) {
+				throw new IllegalArgumentException("잘못된 파티션 코드 (onbid.batch.categories): " + code);
+			}
+		}
+		return codes.isEmpty() ? List.of(DEFAULT_PARTITION) : codes;
+	}
+
+	// 기본 목록은 DPSL_MTD_CD 없이 호출합니다
+	private static String dpslMtdCd(String partitionCd) {
+		return DEFAULT_PARTITION.equals(partitionCd) ? null : partitionCd;
+	}
+
+	// 원문 보관 실행 ID: 파티션 적재는 파티션마다 따로 보관 (실행ID_파티션)
+	private static String archiveRunId(String runId, String partitionCd) {
+		return DEFAULT_PARTITION.equals(partitionCd) ? runId : runId + "_" + partitionCd;
+	}
+
+	private static String archivedPartition(String archivedRunId) {
+		int sep = archivedRunId.lastIndexOf('_');
+		return sep < 0 ? DEFAULT_PARTITION : archivedRunId.substring(sep + 1);
+	}
+
+	private static String label(String partitionCd) {
+		return DEFAULT_PARTITION.equals(partitionCd) ? "" : "[" + partitionCd + "] ";
+	}
+
+	/**
+	 * 적재 방식별 writer 구성
+	 * - writers    : writer 스레드마다 여는 적재 세션
+	 * - sync       : 증분 적재 비교 상태 (증분이 아니면 null)
+	 * - directPath : APPEND_VALUES 적재 여부 (writer 1개로 제한)
+	 * - feed       : 변경 이벤트 계산 (onbid.events.enabled=false 이거나 기준이 없으면 null)
+	 */
+	private record WritePlan(OnbidIngestPipeline.WriterFactory writers, OnbidIncrementalSync sync, String stagingTable,
+			boolean directPath, OnbidChangeFeed feed) {
+	}
+
+	// table 이 null 이면 시노님(현재 공개 테이블)에 적재. 섀도 staging 테이블은 shadow-append-values 로 direct-path 적재
+	private WritePlan insertPlan(String table, OnbidChangeFeed feed) {
+		boolean directPath = appendValues || (table != null && shadowAppendValues);
+		return new WritePlan(() -> {
+			OnbidIngestPipeline.ChunkWriter writer = onbidItemWriter.openInsertSession(table, jdbcBatchSize, directPath);
+			return feed != null ? feed.wrap(writer) : writer;
+		}, null, table, directPath, feed);
+	}
+
+	// 증분 적재는 변경분만 변경 이벤트 비교로 넘깁니다 (기준은 해시 비교와 같은 조회 결과)
+	private WritePlan incrementalPlan(String runId) throws Exception {
+		Map<String, OnbidItemWriter.StoredItem> storedItems = onbidItemWriter.loadStoredItems();
+		log.info("증분 적재: 기존 물건 {}건 해시 로드 완료", storedItems.size());
+		OnbidIncrementalSync sync = new OnbidIncrementalSync(storedItems);
+		OnbidChangeFeed feed = changeEvents ? new OnbidChangeFeed(runId, storedItems, onbidChangeEventService) : null;
+		return new WritePlan(() -> {
+			OnbidIngestPipeline.ChunkWriter writer = onbidItemWriter.openUpsertSession(jdbcBatchSize);
+			return (feed != null ? feed.wrap(writer) : writer).filtered(sync.session());
+		}, sync, null, false, feed);
+	}
+
+	// 공개 테이블의 현재 물건을 변경 이벤트 기준으로 읽습니다
+	private OnbidChangeFeed changeFeed(String runId) throws Exception {
+		if (!changeEvents) {
+			return null;
+		}
+		Map<String, OnbidItemWriter.StoredItem> baseline = onbidItemWriter.loadStoredItems();
+		log.info("변경 이벤트 기준: 기존 물건 {}건 로드 완료", baseline.size());
+		return new OnbidChangeFeed(runId, baseline, onbidChangeEventService);
+	}
+
+	/** 실행 ID 형식의 새 ID. 예: 20261018-153012-3fa9c1 */
+	static String newRunId() {
+		return LocalDateTime.now().format(RUN_ID_FORMAT) + "-"
+				+ String.format("%06x", ThreadLocalRandom.current().nextInt(0x1000000));
+	}
+
+	private OnbidIngestPipeline.Settings pipelineSettings(boolean directPath) {
+		return new OnbidIngestPipeline.Settings(fetchConcurrency, parseConcurrency, directPath ? 1 : writerConcurrency,
+				queueCapacity, chunkSize, commitSize);
+	}
+}
@@ -0,0 +1,223 @@
+package com.project.app.kamco.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.app.kamco.dto.OnbidChangeEventDto;
+import com.project.app.kamco.mapper.OnbidItemMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 물건 변경 이벤트 저장/조회/구독 (KAMCO_AUCTION_ITEM_EVENTS, sql/09)
+ *
+ * - 적재(OnbidChangeFeed)가 커밋할 때마다 append 로 이벤트를 추가합니다. 추가는 직렬화하므로 EVENT_ID 순서가 커밋 순서입니다
+ * - 조회와 SSE 구독 모두 EVENT_ID 를 커서로 사용합니다. 구독자는 Last-Event-ID(또는 after)부터 놓친 이벤트를 먼저 받고 이어서 새 이벤트를 받습니다
+ * - 이벤트가 추가되면 바로, 그 외에는 poll-interval 마다 전송을 깨우므로 다른 서버가 적재한 이벤트도 전달됩니다
+ * - 전송은 구독자마다 자기 전송 스레드(가상 스레드, 대기열 1개)에서 자기 커서부터 테이블을 읽어 보냅니다.
+ *   느린 구독자의 send 가 막혀도 그 구독자의 스레드만 기다리고, 그동안 온 전송 요청은 대기 중인 하나로 합쳐집니다
+ */
+@Slf4j
+@Service
+public class OnbidChangeEventService {
+
+    private static final String INSERT_SQL = "INSERT INTO KAMCO_AUCTION_ITEM_EVENTS (RUN_ID, EVENT_TYPE, CLTR_MNMT_NO,"
+            + " CLTR_HSTR_NO, PREV_HSTR_NO, CLTR_NM, OLD_MIN_BID_PRC, NEW_MIN_BID_PRC, OLD_STAT_NM, NEW_STAT_NM)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 구독자 한 명에게 한 번에 읽어 보내는 이벤트 수
+    private static final int SEND_BATCH = 500;
+    // 구독자 전송 스레드가 할 일 없이 남아 있는 시간
+    private static final long SENDER_IDLE_SECONDS = 60;
+
+    private final DataSource dataSource;
+    private final OnbidItemMapper onbidItemMapper;
+    private final long sseTimeoutMillis;
+    private final long keepAliveMillis;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("onbid-events").daemon().factory());
+
+    public OnbidChangeEventService(DataSource dataSource, OnbidItemMapper onbidItemMapper,
+            @Value("${onbid.events.sse-timeout-ms:1800000}") long sseTimeoutMillis,
+            @Value("${onbid.events.poll-interval-ms:5000}") long pollIntervalMillis,
+            @Value("${onbid.events.keep-alive-ms:15000}") long keepAliveMillis) {
+        this.dataSource = dataSource;
+        this.onbidItemMapper = onbidItemMapper;
+        this.sseTimeoutMillis = sseTimeoutMillis;
+        this.keepAliveMillis = keepAliveMillis;
+        long interval = Math.max(500, pollIntervalMillis);
+        dispatcher.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** 이벤트 추가 (자동 커밋) 후 구독자에게 전송을 예약합니다. */
+    public synchronized void append(List<OnbidChangeEventDto> events) throws SQLException {
+        if (events.isEmpty()) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            for (OnbidChangeEventDto event : events) {
+                ps.setString(1, event.getRunId());
+                ps.setString(2, event.getEventType());
+                ps.setString(3, event.getCltrMnmtNo());
+                ps.setString(4, event.getCltrHstrNo());
+                ps.setString(5, event.getPrevHstrNo());
+                ps.setString(6, event.getCltrNm());
+                setLong(ps, 7, event.getOldMinBidPrc());
+                setLong(ps, 8, event.getNewMinBidPrc());
+                ps.setString(9, event.getOldStatNm());
+                ps.setString(10, event.getNewStatNm());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        signal();
+    }
+
+    /** afterId 보다 뒤의 이벤트 (EVENT_ID 순) */
+    public List<OnbidChangeEventDto> after(long afterId, int count) {
+        return onbidItemMapper.selectChangeEvents(Math.max(0, afterId), Math.max(1, Math.min(count, 1000)));
+    }
+
+    /**
+     * afterId 보다 뒤의 이벤트부터 받는 SSE 구독. 이벤트 이름은 EVENT_TYPE, id 는 EVENT_ID 입니다.
+     * afterId 가 null 이면 지금 이후의 새 이벤트만 받습니다.
+     */
+    public SseEmitter subscribe(Long afterId) {
+        long cursor = afterId != null ? afterId : lastEventId();
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, Math.max(0, cursor));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        signal();
+        return emitter;
+    }
+
+    public long lastEventId() {
+        Long last = onbidItemMapper.selectLastEventId();
+        return last != null ? last : 0;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sender.shutdownNow();
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    // 전송 요청이 몰려도 대기 중인 전송은 하나만 둡니다
+    private void signal() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> {
+                    dispatchQueued.set(false);
+                    dispatch();
+                });
+            } catch (RuntimeException e) {
+                dispatchQueued.set(false); // 종료 중
+            }
+        }
+    }
+
+    // 구독자마다 전송을 맡깁니다. 이미 전송 중이고 대기 중인 요청도 있으면 그 요청이 새 이벤트까지 보냅니다
+    private void dispatch() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sender.execute(() -> sendTo(subscriber));
+        }
+    }
+
+    private void sendTo(Subscriber subscriber) {
+        try {
+            send(subscriber);
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber); // 연결이 끊긴 구독자
+            subscriber.emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            log.warn("변경 이벤트 전송 실패 (다음 주기에 다시 시도): {}", e.getMessage());
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.sender.shutdown();
+    }
+
+    private void send(Subscriber subscriber) throws IOException {
+        boolean sent = false;
+        List<OnbidChangeEventDto> events;
+        do {
+            events = after(subscriber.cursor, SEND_BATCH);
+            for (OnbidChangeEventDto event : events) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getEventId()))
+                        .name(event.getEventType())
+                        .data(event));
+                subscriber.cursor = event.getEventId();
+                sent = true;
+            }
+        } while (events.size() == SEND_BATCH);
+        long now = System.currentTimeMillis();
+        if (sent) {
+            subscriber.lastSentAt = now;
+        } else if (now - subscriber.lastSentAt >= keepAliveMillis) {
+            // 프록시가 유휴 연결을 끊지 않도록 주석 한 줄을 보냅니다
+            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            subscriber.lastSentAt = now;
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    // cursor, lastSentAt 은 자기 전송 스레드에서만 읽고 씁니다
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // 전송 스레드 1개 + 대기 1개. 더 오는 요청은 버립니다 (커서부터 읽으므로 대기 중인 전송이 함께 보냄)
+        private final ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, SENDER_IDLE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), Thread.ofVirtual().name("onbid-events-send-", 0).factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+        private long cursor;
+        private long lastSentAt = System.currentTimeMillis();
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            sender.allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.project.app.kamco.dto.OnbidChangeEventDto;
+import com.project.app.kamco.dto.OnbidItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 적재 1회 실행 동안 물건 변경 이벤트를 계산합니다 (KAMCO_AUCTION_ITEM_EVENTS, sql/09)
+ *
+ * - 실행 시작 시 읽어 둔 기준(업무 키 → 최저입찰가, 물건상태)과 writer 로 넘어가는 물건을 비교합니다
+ * - 같은 물건관리번호의 가장 최근 회차(CLTR_HSTR_NO)를 기억해 두었다가 새 회차의 최저입찰가가 내려갔는지 판단합니다
+ * - writer 세션마다 이벤트를 모아 두었다가 물건이 커밋된 뒤 OnbidChangeEventService 로 추가합니다 (롤백된 chunk 의 이벤트는 버림)
+ * - 사라진 물건(REMOVED)은 목록 전체를 끝까지 본 실행의 마무리 단계에서 removed() 로 추가합니다
+ * 여러 writer 스레드가 동시에 사용할 수 있습니다 (기준은 읽기 전용, 버퍼는 세션마다 따로).
+ */
+@Slf4j
+public class OnbidChangeFeed {
+
+    public enum Type {
+        NEW_ITEM, NEW_ROUND, PRICE_DROP, STATUS_CHANGED, REMOVED
+    }
+
+    private final String runId;
+    private final Map<String, OnbidItemWriter.StoredItem> baseline;
+    // 물건관리번호 → 기준에서 가장 최근 회차의 물건이력번호
+    private final Map<String, String> latestRounds = new HashMap<>();
+    private final OnbidChangeEventService onbidChangeEventService;
+    private final AtomicLongArray counts = new AtomicLongArray(Type.values().length);
+
+    public OnbidChangeFeed(String runId, Map<String, OnbidItemWriter.StoredItem> baseline,
+            OnbidChangeEventService onbidChangeEventService) {
+        this.runId = runId;
+        this.baseline = baseline;
+        this.onbidChangeEventService = onbidChangeEventService;
+        for (String itemKey : baseline.keySet()) {
+            int sep = itemKey.indexOf('|');
+            latestRounds.merge(itemKey.substring(0, sep), itemKey.substring(sep + 1),
+                    (a, b) -> compareRound(a, b) >= 0 ? a : b);
+        }
+    }
+
+    /** 커밋된 물건의 이벤트를 추가하는 writer (target 에 쓰기 전에 비교, target 커밋 후 추가) */
+    public OnbidIngestPipeline.ChunkWriter wrap(OnbidIngestPipeline.ChunkWriter target) {
+        List<OnbidChangeEventDto> pending = new ArrayList<>();
+        return new OnbidIngestPipeline.ChunkWriter() {
+            @Override
+            public int write(List<OnbidItem> chunk) throws Exception {
+                int unit = target.autoCommitRows();
+                if (unit <= 0) {
+                    for (OnbidItem item : chunk) {
+                        compare(item, pending);
+                    }
+                    return target.write(chunk);
+                }
+                // write 도중 확정하는 writer(direct-path): 확정 단위마다 쓰고 바로 이벤트를 보냅니다
+                int written = 0;
+                for (int from = 0; from < chunk.size(); from += unit) {
+                    List<OnbidItem> part = chunk.subList(from, Math.min(chunk.size(), from + unit));
+                    for (OnbidItem item : part) {
+                        compare(item, pending);
+                    }
+                    written += target.write(part);
+                    publish(pending);
+                    pending.clear();
+                }
+                return written;
+            }
+
+            @Override
+            public void commit() throws Exception {
+                target.commit();
+                publish(pending);
+                pending.clear();
+            }
+
+            @Override
+            public void rollback() {
+                pending.clear();
+                target.rollback();
+            }
+
+            @Override
+            public void close() throws Exception {
+                target.close();
+            }
+
+            @Override
+            public int autoCommitRows() {
+                return target.autoCommitRows();
+            }
+        };
+    }
+
+    /** 사라진 물건(업무 키 "물건관리번호|물건이력번호") 이벤트를 추가합니다. */
+    public void removed(Collection<String> itemKeys) {
+        List<OnbidChangeEventDto> events = new ArrayList<>();
+        for (String itemKey : itemKeys) {
+            int sep = itemKey.indexOf('|');
+            OnbidItemWriter.StoredItem stored = baseline.get(itemKey);
+            events.add(event(Type.REMOVED, itemKey.substring(0, sep), itemKey.substring(sep + 1))
+                    .oldMinBidPrc(stored != null ? stored.minBidPrc() : null)
+                    .oldStatNm(stored != null ? stored.statNm() : null)
+                    .build());
+        }
+        publish(events);
+    }
+
+    /** 기준에 있었지만 이번 실행에서 쓰지 않은 업무 키 (전체/섀도 적재의 사라진 물건) */
+    public List<String> unseenKeys(OnbidItemDedup dedup) {
+        List<String> unseen = new ArrayList<>();
+        for (String itemKey : baseline.keySet()) {
+            int sep = itemKey.indexOf('|');
+            if (!dedup.contains(itemKey.substring(0, sep), itemKey.substring(sep + 1))) {
+                unseen.add(itemKey);
+            }
+        }
+        return unseen;
+    }
+
+    /** 저장된 유형별 이벤트 건수 (0건 유형 제외) */
+    public Map<String, Long> counts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Type type : Type.values()) {
+            long count = counts.get(type.ordinal());
+            if (count > 0) {
+                result.put(type.name(), count);
+            }
+        }
+        return result;
+    }
+
+    private void compare(OnbidItem item, List<OnbidChangeEventDto> events) {
+        OnbidItemWriter.StoredItem stored = baseline.get(item.itemKey());
+        if (stored != null) {
+            if (!Objects.equals(stored.statNm(), item.PBCT_CLTR_STAT_NM)) {
+                add(events, event(Type.STATUS_CHANGED, item).oldStatNm(stored.statNm()).newStatNm(item.PBCT_CLTR_STAT_NM));
+            }
+            if (lower(item.MIN_BID_PRC, stored.minBidPrc())) {
+                add(events, event(Type.PRICE_DROP, item).oldMinBidPrc(stored.minBidPrc()).newMinBidPrc(item.MIN_BID_PRC));
+            }
+            return;
+        }
+        String previousRound = latestRounds.get(item.CLTR_MNMT_NO);
+        if (previousRound == null) {
+            add(events, event(Type.NEW_ITEM, item).newMinBidPrc(item.MIN_BID_PRC).newStatNm(item.PBCT_CLTR_STAT_NM));
+            return;
+        }
+        OnbidItemWriter.StoredItem previous = baseline.get(item.CLTR_MNMT_NO + "|" + previousRound);
+        Type type = lower(item.MIN_BID_PRC, previous.minBidPrc()) ? Type.PRICE_DROP : Type.NEW_ROUND;
+        add(events, event(type, item)
+                .prevHstrNo(previousRound)
+                .oldMinBidPrc(previous.minBidPrc())
+                .newMinBidPrc(item.MIN_BID_PRC)
+                .oldStatNm(previous.statNm())
+                .newStatNm(item.PBCT_CLTR_STAT_NM));
+    }
+
+    private void add(List<OnbidChangeEventDto> events, OnbidChangeEventDto.OnbidChangeEventDtoBuilder event) {
+        events.add(event.build());
+    }
+
+    private OnbidChangeEventDto.OnbidChangeEventDtoBuilder event(Type type, OnbidItem item) {
+        return event(type, item.CLTR_MNMT_NO, item.CLTR_HSTR_NO).cltrNm(item.CLTR_NM);
+    }
+
+    private OnbidChangeEventDto.OnbidChangeEventDtoBuilder event(Type type, String cltrMnmtNo, String cltrHstrNo) {
+        return OnbidChangeEventDto.builder()
+                .runId(runId)
+                .eventType(type.name())
+                .cltrMnmtNo(cltrMnmtNo)
+                .cltrHstrNo(cltrHstrNo);
+    }
+
+    // 이벤트 저장 실패가 적재를 멈추지 않도록 로그만 남깁니다 (물건은 이미 커밋됨)
+    private void publish(List<OnbidChangeEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            onbidChangeEventService.append(events);
+            for (OnbidChangeEventDto event : events) {
+                counts.incrementAndGet(Type.valueOf(event.getEventType()).ordinal());
+            }
+        } catch (Exception e) {
+            log.warn("변경 이벤트 {}건 저장 실패 (run={}): {}", events.size(), runId, e.getMessage());
+        }
+    }
+
+    private static boolean lower(Long price, Long previous) {
+        return price != null && previous != null && price < previous;
+    }
+
+    // 물건이력번호는 숫자 문자열이므로 길이 → 문자열 순으로 비교합니다
+    static int compareRound(String a, String b) {
+        return a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.app.kamco.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+/**
+ * 물건 내용 해시 (64bit FNV-1a)
+ *
+ * - 증분 적재 시 DB에 저장된 CONTENT_HASH 와 비교하여 변경 여부를 판단합니다
+ * - RNUM 은 조회 순번(페이지 위치)일 뿐이므로 해시에서 제외합니다
+ * - 문자열을 새로 만들지 않고 char 단위로 바로 누적합니다 (숫자/일시 필드는 값 자체를 누적)
+ */
+public final class OnbidContentHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private OnbidContentHash() {
+    }
+
+    public static long of(OnbidItem item) {
+        long h = FNV_OFFSET;
+        h = mix(h, item.PLNM_NO);
+        h = mix(h, item.PBCT_NO);
+        h = mix(h, item.PBCT_CDTN_NO);
+        h = mix(h, item.CLTR_NO);
+        h = mix(h, item.CLTR_HSTR_NO);
+        h = mix(h, item.SCRN_GRP_CD);
+        h = mix(h, item.CTGR_FULL_NM);
+        h = mix(h, item.BID_MNMT_NO);
+        h = mix(h, item.CLTR_NM);
+        h = mix(h, item.CLTR_MNMT_NO);
+        h = mix(h, item.LDNM_ADRS);
+        h = mix(h, item.NMRD_ADRS);
+        h = mix(h, item.LDNM_PNU);
+        h = mix(h, item.DPSL_MTD_CD);
+        h = mix(h, item.DPSL_MTD_NM);
+        h = mix(h, item.BID_MTD_NM);
+        h = mix(h, item.MIN_BID_PRC);
+        h = mix(h, item.APSL_ASES_AVG_AMT);
+        h = mix(h, item.FEE_RATE);
+        h = mix(h, item.PBCT_BEGN_DTM);
+        h = mix(h, item.PBCT_CLS_DTM);
+        h = mix(h, item.PBCT_CLTR_STAT_NM);
+        h = mix(h, item.USCBD_CNT);
+        h = mix(h, item.IQRY_CNT);
+        h = mix(h, item.GOODS_NM);
+        h = mix(h, item.MANF);
+        h = mix(h, item.MDL);
+        h = mix(h, item.NRGT);
+        h = mix(h, item.GRBX);
+        h = mix(h, item.ENDPC);
+        h = mix(h, item.VHCL_MLGE);
+        h = mix(h, item.FUEL);
+        h = mix(h, item.SCRT_NM);
+        h = mix(h, item.TPBZ);
+        h = mix(h, item.ITM_NM);
+        h = mix(h, item.MMB_RGT_NM);
+        // 값이 같아도 원문이 바뀌면 목록 조회에 돌려줄 문자열이 바뀌므로 변경으로 봅니다
+        h = mix(h, item.MIN_BID_PRC_TXT);
+        h = mix(h, item.APSL_ASES_AVG_AMT_TXT);
+        h = mix(h, item.FEE_RATE_TXT);
+        h = mix(h, item.PBCT_BEGN_DTM_TXT);
+        h = mix(h, item.PBCT_CLS_DTM_TXT);
+        h = mix(h, item.USCBD_CNT_TXT);
+        h = mix(h, item.IQRY_CNT_TXT);
+        h = mix(h, item.VHCL_MLGE_TXT);
+        h = mix(h, item.imageUrls);
+        return h;
+    }
+
+    /**
+     * 파티션 적재 물건의 해시. 파티션 코드를 섞어 파티션이 바뀐 물건도 증분 적재에서 변경으로 판단되게 합니다.
+     * 기본 목록 적재(partitionCd == null)는 of(item) 값 그대로입니다.
+     */
+    public static long withPartition(long contentHash, String partitionCd) {
+        return partitionCd == null ? contentHash : mix(contentHash, partitionCd);
+    }
+
+    // 숫자/일시 값은 문자열을 만들지 않고 64bit 값 자체를 섞습니다
+    private static long mix(long h, Long value) {
+        if (value == null) {
+            return (h ^ 0xFF) * FNV_PRIME;
+        }
+        long v = value;
+        for (int i = 0; i < 8; i++) {
+            h = (h ^ (v & 0xFF)) * FNV_PRIME;
+            v >>>= 8;
+        }
+        return (h ^ 0xFE) * FNV_PRIME;
+    }
+
+    private static long mix(long h, Integer value) {
+        return mix(h, value == null ? null : Long.valueOf(value));
+    }
+
+    // 1.50 과 1.5 가 같은 해시가 되도록 정규화
+    private static long mix(long h, BigDecimal value) {
+        return mix(h, value == null ? null : value.stripTrailingZeros().toPlainString());
+    }
+
+    private static long mix(long h, LocalDateTime value) {
+        return mix(h, value == null ? null : value.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    // 이미지 URL 을 콤마로 이어 붙인 문자열(이전 CLTR_IMG_FILES 컬럼 값)과 같은 해시. 목록이 비어 있으면 null 과 같습니다
+    private static long mix(long h, List<String> values) {
+        if (values.isEmpty()) {
+            return (h ^ 0xFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                h = mixChars(h, ",");
+            }
+            h = mixChars(h, values.get(i));
+        }
+        return (h ^ 0xFE) * FNV_PRIME;
+    }
+
+    // 필드 경계를 구분하기 위해 값 뒤에 구분자(null 이면 별도 표식)를 섞습니다
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return (h ^ 0xFF) * FNV_PRIME;
+        }
+        return (mixChars(h, value) ^ 0xFE) * FNV_PRIME;
+    }
+
+    private static long mixChars(long h, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+}
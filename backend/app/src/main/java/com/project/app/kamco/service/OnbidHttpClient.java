@@ -0,0 +1,108 @@
+package com.project.app.kamco.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 온비드 OpenAPI 공용 HTTP 호출 (배치 수집 OnbidPageClient, 화면 조회 OnbidApiService 가 함께 사용)
+ *
+ * - 연결 재사용 : AppApplication 의 공용 HttpClient(HTTP/1.1 keep-alive 연결 풀)를 사용합니다
+ * - 압축       : Accept-Encoding: gzip 으로 요청하고 Content-Encoding: gzip 응답은 읽으면서 풀어 줍니다
+ * - 시간 제한  : 연결은 HttpClient 의 connect timeout, 응답 헤더까지는 onbid.http.read-timeout-ms
+ * - 스트리밍   : 응답을 문자열로 모으지 않고 InputStream 으로 호출자(파서)에게 넘깁니다
+ *
+ * 2xx 가 아니면 OnbidUpstreamException(HTTP 상태 코드)을, 2xx 라도 결과 코드가 한도 초과/일시 오류면
+ * OnbidUpstreamGovernor.checkResultCode 예외를 던지므로 거버너 재시도 판단은 이전과 같습니다.
+ */
+@Component
+public class OnbidHttpClient {
+
+    /** 응답 본문 처리. 스트림은 get 이 닫습니다. */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws Exception;
+    }
+
+    // 결과 코드 확인용으로 앞부분을 미리 읽는 크기 (OnbidUpstreamGovernor 와 같은 범위)
+    private static final int RESULT_CODE_PEEK_BYTES = 1024;
+    private static final int ERROR_BODY_MAX_BYTES = 2048;
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final boolean gzip;
+
+    public OnbidHttpClient(HttpClient httpClient,
+            @Value("${onbid.http.read-timeout-ms:60000}") long readTimeoutMillis,
+            @Value("${onbid.http.gzip:true}") boolean gzip) {
+        this.httpClient = httpClient;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.gzip = gzip;
+    }
+
+    /** GET 호출 후 (압축 해제된) 본문을 reader 에 넘깁니다. */
+    public <T> T get(URI uri, BodyReader<T> reader) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Accept", "application/xml")
+                .GET();
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            String error = readError(response);
+            System.err.println("❌ OpenAPI 호출 에러 코드: " + status);
+            System.err.println("❌ OpenAPI 에러 메시지: " + error);
+            throw new OnbidUpstreamException("Failed to fetch XML from OpenAPI. Response Code: " + status
+                    + ", Error: " + error, status, null, status == 429);
+        }
+        try (InputStream body = decode(response)) {
+            // HTTP 200 으로 내려온 한도 초과/일시 오류 응답도 재시도 대상
+            BufferedInputStream in = new BufferedInputStream(body, 64 * 1024);
+            in.mark(RESULT_CODE_PEEK_BYTES);
+            OnbidUpstreamGovernor.checkResultCode(in.readNBytes(RESULT_CODE_PEEK_BYTES));
+            in.reset();
+            return reader.read(in);
+        }
+    }
+
+    /** 본문 전체를 byte[] 로 받습니다 (페이지 원문 보관/해시가 필요한 배치 수집용). */
+    public byte[] getBytes(URI uri) throws Exception {
+        return get(uri, InputStream::readAllBytes);
+    }
+
+    // 오류 응답 본문은 메시지용으로 앞부분만 읽습니다 (본문이 비었거나 깨져도 상태 코드 예외가 우선)
+    private static String readError(HttpResponse<InputStream> response) {
+        try (InputStream body = decode(response)) {
+            return new String(body.readNBytes(ERROR_BODY_MAX_BYTES), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        InputStream raw = response.body();
+        if (!"gzip".equalsIgnoreCase(encoding.trim())) {
+            return raw;
+        }
+        try {
+            return new GZIPInputStream(raw, 64 * 1024);
+        } catch (IOException e) {
+            raw.close(); // 빈 본문/깨진 gzip 헤더 - 연결을 풀에 되돌리지 않고 닫습니다
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+/**
+ * 증분 적재 1회 실행 상태
+ *
+ * - 실행 시작 시 읽어 둔 (업무 키 → CONTENT_HASH) 와 파싱된 아이템의 해시를 비교합니다
+ * - 신규/변경 아이템만 걸러서 writer(MERGE 세션)로 넘기고, 동일한 아이템은 DB에 전혀 쓰지 않습니다
+ * - 이번 실행에서 한 번도 보지 못한 키는 removedKeys() 로 반환되어 삭제 대상이 됩니다
+ * - writer 마다 session() 을 하나씩 만들어 붙입니다. 여러 writer 가 동시에 비교할 수 있습니다
+ * - 본 키와 건수는 writer 가 확정해야 반영됩니다. 롤백된 chunk 의 키는 잊으므로 다시 받은 페이지의 물건을 다시 쓰고,
+ *   끝내 다시 받지 못하면 실패 페이지가 남아 삭제 판단(removedKeys)까지 가지 않습니다
+ */
+public class OnbidIncrementalSync {
+
+    private final Map<String, OnbidItemWriter.StoredItem> storedItems;
+    private final Set<String> seenKeys = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    public OnbidIncrementalSync(Map<String, OnbidItemWriter.StoredItem> storedItems) {
+        this.storedItems = storedItems;
+    }
+
+    /** writer 하나의 비교 필터. chunk 에서 써야 할 신규/변경분만 남깁니다 (ChunkWriter.filtered 로 MERGE 세션 앞에 붙여 사용) */
+    public OnbidIngestPipeline.ChunkFilter session() {
+        return new OnbidIngestPipeline.ChunkFilter() {
+            private final List<String> claimed = new ArrayList<>();
+            private long newCount;
+            private long changedCount;
+            private long sameCount;
+
+            @Override
+            public List<OnbidItem> apply(List<OnbidItem> chunk) {
+                List<OnbidItem> changed = new ArrayList<>();
+                for (OnbidItem item : chunk) {
+                    String itemKey = item.itemKey();
+                    if (!seenKeys.add(itemKey)) {
+                        continue; // 이번 실행에서 이미 처리한 키 (페이지 경계 이동 등)
+                    }
+                    claimed.add(itemKey);
+                    OnbidItemWriter.StoredItem stored = storedItems.get(itemKey);
+                    if (stored == null) {
+                        changed.add(item);
+                        newCount++;
+                    } else if (stored.contentHash() != item.CONTENT_HASH) {
+                        changed.add(item);
+                        changedCount++;
+                    } else {
+                        sameCount++;
+                    }
+                }
+                return changed;
+            }
+
+            @Override
+            public void committed() {
+                inserted.addAndGet(newCount);
+                updated.addAndGet(changedCount);
+                unchanged.addAndGet(sameCount);
+                reset();
+            }
+
+            @Override
+            public void rolledBack() {
+                claimed.forEach(seenKeys::remove);
+                reset();
+            }
+
+            private void reset() {
+                claimed.clear();
+                newCount = 0;
+                changedCount = 0;
+                sameCount = 0;
+            }
+        };
+    }
+
+    /** 저장되어 있었지만 이번 실행에서 수신되지 않은 업무 키 목록 */
+    public List<String> removedKeys() {
+        List<String> removed = new ArrayList<>();
+        for (String itemKey : storedItems.keySet()) {
+            if (!seenKeys.contains(itemKey)) {
+                removed.add(itemKey);
+            }
+        }
+        return removed;
+    }
+
+    public long getInserted() {
+        return inserted.get();
+    }
+
+    public long getUpdated() {
+        return updated.get();
+    }
+
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.app.kamco.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 전체 적재 Spring Batch 잡 (onbidIngestJob)
+ *
+ * 1. onbidPlanStep       : 1페이지 totalCount 로 페이지 수를 정하고 기존 데이터를 삭제합니다 (잡 ExecutionContext 에 plannedPages 저장)
+ * 2. onbidPageStep       : 페이지마다 파티션을 하나씩 만들어 partition-concurrency 개 스레드로 나눠 실행합니다
+ * 3. onbidPageWorkerStep : 페이지 reader → MERGE writer 의 chunk 처리. chunk 마다 커밋하고 읽은 위치를 저장합니다
+ *
+ * 재시작하면 완료된 단계/파티션은 건너뛰고(삭제도 다시 하지 않음) 실패한 페이지만 마지막 확정 chunk 다음부터 이어서 적재합니다.
+ * 적재는 INSERT 가 아닌 MERGE 이므로 페이지 내용이 바뀌어 같은 물건을 다시 쓰게 되어도 중복되지 않습니다.
+ * 일시적인 DB 오류는 chunk 단위로 재시도하고, 제약 조건 위반 물건은 skip-limit 건까지 건너뜁니다.
+ * 호출 속도/재시도는 파이프라인 적재와 같은 OnbidUpstreamGovernor 가 담당합니다.
+ */
+@Slf4j
+@Configuration
+@PropertySource("classpath:onbid-batch-defaults.properties")
+public class OnbidIngestJobConfig {
+
+    public static final String JOB_NAME = "onbidIngestJob";
+    static final String RUN_ID_PARAM = "runId";
+    static final String PAGE_NO_KEY = "pageNo";
+    static final String PLANNED_PAGES_KEY = "plannedPages";
+    static final String REPORTED_TOTAL_KEY = "reportedTotalCount";
+    static final String DELETED_ROWS_KEY = "deletedRows";
+
+    @Value("${onbid.batch.max-pages:0}")
+    private int maxPages;
+
+    @Value("${onbid.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${onbid.batch.jdbc-batch-size:1000}")
+    private int jdbcBatchSize;
+
+    @Value("${onbid.batch.partition-concurrency:4}")
+    private int partitionConcurrency;
+
+    @Value("${onbid.batch.retry-limit:3}")
+    private int retryLimit;
+
+    @Value("${onbid.batch.skip-limit:100}")
+    private int skipLimit;
+
+    @Bean
+    public Job onbidIngestJob(JobRepository jobRepository, Step onbidPlanStep, Step onbidPageStep) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(onbidPlanStep)
+                .next(onbidPageStep)
+                .build();
+    }
+
+    @Bean
+    public Step onbidPlanStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            OnbidPageClient onbidPageClient, OnbidXmlStreamParser onbidXmlStreamParser,
+            OnbidItemWriter onbidItemWriter) {
+        return new StepBuilder("onbidPlanStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    int reportedTotal = onbidXmlStreamParser.peekTotalCount(onbidPageClient.fetch(1));
+                    int plannedPages = onbidPageClient.planPages(reportedTotal, maxPages);
+                    log.info("페이지 계획: totalCount {}건 / 페이지당 {}건 → {}페이지", reportedTotal,
+                            onbidPageClient.numOfRows(), plannedPages);
+                    int deletedRows = onbidItemWriter.deleteAll();
+                    log.info("기존 데이터 {}건 삭제 완료 및 오토 커밋", deletedRows);
+                    ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                            .getExecutionContext();
+                    jobContext.putInt(PLANNED_PAGES_KEY, plannedPages);
+                    jobContext.putInt(REPORTED_TOTAL_KEY, reportedTotal);
+                    jobContext.putInt(DELETED_ROWS_KEY, deletedRows);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step onbidPageStep(JobRepository jobRepository, Partitioner onbidPagePartitioner,
+            Step onbidPageWorkerStep) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("onbid-partition-");
+        taskExecutor.setConcurrencyLimit(Math.max(1, partitionConcurrency));
+        return new StepBuilder("onbidPageStep", jobRepository)
+                .partitioner("onbidPageWorkerStep", onbidPagePartitioner)
+                .step(onbidPageWorkerStep)
+                .gridSize(Math.max(1, partitionConcurrency))
+                .taskExecutor(taskExecutor)
+                .build();
+    }
+
+    // 파티션 이름(page-0001 ...)은 재시작 시 이전 실행의 파티션과 짝을 맞추는 데 사용됩니다
+    @Bean
+    @StepScope
+    public Partitioner onbidPagePartitioner(
+            @Value("#{jobExecutionContext['" + PLANNED_PAGES_KEY + "']}") Integer plannedPages) {
+        return gridSize -> {
+            Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+            for (int pageNo = 1; pageNo <= plannedPages; pageNo++) {
+                ExecutionContext context = new ExecutionContext();
+                context.putInt(PAGE_NO_KEY, pageNo);
+                partitions.put(String.format("page-%04d", pageNo), context);
+            }
+            return partitions;
+        };
+    }
+
+    @Bean
+    public Step onbidPageWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            OnbidPageItemReader onbidPageItemReader, OnbidItemWriter onbidItemWriter,
+            OnbidIngestJobTracker onbidIngestJobTracker) {
+        ItemWriter<OnbidItem> writer = chunk -> onbidItemWriter.upsertInTransaction(chunk.getItems(), jdbcBatchSize);
+        return new StepBuilder("onbidPageWorkerStep", jobRepository)
+                .<OnbidItem, OnbidItem>chunk(Math.max(1, chunkSize), transactionManager)
+                .reader(onbidPageItemReader)
+                .writer(writer)
+                .faultTolerant()
+                .retry(TransientDataAccessException.class)
+                .retry(RecoverableDataAccessException.class)
+                .retryLimit(Math.max(1, retryLimit))
+                .skip(DataIntegrityViolationException.class)
+                .skipLimit(Math.max(0, skipLimit))
+                .listener((StepExecutionListener) onbidIngestJobTracker)
+                .listener((ChunkListener) onbidIngestJobTracker)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public OnbidPageItemReader onbidPageItemReader(OnbidPageClient onbidPageClient,
+            OnbidXmlStreamParser onbidXmlStreamParser, OnbidIngestMetrics onbidIngestMetrics,
+            @Value("#{stepExecutionContext['" + PAGE_NO_KEY + "']}") Integer pageNo) {
+        return new OnbidPageItemReader(onbidPageClient, onbidXmlStreamParser, pageNo, onbidIngestMetrics);
+    }
+}
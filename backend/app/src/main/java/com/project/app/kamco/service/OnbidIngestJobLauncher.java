@@ -0,0 +1,210 @@
+package com.project.app.kamco.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Service;
+
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidLoadMode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring Batch 적재 잡(onbidIngestJob) 실행과 실행 이력 조회
+ *
+ * - 실행은 OnbidBatchJobManager 작업 스레드에서 동기로 실행되며, 결과를 파이프라인 적재와 같은 OnbidBatchResult 로 돌려줍니다
+ * - 재시작은 이전 실행과 같은 잡 파라미터(runId)로 다시 실행합니다. Spring Batch 가 완료된 단계/파티션은 건너뜁니다
+ * - 실행 이력과 단계별 읽기/쓰기/커밋/롤백/skip 건수, 소요 시간은 Spring Batch 메타 테이블(sql/05)에서 조회합니다
+ */
+@Slf4j
+@Service
+public class OnbidIngestJobLauncher {
+
+    private static final String WORKER_STEP_PREFIX = "onbidPageWorkerStep:";
+
+    private final JobLauncher jobLauncher;
+    private final JobExplorer jobExplorer;
+    private final Job onbidIngestJob;
+    private final OnbidIngestJobTracker onbidIngestJobTracker;
+
+    public OnbidIngestJobLauncher(JobLauncher jobLauncher, JobExplorer jobExplorer, Job onbidIngestJob,
+            OnbidIngestJobTracker onbidIngestJobTracker) {
+        this.jobLauncher = jobLauncher;
+        this.jobExplorer = jobExplorer;
+        this.onbidIngestJob = onbidIngestJob;
+        this.onbidIngestJobTracker = onbidIngestJobTracker;
+    }
+
+    /** 새로 실행하거나 (restartExecutionId == null) 실패/중지된 실행을 재시작합니다 */
+    OnbidBatchResult launch(OnbidBatchJob job, Long restartExecutionId) throws Exception {
+        JobParameters parameters;
+        if (restartExecutionId == null) {
+            parameters = new JobParametersBuilder()
+                    .addString(OnbidIngestJobConfig.RUN_ID_PARAM, job.getJobId())
+                    .toJobParameters();
+        } else {
+            JobExecution previous = jobExplorer.getJobExecution(restartExecutionId);
+            if (previous == null || !OnbidIngestJobConfig.JOB_NAME.equals(previous.getJobInstance().getJobName())) {
+                throw new IllegalArgumentException("존재하지 않는 적재 잡 실행 ID: " + restartExecutionId);
+            }
+            parameters = previous.getJobParameters();
+        }
+        String runId = parameters.getString(OnbidIngestJobConfig.RUN_ID_PARAM);
+        job.runId(runId);
+        job.phase("LOADING");
+
+        onbidIngestJobTracker.register(runId, job);
+        JobExecution execution;
+        try {
+            execution = jobLauncher.run(onbidIngestJob, parameters);
+        } finally {
+            onbidIngestJobTracker.unregister(runId);
+        }
+
+        if (execution.getStatus() == BatchStatus.STOPPED && job.isCancelRequested()) {
+            throw new CancellationException("적재 취소 요청 (잡 실행 " + execution.getId() + " 은 재시작 가능)");
+        }
+        OnbidBatchResult result = toResult(execution, restartExecutionId != null);
+        if (execution.getStatus() != BatchStatus.COMPLETED && result.getFailedPages().isEmpty()) {
+            // 페이지가 아닌 단계(계획 등)에서 실패
+            throw new IllegalStateException("적재 잡 실행 " + execution.getId() + " " + execution.getStatus() + ": "
+                    + execution.getExitStatus().getExitDescription());
+        }
+        log.info("적재 속도: {} rows/s (전체 {}건 / {}ms, 잡 실행 {})", result.getRowsPerSecond(), result.getWrittenRows(),
+                result.getElapsedMillis(), execution.getId());
+        return result;
+    }
+
+    /** 최근 실행 이력 (최신순) */
+    public List<Map<String, Object>> history(int count) {
+        List<Map<String, Object>> history = new ArrayList<>();
+        for (JobInstance instance : jobExplorer.getJobInstances(OnbidIngestJobConfig.JOB_NAME, 0, count)) {
+            for (JobExecution execution : jobExplorer.getJobExecutions(instance)) {
+                history.add(summary(execution));
+            }
+        }
+        return history;
+    }
+
+    /** 실행 하나의 단계별 건수와 소요 시간. 없으면 null */
+    public Map<String, Object> execution(long executionId) {
+        JobExecution execution = jobExplorer.getJobExecution(executionId);
+        if (execution == null || !OnbidIngestJobConfig.JOB_NAME.equals(execution.getJobInstance().getJobName())) {
+            return null;
+        }
+        Map<String, Object> body = summary(execution);
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (StepExecution step : execution.getStepExecutions()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("stepName", step.getStepName());
+            row.put("status", step.getStatus());
+            row.put("readCount", step.getReadCount());
+            row.put("writeCount", step.getWriteCount());
+            row.put("commitCount", step.getCommitCount());
+            row.put("rollbackCount", step.getRollbackCount());
+            row.put("skipCount", step.getSkipCount());
+            row.put("elapsedMillis", millis(step.getStartTime(), step.getEndTime()));
+            row.put("exitDescription", step.getExitStatus().getExitDescription());
+            steps.add(row);
+        }
+        body.put("steps", steps);
+        return body;
+    }
+
+    private Map<String, Object> summary(JobExecution execution) {
+        long read = 0;
+        long written = 0;
+        long skipped = 0;
+        long commits = 0;
+        long rollbacks = 0;
+        for (StepExecution step : execution.getStepExecutions()) {
+            if (step.getStepName().startsWith(WORKER_STEP_PREFIX)) {
+                read += step.getReadCount();
+                written += step.getWriteCount();
+                skipped += step.getSkipCount();
+                commits += step.getCommitCount();
+                rollbacks += step.getRollbackCount();
+            }
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("executionId", execution.getId());
+        row.put("runId", execution.getJobParameters().getString(OnbidIngestJobConfig.RUN_ID_PARAM));
+        row.put("status", execution.getStatus());
+        row.put("exitCode", execution.getExitStatus().getExitCode());
+        row.put("startTime", execution.getStartTime());
+        row.put("endTime", execution.getEndTime());
+        row.put("elapsedMillis", millis(execution.getStartTime(), execution.getEndTime()));
+        row.put("plannedPages", execution.getExecutionContext().getInt(OnbidIngestJobConfig.PLANNED_PAGES_KEY, 0));
+        row.put("readCount", read);
+        row.put("writeCount", written);
+        row.put("skipCount", skipped);
+        row.put("commitCount", commits);
+        row.put("rollbackCount", rollbacks);
+        return row;
+    }
+
+    private OnbidBatchResult toResult(JobExecution execution, boolean restarted) {
+        List<Integer> failedPages = new ArrayList<>();
+        int pages = 0;
+        long read = 0;
+        long written = 0;
+        long skipped = 0;
+        for (StepExecution step : execution.getStepExecutions()) {
+            if (!step.getStepName().startsWith(WORKER_STEP_PREFIX)) {
+                continue;
+            }
+            pages++;
+            read += step.getReadCount();
+            written += step.getWriteCount();
+            skipped += step.getSkipCount();
+            if (step.getStatus() != BatchStatus.COMPLETED) {
+                failedPages.add(step.getExecutionContext().getInt(OnbidIngestJobConfig.PAGE_NO_KEY, -1));
+            }
+        }
+        failedPages.sort(null);
+        ExecutionContext jobContext = execution.getExecutionContext();
+        long elapsedMillis = millis(execution.getStartTime(), execution.getEndTime());
+        log.info("온비드 적재 잡 {}(실행 {}): {}, 읽기 {}건, 쓰기 {}건, skip {}건, 실패 페이지 {}, {}ms",
+                restarted ? "재시작" : "완료", execution.getId(), execution.getStatus(), read, written, skipped,
+                failedPages, elapsedMillis);
+        return OnbidBatchResult.builder()
+                .runId(execution.getJobParameters().getString(OnbidIngestJobConfig.RUN_ID_PARAM))
+                .resumed(restarted)
+                .mode(OnbidLoadMode.FULL)
+                .reportedTotalCount(jobContext.getInt(OnbidIngestJobConfig.REPORTED_TOTAL_KEY, 0))
+                .plannedPages(jobContext.getInt(OnbidIngestJobConfig.PLANNED_PAGES_KEY, 0))
+                .totalPages(pages)
+                .failedPages(failedPages)
+                .refetchedPages(List.of())
+                .totalCount(read)
+                .writtenRows(written)
+                .insertedCount(written)
+                .deletedRows(restarted ? 0 : jobContext.getInt(OnbidIngestJobConfig.DELETED_ROWS_KEY, 0))
+                .rowsPerSecond(written * 1000 / Math.max(1, elapsedMillis))
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private long millis(LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            return 0;
+        }
+        return Duration.between(start, end != null ? end : LocalDateTime.now()).toMillis();
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.app.kamco.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Batch 적재 잡 실행과 비동기 작업(OnbidBatchJob)을 잇는 listener
+ *
+ * - 페이지 step 이 끝날 때마다 작업 진행률(완료/실패 페이지, 읽기/쓰기 건수)과 페이지 지표를 반영합니다
+ * - 작업에 취소 요청이 있으면 다음 chunk 를 시작하기 전에 step 을 멈춥니다 (STOPPED → 재시작 가능)
+ * - 작업은 잡 파라미터 runId 로 찾으며, 작업 없이 실행된 잡(테스트 등)에는 아무것도 하지 않습니다
+ */
+@Component
+public class OnbidIngestJobTracker implements StepExecutionListener, ChunkListener {
+
+    private final Map<String, OnbidBatchJob> jobs = new ConcurrentHashMap<>();
+    private final OnbidIngestMetrics onbidIngestMetrics;
+
+    public OnbidIngestJobTracker(OnbidIngestMetrics onbidIngestMetrics) {
+        this.onbidIngestMetrics = onbidIngestMetrics;
+    }
+
+    void register(String runId, OnbidBatchJob job) {
+        jobs.put(runId, job);
+    }
+
+    void unregister(String runId) {
+        jobs.remove(runId);
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        OnbidBatchJob job = find(stepExecution);
+        if (job != null && job.isCancelRequested()) {
+            stepExecution.setTerminateOnly();
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        OnbidBatchJob job = find(stepExecution);
+        if (job == null || !stepExecution.getExecutionContext().containsKey(OnbidIngestJobConfig.PAGE_NO_KEY)) {
+            return null;
+        }
+        int pageNo = stepExecution.getExecutionContext().getInt(OnbidIngestJobConfig.PAGE_NO_KEY);
+        job.addProgress(stepExecution.getReadCount(), stepExecution.getWriteCount());
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            job.pageCompleted(pageNo);
+            onbidIngestMetrics.pageCompleted();
+        } else if (stepExecution.getStatus() == BatchStatus.FAILED) {
+            job.pageFailed(pageNo);
+            onbidIngestMetrics.pageFailed();
+        }
+        return null;
+    }
+
+    private OnbidBatchJob find(StepExecution stepExecution) {
+        String runId = stepExecution.getJobParameters().getString(OnbidIngestJobConfig.RUN_ID_PARAM);
+        return runId == null ? null : jobs.get(runId);
+    }
+}
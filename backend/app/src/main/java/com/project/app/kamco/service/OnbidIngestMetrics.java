@@ -0,0 +1,200 @@
+package com.project.app.kamco.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+
+import com.project.app.kamco.dto.OnbidBatchJobStatus;
+import com.project.app.kamco.dto.OnbidBatchRunStatsDto;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 적재 단계별 지표 (Micrometer, /actuator/metrics/onbid.ingest.*)
+ *
+ * - onbid.ingest.fetch          : OpenAPI 페이지 호출 시간 (outcome=success/failure, 거버너 대기 제외)
+ * - onbid.ingest.fetch.bytes    : 페이지 응답 크기
+ * - onbid.ingest.parse          : 페이지 파싱 시간 / onbid.ingest.page.items : 페이지당 물건 수
+ * - onbid.ingest.jdbc.execute   : executeBatch 한 번(물건 + 이미지) 시간 / onbid.ingest.jdbc.commit : commit 시간
+ * - onbid.ingest.pages          : 완료/실패 페이지 수 (outcome=completed/failed)
+ * - onbid.ingest.rows           : 확정된 적재 건수 / onbid.ingest.rows.per.second : 진행 중(없으면 마지막) 작업의 적재 속도
+ * - onbid.ingest.run            : 작업 전체 시간 (kind, mode, status)
+ *
+ * 작업이 끝나면 작업 상태와 이 작업 동안의 JDBC 시간을 KAMCO_BATCH_RUN_STATS 에 한 행으로 남깁니다 (sql/07).
+ * 적재 작업은 한 번에 하나만 실행되므로(OnbidBatchJobManager) JDBC 시간은 작업 시작/종료 시점의 누적값 차이로 계산합니다.
+ */
+@Slf4j
+@Component
+public class OnbidIngestMetrics {
+
+    private final MeterRegistry registry;
+    private final OnbidBatchMapper onbidBatchMapper;
+
+    private final Timer fetchSuccess;
+    private final Timer fetchFailure;
+    private final DistributionSummary fetchBytes;
+    private final Timer parse;
+    private final DistributionSummary pageItems;
+    private final Timer jdbcExecute;
+    private final Timer jdbcCommit;
+    private final Counter pagesCompleted;
+    private final Counter pagesFailed;
+    private final Counter rows;
+
+    private final AtomicReference<OnbidBatchJob> activeJob = new AtomicReference<>();
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+    private volatile long executeNanosAtStart;
+    private volatile long commitNanosAtStart;
+
+    public OnbidIngestMetrics(MeterRegistry registry, OnbidBatchMapper onbidBatchMapper) {
+        this.registry = registry;
+        this.onbidBatchMapper = onbidBatchMapper;
+        this.fetchSuccess = timer("onbid.ingest.fetch", "OpenAPI 페이지 호출 시간", "outcome", "success");
+        this.fetchFailure = timer("onbid.ingest.fetch", "OpenAPI 페이지 호출 시간", "outcome", "failure");
+        this.fetchBytes = DistributionSummary.builder("onbid.ingest.fetch.bytes")
+                .description("페이지 응답 크기")
+                .baseUnit("bytes")
+                .register(registry);
+        this.parse = timer("onbid.ingest.parse", "페이지 파싱 시간");
+        this.pageItems = DistributionSummary.builder("onbid.ingest.page.items")
+                .description("페이지당 물건 수")
+                .register(registry);
+        this.jdbcExecute = timer("onbid.ingest.jdbc.execute", "JDBC executeBatch 시간");
+        this.jdbcCommit = timer("onbid.ingest.jdbc.commit", "JDBC commit 시간");
+        this.pagesCompleted = Counter.builder("onbid.ingest.pages").tag("outcome", "completed").register(registry);
+        this.pagesFailed = Counter.builder("onbid.ingest.pages").tag("outcome", "failed").register(registry);
+        this.rows = Counter.builder("onbid.ingest.rows").description("확정된 적재 건수").register(registry);
+        Gauge.builder("onbid.ingest.rows.per.second", this, OnbidIngestMetrics::currentRowsPerSecond)
+                .description("진행 중인 작업(없으면 마지막 작업)의 적재 속도")
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    void recordFetch(long nanos, int bytes) {
+        fetchSuccess.record(nanos, TimeUnit.NANOSECONDS);
+        fetchBytes.record(bytes);
+    }
+
+    void recordFetchFailure(long nanos) {
+        fetchFailure.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordParse(long nanos, int itemCount) {
+        parse.record(nanos, TimeUnit.NANOSECONDS);
+        pageItems.record(itemCount);
+    }
+
+    void recordExecute(long nanos) {
+        jdbcExecute.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordCommit(long nanos) {
+        jdbcCommit.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void pageCompleted() {
+        pagesCompleted.increment();
+    }
+
+    void pageFailed() {
+        pagesFailed.increment();
+    }
+
+    /** 파싱 시간과 페이지 완료/실패를 기록하는 listener */
+    OnbidIngestPipeline.PageListener track(OnbidIngestPipeline.PageListener delegate) {
+        return new OnbidIngestPipeline.PageListener() {
+            @Override
+            public void pageParsed(int pageNo, int itemCount, long parseNanos) {
+                delegate.pageParsed(pageNo, itemCount, parseNanos);
+                recordParse(parseNanos, itemCount);
+            }
+
+            @Override
+            public void pageCompleted(int pageNo, int itemCount, long pageHash) {
+                delegate.pageCompleted(pageNo, itemCount, pageHash);
+                OnbidIngestMetrics.this.pageCompleted();
+            }
+
+            @Override
+            public void pageFailed(int pageNo, Exception cause) {
+                delegate.pageFailed(pageNo, cause);
+                OnbidIngestMetrics.this.pageFailed();
+            }
+        };
+    }
+
+    // --- OnbidBatchJobManager 가 호출 ---
+
+    void runStarted(OnbidBatchJob job) {
+        executeNanosAtStart = (long) jdbcExecute.totalTime(TimeUnit.NANOSECONDS);
+        commitNanosAtStart = (long) jdbcCommit.totalTime(TimeUnit.NANOSECONDS);
+        activeJob.set(job);
+    }
+
+    /** 작업 종료 (성공/실패/취소 모두). 지표를 갱신하고 실행 요약을 저장합니다. */
+    void runFinished(OnbidBatchJob job) {
+        activeJob.compareAndSet(job, null);
+        OnbidBatchJobStatus status = job.status();
+        lastRowsPerSecond.set(status.getRowsPerSecond());
+        rows.increment(status.getWrittenRows());
+        Timer.builder("onbid.ingest.run")
+                .description("적재 작업 전체 시간")
+                .tag("kind", status.getKind())
+                .tag("mode", status.getMode() == null ? "NONE" : status.getMode().name())
+                .tag("status", status.getStatus())
+                .register(registry)
+                .record(status.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        OnbidBatchRunStatsDto stats = OnbidBatchRunStatsDto.builder()
+                .jobId(status.getJobId())
+                .runId(status.getRunId())
+                .jobKind(status.getKind())
+                .loadMode(status.getMode() == null ? null : status.getMode().name())
+                .status(status.getStatus())
+                .plannedPages(status.getPlannedPages())
+                .donePages(status.getPagesDone())
+                .failedPages(status.getPagesFailed())
+                .parsedItems(status.getParsedItems())
+                .writtenRows(status.getWrittenRows())
+                .fetchedBytes(status.getFetchedBytes())
+                .fetchMs(status.getFetchMillis())
+                .parseMs(status.getParseMillis())
+                .writeMs(status.getWriteMillis())
+                .jdbcExecuteMs(((long) jdbcExecute.totalTime(TimeUnit.NANOSECONDS) - executeNanosAtStart) / 1_000_000)
+                .jdbcCommitMs(((long) jdbcCommit.totalTime(TimeUnit.NANOSECONDS) - commitNanosAtStart) / 1_000_000)
+                .elapsedMs(status.getElapsedMillis())
+                .rowsPerSecond(status.getRowsPerSecond())
+                .startedAt(status.getStartedAt())
+                .endedAt(status.getFinishedAt())
+                .errorMsg(OnbidRunCheckpoint.truncate(status.getErrorMsg()))
+                .build();
+        // 요약 저장 실패가 적재 결과를 가리지 않도록 로그만 남깁니다
+        try {
+            onbidBatchMapper.insertRunStats(stats);
+        } catch (Exception e) {
+            log.warn("적재 실행 요약 저장 실패 (job={}): {}", job.getJobId(), e.getMessage());
+        }
+        log.info("적재 요약: fetch {}ms / parse {}ms / JDBC execute {}ms / commit {}ms, {} rows/s", stats.getFetchMs(),
+                stats.getParseMs(), stats.getJdbcExecuteMs(), stats.getJdbcCommitMs(), stats.getRowsPerSecond());
+    }
+
+    private double currentRowsPerSecond() {
+        OnbidBatchJob job = activeJob.get();
+        return job != null ? job.status().getRowsPerSecond() : lastRowsPerSecond.get();
+    }
+}
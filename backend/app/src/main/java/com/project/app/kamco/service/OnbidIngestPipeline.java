@@ -0,0 +1,656 @@
+package com.project.app.kamco.service;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 적재 파이프라인 (fetch → parse → write)
+ *
+ * - fetch : 페이지 원문(byte[])을 가져오는 단계. 가상 스레드로 fetchConcurrency 개 동시 실행
+ * - parse : 원문을 StAX로 파싱하여 chunkSize 단위 묶음으로 만드는 단계. parseConcurrency 개 스레드
+ * - write : chunk를 DB에 적재하는 단계. writerConcurrency 개의 전용 스레드(각자 JDBC 커넥션 사용)
+ *
+ * 물건은 업무 키 해시로 writer 에 나뉘어(파티션) 같은 키는 항상 같은 writer 가 씁니다.
+ * writer 끼리 같은 행을 두고 잠금 경합(MERGE)하지 않고, writer 마다 자기 큐를 가집니다.
+ *
+ * 단계 사이는 크기가 제한된 큐로 연결되어 있어 DB가 느려지면 parse, fetch 가 순서대로 대기합니다(backpressure).
+ * 페이지 단위 오류(호출 실패, 결과 코드 오류, 파싱/적재 예외)는 해당 페이지만 실패로 처리하고 나머지 페이지는 계속 진행합니다.
+ * 페이지의 모든 chunk가 적재되면 PageListener.pageCompleted 가 호출되어 체크포인트를 남길 수 있습니다.
+ * 실행 한 번마다 새 인스턴스를 만들어 사용합니다.
+ */
+@Slf4j
+public class OnbidIngestPipeline {
+
+    /** 페이지 원문 조회 */
+    @FunctionalInterface
+    public interface PageFetcher {
+        byte[] fetch(int pageNo) throws Exception;
+    }
+
+    /**
+     * chunk 적재, 저장 건수를 반환
+     * writer 스레드마다 하나씩 열어 실행이 끝날 때까지 재사용합니다 (커넥션/PreparedStatement 재사용).
+     * commit() 전까지 쓴 내용은 확정되지 않은 것으로 보고, 실패하면 rollback() 후 해당 페이지들을 실패 처리합니다.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter extends AutoCloseable {
+        int write(List<OnbidItem> chunk) throws Exception;
+
+        default void commit() throws Exception {
+        }
+
+        default void rollback() {
+        }
+
+        @Override
+        default void close() throws Exception {
+        }
+
+        /**
+         * write 가 스스로 확정(commit)하는 건수. direct-path 세션은 executeBatch 마다 commit 하므로 JDBC 배치 크기이고,
+         * 0 이면 commit() 에서만 확정합니다. 이 건수 이하로 나누어 write 하면 호출마다 확정됩니다.
+         */
+        default int autoCommitRows() {
+            return 0;
+        }
+
+        /** 쓰기 전에 chunk 를 걸러내는 writer (중복 제거, 변경분 선별 등) */
+        default ChunkWriter filtered(UnaryOperator<List<OnbidItem>> filter) {
+            ChunkWriter target = this;
+            return new ChunkWriter() {
+                @Override
+                public int write(List<OnbidItem> chunk) throws Exception {
+                    List<OnbidItem> rest = filter.apply(chunk);
+                    return rest.isEmpty() ? 0 : target.write(rest);
+                }
+
+                @Override
+                public void commit() throws Exception {
+                    target.commit();
+                }
+
+                @Override
+                public void rollback() {
+                    target.rollback();
+                }
+
+                @Override
+                public void close() throws Exception {
+                    target.close();
+                }
+
+                @Override
+                public int autoCommitRows() {
+                    return target.autoCommitRows();
+                }
+            };
+        }
+
+        /** 쓰기 전에 chunk 를 걸러내고, 확정/롤백을 필터에도 알리는 writer (필터는 writer 마다 새로 만듭니다) */
+        default ChunkWriter filtered(ChunkFilter filter) {
+            ChunkWriter target = this;
+            return new ChunkWriter() {
+                @Override
+                public int write(List<OnbidItem> chunk) throws Exception {
+                    int unit = target.autoCommitRows();
+                    if (unit <= 0) {
+                        List<OnbidItem> rest = filter.apply(chunk);
+                        return rest.isEmpty() ? 0 : target.write(rest);
+                    }
+                    // write 도중 확정하는 writer(direct-path): 확정 단위로 나누어 쓰고 단위마다 committed 로 굳힙니다.
+                    // 나중에 rollback/close 되어도 이미 반영된 물건의 키는 잊지 않습니다
+                    int written = 0;
+                    for (int from = 0; from < chunk.size(); from += unit) {
+                        List<OnbidItem> rest = filter.apply(chunk.subList(from, Math.min(chunk.size(), from + unit)));
+                        if (!rest.isEmpty()) {
+                            written += target.write(rest);
+                        }
+                        filter.committed();
+                    }
+                    return written;
+                }
+
+                @Override
+                public void commit() throws Exception {
+                    target.commit();
+                    filter.committed();
+                }
+
+                @Override
+                public void rollback() {
+                    target.rollback();
+                    filter.rolledBack();
+                }
+
+                @Override
+                public void close() throws Exception {
+                    try {
+                        target.close();
+                    } finally {
+                        filter.rolledBack(); // 확정하지 않고 닫으면 롤백됩니다
+                    }
+                }
+
+                @Override
+                public int autoCommitRows() {
+                    return target.autoCommitRows();
+                }
+            };
+        }
+    }
+
+    /**
+     * 이미 본 키를 기억하며 거르는 chunk 필터 (중복 제거, 증분 적재의 변경분 선별)
+     * apply 에서 기억한 키는 writer 가 확정하면 committed() 로 굳히고, 롤백되면 rolledBack() 으로 잊습니다.
+     * 롤백된 chunk 의 물건을 다시 받았을 때(경계 페이지 재수집) 이미 본 키로 걸러지지 않게 하기 위함입니다.
+     */
+    public interface ChunkFilter {
+        List<OnbidItem> apply(List<OnbidItem> chunk);
+
+        void committed();
+
+        void rolledBack();
+    }
+
+    /** writer 스레드별 ChunkWriter 생성 */
+    @FunctionalInterface
+    public interface WriterFactory {
+        ChunkWriter open() throws Exception;
+    }
+
+    /** 페이지 처리 결과 통지 (체크포인트 저장, 지표 기록용) */
+    public interface PageListener {
+        /** 페이지 파싱 완료 (적재 전). parseNanos 는 writer 큐 대기를 뺀 파싱 시간 */
+        default void pageParsed(int pageNo, int itemCount, long parseNanos) {
+        }
+
+        void pageCompleted(int pageNo, int itemCount, long pageHash);
+
+        void pageFailed(int pageNo, Exception cause);
+    }
+
+    /**
+     * commitSize : writer 하나가 확정(commit) 없이 쌓는 최대 건수. 큐가 비어 대기하기 전에도 확정합니다.
+     */
+    public record Settings(int fetchConcurrency, int parseConcurrency, int writerConcurrency, int queueCapacity,
+            int chunkSize, int commitSize) {
+    }
+
+    /**
+     * 실행 결과. 단계별 시간은 해당 단계 스레드들이 실제로 일한 시간의 합계(대기 시간 제외)입니다.
+     * pageTotals 는 페이지별 응답의 totalCount, lastTotalCount 는 마지막으로 파싱된 페이지의 totalCount 로
+     * 실행 도중 목록이 바뀌었는지 판단하는 데 사용합니다 (파싱된 페이지가 없으면 -1).
+     */
+    public record Result(int pageCount, List<Integer> failedPages, Map<Integer, Integer> pageTotals,
+            int lastTotalCount, long parsedItems, long writtenRows, long fetchedBytes, long fetchNanos, long parseNanos,
+            long writeNanos) {
+
+        /** 같은 실행에서 이어서 처리한 결과를 합칩니다. 다시 처리한 페이지는 나중 결과로 판단합니다. */
+        public Result merge(List<Integer> nextPages, Result next) {
+            Set<Integer> failed = new TreeSet<>(failedPages);
+            failed.removeAll(nextPages);
+            failed.addAll(next.failedPages());
+            Map<Integer, Integer> totals = new TreeMap<>(pageTotals);
+            nextPages.forEach(totals::remove);
+            totals.putAll(next.pageTotals());
+            return new Result(pageCount + next.pageCount(), List.copyOf(failed), totals,
+                    next.lastTotalCount() >= 0 ? next.lastTotalCount() : lastTotalCount,
+                    parsedItems + next.parsedItems(), writtenRows + next.writtenRows(),
+                    fetchedBytes + next.fetchedBytes(), fetchNanos + next.fetchNanos(),
+                    parseNanos + next.parseNanos(), writeNanos + next.writeNanos());
+        }
+    }
+
+    private record FetchedPage(int pageNo, byte[] body) {
+    }
+
+    private record ItemChunk(int pageNo, List<OnbidItem> items) {
+    }
+
+    // 큐 종료 신호
+    private static final FetchedPage END_OF_PAGES = new FetchedPage(-1, new byte[0]);
+    private static final ItemChunk END_OF_CHUNKS = new ItemChunk(-1, List.of());
+
+    // 대기 중 중단 여부를 확인하는 주기
+    private static final long POLL_MILLIS = 200;
+
+    private static final PageListener NO_LISTENER = new PageListener() {
+        @Override
+        public void pageCompleted(int pageNo, int itemCount, long pageHash) {
+        }
+
+        @Override
+        public void pageFailed(int pageNo, Exception cause) {
+        }
+    };
+
+    private final Settings settings;
+    private final PageFetcher fetcher;
+    private final OnbidXmlStreamParser parser;
+    private final WriterFactory writerFactory;
+    private final PageListener listener;
+    private final int partitions;
+
+    private final BlockingQueue<FetchedPage> pageQueue;
+    private final List<BlockingQueue<ItemChunk>> chunkQueues = new ArrayList<>();
+    private final Map<Integer, PageTracker> trackers = new ConcurrentHashMap<>();
+    private final List<Integer> failedPages = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Integer, Integer> pageTotals = new ConcurrentHashMap<>();
+    private final AtomicInteger lastTotalCount = new AtomicInteger(-1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final AtomicLong parsedItems = new AtomicLong();
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private final AtomicLong fetchNanos = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    public OnbidIngestPipeline(Settings settings, PageFetcher fetcher, OnbidXmlStreamParser parser,
+            WriterFactory writerFactory) {
+        this(settings, fetcher, parser, writerFactory, NO_LISTENER);
+    }
+
+    public OnbidIngestPipeline(Settings settings, PageFetcher fetcher, OnbidXmlStreamParser parser,
+            WriterFactory writerFactory, PageListener listener) {
+        this.settings = settings;
+        this.fetcher = fetcher;
+        this.parser = parser;
+        this.writerFactory = writerFactory;
+        this.listener = listener;
+        this.partitions = Math.max(1, settings.writerConcurrency());
+        this.pageQueue = new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity()));
+        for (int i = 0; i < partitions; i++) {
+            chunkQueues.add(new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity())));
+        }
+    }
+
+    public Result run(List<Integer> pages) throws Exception {
+        for (int pageNo : pages) {
+            trackers.put(pageNo, new PageTracker(pageNo));
+        }
+        ExecutorService fetchPool = Executors.newFixedThreadPool(Math.max(1, settings.fetchConcurrency()),
+                Thread.ofVirtual().name("onbid-fetch-", 0).factory());
+        ExecutorService parsePool = Executors.newFixedThreadPool(Math.max(1, settings.parseConcurrency()),
+                Thread.ofPlatform().name("onbid-parse-", 0).factory());
+        ExecutorService writePool = Executors.newFixedThreadPool(partitions,
+                Thread.ofPlatform().name("onbid-write-", 0).factory());
+        try {
+            List<Future<?>> fetchTasks = new ArrayList<>();
+            for (int pageNo : pages) {
+                fetchTasks.add(fetchPool.submit(() -> guarded(() -> fetchStage(pageNo))));
+            }
+            List<Future<?>> parseTasks = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, settings.parseConcurrency()); i++) {
+                parseTasks.add(parsePool.submit(() -> guarded(this::parseStage)));
+            }
+            List<Future<?>> writeTasks = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                BlockingQueue<ItemChunk> queue = chunkQueues.get(i);
+                writeTasks.add(writePool.submit(() -> guarded(() -> writeStage(queue))));
+            }
+
+            // 앞 단계가 모두 끝나면 다음 단계에 종료 신호를 보냅니다
+            awaitAll(fetchTasks);
+            for (int i = 0; i < parseTasks.size(); i++) {
+                put(pageQueue, END_OF_PAGES);
+            }
+            awaitAll(parseTasks);
+            for (BlockingQueue<ItemChunk> queue : chunkQueues) {
+                put(queue, END_OF_CHUNKS);
+            }
+            awaitAll(writeTasks);
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            fetchPool.shutdownNow();
+            parsePool.shutdownNow();
+            writePool.shutdownNow();
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return snapshot();
+    }
+
+    /**
+     * 실행 중단 요청. 각 단계가 다음 페이지/chunk 를 집기 전에 멈추며, 확정되지 않은 적재분은 롤백됩니다.
+     * run() 은 CancellationException 으로 끝나고, 이미 완료된 페이지의 체크포인트는 그대로 남습니다.
+     */
+    public void cancel() {
+        failure.compareAndSet(null, new CancellationException("적재 취소 요청"));
+    }
+
+    /** 진행 중인 실행의 현재까지 집계 (진행률 조회용) */
+    public Result snapshot() {
+        List<Integer> failed;
+        synchronized (failedPages) {
+            failed = failedPages.stream().sorted().toList();
+        }
+        return new Result(trackers.size(), failed, new TreeMap<>(pageTotals), lastTotalCount.get(),
+                parsedItems.get(), writtenRows.get(), fetchedBytes.get(),
+                fetchNanos.get(), parseNanos.get(), writeNanos.get());
+    }
+
+    private void fetchStage(int pageNo) throws InterruptedException {
+        checkAborted();
+        byte[] body;
+        try {
+            long t0 = System.nanoTime();
+            body = fetcher.fetch(pageNo);
+            fetchNanos.addAndGet(System.nanoTime() - t0);
+            fetchedBytes.addAndGet(body.length);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            trackers.get(pageNo).fail(e);
+            return;
+        }
+        put(pageQueue, new FetchedPage(pageNo, body));
+    }
+
+    private void parseStage() throws InterruptedException {
+        while (true) {
+            FetchedPage page = take(pageQueue);
+            if (page == END_OF_PAGES) {
+                return;
+            }
+            checkAborted();
+            PageTracker tracker = trackers.get(page.pageNo());
+            long t0 = System.nanoTime();
+            ChunkingHandler handler = new ChunkingHandler(tracker);
+            try {
+                OnbidXmlStreamParser.PageSummary summary = parser.parse(new ByteArrayInputStream(page.body()),
+                        handler);
+                if (summary.resultCode() != null && !"00".equals(summary.resultCode())) {
+                    throw new IllegalStateException(
+                            "OpenAPI 결과 코드: " + summary.resultCode() + " (" + summary.resultMsg() + ")");
+                }
+                handler.flush();
+                pageTotals.put(page.pageNo(), summary.totalCount());
+                lastTotalCount.set(summary.totalCount());
+                parsedItems.addAndGet(summary.itemCount());
+                log.debug("[페이지 {}] 파싱된 건수: {}", page.pageNo(), summary.itemCount());
+                listener.pageParsed(page.pageNo(), summary.itemCount(), System.nanoTime() - t0 - handler.waitNanos);
+                tracker.parsed(summary.itemCount(), handler.pageHash);
+            } catch (InterruptedException | CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                tracker.fail(e);
+            } finally {
+                // 파싱 시간에는 writer 큐가 찰 때 기다린 시간을 포함하지 않음
+                parseNanos.addAndGet(System.nanoTime() - t0 - handler.waitNanos);
+            }
+        }
+    }
+
+    // 파싱된 아이템을 파티션별로 chunkSize 만큼 모아서 해당 writer 큐로 넘깁니다
+    private final class ChunkingHandler implements OnbidXmlStreamParser.ItemHandler {
+        private final PageTracker tracker;
+        private final List<List<OnbidItem>> buffers = new ArrayList<>(partitions);
+        private long pageHash = 17;
+        private long waitNanos;
+
+        private ChunkingHandler(PageTracker tracker) {
+            this.tracker = tracker;
+            for (int i = 0; i < partitions; i++) {
+                buffers.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void handle(OnbidItem item) throws Exception {
+            pageHash = pageHash * 31 + item.CONTENT_HASH;
+            int partition = partitions == 1 ? 0 : Math.floorMod(item.itemKey().hashCode(), partitions);
+            List<OnbidItem> buffer = buffers.get(partition);
+            buffer.add(item);
+            if (buffer.size() >= settings.chunkSize()) {
+                flush(partition);
+            }
+        }
+
+        private void flush() throws InterruptedException {
+            for (int i = 0; i < partitions; i++) {
+                flush(i);
+            }
+        }
+
+        private void flush(int partition) throws InterruptedException {
+            List<OnbidItem> buffer = buffers.get(partition);
+            if (buffer.isEmpty()) {
+                return;
+            }
+            long waitStart = System.nanoTime();
+            tracker.chunkQueued();
+            put(chunkQueues.get(partition), new ItemChunk(tracker.pageNo, buffer));
+            waitNanos += System.nanoTime() - waitStart;
+            buffers.set(partition, new ArrayList<>(settings.chunkSize()));
+        }
+    }
+
+    private void writeStage(BlockingQueue<ItemChunk> queue) throws Exception {
+        try (ChunkWriter writer = writerFactory.open()) {
+            PendingCommit pending = new PendingCommit(writer);
+            while (true) {
+                ItemChunk chunk = queue.poll();
+                if (chunk == null) {
+                    // 다음 chunk 를 기다리기 전에 확정하여 페이지 완료(체크포인트)가 늦어지지 않게 합니다
+                    pending.commit();
+                    chunk = take(queue);
+                }
+                if (chunk == END_OF_CHUNKS) {
+                    pending.commit();
+                    return;
+                }
+                // 중단되면 확정하지 않은 적재분은 close() 에서 롤백됩니다
+                checkAborted();
+                PageTracker tracker = trackers.get(chunk.pageNo());
+                if (tracker.isFailed()) {
+                    tracker.chunkWritten();
+                    continue;
+                }
+                try {
+                    long t0 = System.nanoTime();
+                    int rows = writer.write(chunk.items());
+                    writeNanos.addAndGet(System.nanoTime() - t0);
+                    pending.add(tracker, rows);
+                } catch (Exception e) {
+                    tracker.fail(e);
+                    tracker.chunkWritten();
+                    pending.rollback(e);
+                    continue;
+                }
+                if (pending.rows >= settings.commitSize()) {
+                    pending.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * writer 하나가 쓰고 아직 확정하지 않은 chunk 들.
+     * 확정되면 각 chunk 의 페이지 진행을 반영하고, 롤백되면 해당 페이지들을 모두 실패 처리합니다.
+     */
+    private final class PendingCommit {
+        private final ChunkWriter writer;
+        private final List<PageTracker> chunks = new ArrayList<>();
+        private long rows;
+
+        private PendingCommit(ChunkWriter writer) {
+            this.writer = writer;
+        }
+
+        void add(PageTracker tracker, int writtenRows) {
+            chunks.add(tracker);
+            rows += writtenRows;
+        }
+
+        void commit() {
+            if (chunks.isEmpty()) {
+                return;
+            }
+            try {
+                long t0 = System.nanoTime();
+                writer.commit();
+                writeNanos.addAndGet(System.nanoTime() - t0);
+                writtenRows.addAndGet(rows);
+            } catch (Exception e) {
+                writer.rollback();
+                chunks.forEach(tracker -> tracker.fail(e));
+            }
+            release();
+        }
+
+        void rollback(Exception cause) {
+            writer.rollback();
+            chunks.forEach(tracker -> tracker.fail(cause));
+            release();
+        }
+
+        private void release() {
+            chunks.forEach(PageTracker::chunkWritten);
+            chunks.clear();
+            rows = 0;
+        }
+    }
+
+    /**
+     * 페이지별 진행 상태. 파싱이 끝났고 대기 중인 chunk가 없으면 완료로 판단합니다.
+     */
+    private final class PageTracker {
+        private final int pageNo;
+        private int pendingChunks;
+        private boolean parsed;
+        private boolean failed;
+        private boolean completed;
+        private int itemCount;
+        private long pageHash;
+
+        private PageTracker(int pageNo) {
+            this.pageNo = pageNo;
+        }
+
+        synchronized void chunkQueued() {
+            pendingChunks++;
+        }
+
+        void chunkWritten() {
+            synchronized (this) {
+                pendingChunks--;
+            }
+            completeIfDone();
+        }
+
+        void parsed(int itemCount, long pageHash) {
+            synchronized (this) {
+                this.parsed = true;
+                this.itemCount = itemCount;
+                this.pageHash = pageHash;
+            }
+            completeIfDone();
+        }
+
+        synchronized boolean isFailed() {
+            return failed;
+        }
+
+        void fail(Exception cause) {
+            synchronized (this) {
+                if (failed || completed) {
+                    return;
+                }
+                failed = true;
+            }
+            failedPages.add(pageNo);
+            System.err.println("❌ [페이지 " + pageNo + "] 처리 실패: " + cause.getMessage());
+            listener.pageFailed(pageNo, cause);
+        }
+
+        private void completeIfDone() {
+            synchronized (this) {
+                if (!parsed || failed || completed || pendingChunks > 0) {
+                    return;
+                }
+                completed = true;
+            }
+            listener.pageCompleted(pageNo, itemCount, pageHash);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageTask {
+        void run() throws Exception;
+    }
+
+    // 페이지 단위로 처리되지 않은 예외(중단, 인터럽트 등)는 전체 실패로 기록하여 다른 단계들도 대기를 멈추게 합니다
+    private Void guarded(StageTask task) throws Exception {
+        try {
+            task.run();
+            return null;
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T element) throws InterruptedException {
+        while (!queue.offer(element, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkAborted();
+        }
+    }
+
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        while (true) {
+            T element = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (element != null) {
+                return element;
+            }
+            checkAborted();
+        }
+    }
+
+    private void checkAborted() {
+        if (failure.get() != null) {
+            throw new CancellationException("파이프라인 중단");
+        }
+    }
+
+    private void awaitAll(List<Future<?>> tasks) throws Exception {
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ex ? ex : e;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+/**
+ * 실행 1회 동안 이미 적재한 업무 키를 기억하여 같은 물건을 두 번 쓰지 않게 합니다.
+ * 목록이 바뀌는 동안 pageNo 로 넘기면 물건이 페이지 사이를 옮겨 다니고, totalCount 변동으로 경계 페이지를 다시 수집하거나
+ * 파티션 적재에서 같은 물건이 두 파티션에 나오면 이미 받은 물건이 또 내려오므로 그 중복을 걸러냅니다.
+ * writer 마다 session() 을 하나씩 만들어 ChunkWriter.filtered 로 앞에 붙입니다. 여러 writer 가 동시에 걸러낼 수 있습니다.
+ * 확정되지 않은 chunk 에서 새로 기억한 키는 롤백되면 잊으므로, 실패 후 다시 받은 페이지의 물건은 다시 씁니다.
+ *
+ * 업무 키(물건관리번호 + 물건이력번호)는 64bit 값으로 압축하여 OnbidLongKeySet 에 담습니다.
+ * 키마다 문자열/엔트리 객체를 두지 않으므로 100만 건이어도 키 배열 16MB 정도입니다.
+ * 서로 다른 키가 같은 64bit 값이 될 확률은 100만 건 기준 약 1/3,600만 이하입니다.
+ * 잠금 경합을 줄이기 위해 키 상위 비트로 나눈 STRIPES 개 집합을 각각 잠급니다.
+ */
+class OnbidItemDedup {
+
+    private static final int STRIPES = 16;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final OnbidLongKeySet[] stripes = new OnbidLongKeySet[STRIPES];
+    private final AtomicLong skipped = new AtomicLong();
+
+    OnbidItemDedup() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new OnbidLongKeySet();
+        }
+    }
+
+    /** writer 하나의 중복 제거. 확정 전까지 새로 기억한 키와 건너뛴 건수를 따로 두었다가 롤백되면 되돌립니다 */
+    OnbidIngestPipeline.ChunkFilter session() {
+        return new OnbidIngestPipeline.ChunkFilter() {
+            private long[] claimed = new long[1024];
+            private int claimedCount;
+            private long pendingSkipped;
+
+            @Override
+            public List<OnbidItem> apply(List<OnbidItem> chunk) {
+                List<OnbidItem> fresh = new ArrayList<>(chunk.size());
+                for (OnbidItem item : chunk) {
+                    long key = packKey(item);
+                    if (add(key)) {
+                        if (claimedCount == claimed.length) {
+                            claimed = Arrays.copyOf(claimed, claimedCount * 2);
+                        }
+                        claimed[claimedCount++] = key;
+                        fresh.add(item);
+                    }
+                }
+                pendingSkipped += chunk.size() - fresh.size();
+                return fresh;
+            }
+
+            @Override
+            public void committed() {
+                skipped.addAndGet(pendingSkipped);
+                claimedCount = 0;
+                pendingSkipped = 0;
+            }
+
+            @Override
+            public void rolledBack() {
+                for (int i = 0; i < claimedCount; i++) {
+                    remove(claimed[i]);
+                }
+                claimedCount = 0;
+                pendingSkipped = 0;
+            }
+        };
+    }
+
+    private boolean add(long key) {
+        OnbidLongKeySet stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.add(key);
+        }
+    }
+
+    private void remove(long key) {
+        OnbidLongKeySet stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    private OnbidLongKeySet stripe(long key) {
+        return stripes[(int) (key >>> 60) & (STRIPES - 1)];
+    }
+
+    /** 이번 실행에서 이미 본 업무 키인지 (사라진 물건 판단용, 모든 writer 가 끝난 뒤 호출) */
+    boolean contains(String cltrMnmtNo, String cltrHstrNo) {
+        long key = packKey(cltrMnmtNo, cltrHstrNo);
+        OnbidLongKeySet stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.contains(key);
+        }
+    }
+
+    long skipped() {
+        return skipped.get();
+    }
+
+    /** 기억하고 있는 키 수 */
+    long size() {
+        long size = 0;
+        for (OnbidLongKeySet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /** 키 배열 전체 크기 (byte) */
+    long memoryBytes() {
+        long bytes = 0;
+        for (OnbidLongKeySet stripe : stripes) {
+            synchronized (stripe) {
+                bytes += stripe.capacityBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /** 업무 키의 64bit 압축값 (itemKey() 와 같은 두 필드, 구분자 포함 FNV-1a) */
+    static long packKey(OnbidItem item) {
+        return packKey(item.CLTR_MNMT_NO, item.CLTR_HSTR_NO);
+    }
+
+    static long packKey(String cltrMnmtNo, String cltrHstrNo) {
+        long h = FNV_OFFSET;
+        h = mix(h, cltrMnmtNo);
+        h = (h ^ '|') * FNV_PRIME;
+        return mix(h, cltrHstrNo);
+    }
+
+    private static long mix(long h, String value) {
+        if (value == null) {
+            return (h ^ 0xFF) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+}
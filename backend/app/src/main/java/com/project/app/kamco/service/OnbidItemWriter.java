@@ -0,0 +1,435 @@
+package com.project.app.kamco.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+/**
+ * KAMCO_AUCTION_ITEMS JDBC 적재 담당
+ *
+ * - 배치 파이프라인의 writer 스레드마다 Session 을 하나 열어 실행이 끝날 때까지 커넥션과 PreparedStatement 를 재사용합니다
+ * - jdbcBatchSize 건마다 executeBatch (ojdbc 가 배열 바인딩으로 한 번에 전송), 확정(commit) 시점은 파이프라인이 정합니다
+ * - appendValues 를 켜면 INSERT 에 APPEND_VALUES 힌트(direct-path)를 붙입니다.
+ *   direct-path 는 테이블 잠금을 잡고 같은 트랜잭션에서 다시 쓸 수 없으므로 executeBatch 마다 commit 하며 writer 끼리 직렬화됩니다.
+ *   빈 섀도 테이블이나 초기 적재용이며(섀도 적재는 기본 사용, 이미지 INSERT 에도 붙임) MERGE(증분/재개)에는 적용되지 않습니다.
+ * - 금액/건수/일시 컬럼은 NUMBER/DATE 로 바인딩합니다 (값이 없으면 NULL)
+ * - 전체 적재는 INSERT, 증분 적재는 업무 키(CLTR_MNMT_NO + CLTR_HSTR_NO) 기준 MERGE 를 사용합니다
+ * - 이미지 URL 은 같은 세션/트랜잭션에서 물건 테이블과 같은 세대의 이미지 테이블에 (물건 키, 순번) 행으로 씁니다 (sql/06, sql/11).
+ *   KAMCO_AUCTION_ITEM_IMAGES 는 공개 세대를 보여 주는 뷰라 쓰지 않고, OnbidShadowTableManager 로 세대 테이블을 정합니다.
+ *   비우고 시작하는 적재(전체, 섀도)는 이미지를 그대로 넣고, MERGE 는 물건 키의 이미지를 지우고 다시 넣습니다.
+ */
+@Component
+public class OnbidItemWriter {
+
+    private static final String TABLE = "KAMCO_AUCTION_ITEMS";
+
+    // bindItem 의 바인딩 순서와 동일해야 합니다
+    static final List<String> COLUMNS = List.of(
+            "RNUM", "PLNM_NO", "PBCT_NO", "PBCT_CDTN_NO", "CLTR_NO", "CLTR_HSTR_NO", "SCRN_GRP_CD", "CTGR_FULL_NM",
+            "BID_MNMT_NO", "CLTR_NM", "CLTR_MNMT_NO", "LDNM_ADRS", "NMRD_ADRS", "LDNM_PNU", "DPSL_MTD_CD",
+            "DPSL_MTD_NM", "BID_MTD_NM", "MIN_BID_PRC", "APSL_ASES_AVG_AMT", "FEE_RATE", "PBCT_BEGN_DTM",
+            "PBCT_CLS_DTM", "PBCT_CLTR_STAT_NM", "USCBD_CNT", "IQRY_CNT", "GOODS_NM", "MANF", "MDL", "NRGT", "GRBX",
+            "ENDPC", "VHCL_MLGE", "FUEL", "SCRT_NM", "TPBZ", "ITM_NM", "MMB_RGT_NM", "CONTENT_HASH",
+            "PARTITION_CD", "MIN_BID_PRC_TXT", "APSL_ASES_AVG_AMT_TXT", "FEE_RATE_TXT", "PBCT_BEGN_DTM_TXT",
+            "PBCT_CLS_DTM_TXT", "USCBD_CNT_TXT", "IQRY_CNT_TXT", "VHCL_MLGE_TXT");
+
+    private static final List<String> KEY_COLUMNS = List.of("CLTR_MNMT_NO", "CLTR_HSTR_NO");
+
+    // 업무 키 기준 UPSERT (KamcoMapper 의 MERGE 패턴과 동일)
+    private static final String MERGE_SQL = "MERGE INTO " + TABLE + " A USING (SELECT "
+            + COLUMNS.stream().map(c -> "? AS " + c).collect(Collectors.joining(", ")) + " FROM DUAL) B "
+            + "ON (A.CLTR_MNMT_NO = B.CLTR_MNMT_NO AND A.CLTR_HSTR_NO = B.CLTR_HSTR_NO) "
+            + "WHEN MATCHED THEN UPDATE SET "
+            + COLUMNS.stream().filter(c -> !KEY_COLUMNS.contains(c)).map(c -> "A." + c + " = B." + c)
+                    .collect(Collectors.joining(", "))
+            + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", COLUMNS) + ") VALUES ("
+            + COLUMNS.stream().map(c -> "B." + c).collect(Collectors.joining(", ")) + ")";
+
+    private static final String DELETE_BY_KEY_SQL = "DELETE FROM " + TABLE
+            + " WHERE CLTR_MNMT_NO = ? AND CLTR_HSTR_NO = ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final OnbidIngestMetrics onbidIngestMetrics;
+    private final OnbidShadowTableManager onbidShadowTableManager;
+
+    public OnbidItemWriter(DataSource dataSource, OnbidIngestMetrics onbidIngestMetrics,
+            OnbidShadowTableManager onbidShadowTableManager) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.onbidIngestMetrics = onbidIngestMetrics;
+        this.onbidShadowTableManager = onbidShadowTableManager;
+    }
+
+    /** 공개 세대의 물건과 이미지 전체 삭제 (오토 커밋) 후 삭제한 물건 건수를 반환 */
+    public int deleteAll() throws SQLException {
+        String imageTable = onbidShadowTableManager.activeImageTable();
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM " + imageTable);
+            return stmt.executeUpdate("DELETE FROM " + TABLE);
+        }
+    }
+
+    /**
+     * 시노님(현재 공개 테이블) 또는 지정한 세대 테이블에 INSERT 하는 세션.
+     * 이미지는 같은 세대의 이미지 테이블에 넣습니다. 두 경우 모두 비운 테이블에 쓰므로 이미지를 지우지 않습니다.
+     */
+    public Session openInsertSession(String table, int jdbcBatchSize, boolean appendValues) throws SQLException {
+        String target = table != null ? table : TABLE;
+        String imageTable = table != null ? onbidShadowTableManager.imageTable(table)
+                : onbidShadowTableManager.activeImageTable();
+        String sql = appendValues ? directPath(insertSql(target)) : insertSql(target);
+        return new Session(dataSource.getConnection(), sql, imageTable, jdbcBatchSize, appendValues, false);
+    }
+
+    /** 업무 키 기준 MERGE(신규 INSERT / 기존 UPDATE) 세션 */
+    public Session openUpsertSession(int jdbcBatchSize) throws SQLException {
+        return new Session(dataSource.getConnection(), MERGE_SQL, onbidShadowTableManager.activeImageTable(),
+                jdbcBatchSize, false, true);
+    }
+
+    /**
+     * 진행 중인 스프링 트랜잭션(Spring Batch chunk 트랜잭션)에 참여하여 MERGE 하고 저장 건수를 반환합니다.
+     * 확정/롤백은 트랜잭션 관리자가 하며, SQL 오류는 DataAccessException 으로 변환되어 skip/retry 정책에 사용됩니다.
+     */
+    public int upsertInTransaction(List<? extends OnbidItem> items, int jdbcBatchSize) {
+        long t0 = System.nanoTime();
+        // 공개 세대도 같은 트랜잭션에서 읽습니다 (오류는 DataAccessException)
+        String imageTable = onbidShadowTableManager.imageTable(jdbcTemplate.queryForObject(
+                "SELECT TABLE_NAME FROM USER_SYNONYMS WHERE SYNONYM_NAME = ?", String.class,
+                OnbidShadowTableManager.SYNONYM));
+        int[][] counts = jdbcTemplate.batchUpdate(MERGE_SQL, items, Math.max(1, jdbcBatchSize), OnbidItemWriter::bindItem);
+        jdbcTemplate.batchUpdate(deleteImagesSql(imageTable), items, Math.max(1, jdbcBatchSize), (ps, item) -> {
+            ps.setString(1, item.CLTR_MNMT_NO);
+            ps.setString(2, item.CLTR_HSTR_NO);
+        });
+        List<ImageRow> images = imageRows(items);
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertImageSql(imageTable), images, Math.max(1, jdbcBatchSize), (ps, image) -> {
+                ps.setString(1, image.item().CLTR_MNMT_NO);
+                ps.setString(2, image.item().CLTR_HSTR_NO);
+                ps.setInt(3, image.seq());
+                ps.setString(4, image.item().imageUrls.get(image.seq() - 1));
+            });
+        }
+        onbidIngestMetrics.recordExecute(System.nanoTime() - t0);
+        int total = 0;
+        for (int[] batch : counts) {
+            total += sum(batch);
+        }
+        return total;
+    }
+
+    /** 저장된 물건의 비교용 값 (증분 적재의 변경 판단, 변경 이벤트 계산) */
+    public record StoredItem(long contentHash, Long minBidPrc, String statNm) {
+    }
+
+    /**
+     * 저장된 물건들의 업무 키 → (CONTENT_HASH, 최저입찰가, 물건상태) 목록
+     * CONTENT_HASH 가 없는 행(해시 도입 이전 적재분)은 0 으로 읽혀 변경으로 간주됩니다.
+     */
+    public Map<String, StoredItem> loadStoredItems() throws SQLException {
+        Map<String, StoredItem> items = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT CLTR_MNMT_NO, CLTR_HSTR_NO, CONTENT_HASH, MIN_BID_PRC, PBCT_CLTR_STAT_NM FROM " + TABLE)) {
+            ps.setFetchSize(5000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long price = rs.getLong(4);
+                    items.put(rs.getString(1) + "|" + rs.getString(2),
+                            new StoredItem(rs.getLong(3), rs.wasNull() ? null : price, rs.getString(5)));
+                }
+            }
+        }
+        return items;
+    }
+
+    /** 업무 키("물건관리번호|물건이력번호") 목록으로 물건과 이미지를 삭제하고 삭제한 물건 건수를 반환 */
+    public int deleteByKeys(Collection<String> itemKeys, int batchSize) throws SQLException {
+        if (itemKeys.isEmpty()) {
+            return 0;
+        }
+        String imageTable = onbidShadowTableManager.activeImageTable();
+        int deleted = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(DELETE_BY_KEY_SQL);
+                 PreparedStatement imagePs = conn.prepareStatement(deleteImagesSql(imageTable))) {
+                int pending = 0;
+                for (String itemKey : itemKeys) {
+                    int sep = itemKey.indexOf('|');
+                    ps.setString(1, itemKey.substring(0, sep));
+                    ps.setString(2, itemKey.substring(sep + 1));
+                    ps.addBatch();
+                    imagePs.setString(1, itemKey.substring(0, sep));
+                    imagePs.setString(2, itemKey.substring(sep + 1));
+                    imagePs.addBatch();
+                    if (++pending == batchSize) {
+                        deleted += sum(ps.executeBatch());
+                        imagePs.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    deleted += sum(ps.executeBatch());
+                    imagePs.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return deleted;
+    }
+
+    private static String insertSql(String table) {
+        return "INSERT INTO " + table + " (" + String.join(", ", COLUMNS) + ") "
+                + "VALUES (" + String.join(",", Collections.nCopies(COLUMNS.size(), "?")) + ")";
+    }
+
+    private static String directPath(String insertSql) {
+        return insertSql.replaceFirst("INSERT ", "INSERT /*+ APPEND_VALUES */ ");
+    }
+
+    private static String insertImageSql(String imageTable) {
+        return "INSERT INTO " + imageTable + " (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ, IMG_URL) VALUES (?, ?, ?, ?)";
+    }
+
+    private static String deleteImagesSql(String imageTable) {
+        return "DELETE FROM " + imageTable + " WHERE CLTR_MNMT_NO = ? AND CLTR_HSTR_NO = ?";
+    }
+
+    /** 이미지 한 행 (seq 는 1부터, item.imageUrls 의 seq - 1 번째 URL) */
+    private record ImageRow(OnbidItem item, int seq) {
+    }
+
+    private static List<ImageRow> imageRows(List<? extends OnbidItem> items) {
+        List<ImageRow> rows = new ArrayList<>();
+        for (OnbidItem item : items) {
+            for (int seq = 1; seq <= item.imageUrls.size(); seq++) {
+                rows.add(new ImageRow(item, seq));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * writer 스레드 하나가 쓰는 적재 세션 (스레드 간 공유하지 않음)
+     * close() 시 확정되지 않은 내용은 롤백됩니다.
+     */
+    public class Session implements OnbidIngestPipeline.ChunkWriter {
+        private final Connection conn;
+        private final PreparedStatement ps;
+        private final PreparedStatement imageInsertPs;
+        private final PreparedStatement imageDeletePs; // 이미지를 키 단위로 교체하지 않으면 null
+        private final int jdbcBatchSize;
+        private final boolean commitEachBatch;
+        private int pendingImages;
+
+        private Session(Connection conn, String sql, String imageTable, int jdbcBatchSize, boolean commitEachBatch,
+                boolean replaceImages) throws SQLException {
+            this.conn = conn;
+            this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+            this.commitEachBatch = commitEachBatch;
+            try {
+                conn.setAutoCommit(false);
+                this.ps = conn.prepareStatement(sql);
+                // direct-path 세션(executeBatch 마다 commit)은 이미지도 direct-path 로 넣습니다
+                this.imageInsertPs = conn.prepareStatement(commitEachBatch ? directPath(insertImageSql(imageTable))
+                        : insertImageSql(imageTable));
+                this.imageDeletePs = replaceImages ? conn.prepareStatement(deleteImagesSql(imageTable)) : null;
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int write(List<OnbidItem> chunk) throws SQLException {
+            int pending = 0;
+            for (OnbidItem item : chunk) {
+                bindItem(ps, item);
+                ps.addBatch();
+                bindImages(item);
+                if (++pending == jdbcBatchSize) {
+                    executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                executeBatch();
+            }
+            return chunk.size();
+        }
+
+        private void bindImages(OnbidItem item) throws SQLException {
+            if (imageDeletePs != null) {
+                imageDeletePs.setString(1, item.CLTR_MNMT_NO);
+                imageDeletePs.setString(2, item.CLTR_HSTR_NO);
+                imageDeletePs.addBatch();
+            }
+            for (int i = 0; i < item.imageUrls.size(); i++) {
+                imageInsertPs.setString(1, item.CLTR_MNMT_NO);
+                imageInsertPs.setString(2, item.CLTR_HSTR_NO);
+                imageInsertPs.setInt(3, i + 1);
+                imageInsertPs.setString(4, item.imageUrls.get(i));
+                imageInsertPs.addBatch();
+                pendingImages++;
+            }
+        }
+
+        // 지우기 → 넣기 순서로 보내야 같은 키의 새 이미지가 남습니다
+        private void executeBatch() throws SQLException {
+            long t0 = System.nanoTime();
+            ps.executeBatch();
+            if (imageDeletePs != null) {
+                imageDeletePs.executeBatch();
+            }
+            if (pendingImages > 0) {
+                imageInsertPs.executeBatch();
+                pendingImages = 0;
+            }
+            onbidIngestMetrics.recordExecute(System.nanoTime() - t0);
+            if (commitEachBatch) {
+                commit(); // direct-path 적재 후에는 같은 트랜잭션에서 다시 쓸 수 없음 (ORA-12838)
+            }
+        }
+
+        @Override
+        public void commit() throws SQLException {
+            long t0 = System.nanoTime();
+            conn.commit();
+            onbidIngestMetrics.recordCommit(System.nanoTime() - t0);
+        }
+
+        @Override
+        public int autoCommitRows() {
+            return commitEachBatch ? jdbcBatchSize : 0;
+        }
+
+        @Override
+        public void rollback() {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                // 커넥션이 끊긴 경우 등: 확정되지 않은 내용은 어차피 반영되지 않음
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (conn; ps; imageInsertPs; imageDeletePs) {
+                rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // 드라이버에 따라 SUCCESS_NO_INFO(-2)가 올 수 있으므로 1건으로 계산
+    private int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) {
+            total += c == Statement.SUCCESS_NO_INFO ? 1 : Math.max(c, 0);
+        }
+        return total;
+    }
+
+    static void bindItem(PreparedStatement ps, OnbidItem item) throws SQLException {
+        ps.setString(1, item.RNUM);
+        ps.setString(2, item.PLNM_NO);
+        ps.setString(3, item.PBCT_NO);
+        ps.setString(4, item.PBCT_CDTN_NO);
+        ps.setString(5, item.CLTR_NO);
+        ps.setString(6, item.CLTR_HSTR_NO);
+        ps.setString(7, item.SCRN_GRP_CD);
+        ps.setString(8, item.CTGR_FULL_NM);
+        ps.setString(9, item.BID_MNMT_NO);
+        ps.setString(10, item.CLTR_NM);
+        ps.setString(11, item.CLTR_MNMT_NO);
+        ps.setString(12, item.LDNM_ADRS);
+        ps.setString(13, item.NMRD_ADRS);
+        ps.setString(14, item.LDNM_PNU);
+        ps.setString(15, item.DPSL_MTD_CD);
+        ps.setString(16, item.DPSL_MTD_NM);
+        ps.setString(17, item.BID_MTD_NM);
+        setLong(ps, 18, item.MIN_BID_PRC);
+        setLong(ps, 19, item.APSL_ASES_AVG_AMT);
+        ps.setBigDecimal(20, item.FEE_RATE);
+        setDateTime(ps, 21, item.PBCT_BEGN_DTM);
+        setDateTime(ps, 22, item.PBCT_CLS_DTM);
+        ps.setString(23, item.PBCT_CLTR_STAT_NM);
+        setInt(ps, 24, item.USCBD_CNT);
+        setInt(ps, 25, item.IQRY_CNT);
+        ps.setString(26, item.GOODS_NM);
+        ps.setString(27, item.MANF);
+        ps.setString(28, item.MDL);
+        ps.setString(29, item.NRGT);
+        ps.setString(30, item.GRBX);
+        ps.setString(31, item.ENDPC);
+        setLong(ps, 32, item.VHCL_MLGE);
+        ps.setString(33, item.FUEL);
+        ps.setString(34, item.SCRT_NM);
+        ps.setString(35, item.TPBZ);
+        ps.setString(36, item.ITM_NM);
+        ps.setString(37, item.MMB_RGT_NM);
+        ps.setLong(38, item.CONTENT_HASH);
+        ps.setString(39, item.PARTITION_CD);
+        ps.setString(40, item.MIN_BID_PRC_TXT);
+        ps.setString(41, item.APSL_ASES_AVG_AMT_TXT);
+        ps.setString(42, item.FEE_RATE_TXT);
+        ps.setString(43, item.PBCT_BEGN_DTM_TXT);
+        ps.setString(44, item.PBCT_CLS_DTM_TXT);
+        ps.setString(45, item.USCBD_CNT_TXT);
+        ps.setString(46, item.IQRY_CNT_TXT);
+        ps.setString(47, item.VHCL_MLGE_TXT);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    // DATE 컬럼 (분 단위 공고일시)
+    private static void setDateTime(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+}
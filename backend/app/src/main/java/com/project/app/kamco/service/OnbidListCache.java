@@ -0,0 +1,333 @@
+package com.project.app.kamco.service;
+
+import java.lang.reflect.RecordComponent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.app.kamco.dto.OnbidListItem;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 목록 조회(OnbidApiService.getOnbidAuctionList) 결과 캐시 (Caffeine, W-TinyLFU)
+ *
+ * - 키는 정규화한 조회 조건 (앞뒤 공백 제거, 빈 문자열은 조건 없음과 같음)
+ * - 값은 camelCase 로 변환이 끝난 응답 (읽기 전용으로 감싸서 보관하므로 여러 요청이 그대로 공유합니다)
+ * - 크기 제한은 응답의 대략적인 메모리 크기(문자열 길이 기준 추정, byte) 합계입니다. 넘치면 W-TinyLFU 가 자주 쓰이지 않는 항목부터 내보냅니다
+ * - 저장 후 ttl 이 지나면 오래된 결과가 됩니다 (stale-while-revalidate). 오래된 결과는 바로 돌려주고 백그라운드에서 다시 조회하며,
+ *   다시 조회가 실패하면(OpenAPI 지연/장애, 회로 차단) 계속 오래된 결과를 돌려줍니다. 응답에는 stale=true, ageSeconds(저장 후 경과 초)를 붙입니다
+ * - 저장 후 stale-ttl 이 지나면 완전히 만료되어 다음 요청이 직접 조회합니다
+ * - prefetch 는 다음에 볼 가능성이 높은 페이지를 별도 스레드 하나에서 미리 조회하여 같은 캐시에 넣습니다.
+ *   이미 새 결과가 있거나 같은 키를 조회 중이거나 대기열이 차 있으면 건너뜁니다. 미리 넣은 결과가 처음 쓰이면 적중으로 셉니다.
+ *   미리 조회는 낮은 우선순위라 호출 여유 부족(429)이나 재시도 없는 실패로 끝날 수 있으므로 OnbidSingleFlight 에 넣지 않습니다.
+ *   그동안 같은 키로 들어온 요청은 미리 조회를 기다리지 않고 직접 조회합니다
+ * - 캐시에 없는 같은 조건이 동시에 들어오면 조회는 한 번만 하고 기다린 요청은 그 결과를 함께 받습니다 (OnbidSingleFlight).
+ *   조회가 실패하면 기다린 요청도 같은 예외를 받고, coalesce-max-wait-ms 를 넘게 기다린 요청은 429 로 끝납니다. 캐시를 꺼도 동작합니다
+ * - 지표: /actuator/metrics/cache.gets?tag=cache:onbid.list (result=hit/miss), cache.evictions, cache.size, cache.eviction.weight,
+ *   onbid.list.coalesced (결과를 나눠 받은 요청 수), onbid.list.in.flight, onbid.list.stale.served, onbid.list.refresh.failures,
+ *   onbid.list.prefetch (result=loaded/hit/skipped/failed. 적중률 = hit / loaded)
+ */
+@Slf4j
+@Component
+public class OnbidListCache {
+
+    /** 정규화한 목록 조회 조건 */
+    public record Key(int numOfRows, int pageNo, String prptDvsnCd, String sido, String sgk, String emd,
+            String cltrMnmtNo, String cltrNm) {
+
+        public static Key of(int numOfRows, int pageNo, String prptDvsnCd, String sido, String sgk, String emd,
+                String cltrMnmtNo, String cltrNm) {
+            return new Key(numOfRows, pageNo, normalize(prptDvsnCd), normalize(sido), normalize(sgk), normalize(emd),
+                    normalize(cltrMnmtNo), normalize(cltrNm));
+        }
+
+        /** 같은 조건의 다른 페이지 */
+        public Key withPageNo(int otherPageNo) {
+            return new Key(numOfRows, otherPageNo, prptDvsnCd, sido, sgk, emd, cltrMnmtNo, cltrNm);
+        }
+
+        private static String normalize(String value) {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
+    }
+
+    // 저장한 응답과 저장 시각. prefetched 는 미리 조회한 뒤 아직 요청이 쓰지 않은 결과
+    private record Entry(Map<String, Object> value, long storedAtMillis, boolean prefetched) {
+    }
+
+    // 항목마다 더하는 고정 크기 (키, 맵 엔트리 등)
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    // 백그라운드 갱신 대기열 크기 (넘치면 그 요청은 갱신을 건너뛰고 다음 요청이 다시 시도)
+    private static final int REFRESH_QUEUE = 64;
+    // 미리 조회 대기열 크기 (넘치면 건너뜀)
+    private static final int PREFETCH_QUEUE = 16;
+
+    private final Cache<Key, Entry> cache;
+    private final OnbidSingleFlight<Key, Map<String, Object>> singleFlight;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refresher;
+    private final ThreadPoolExecutor prefetcher;
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong prefetchLoaded = new AtomicLong();
+    private final AtomicLong prefetchHits = new AtomicLong();
+    private final AtomicLong prefetchSkipped = new AtomicLong();
+    private final AtomicLong prefetchFailed = new AtomicLong();
+
+    public OnbidListCache(MeterRegistry registry,
+            @Value("${onbid.list-cache.enabled:true}") boolean enabled,
+            @Value("${onbid.list-cache.max-weight-mb:32}") long maxWeightMb,
+            @Value("${onbid.list-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${onbid.list-cache.stale-ttl-minutes:1440}") long staleTtlMinutes,
+            @Value("${onbid.list-cache.coalesce-max-wait-ms:15000}") long coalesceMaxWaitMillis) {
+        this.enabled = enabled;
+        this.ttlMillis = Math.max(1, ttlSeconds) * 1000;
+        this.singleFlight = new OnbidSingleFlight<>(coalesceMaxWaitMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxWeightMb) * 1024 * 1024)
+                .weigher((Key key, Entry entry) -> weigh(entry.value()))
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMillis, staleTtlMinutes * 60_000)))
+                .recordStats()
+                .build();
+        this.refresher = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE),
+                Thread.ofPlatform().name("onbid-list-refresh-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.prefetcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(PREFETCH_QUEUE),
+                Thread.ofPlatform().name("onbid-list-prefetch").daemon().priority(Thread.MIN_PRIORITY).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        CaffeineCacheMetrics.monitor(registry, cache, "onbid.list");
+        FunctionCounter.builder("onbid.list.coalesced", singleFlight, OnbidSingleFlight::coalesced)
+                .description("같은 조건의 진행 중인 조회 결과를 나눠 받은 목록 요청 수")
+                .register(registry);
+        Gauge.builder("onbid.list.in.flight", singleFlight, OnbidSingleFlight::inFlight)
+                .description("진행 중인 목록 조회 수 (조건별 1건)")
+                .register(registry);
+        FunctionCounter.builder("onbid.list.stale.served", staleServed, AtomicLong::get)
+                .description("ttl 이 지난 결과를 돌려준 목록 요청 수")
+                .register(registry);
+        FunctionCounter.builder("onbid.list.refresh.failures", refreshFailures, AtomicLong::get)
+                .description("실패한 백그라운드 목록 갱신 수")
+                .register(registry);
+        registerPrefetchCounter(registry, "loaded", prefetchLoaded, "미리 조회하여 저장한 페이지 수");
+        registerPrefetchCounter(registry, "hit", prefetchHits, "미리 조회한 결과를 요청이 처음 쓴 횟수");
+        registerPrefetchCounter(registry, "skipped", prefetchSkipped, "호출 여유 부족, 대기열 초과로 건너뛴 미리 조회 수");
+        registerPrefetchCounter(registry, "failed", prefetchFailed, "실패한 미리 조회 수");
+    }
+
+    /**
+     * 캐시된 응답을 돌려주고, 없으면 loader 결과를 읽기 전용으로 저장하여 돌려줍니다.
+     * ttl 이 지난 응답은 표시(stale, ageSeconds)를 붙여 바로 돌려주고 loader 는 백그라운드에서 실행합니다.
+     * 같은 키의 loader 는 동시에 하나만 실행됩니다.
+     */
+    public Map<String, Object> get(Key key, Callable<Map<String, Object>> loader) throws Exception {
+        if (!enabled) {
+            return singleFlight.execute(key, () -> readOnly(loader.call()));
+        }
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            long age = System.currentTimeMillis() - cached.storedAtMillis();
+            if (age < ttlMillis) {
+                // 미리 조회한 결과의 첫 사용은 한 요청만 셉니다
+                if (cached.prefetched() && cache.asMap().replace(key, cached,
+                        new Entry(cached.value(), cached.storedAtMillis(), false))) {
+                    prefetchHits.incrementAndGet();
+                }
+                return cached.value();
+            }
+            refreshInBackground(key, loader);
+            staleServed.incrementAndGet();
+            return stale(cached.value(), age);
+        }
+        return singleFlight.execute(key, () -> load(key, loader, false));
+    }
+
+    /**
+     * 새 결과가 없으면 loader 를 미리 조회 스레드에서 실행하여 저장해 둡니다 (요청 스레드는 기다리지 않음).
+     * loader 가 호출 여유 부족(throttled)으로 실패하면 건너뛴 것으로 셉니다.
+     */
+    public void prefetch(Key key, Callable<Map<String, Object>> loader) {
+        if (!enabled) {
+            return;
+        }
+        Entry cached = cache.policy().getIfPresentQuietly(key);
+        if (cached != null && System.currentTimeMillis() - cached.storedAtMillis() < ttlMillis) {
+            return;
+        }
+        // 요청이 이미 조회 중이면 그 결과가 저장됩니다
+        if (singleFlight.isRunning(key) || !refreshing.add(key)) {
+            return;
+        }
+        try {
+            prefetcher.execute(() -> {
+                try {
+                    // 요청이 합류하지 않도록 single flight 밖에서 조회합니다 (같은 키 미리 조회는 refreshing 으로 하나만)
+                    load(key, loader, true);
+                } catch (OnbidUpstreamException e) {
+                    (e.isThrottled() ? prefetchSkipped : prefetchFailed).incrementAndGet();
+                } catch (Exception e) {
+                    prefetchFailed.incrementAndGet();
+                    log.debug("목록 미리 조회 실패 ({}): {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            prefetchSkipped.incrementAndGet();
+        }
+    }
+
+    /** 호출하는 쪽이 호출 여유가 없다고 판단하여 미리 조회하지 않은 경우 */
+    public void prefetchSkipped() {
+        prefetchSkipped.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        prefetcher.shutdownNow();
+    }
+
+    private Map<String, Object> load(Key key, Callable<Map<String, Object>> loader, boolean prefetch) throws Exception {
+        // 앞선 조회가 방금 끝났으면 그 결과를 씁니다
+        Entry stored = cache.getIfPresent(key);
+        if (stored != null && System.currentTimeMillis() - stored.storedAtMillis() < ttlMillis) {
+            return stored.value();
+        }
+        Map<String, Object> loaded = readOnly(loader.call());
+        cache.put(key, new Entry(loaded, System.currentTimeMillis(), prefetch));
+        if (prefetch) {
+            prefetchLoaded.incrementAndGet();
+        }
+        return loaded;
+    }
+
+    // 키마다 갱신은 하나만 (실패하면 저장된 결과를 그대로 두고 다음 요청이 다시 시도)
+    private void refreshInBackground(Key key, Callable<Map<String, Object>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    singleFlight.execute(key, () -> load(key, loader, false));
+                } catch (Exception e) {
+                    refreshFailures.incrementAndGet();
+                    log.debug("목록 갱신 실패, 이전 결과를 계속 사용합니다 ({}): {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private static void registerPrefetchCounter(MeterRegistry registry, String result, AtomicLong counter,
+            String description) {
+        FunctionCounter.builder("onbid.list.prefetch", counter, AtomicLong::get)
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+
+    private static Map<String, Object> stale(Map<String, Object> value, long ageMillis) {
+        Map<String, Object> marked = new HashMap<>(value);
+        marked.put("stale", true);
+        marked.put("ageSeconds", ageMillis / 1000);
+        return Collections.unmodifiableMap(marked);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // 응답과 물건 맵을 읽기 전용으로 감쌉니다 (캐시된 값을 요청끼리 공유하므로)
+    private static Map<String, Object> readOnly(Map<String, Object> value) {
+        Map<String, Object> copy = new HashMap<>(value);
+        if (value.get("items") instanceof List<?> items) {
+            List<Object> readOnlyItems = new ArrayList<>(items.size());
+            for (Object item : items) {
+                readOnlyItems.add(item instanceof Map<?, ?> map ? Collections.unmodifiableMap(map) : item);
+            }
+            copy.put("items", Collections.unmodifiableList(readOnlyItems));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    // 문자열 길이(UTF-16 2byte) + 맵 엔트리 추정치. 정확한 크기가 아니라 항목 사이의 상대적인 무게입니다
+    static int weigh(Object value) {
+        long bytes = ENTRY_OVERHEAD_BYTES + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long estimate(Object value) {
+        if (value instanceof String s) {
+            return 40 + 2L * s.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 32 + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof OnbidListItem item) {
+            long bytes = 16 + 4L * OnbidListItem.TAGS.size();
+            for (RecordComponent component : OnbidListItem.class.getRecordComponents()) {
+                try {
+                    bytes += estimate(component.getAccessor().invoke(item));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 24;
+            for (Object element : collection) {
+                bytes += 8 + estimate(element);
+            }
+            return bytes;
+        }
+        return 16;
+    }
+}
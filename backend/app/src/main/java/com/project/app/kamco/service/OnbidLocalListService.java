@@ -0,0 +1,265 @@
+package com.project.app.kamco.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidListItem;
+import com.project.app.kamco.dto.OnbidListQueryDto;
+import com.project.app.kamco.dto.OnbidLoadMode;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+import com.project.app.kamco.mapper.OnbidItemMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 적재된 KAMCO_AUCTION_ITEMS 에서 목록을 조회합니다 (OpenAPI 목록과 같은 조건, 같은 응답 형태)
+ *
+ * - 조건: 물건구분코드 → DPSL_MTD_CD, 시도/시군구/읍면동 → 지번주소 앞부분, 물건관리번호 일치, 물건명 포함
+ * - 정렬은 업무 키(물건관리번호, 물건이력번호) 순입니다. 앞 페이지를 조회한 적이 있으면 그 마지막 키 뒤부터 읽고(keyset),
+ *   처음 보는 페이지만 OFFSET 으로 건너뜁니다. 페이지 경계는 적재 세대(기준 실행 ID)별로 기억하므로 새 적재가 끝나면 다시 계산합니다
+ * - 다음 경우에는 null 을 돌려주어 OpenAPI 로 조회하게 합니다
+ *   · 지원하지 않는 조건 (시도 없이 시군구, 시군구 없이 읍면동)
+ *   · 완료된 적재가 없거나 마지막 완료 적재가 max-staleness 보다 오래됨
+ *   · 전체 적재(FULL)가 진행 중이거나 실패하여 테이블이 비어 있을 수 있음
+ *   · 마지막 완료 적재가 기본 목록(ALL)이 아닌 파티션만 받았고 요청한 물건구분코드가 그 파티션에 없음
+ * 적재 상태 확인 결과는 check-interval 동안 재사용합니다.
+ */
+@Slf4j
+@Service
+public class OnbidLocalListService {
+
+    static final String SOURCE_LOCAL = "local";
+
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String DEFAULT_PARTITION = "ALL";
+    // 적재 상태를 판단할 때 살펴보는 최근 실행 수
+    private static final int RECENT_RUNS = 20;
+    private static final DateTimeFormatter YMDHMS = DateTimeFormatter.ofPattern("uuuuMMddHHmmss");
+
+    /** 적재 상태 확인 결과. version 은 기준 실행 ID (사용할 수 없으면 null) */
+    record Freshness(String version, Set<String> partitions, String reason, long checkedAt) {
+
+        boolean usable() {
+            return version != null;
+        }
+
+        boolean covers(String dpslMtdCd) {
+            return partitions == null || (dpslMtdCd != null && partitions.contains(dpslMtdCd));
+        }
+    }
+
+    // 페이지 경계 키: 같은 적재 세대, 같은 조건, 같은 페이지
+    private record Boundary(String version, OnbidListQueryDto filter, int pageNo) {
+    }
+
+    private final OnbidItemMapper onbidItemMapper;
+    private final OnbidBatchMapper onbidBatchMapper;
+    private final boolean enabled;
+    private final long maxStalenessMinutes;
+    private final long checkIntervalMillis;
+    // 페이지 → 그 페이지 마지막 업무 키 {물건관리번호, 물건이력번호}
+    private final Cache<Boundary, String[]> boundaries = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+    private volatile Freshness freshness;
+
+    public OnbidLocalListService(OnbidItemMapper onbidItemMapper, OnbidBatchMapper onbidBatchMapper,
+            @Value("${onbid.local-list.enabled:true}") boolean enabled,
+            @Value("${onbid.local-list.max-staleness-minutes:1440}") long maxStalenessMinutes,
+            @Value("${onbid.local-list.check-interval-seconds:30}") long checkIntervalSeconds) {
+        this.onbidItemMapper = onbidItemMapper;
+        this.onbidBatchMapper = onbidBatchMapper;
+        this.enabled = enabled;
+        this.maxStalenessMinutes = maxStalenessMinutes;
+        this.checkIntervalMillis = Math.max(0, checkIntervalSeconds) * 1000;
+    }
+
+    /** 적재 테이블에서 조회한 목록 (totalCount, items, source). 적재 데이터로 답할 수 없으면 null */
+    public Map<String, Object> find(OnbidListCache.Key key) {
+        if (!enabled) {
+            return null;
+        }
+        String adrsPrefix = addressPrefix(key.sido(), key.sgk(), key.emd());
+        if (adrsPrefix == null && (key.sgk() != null || key.emd() != null)) {
+            return null;
+        }
+        Freshness current = freshness();
+        if (!current.usable() || !current.covers(key.prptDvsnCd())) {
+            log.debug("적재 목록 사용 안 함 ({}), OpenAPI 로 조회", current.usable() ? "파티션 밖 물건구분" : current.reason());
+            return null;
+        }
+
+        int numOfRows = Math.max(1, key.numOfRows());
+        int pageNo = Math.max(1, key.pageNo());
+        OnbidListQueryDto filter = OnbidListQueryDto.builder()
+                .dpslMtdCd(key.prptDvsnCd())
+                .adrsPrefix(adrsPrefix)
+                .cltrMnmtNo(key.cltrMnmtNo())
+                .cltrNm(escapeLike(key.cltrNm()))
+                .numOfRows(numOfRows)
+                .build();
+
+        int totalCount = onbidItemMapper.countLocalItems(filter);
+        List<OnbidItem> rows = List.of();
+        long offset = (long) (pageNo - 1) * numOfRows;
+        if (offset < totalCount) {
+            OnbidListQueryDto query = copy(filter);
+            String[] after = pageNo > 1 ? boundaries.getIfPresent(new Boundary(current.version(), filter, pageNo - 1)) : null;
+            if (after != null) {
+                query.setAfterMnmtNo(after[0]);
+                query.setAfterHstrNo(after[1]);
+            } else {
+                query.setOffset((int) offset);
+            }
+            rows = onbidItemMapper.selectLocalItems(query);
+            if (rows.size() == numOfRows) {
+                OnbidItem last = rows.get(rows.size() - 1);
+                boundaries.put(new Boundary(current.version(), filter, pageNo),
+                        new String[] { last.CLTR_MNMT_NO, last.CLTR_HSTR_NO });
+            }
+        }
+
+        List<OnbidListItem> items = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            items.add(toRow(rows.get(i), offset + i + 1));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalCount", totalCount);
+        result.put("items", items);
+        result.put("source", SOURCE_LOCAL);
+        return result;
+    }
+
+    /** 최근 확인한 적재 상태 (check-interval 이 지났으면 다시 확인) */
+    Freshness freshness() {
+        Freshness current = freshness;
+        long now = System.currentTimeMillis();
+        if (current == null || now - current.checkedAt() >= checkIntervalMillis) {
+            current = check(now);
+            freshness = current;
+        }
+        return current;
+    }
+
+    /** 다음 조회에서 적재 상태를 다시 확인합니다 (적재 작업이 끝났을 때) */
+    void invalidateFreshness() {
+        freshness = null;
+    }
+
+    private Freshness check(long now) {
+        for (OnbidBatchRunDto run : onbidBatchMapper.selectRecentRuns(RECENT_RUNS)) {
+            boolean completed = STATUS_COMPLETED.equals(run.getStatus());
+            if (!completed) {
+                if (OnbidLoadMode.FULL.name().equals(run.getLoadMode())) {
+                    // 전체 적재는 먼저 지우고 다시 넣으므로 끝나기 전까지 테이블이 비어 있을 수 있습니다
+                    return unusable("전체 적재 " + run.getRunId() + " " + run.getStatus(), now);
+                }
+                continue; // 섀도 적재는 공개 전이고, 증분 적재는 기존 물건을 지우지 않습니다
+            }
+            LocalDateTime endedAt = run.getEndedAt();
+            if (endedAt == null || endedAt.isBefore(LocalDateTime.now().minusMinutes(maxStalenessMinutes))) {
+                return unusable("마지막 완료 적재 " + run.getRunId() + " 가 " + maxStalenessMinutes + "분보다 오래됨", now);
+            }
+            Set<String> partitions = new HashSet<>();
+            for (OnbidBatchPartitionDto partition : onbidBatchMapper.selectPartitions(run.getRunId())) {
+                if (DEFAULT_PARTITION.equals(partition.getPartitionCd())) {
+                    partitions = null;
+                    break;
+                }
+                partitions.add(partition.getPartitionCd());
+            }
+            return new Freshness(run.getRunId(), partitions, null, now);
+        }
+        return unusable("완료된 적재 없음", now);
+    }
+
+    private static Freshness unusable(String reason, long now) {
+        return new Freshness(null, Set.of(), reason, now);
+    }
+
+    /** 지번주소 앞부분 ("시도 시군구 읍면동", 앞 단계가 빠지면 null) */
+    static String addressPrefix(String sido, String sgk, String emd) {
+        if (sido == null || (sgk == null && emd != null)) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder(sido);
+        if (sgk != null) {
+            prefix.append(' ').append(sgk);
+        }
+        if (emd != null) {
+            prefix.append(' ').append(emd);
+        }
+        return escapeLike(prefix.toString());
+    }
+
+    /** LIKE 특수문자 이스케이프 (ESCAPE '\') */
+    static String escapeLike(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * OpenAPI 목록 항목과 같은 필드, 문자열 값 (없는 값은 빈 문자열).
+     * 숫자/일시 항목은 적재할 때 저장한 OpenAPI 원문(*_TXT)을 그대로 돌려주고, 원문이 없는 이전 적재 행만 값을 문자열로 바꿉니다.
+     */
+    static OnbidListItem toRow(OnbidItem item, long rnum) {
+        return new OnbidListItem(String.valueOf(rnum), text(item.PLNM_NO), text(item.PBCT_NO),
+                text(item.PBCT_CDTN_NO), text(item.CLTR_NO), text(item.CLTR_HSTR_NO), text(item.SCRN_GRP_CD),
+                text(item.CTGR_FULL_NM), text(item.BID_MNMT_NO), text(item.CLTR_NM), text(item.CLTR_MNMT_NO),
+                text(item.LDNM_ADRS), text(item.NMRD_ADRS), text(item.LDNM_PNU), text(item.DPSL_MTD_CD),
+                text(item.DPSL_MTD_NM), text(item.BID_MTD_NM), text(item.MIN_BID_PRC_TXT, item.MIN_BID_PRC),
+                text(item.APSL_ASES_AVG_AMT_TXT, item.APSL_ASES_AVG_AMT), text(item.FEE_RATE_TXT, item.FEE_RATE),
+                text(item.PBCT_BEGN_DTM_TXT, item.PBCT_BEGN_DTM), text(item.PBCT_CLS_DTM_TXT, item.PBCT_CLS_DTM),
+                text(item.PBCT_CLTR_STAT_NM), text(item.USCBD_CNT_TXT, item.USCBD_CNT),
+                text(item.IQRY_CNT_TXT, item.IQRY_CNT), text(item.GOODS_NM), text(item.MANF), text(item.MDL),
+                text(item.NRGT), text(item.GRBX), text(item.ENDPC), text(item.VHCL_MLGE_TXT, item.VHCL_MLGE),
+                text(item.FUEL), text(item.SCRT_NM), text(item.TPBZ), text(item.ITM_NM), text(item.MMB_RGT_NM));
+    }
+
+    private static String text(String raw, Object value) {
+        return raw != null ? raw : text(value);
+    }
+
+    // 원문이 없을 때: 숫자는 천 단위 구분 없이, 일시는 OpenAPI 형식(yyyyMMddHHmmss)으로
+    private static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(YMDHMS);
+        }
+        return value.toString();
+    }
+
+    private static OnbidListQueryDto copy(OnbidListQueryDto filter) {
+        return OnbidListQueryDto.builder()
+                .dpslMtdCd(filter.getDpslMtdCd())
+                .adrsPrefix(filter.getAdrsPrefix())
+                .cltrMnmtNo(filter.getCltrMnmtNo())
+                .cltrNm(filter.getCltrNm())
+                .numOfRows(filter.getNumOfRows())
+                .build();
+    }
+}
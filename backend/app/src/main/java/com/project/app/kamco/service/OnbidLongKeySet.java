@@ -0,0 +1,132 @@
+package com.project.app.kamco.service;
+
+/**
+ * long 키 전용 open addressing 해시 집합 (선형 탐사)
+ *
+ * - 키를 long[] 에 그대로 저장하므로 키마다 객체를 만들지 않습니다 (HashSet&lt;String&gt; 대비 1/6 이하 메모리)
+ * - 빈 칸 표시는 0 이며, 키 0 은 별도 플래그로 기억합니다
+ * - 채움률이 75% 를 넘으면 두 배로 늘립니다. 삭제는 뒤쪽 키를 당겨 채우므로(backward shift) 삭제 표시를 남기지 않습니다
+ * - 동기화하지 않습니다. 여러 스레드가 쓰면 호출하는 쪽에서 잠급니다 (OnbidItemDedup)
+ */
+final class OnbidLongKeySet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    OnbidLongKeySet() {
+        this(MIN_CAPACITY);
+    }
+
+    OnbidLongKeySet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, expectedSize * 4L / 3)) - 1) << 1;
+        table = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /** 처음 보는 키면 추가하고 true */
+    boolean add(long key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        while (table[slot] != 0) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+        size++;
+        if (size > (mask + 1) / 4 * 3) {
+            grow();
+        }
+        return true;
+    }
+
+    /** 있던 키면 지우고 true */
+    boolean remove(long key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int hole = slot(key);
+        while (table[hole] != key) {
+            if (table[hole] == 0) {
+                return false;
+            }
+            hole = (hole + 1) & mask;
+        }
+        // 빈 칸 뒤의 키 중 원래 자리에서 빈 칸을 지나 밀려난 키를 당겨 탐사가 끊기지 않게 합니다
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = slot(table[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+        size--;
+        return true;
+    }
+
+    boolean contains(long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int slot = slot(key);
+        while (table[slot] != 0) {
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** 키 배열이 차지하는 바이트 수 (지표/로그용) */
+    long capacityBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        mask = table.length - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int slot = slot(key);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+            }
+        }
+    }
+
+    // 키가 이미 해시값이어도 하위 비트만 쓰지 않도록 한 번 더 섞습니다 (murmur3 fmix64)
+    private int slot(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+}
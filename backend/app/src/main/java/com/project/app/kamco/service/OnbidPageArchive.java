@@ -0,0 +1,241 @@
+package com.project.app.kamco.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 페이지 원문(XML) 보관소
+ *
+ * - onbid.archive.enabled 를 켜면 배치가 받은 페이지 원문을 {dir}/{runId}/page-00001.xml.gz 로 저장합니다
+ * - 보관한 실행은 재생(replay) 적재의 원문으로 사용됩니다. OpenAPI 를 다시 호출하지 않고 같은 parse/write 경로로 적재합니다
+ * - 저장 실패는 적재를 멈추지 않고 로그만 남깁니다 (해당 페이지는 재생할 수 없게 될 뿐입니다)
+ * - 파티션 적재는 파티션마다 {runId}_{파티션} 디렉터리에 따로 보관하며, 같은 실행의 파티션 보관은 실행 하나로 셉니다
+ * - 새 실행을 보관하기 시작할 때 최근 keep-runs 개 실행을 남기고 오래된 실행부터 지웁니다 (0 이하면 지우지 않음)
+ */
+@Slf4j
+@Component
+public class OnbidPageArchive {
+
+    /** 보관된 실행 하나 */
+    public record ArchivedRun(String runId, List<Integer> pages, long compressedBytes) {
+    }
+
+    private static final Pattern PAGE_FILE = Pattern.compile("page-(\\d+)\\.xml\\.gz");
+    // 실행 ID 는 디렉터리 이름으로 쓰이므로 경로 문자를 허용하지 않습니다
+    private static final Pattern RUN_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    // 실행 ID 와 파티션 코드 구분자 (실행 ID 자체에는 쓰지 않음)
+    private static final char PARTITION_SEPARATOR = '_';
+
+    private final boolean enabled;
+    private final Path root;
+    private final int keepRuns;
+
+    public OnbidPageArchive(
+            @Value("${onbid.archive.enabled:false}") boolean enabled,
+            @Value("${onbid.archive.dir:./onbid-archive}") String dir,
+            @Value("${onbid.archive.keep-runs:3}") int keepRuns) {
+        this.enabled = enabled;
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.keepRuns = keepRuns;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 받은 원문을 보관하면서 그대로 돌려주는 fetcher. 보관이 꺼져 있으면 source 를 그대로 돌려줍니다.
+     * 같은 실행에서 같은 페이지를 다시 받으면(재개, totalCount 변동 재수집) 최신 원문으로 덮어씁니다.
+     */
+    public OnbidIngestPipeline.PageFetcher archiving(String runId, OnbidIngestPipeline.PageFetcher source) {
+        if (!enabled) {
+            return source;
+        }
+        Path runDir = runDir(runId);
+        try {
+            Files.createDirectories(runDir);
+            prune(runId);
+        } catch (IOException e) {
+            log.warn("원문 보관 디렉터리 준비 실패 ({}): {}", runDir, e.getMessage());
+            return source;
+        }
+        log.info("페이지 원문 보관: {}", runDir);
+        return pageNo -> {
+            byte[] body = source.fetch(pageNo);
+            store(runDir, pageNo, body);
+            return body;
+        };
+    }
+
+    /** 보관된 원문을 읽는 fetcher (재생 적재용) */
+    public OnbidIngestPipeline.PageFetcher replaying(String runId) {
+        Path runDir = runDir(runId);
+        return pageNo -> {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(pageFile(runDir, pageNo)), 1 << 16)) {
+                return in.readAllBytes();
+            } catch (NoSuchFileException e) {
+                throw new IllegalStateException("보관된 원문이 없습니다: " + runId + " / " + pageNo + "페이지");
+            }
+        };
+    }
+
+    /** 보관된 실행. 없으면 null */
+    public ArchivedRun find(String runId) throws IOException {
+        Path runDir = runDir(runId);
+        if (!Files.isDirectory(runDir)) {
+            return null;
+        }
+        List<Integer> pages = new ArrayList<>();
+        long bytes = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(runDir, "page-*.xml.gz")) {
+            for (Path file : files) {
+                Matcher m = PAGE_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    pages.add(Integer.parseInt(m.group(1)));
+                    bytes += Files.size(file);
+                }
+            }
+        }
+        pages.sort(null);
+        return new ArchivedRun(runId, pages, bytes);
+    }
+
+    /**
+     * 실행 하나의 보관 목록. 파티션 적재는 파티션마다 따로 보관되므로(실행ID_파티션) 모두 모읍니다.
+     * 보관된 페이지가 있는 것만 이름순으로 돌려주며, 없으면 빈 목록
+     */
+    public List<ArchivedRun> findRun(String runId) throws IOException {
+        runDir(runId);
+        List<ArchivedRun> runs = new ArrayList<>();
+        for (String dir : runIds().reversed()) {
+            if (dir.equals(runId) || dir.startsWith(runId + PARTITION_SEPARATOR)) {
+                ArchivedRun run = find(dir);
+                if (run != null && !run.pages().isEmpty()) {
+                    runs.add(run);
+                }
+            }
+        }
+        return runs;
+    }
+
+    /** 보관된 실행 목록 (최신순) */
+    public List<ArchivedRun> list() throws IOException {
+        List<ArchivedRun> runs = new ArrayList<>();
+        for (String runId : runIds()) {
+            ArchivedRun run = find(runId);
+            if (run != null && !run.pages().isEmpty()) {
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    // 임시 파일에 쓴 뒤 이동하므로 재생 중에 쓰다 만 파일을 읽지 않습니다
+    private void store(Path runDir, int pageNo, byte[] body) {
+        Path target = pageFile(runDir, pageNo);
+        Path tmp = runDir.resolve(target.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+                out.write(body);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("페이지 원문 보관 실패 ({}): {}", target, e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // 다음 보관 때 덮어씀
+            }
+        }
+    }
+
+    // 디렉터리를 실행 단위로 묶어 현재 실행 외에 최근 keep-runs - 1 개 실행을 남깁니다 (현재 실행의 다른 파티션은 지우지 않음)
+    private void prune(String currentRunId) throws IOException {
+        if (keepRuns <= 0) {
+            return;
+        }
+        String current = baseRunId(currentRunId);
+        Set<String> kept = new HashSet<>();
+        for (String dir : runIds()) {
+            String base = baseRunId(dir);
+            if (base.equals(current)) {
+                continue;
+            }
+            if (kept.contains(base) || kept.size() < keepRuns - 1) {
+                kept.add(base);
+            } else {
+                deleteRun(dir);
+            }
+        }
+    }
+
+    // 파티션 보관 디렉터리(실행ID_파티션)의 실행 ID
+    private static String baseRunId(String dir) {
+        int sep = dir.indexOf(PARTITION_SEPARATOR);
+        return sep < 0 ? dir : dir.substring(0, sep);
+    }
+
+    private void deleteRun(String runId) {
+        try (Stream<Path> files = Files.walk(runDir(runId))) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("오래된 원문 보관 삭제: {}", runId);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("원문 보관 삭제 실패 ({}): {}", runId, e.getMessage());
+        }
+    }
+
+    // 실행 ID 는 시작 시각으로 시작하므로 이름 역순 = 최신순
+    private List<String> runIds() throws IOException {
+        List<String> runIds = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return runIds;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                runIds.add(dir.getFileName().toString());
+            }
+        }
+        runIds.sort(Comparator.reverseOrder());
+        return runIds;
+    }
+
+    private Path runDir(String runId) {
+        if (runId == null || !RUN_ID.matcher(runId).matches()) {
+            throw new IllegalArgumentException("잘못된 실행 ID: " + runId);
+        }
+        return root.resolve(runId);
+    }
+
+    private static Path pageFile(Path runDir, int pageNo) {
+        return runDir.resolve(String.format("page-%05d.xml.gz", pageNo));
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.app.kamco.service;
+
+import java.net.URI;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 공매물건 목록 페이지 원문 조회 (배치 적재 전용)
+ *
+ * 파이프라인 적재(OnbidBatchService)와 Spring Batch 적재 잡(OnbidIngestJobConfig)이 함께 사용합니다.
+ * 페이지당 건수(onbid.batch.num-of-rows)도 여기서 관리하여 페이지 계획과 실제 호출이 어긋나지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class OnbidPageClient implements OnbidIngestPipeline.PageFetcher {
+
+	private static final String LIST_URL = "http://openapi.onbid.co.kr/openapi/services/KamcoPblsalThingInquireSvc/getKamcoPbctCltrList";
+
+	@Value("${onbid.api.service-key}")
+	private String onbidApiServiceKey;
+
+	@Value("${onbid.batch.num-of-rows:10000}")
+	private int numOfRows;
+
+	private final OnbidUpstreamGovernor onbidUpstreamGovernor;
+	private final OnbidIngestMetrics onbidIngestMetrics;
+	private final OnbidHttpClient onbidHttpClient;
+
+	public OnbidPageClient(OnbidUpstreamGovernor onbidUpstreamGovernor, OnbidIngestMetrics onbidIngestMetrics,
+			OnbidHttpClient onbidHttpClient) {
+		this.onbidUpstreamGovernor = onbidUpstreamGovernor;
+		this.onbidIngestMetrics = onbidIngestMetrics;
+		this.onbidHttpClient = onbidHttpClient;
+	}
+
+	public int numOfRows() {
+		return numOfRows;
+	}
+
+	/** totalCount 건을 받는 데 필요한 페이지 수. 건수가 0 이어도 결과 코드 확인을 위해 1페이지는 처리합니다. limit 이 0 이하면 제한 없음 */
+	public int planPages(int totalCount, int limit) {
+		int pages = Math.max(1, (totalCount + numOfRows - 1) / numOfRows);
+		return limit > 0 ? Math.min(pages, limit) : pages;
+	}
+
+	/**
+	 * 페이지 원문을 byte[] 로 받아옵니다 (공용 연결 풀, gzip 전송 - OnbidHttpClient).
+	 * 문자열로 디코딩하지 않고 그대로 parse 단계에 넘깁니다 (인코딩 판단은 XML 파서가 담당).
+	 * 호출 속도 조절과 재시도는 OnbidUpstreamGovernor 가 담당하며, 화면 조회보다 낮은 우선순위(BATCH)로 호출합니다.
+	 * 호출 시간 지표(onbid.ingest.fetch)는 시도마다 기록하며 거버너 대기 시간은 포함하지 않습니다.
+	 */
+	@Override
+	public byte[] fetch(int pageNo) throws Exception {
+		return fetch(null, pageNo);
+	}
+
+	/** 처분방식코드(DPSL_MTD_CD) 파티션 목록의 fetcher. dpslMtdCd 가 null 이면 기본 목록 */
+	public OnbidIngestPipeline.PageFetcher partition(String dpslMtdCd) {
+		return pageNo -> fetch(dpslMtdCd, pageNo);
+	}
+
+	private byte[] fetch(String dpslMtdCd, int pageNo) throws Exception {
+		return onbidUpstreamGovernor.execute(OnbidUpstreamGovernor.Priority.BATCH, () -> timedFetch(dpslMtdCd, pageNo));
+	}
+
+	private byte[] timedFetch(String dpslMtdCd, int pageNo) throws Exception {
+		long t0 = System.nanoTime();
+		try {
+			byte[] body = fetchPageOnce(dpslMtdCd, pageNo);
+			onbidIngestMetrics.recordFetch(System.nanoTime() - t0, body.length);
+			return body;
+		} catch (Exception e) {
+			onbidIngestMetrics.recordFetchFailure(System.nanoTime() - t0);
+			throw e;
+		}
+	}
+
+	private byte[] fetchPageOnce(String dpslMtdCd, int pageNo) throws Exception {
+		log.debug("[{}페이지 {}] 데이터 수집 시작", dpslMtdCd != null ? dpslMtdCd + " " : "", pageNo);
+
+		// 템플릿 변수로 넘겨 서비스키의 + / = 도 이전(URLEncoder)처럼 인코딩되게 합니다
+		URI uri = UriComponentsBuilder.fromUriString(LIST_URL)
+				.queryParam("serviceKey", "{serviceKey}")
+				.queryParam("numOfRows", numOfRows)
+				.queryParam("pageNo", pageNo)
+				.queryParamIfPresent("DPSL_MTD_CD", Optional.ofNullable(dpslMtdCd))
+				.encode()
+				.buildAndExpand(onbidApiServiceKey)
+				.toUri();
+
+		// 원문 보관(OnbidPageArchive)과 페이지 해시에 원문 바이트가 필요하므로 여기서만 byte[] 로 받습니다
+		return onbidHttpClient.getBytes(uri);
+	}
+}
@@ -0,0 +1,88 @@
+package com.project.app.kamco.service;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Spring Batch 적재 잡의 페이지 파티션 reader (파티션 하나 = 페이지 하나)
+ *
+ * - 처음 read() 할 때 페이지 원문을 받아 파싱하고, 이후 물건을 하나씩 돌려줍니다
+ * - chunk 가 확정될 때마다 읽은 위치(offset)를 step ExecutionContext 에 저장합니다.
+ *   재시작하면 페이지를 다시 받은 뒤 저장된 위치부터 이어서 읽으므로 이미 확정된 chunk 는 다시 쓰지 않습니다
+ * - 결과 코드 오류나 호출 실패는 예외로 전달되어 파티션(페이지)이 실패하고, 재시작 대상이 됩니다
+ */
+@Slf4j
+public class OnbidPageItemReader implements ItemStreamReader<OnbidItem> {
+
+    private static final String OFFSET_KEY = "onbidPageItemReader.offset";
+
+    private final OnbidIngestPipeline.PageFetcher fetcher;
+    private final OnbidXmlStreamParser parser;
+    private final int pageNo;
+
+    private List<OnbidItem> items;
+    private final OnbidIngestMetrics metrics; // 파싱 지표 기록 (없으면 null)
+    private int offset;
+
+    public OnbidPageItemReader(OnbidIngestPipeline.PageFetcher fetcher, OnbidXmlStreamParser parser, int pageNo) {
+        this(fetcher, parser, pageNo, null);
+    }
+
+    public OnbidPageItemReader(OnbidIngestPipeline.PageFetcher fetcher, OnbidXmlStreamParser parser, int pageNo,
+            OnbidIngestMetrics metrics) {
+        this.fetcher = fetcher;
+        this.parser = parser;
+        this.pageNo = pageNo;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        offset = executionContext.getInt(OFFSET_KEY, 0);
+        if (offset > 0) {
+            log.debug("[페이지 {}] {}번째 물건부터 이어서 적재", pageNo, offset);
+        }
+    }
+
+    @Override
+    public OnbidItem read() throws Exception {
+        if (items == null) {
+            items = load();
+        }
+        return offset < items.size() ? items.get(offset++) : null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putInt(OFFSET_KEY, offset);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        items = null;
+    }
+
+    private List<OnbidItem> load() throws Exception {
+        byte[] body = fetcher.fetch(pageNo);
+        List<OnbidItem> parsed = new ArrayList<>();
+        long t0 = System.nanoTime();
+        OnbidXmlStreamParser.PageSummary summary = parser.parse(new ByteArrayInputStream(body), parsed::add);
+        if (summary.resultCode() != null && !"00".equals(summary.resultCode())) {
+            throw new IllegalStateException("OpenAPI 결과 코드: " + summary.resultCode() + " (" + summary.resultMsg() + ")");
+        }
+        if (metrics != null) {
+            metrics.recordParse(System.nanoTime() - t0, summary.itemCount());
+        }
+        log.debug("[페이지 {}] 파싱된 건수: {}", pageNo, summary.itemCount());
+        return parsed;
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.app.kamco.service;
+
+import com.project.app.kamco.dto.OnbidBatchPageDto;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 파이프라인 페이지 결과를 KAMCO_BATCH_PAGE 에 (실행, 파티션, 페이지) 단위로 기록합니다.
+ * 체크포인트 저장 실패는 적재 자체를 멈추지 않고 로그만 남깁니다 (재개 시 해당 페이지를 다시 적재하게 될 뿐입니다).
+ */
+@Slf4j
+class OnbidRunCheckpoint implements OnbidIngestPipeline.PageListener {
+
+    private static final int ERROR_MSG_MAX = 1000;
+
+    private final OnbidBatchMapper onbidBatchMapper;
+    private final String runId;
+    private final String partitionCd;
+
+    OnbidRunCheckpoint(OnbidBatchMapper onbidBatchMapper, String runId, String partitionCd) {
+        this.onbidBatchMapper = onbidBatchMapper;
+        this.runId = runId;
+        this.partitionCd = partitionCd;
+    }
+
+    @Override
+    public void pageCompleted(int pageNo, int itemCount, long pageHash) {
+        save(OnbidBatchPageDto.builder()
+                .runId(runId)
+                .partitionCd(partitionCd)
+                .pageNo(pageNo)
+                .status("DONE")
+                .itemCount(itemCount)
+                .pageHash(pageHash)
+                .build());
+    }
+
+    @Override
+    public void pageFailed(int pageNo, Exception cause) {
+        save(OnbidBatchPageDto.builder()
+                .runId(runId)
+                .partitionCd(partitionCd)
+                .pageNo(pageNo)
+                .status("FAILED")
+                .errorMsg(truncate(String.valueOf(cause.getMessage())))
+                .build());
+    }
+
+    private void save(OnbidBatchPageDto page) {
+        try {
+            onbidBatchMapper.mergePage(page);
+        } catch (Exception e) {
+            log.warn("체크포인트 저장 실패 (run={}, partition={}, page={}): {}", runId, partitionCd, page.getPageNo(),
+                    e.getMessage());
+        }
+    }
+
+    static String truncate(String message) {
+        return message == null || message.length() <= ERROR_MSG_MAX ? message : message.substring(0, ERROR_MSG_MAX);
+    }
+}
@@ -0,0 +1,592 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 적재된 물건의 물건명/물품명/지번주소/도로명주소 부분 문자열 검색용 메모리 역색인
+ *
+ * - 색인 단위는 공백으로 나뉜 구간 안의 연속한 1~3 글자(unigram, bigram, trigram)이며 대소문자를 무시합니다.
+ *   한글은 형태소 분석 없이 음절 n-gram 만으로 부분 문자열을 찾을 수 있고, 세 글자 이하 검색어(아파트, 역삼동 등)는 gram 하나로 정확합니다
+ * - posting 은 (문서 순번 * 4 + 필드 순번)의 차이를 varint 로 이어 붙인 byte 배열이며, gram 은 정렬된 long[] 에서 이진 탐색합니다.
+ *   네 글자 이상 검색어만 trigram 교집합 후보의 그 필드에서 실제 포함 여부를 확인합니다
+ * - 검색어는 공백으로 나누고 모든 검색어를 만족하는 물건만 찾습니다(AND). 드문 검색어부터, 검색어 안에서는 posting 이 짧은 gram 부터
+ *   교집합을 구하고, 앞 검색어를 통과한 물건만 다음 검색어에서 확인합니다
+ * - 순위: 검색어마다 가장 가중치가 큰 필드(물건명 &gt; 물품명 &gt; 주소) 점수의 합, 필드 전체가 검색어와 같으면 가산점.
+ *   같은 점수는 업무 키 순입니다 (세그먼트 안의 문서는 업무 키 순으로 번호를 매깁니다)
+ * - 적재 후 갱신은 기본 세그먼트를 그대로 두고, 삭제/변경된 물건은 삭제 표시, 새로 생기거나 바뀐 물건만 작은 추가 세그먼트로 만듭니다.
+ *   추가 + 삭제가 기본 세그먼트의 20% 를 넘으면 전체를 다시 만듭니다
+ * - 만든 뒤에는 바꾸지 않으므로(갱신은 새 객체) 여러 스레드가 잠금 없이 검색할 수 있습니다
+ */
+final class OnbidSearchIndex {
+
+    /** 색인 대상 물건 (contentHash 로 적재 사이 변경 여부를 판단합니다) */
+    record Doc(String cltrMnmtNo, String cltrHstrNo, long contentHash,
+            String cltrNm, String goodsNm, String ldnmAdrs, String nmrdAdrs) {
+
+        String key() {
+            return cltrMnmtNo + "|" + cltrHstrNo;
+        }
+
+        // 순번은 FIELD_WEIGHTS 와 같은 순서
+        String field(int index) {
+            return switch (index) {
+                case 0 -> cltrNm;
+                case 1 -> goodsNm;
+                case 2 -> ldnmAdrs;
+                default -> nmrdAdrs;
+            };
+        }
+    }
+
+    record Hit(Doc doc, int score) {
+    }
+
+    /** total 은 조건을 만족하는 전체 건수, hits 는 그중 순위 상위 limit 건 */
+    record Result(int total, List<Hit> hits) {
+    }
+
+    // 물건명, 물품명, 지번주소, 도로명주소
+    private static final int[] FIELD_WEIGHTS = { 4, 2, 1, 1 };
+    private static final int FIELDS = FIELD_WEIGHTS.length;
+    // 이 길이까지는 gram 하나가 곧 검색어입니다
+    private static final int MAX_GRAM = 3;
+    private static final double MERGE_RATIO = 0.2;
+    private static final int MIN_MERGE_DOCS = 1_000;
+
+    private static final Comparator<Hit> RANK = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(hit -> hit.doc().cltrMnmtNo())
+            .thenComparing(hit -> hit.doc().cltrHstrNo());
+
+    private final String version;
+    private final Segment base;
+    private final BitSet deleted; // base 에서 지워졌거나 바뀐 문서
+    private final Segment delta;
+
+    private OnbidSearchIndex(String version, Segment base, BitSet deleted, Segment delta) {
+        this.version = version;
+        this.base = base;
+        this.deleted = deleted;
+        this.delta = delta;
+    }
+
+    static OnbidSearchIndex build(String version, Collection<Doc> docs) {
+        return new OnbidSearchIndex(version, Segment.build(docs), new BitSet(), Segment.build(List.of()));
+    }
+
+    /**
+     * 이번 적재 후의 전체 물건으로 갱신한 새 색인.
+     * 내용 해시가 같은 물건은 기존 색인을 그대로 쓰고, 나머지만 추가 세그먼트로 다시 색인합니다
+     */
+    OnbidSearchIndex update(String newVersion, Collection<Doc> docs) {
+        Map<String, Doc> changed = new HashMap<>(docs.size() * 4 / 3 + 1);
+        for (Doc doc : docs) {
+            changed.put(doc.key(), doc);
+        }
+        BitSet removed = (BitSet) deleted.clone();
+        for (int id = 0; id < base.docs.length; id++) {
+            if (removed.get(id)) {
+                continue;
+            }
+            Doc current = base.docs[id];
+            Doc next = changed.get(current.key());
+            if (next != null && next.contentHash() == current.contentHash()) {
+                changed.remove(current.key());
+            } else {
+                removed.set(id);
+            }
+        }
+        // 이전 추가 세그먼트의 물건도 changed 에 남아 있으므로 추가 세그먼트는 매번 새로 만듭니다
+        if (removed.cardinality() + changed.size() > Math.max(MIN_MERGE_DOCS, base.docs.length * MERGE_RATIO)) {
+            return build(newVersion, docs);
+        }
+        return new OnbidSearchIndex(newVersion, base, removed, Segment.build(changed.values()));
+    }
+
+    Result search(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0) {
+            return new Result(0, List.of());
+        }
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+        int total = collect(base, deleted, terms, limit, top, true) + collect(delta, null, terms, limit, top, false);
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANK);
+        return new Result(total, hits);
+    }
+
+    String version() {
+        return version;
+    }
+
+    /** 검색 대상 물건 수 */
+    int size() {
+        return base.docs.length - deleted.cardinality() + delta.docs.length;
+    }
+
+    /** 추가 세그먼트 물건 수 (전체 재색인 후 0) */
+    int deltaSize() {
+        return delta.docs.length;
+    }
+
+    /** gram 표, posting, 소문자 필드 사본의 대략적인 크기 (Doc 객체 제외) */
+    long indexBytes() {
+        return base.bytes() + delta.bytes();
+    }
+
+    /**
+     * 한 세그먼트에서 모든 검색어를 만족하는 물건을 세고 상위 limit 건을 top 에 넣습니다.
+     * first 면 top 에 다른 세그먼트 물건이 없으므로, 점수가 같은 물건은 뒤에 온(업무 키가 큰) 쪽이 밀립니다
+     */
+    private static int collect(Segment segment, BitSet skip, String[] terms, int limit, PriorityQueue<Hit> top,
+            boolean first) {
+        String[] ordered = terms.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(segment::rarity));
+        Matches matches = null;
+        for (String term : ordered) {
+            matches = segment.match(term, matches);
+            if (matches.size == 0) {
+                return 0;
+            }
+        }
+        int total = 0;
+        for (int i = 0; i < matches.size; i++) {
+            int id = matches.docs[i];
+            if (skip != null && skip.get(id)) {
+                continue;
+            }
+            total++;
+            int score = matches.scores[i];
+            if (top.size() == limit) {
+                Hit worst = top.peek();
+                if (score < worst.score() || (first && score == worst.score())) {
+                    continue;
+                }
+            }
+            Hit hit = new Hit(segment.docs[id], score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (RANK.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        return total;
+    }
+
+    /** 검색어를 만족하는 문서 순번(오름차순)과 지금까지의 점수 합 */
+    private static final class Matches {
+
+        final int[] docs;
+        final int[] scores;
+        int size;
+
+        Matches(int capacity) {
+            docs = new int[capacity];
+            scores = new int[capacity];
+        }
+
+        // 같은 문서의 여러 필드가 이어서 들어오면 큰 점수만 남깁니다
+        void add(int doc, int score) {
+            if (size > 0 && docs[size - 1] == doc) {
+                scores[size - 1] = Math.max(scores[size - 1], score);
+            } else {
+                docs[size] = doc;
+                scores[size++] = score;
+            }
+        }
+    }
+
+    /** 공백으로 나눈 소문자 검색어 (중복 제거) */
+    static String[] terms(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        return Arrays.stream(query.trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .map(OnbidSearchIndex::fold)
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // 글자 세 개를 16bit 씩. 짧은 gram 은 뒤를 0 으로 채우며, 글자 0 은 색인하지 않으므로 길이가 달라도 겹치지 않습니다
+    private static long gram(char first, char second, char third) {
+        return (long) first << 32 | (long) second << 16 | third;
+    }
+
+    // 색인과 확인에 같은 규칙을 씁니다. 자주 나오는 ASCII 와 한글 음절은 문자 속성 표를 찾지 않습니다
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        if (c >= '가' && c <= '힣') {
+            return c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static String fold(String term) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /** 한 세그먼트: 업무 키 순 물건 배열 + gram 별 posting (문서 순번 * 4 + 필드 순번 차이의 varint) */
+    private static final class Segment {
+
+        final Doc[] docs;
+        // 필드 문자열을 (문서 순번 * 4 + 필드 순번) 순서로 이어 붙인 소문자 사본. 긴 검색어 확인이 순서대로 읽도록 한곳에 둡니다
+        final char[] text;
+        final int[] textOffsets; // 길이 docs * 4 + 1
+        final long[] grams;  // 정렬됨
+        final int[] counts;  // gram 별 (문서, 필드) 수
+        final int[] offsets; // gram 별 postings 시작 위치 (길이 grams + 1)
+        final byte[] postings;
+
+        private Segment(Doc[] docs, char[] text, int[] textOffsets, long[] grams, int[] counts, int[] offsets,
+                byte[] postings) {
+            this.docs = docs;
+            this.text = text;
+            this.textOffsets = textOffsets;
+            this.grams = grams;
+            this.counts = counts;
+            this.offsets = offsets;
+            this.postings = postings;
+        }
+
+        static Segment build(Collection<Doc> source) {
+            Doc[] docs = source.toArray(Doc[]::new);
+            Arrays.sort(docs, Comparator.comparing(Doc::cltrMnmtNo).thenComparing(Doc::cltrHstrNo));
+            long textLength = 0;
+            for (Doc doc : docs) {
+                for (int f = 0; f < FIELDS; f++) {
+                    String value = doc.field(f);
+                    textLength += value != null ? value.length() : 0;
+                }
+            }
+            char[] text = new char[Math.toIntExact(textLength)];
+            int[] textOffsets = new int[docs.length * FIELDS + 1];
+            int textPos = 0;
+
+            GramTable table = new GramTable();
+            long[] buffer = new long[256];
+            for (int id = 0; id < docs.length; id++) {
+                for (int f = 0; f < FIELDS; f++) {
+                    int fieldId = id * FIELDS + f;
+                    textOffsets[fieldId] = textPos;
+                    String value = docs[id].field(f);
+                    if (value == null) {
+                        continue;
+                    }
+                    if (buffer.length < value.length() * MAX_GRAM) {
+                        buffer = new long[value.length() * MAX_GRAM];
+                    }
+                    int n = 0;
+                    char prev = 0;
+                    char prev2 = 0;
+                    for (int i = 0; i < value.length(); i++) {
+                        char c = fold(value.charAt(i));
+                        text[textPos++] = c;
+                        if (c == 0 || Character.isWhitespace(c)) {
+                            prev = prev2 = 0;
+                            continue;
+                        }
+                        buffer[n++] = gram(c, (char) 0, (char) 0);
+                        if (prev != 0) {
+                            buffer[n++] = gram(prev, c, (char) 0);
+                            if (prev2 != 0) {
+                                buffer[n++] = gram(prev2, prev, c);
+                            }
+                        }
+                        prev2 = prev;
+                        prev = c;
+                    }
+                    // 한 필드 안의 같은 gram 은 한 번만
+                    Arrays.sort(buffer, 0, n);
+                    for (int i = 0; i < n; i++) {
+                        if (i == 0 || buffer[i] != buffer[i - 1]) {
+                            table.append(buffer[i], fieldId);
+                        }
+                    }
+                }
+            }
+            textOffsets[textOffsets.length - 1] = textPos;
+            return table.freeze(docs, text, textOffsets);
+        }
+
+        /** 검색어 gram 중 가장 짧은 posting 길이 (없는 gram 이 있으면 0) */
+        int rarity(String term) {
+            int min = Integer.MAX_VALUE;
+            for (long gram : grams(term)) {
+                int slot = Arrays.binarySearch(grams, gram);
+                min = Math.min(min, slot < 0 ? 0 : counts[slot]);
+            }
+            return min;
+        }
+
+        /**
+         * 검색어를 포함하는 문서와 점수 (previous 가 있으면 그 문서만, 점수는 더함).
+         * MAX_GRAM 보다 긴 검색어는 같은 필드에 gram 이 모두 있는 후보만 실제 포함 여부를 확인합니다
+         */
+        Matches match(String term, Matches previous) {
+            long[] gramsOfTerm = grams(term);
+            int[] slots = new int[gramsOfTerm.length];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = Arrays.binarySearch(grams, gramsOfTerm[i]);
+                if (slots[i] < 0) {
+                    return new Matches(0);
+                }
+            }
+            // 짧은 posting 부터 교집합
+            Integer[] order = Arrays.stream(slots).distinct().boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingInt(slot -> counts[slot]));
+            int[] fieldIds = decode(order[0]);
+            int size = fieldIds.length;
+            if (previous != null) {
+                size = retainDocs(fieldIds, size, previous);
+            }
+            for (int i = 1; i < order.length && size > 0; i++) {
+                size = intersect(fieldIds, size, order[i]);
+            }
+
+            char[] chars = term.toCharArray();
+            Matches matches = new Matches(size);
+            int p = 0;
+            for (int i = 0; i < size; i++) {
+                int fieldId = fieldIds[i];
+                int from = textOffsets[fieldId];
+                int to = textOffsets[fieldId + 1];
+                if (chars.length > MAX_GRAM && !contains(from, to, chars)) {
+                    continue;
+                }
+                int doc = fieldId / FIELDS;
+                int field = fieldId % FIELDS;
+                // 필드 길이가 검색어와 같으면 필드 전체가 검색어입니다
+                int score = FIELD_WEIGHTS[field] * 2 + (to - from == chars.length ? 1 : 0);
+                if (previous != null) {
+                    while (previous.docs[p] < doc) {
+                        p++;
+                    }
+                    score += previous.scores[p];
+                }
+                matches.add(doc, score);
+            }
+            return matches;
+        }
+
+        private boolean contains(int from, int to, char[] term) {
+            char first = term[0];
+            for (int i = from, last = to - term.length; i <= last; i++) {
+                if (text[i] != first) {
+                    continue;
+                }
+                int j = 1;
+                while (j < term.length && text[i + j] == term[j]) {
+                    j++;
+                }
+                if (j == term.length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 세 글자 이하는 검색어 자체, 그보다 길면 trigram 들
+        private static long[] grams(String term) {
+            return switch (term.length()) {
+                case 1 -> new long[] { gram(term.charAt(0), (char) 0, (char) 0) };
+                case 2 -> new long[] { gram(term.charAt(0), term.charAt(1), (char) 0) };
+                default -> {
+                    long[] out = new long[term.length() - 2];
+                    for (int i = 0; i < out.length; i++) {
+                        out[i] = gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+                    }
+                    yield out;
+                }
+            };
+        }
+
+        // 앞 검색어를 만족한 문서의 필드만 남깁니다
+        private static int retainDocs(int[] fieldIds, int size, Matches previous) {
+            int n = 0;
+            int p = 0;
+            for (int i = 0; i < size && p < previous.size; i++) {
+                int doc = fieldIds[i] / FIELDS;
+                while (p < previous.size && previous.docs[p] < doc) {
+                    p++;
+                }
+                if (p < previous.size && previous.docs[p] == doc) {
+                    fieldIds[n++] = fieldIds[i];
+                }
+            }
+            return n;
+        }
+
+        private int[] decode(int slot) {
+            int[] out = new int[counts[slot]];
+            int pos = offsets[slot];
+            int id = 0;
+            for (int k = 0; k < out.length; k++) {
+                int delta = 0;
+                for (int shift = 0;; shift += 7) {
+                    byte b = postings[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    if (b >= 0) {
+                        break;
+                    }
+                }
+                id += delta;
+                out[k] = id;
+            }
+            return out;
+        }
+
+        // posting 을 풀면서 a[0..size) 와 겹치는 것만 a 앞쪽에 남깁니다 (a 를 다 보면 멈춤)
+        private int intersect(int[] a, int size, int slot) {
+            int n = 0;
+            int ai = 0;
+            int pos = offsets[slot];
+            int id = 0;
+            for (int k = 0, count = counts[slot]; k < count && ai < size; k++) {
+                int delta = 0;
+                for (int shift = 0;; shift += 7) {
+                    byte b = postings[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    if (b >= 0) {
+                        break;
+                    }
+                }
+                id += delta;
+                while (ai < size && a[ai] < id) {
+                    ai++;
+                }
+                if (ai < size && a[ai] == id) {
+                    a[n++] = id;
+                    ai++;
+                }
+            }
+            return n;
+        }
+
+        long bytes() {
+            return postings.length + grams.length * 16L + text.length * 2L + textOffsets.length * 4L;
+        }
+    }
+
+    /** 세그먼트를 만드는 동안 gram → posting 버퍼 (open addressing, 선형 탐사) */
+    private static final class GramTable {
+
+        private long[] keys = new long[1 << 12]; // 0 = 빈 칸
+        private int[] slots = new int[1 << 12];
+        private int mask = keys.length - 1;
+        private int size;
+
+        private long[] gramOf = new long[1 << 11];
+        private byte[][] buffers = new byte[1 << 11][];
+        private int[] lengths = new int[1 << 11];
+        private int[] lastId = new int[1 << 11];
+        private int[] counts = new int[1 << 11];
+
+        void append(long gram, int id) {
+            int slot = slot(gram, true);
+            int delta = id - lastId[slot];
+            lastId[slot] = id;
+            counts[slot]++;
+            byte[] buffer = buffers[slot];
+            if (lengths[slot] + 5 > buffer.length) {
+                buffer = buffers[slot] = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int len = lengths[slot];
+            while ((delta & ~0x7F) != 0) {
+                buffer[len++] = (byte) (delta & 0x7F | 0x80);
+                delta >>>= 7;
+            }
+            buffer[len++] = (byte) delta;
+            lengths[slot] = len;
+        }
+
+        private int slot(long gram, boolean create) {
+            int i = mix(gram) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == gram) {
+                    return slots[i];
+                }
+                i = (i + 1) & mask;
+            }
+            if (!create) {
+                return -1;
+            }
+            if (size == gramOf.length) {
+                int capacity = size * 2;
+                gramOf = Arrays.copyOf(gramOf, capacity);
+                buffers = Arrays.copyOf(buffers, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                lastId = Arrays.copyOf(lastId, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            int slot = size++;
+            keys[i] = gram;
+            slots[i] = slot;
+            gramOf[slot] = gram;
+            buffers[slot] = new byte[4];
+            if (size * 4 > keys.length * 3) {
+                rehash();
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = new long[oldKeys.length * 2];
+            slots = new int[oldKeys.length * 2];
+            mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = mix(oldKeys[j]) & mask;
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    slots[i] = oldSlots[j];
+                }
+            }
+        }
+
+        private static int mix(long gram) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        Segment freeze(Doc[] docs, char[] text, int[] textOffsets) {
+            long[] grams = Arrays.copyOf(gramOf, size);
+            Arrays.sort(grams);
+            int[] sortedCounts = new int[size];
+            int[] offsets = new int[size + 1];
+            long total = 0;
+            for (int s = 0; s < size; s++) {
+                total += lengths[s];
+            }
+            byte[] postings = new byte[Math.toIntExact(total)];
+            int pos = 0;
+            for (int i = 0; i < size; i++) {
+                int s = slot(grams[i], false);
+                sortedCounts[i] = counts[s];
+                offsets[i] = pos;
+                System.arraycopy(buffers[s], 0, postings, pos, lengths[s]);
+                pos += lengths[s];
+            }
+            offsets[size] = pos;
+            return new Segment(docs, text, textOffsets, grams, sortedCounts, offsets, postings);
+        }
+    }
+}
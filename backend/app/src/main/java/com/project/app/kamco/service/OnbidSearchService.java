@@ -0,0 +1,143 @@
+package com.project.app.kamco.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidSearchHit;
+import com.project.app.kamco.mapper.OnbidItemMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 적재된 물건의 물건명/물품명/주소 검색 (메모리 역색인 OnbidSearchIndex)
+ *
+ * - 색인은 적재 세대(OnbidLocalListService 의 기준 실행 ID)마다 한 번 갱신합니다.
+ *   적재 작업이 끝나면 바로, 그 외에는 검색할 때 세대가 바뀐 것을 보면 전용 스레드에서 갱신하고 그동안은 이전 색인으로 답합니다
+ *   (다른 서버가 적재한 경우도 여기서 따라잡습니다)
+ * - 갱신은 테이블에서 업무 키, CONTENT_HASH, 검색 필드만 읽어 내용이 바뀐 물건만 다시 색인합니다 (OnbidSearchIndex.update)
+ * - 적재 데이터를 쓸 수 없는 상태(완료된 적재 없음, 전체 적재 중 등)에서는 처음 색인을 만들지 않으며, 색인이 없으면 null 을 돌려줍니다
+ */
+@Slf4j
+@Service
+public class OnbidSearchService {
+
+    private final OnbidItemMapper onbidItemMapper;
+    private final OnbidLocalListService onbidLocalListService;
+    private final boolean enabled;
+    private final int maxResults;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("onbid-search-index").daemon().factory());
+    private volatile OnbidSearchIndex index;
+
+    public OnbidSearchService(OnbidItemMapper onbidItemMapper, OnbidLocalListService onbidLocalListService,
+            @Value("${onbid.search.enabled:true}") boolean enabled,
+            @Value("${onbid.search.max-results:100}") int maxResults) {
+        this.onbidItemMapper = onbidItemMapper;
+        this.onbidLocalListService = onbidLocalListService;
+        this.enabled = enabled;
+        this.maxResults = Math.max(1, maxResults);
+    }
+
+    /** 검색 결과 (totalCount, items, indexedCount, version). 색인이 아직 없으면 null */
+    public Map<String, Object> search(String query, int limit) {
+        if (!enabled) {
+            return null;
+        }
+        OnbidSearchIndex current = index;
+        refreshIfBehind(onbidLocalListService.freshness(), current);
+        if (current == null) {
+            return null;
+        }
+
+        OnbidSearchIndex.Result found = current.search(query, Math.min(Math.max(1, limit), maxResults));
+        List<OnbidSearchHit> items = new ArrayList<>(found.hits().size());
+        for (OnbidSearchIndex.Hit hit : found.hits()) {
+            OnbidSearchIndex.Doc doc = hit.doc();
+            items.add(new OnbidSearchHit(doc.cltrMnmtNo(), doc.cltrHstrNo(), doc.cltrNm(), doc.goodsNm(),
+                    doc.ldnmAdrs(), doc.nmrdAdrs(), hit.score()));
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalCount", found.total());
+        result.put("items", items);
+        result.put("indexedCount", current.size());
+        result.put("version", current.version());
+        return result;
+    }
+
+    /** 적재 작업이 끝났을 때 (OnbidBatchJobManager). 적재 상태를 다시 확인하고 새 세대면 색인을 갱신합니다 */
+    public void ingested() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            onbidLocalListService.invalidateFreshness();
+            refreshIfBehind(onbidLocalListService.freshness(), index);
+        } catch (RuntimeException e) {
+            log.warn("적재 후 검색 색인 갱신 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    // 적재 세대가 색인 세대와 다르면 갱신합니다
+    private void refreshIfBehind(OnbidLocalListService.Freshness freshness, OnbidSearchIndex current) {
+        if (freshness.usable() && (current == null || !freshness.version().equals(current.version()))) {
+            refreshAsync(freshness.version());
+        }
+    }
+
+    /** 갱신이 진행 중이 아니면 전용 스레드에서 갱신합니다 */
+    void refreshAsync(String version) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            indexer.execute(() -> {
+                try {
+                    refresh(version);
+                } catch (RuntimeException e) {
+                    log.warn("검색 색인 갱신 실패 (세대 {}): {}", version, e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    /** 테이블을 읽어 색인을 갱신합니다 (처음이면 새로 만듭니다) */
+    void refresh(String version) {
+        long started = System.nanoTime();
+        List<OnbidItem> rows = onbidItemMapper.selectSearchDocs();
+        List<OnbidSearchIndex.Doc> docs = new ArrayList<>(rows.size());
+        for (OnbidItem row : rows) {
+            docs.add(new OnbidSearchIndex.Doc(row.CLTR_MNMT_NO, row.CLTR_HSTR_NO, row.CONTENT_HASH,
+                    row.CLTR_NM, row.GOODS_NM, row.LDNM_ADRS, row.NMRD_ADRS));
+        }
+        OnbidSearchIndex previous = index;
+        OnbidSearchIndex next = previous == null
+                ? OnbidSearchIndex.build(version, docs)
+                : previous.update(version, docs);
+        index = next;
+        log.info("검색 색인 갱신 {} → {}: {}건 (추가 세그먼트 {}건), 색인 {}KB, {}ms",
+                previous != null ? previous.version() : "-", version, next.size(), next.deltaSize(),
+                next.indexBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+}
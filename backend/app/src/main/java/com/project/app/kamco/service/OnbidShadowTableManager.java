@@ -0,0 +1,237 @@
+package com.project.app.kamco.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * KAMCO_AUCTION_ITEMS 세대(generation) 테이블 관리
+ *
+ * 구조 (sql/02_kamco_auction_items_shadow.sql):
+ * - 실제 데이터는 KAMCO_AUCTION_ITEMS_A / KAMCO_AUCTION_ITEMS_B 두 테이블에 번갈아 저장합니다
+ * - KAMCO_AUCTION_ITEMS 는 현재 공개 중인 테이블을 가리키는 시노님입니다
+ * - 이미지도 KAMCO_AUCTION_ITEM_IMAGES_A / _B 세대로 나뉘며, 뷰 KAMCO_AUCTION_ITEM_IMAGES 는
+ *   시노님이 가리키는 세대의 이미지만 보여 줍니다 (sql/11_kamco_auction_item_images_shadow.sql)
+ *
+ * 섀도 적재 순서:
+ * 1. 공개되지 않은 쪽 물건/이미지 테이블을 TRUNCATE, 인덱스/PK 제거, NOLOGGING 전환
+ * 2. 인덱스 없는 상태로 적재 (행마다 인덱스를 갱신하지 않음).
+ *    NOLOGGING 은 direct-path 적재에만 적용되므로 OnbidBatchService 는 기본으로 APPEND_VALUES 를 붙입니다
+ *    (onbid.batch.shadow-append-values, 끄면 일반 INSERT 라 redo 가 모두 남습니다)
+ * 3. 중복 키 정리 후 PK/인덱스를 한 번에 생성하고 통계 수집
+ * 4. CREATE OR REPLACE SYNONYM 한 번으로 공개 테이블 전환 (원자적, 이미지 뷰도 같은 시노님을 따라 바뀜)
+ * 이전 세대 테이블은 물건/이미지 모두 다음 섀도 적재 전까지 그대로 남아 있어 rollback() 으로 즉시 되돌릴 수 있습니다.
+ */
+@Slf4j
+@Component
+public class OnbidShadowTableManager {
+
+    public static final String SYNONYM = "KAMCO_AUCTION_ITEMS";
+    private static final List<String> GENERATIONS = List.of("KAMCO_AUCTION_ITEMS_A", "KAMCO_AUCTION_ITEMS_B");
+    private static final String IMAGE_TABLE_PREFIX = "KAMCO_AUCTION_ITEM_IMAGES";
+
+    /** 적재 후 일괄 생성할 보조 인덱스 (이름 접미사, 컬럼) */
+    private record IndexDef(String suffix, String columns) {
+    }
+
+    // 금액/공고일시 범위 조회·정렬용, 파티션별 조회용, 목록 조회용 (sql/04, sql/08, sql/10 과 동일하게 유지)
+    private static final List<IndexDef> SECONDARY_INDEXES = List.of(
+            new IndexDef("MIN_BID_PRC", "MIN_BID_PRC"),
+            new IndexDef("PBCT_BEGN_DTM", "PBCT_BEGN_DTM"),
+            new IndexDef("PBCT_CLS_DTM", "PBCT_CLS_DTM"),
+            new IndexDef("PARTITION_CD", "PARTITION_CD"),
+            new IndexDef("LIST_DPSL", "DPSL_MTD_CD, CLTR_MNMT_NO, CLTR_HSTR_NO"),
+            new IndexDef("LDNM_ADRS", "LDNM_ADRS"));
+
+    /** 공개 결과 */
+    public record PublishResult(String publishedTable, String previousTable, long rowCount, int duplicatesRemoved,
+            long indexMillis) {
+    }
+
+    private final DataSource dataSource;
+
+    public OnbidShadowTableManager(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** 현재 시노님이 가리키는 테이블 */
+    public String activeTable() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT TABLE_NAME FROM USER_SYNONYMS WHERE SYNONYM_NAME = ?")) {
+            ps.setString(1, SYNONYM);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException(
+                            "시노님 " + SYNONYM + " 이 없습니다. sql/02_kamco_auction_items_shadow.sql 을 먼저 적용하세요.");
+                }
+                return rs.getString(1);
+            }
+        }
+    }
+
+    /** 물건 세대 테이블과 짝을 이루는 이미지 세대 테이블 (KAMCO_AUCTION_ITEMS_A → KAMCO_AUCTION_ITEM_IMAGES_A) */
+    public String imageTable(String table) {
+        otherGeneration(table);
+        return IMAGE_TABLE_PREFIX + table.substring(table.length() - 2);
+    }
+
+    /** 현재 공개 중인 이미지 세대 테이블 (공개 테이블에 직접 쓰는 전체/증분 적재용) */
+    public String activeImageTable() throws SQLException {
+        return imageTable(activeTable());
+    }
+
+    /** 공개되지 않은 쪽 물건/이미지 테이블을 비우고 인덱스 없이 적재할 수 있게 준비한 뒤 물건 테이블명을 반환 */
+    public String prepareStaging() throws SQLException {
+        String staging = otherGeneration(activeTable());
+        String stagingImages = imageTable(staging);
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : List.of(staging, stagingImages)) {
+                stmt.execute("TRUNCATE TABLE " + table);
+                dropIndexes(conn, table);
+                stmt.execute("ALTER TABLE " + table + " NOLOGGING");
+            }
+        }
+        log.info("섀도 적재 준비 완료: {}", staging);
+        return staging;
+    }
+
+    /**
+     * 적재가 끝난 staging 테이블에 인덱스를 만들고 시노님을 전환합니다.
+     * 적재 건수가 0건이면 빈 테이블을 공개하지 않도록 예외를 던집니다.
+     */
+    public PublishResult buildAndPublish(String staging) throws SQLException {
+        String previous = activeTable();
+        if (staging.equals(previous)) {
+            throw new IllegalStateException(staging + " 은 이미 공개 중인 테이블입니다.");
+        }
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            long rowCount = countRows(stmt, staging);
+            if (rowCount == 0) {
+                throw new IllegalStateException(staging + " 에 적재된 데이터가 없어 공개하지 않습니다.");
+            }
+
+            long t0 = System.currentTimeMillis();
+            // 페이지 경계 이동으로 같은 키가 두 번 들어온 경우 하나만 남김 (PK 생성 실패 방지)
+            int duplicatesRemoved = stmt.executeUpdate("DELETE FROM " + staging + " WHERE ROWID NOT IN ("
+                    + "SELECT MIN(ROWID) FROM " + staging + " GROUP BY CLTR_MNMT_NO, CLTR_HSTR_NO)");
+
+            String pkName = "PK_" + staging;
+            stmt.execute("CREATE UNIQUE INDEX " + pkName + " ON " + staging
+                    + " (CLTR_MNMT_NO, CLTR_HSTR_NO) NOLOGGING PARALLEL");
+            stmt.execute("ALTER TABLE " + staging + " ADD CONSTRAINT " + pkName
+                    + " PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO) USING INDEX " + pkName);
+            stmt.execute("ALTER INDEX " + pkName + " NOPARALLEL");
+            for (IndexDef index : SECONDARY_INDEXES) {
+                String indexName = indexName(staging, index);
+                stmt.execute("CREATE INDEX " + indexName + " ON " + staging + " (" + index.columns()
+                        + ") NOLOGGING PARALLEL");
+                stmt.execute("ALTER INDEX " + indexName + " NOPARALLEL");
+            }
+            stmt.execute("BEGIN DBMS_STATS.GATHER_TABLE_STATS(USER, '" + staging + "'); END;");
+            stmt.execute("ALTER TABLE " + staging + " LOGGING");
+            buildImages(stmt, imageTable(staging));
+            long indexMillis = System.currentTimeMillis() - t0;
+
+            // 공개 전환 (DDL 한 문장이므로 읽는 쪽은 물건/이미지 모두 이전/새 세대 중 하나만 보게 됩니다)
+            stmt.execute("CREATE OR REPLACE SYNONYM " + SYNONYM + " FOR " + staging);
+            log.info("섀도 테이블 공개: {} → {} ({}건, 중복 제거 {}건, 인덱스 {}ms)", previous, staging, rowCount - duplicatesRemoved,
+                    duplicatesRemoved, indexMillis);
+            return new PublishResult(staging, previous, rowCount - duplicatesRemoved, duplicatesRemoved, indexMillis);
+        }
+    }
+
+    // 이미지 세대 테이블: 같은 (물건 키, 순번) 중복 정리 후 PK 생성, 통계 수집
+    private void buildImages(Statement stmt, String images) throws SQLException {
+        stmt.executeUpdate("DELETE FROM " + images + " WHERE ROWID NOT IN ("
+                + "SELECT MIN(ROWID) FROM " + images + " GROUP BY CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ)");
+        String pkName = "PK_" + images;
+        stmt.execute("CREATE UNIQUE INDEX " + pkName + " ON " + images
+                + " (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ) NOLOGGING PARALLEL");
+        stmt.execute("ALTER TABLE " + images + " ADD CONSTRAINT " + pkName
+                + " PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ) USING INDEX " + pkName);
+        stmt.execute("ALTER INDEX " + pkName + " NOPARALLEL");
+        stmt.execute("BEGIN DBMS_STATS.GATHER_TABLE_STATS(USER, '" + images + "'); END;");
+        stmt.execute("ALTER TABLE " + images + " LOGGING");
+    }
+
+    /** 이전 세대 테이블로 시노님을 되돌리고 되돌린 테이블명을 반환 (이미지 뷰도 함께 이전 세대를 가리킴) */
+    public String rollback() throws SQLException {
+        String current = activeTable();
+        String previous = otherGeneration(current);
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + previous + " WHERE ROWNUM = 1")) {
+                if (!rs.next() || rs.getLong(1) == 0) {
+                    throw new IllegalStateException(previous + " 이 비어 있어 되돌릴 수 없습니다.");
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM USER_INDEXES WHERE TABLE_NAME = ? AND INDEX_NAME = ?")) {
+                ps.setString(1, previous);
+                ps.setString(2, "PK_" + previous);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next() || rs.getLong(1) == 0) {
+                        throw new IllegalStateException(previous + " 은 적재 도중 상태라 되돌릴 수 없습니다.");
+                    }
+                }
+            }
+            stmt.execute("CREATE OR REPLACE SYNONYM " + SYNONYM + " FOR " + previous);
+        }
+        log.info("섀도 테이블 롤백: {} → {}", current, previous);
+        return previous;
+    }
+
+    private String otherGeneration(String table) {
+        int idx = GENERATIONS.indexOf(table);
+        if (idx < 0) {
+            throw new IllegalStateException("알 수 없는 세대 테이블: " + table);
+        }
+        return GENERATIONS.get(1 - idx);
+    }
+
+    private void dropIndexes(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM USER_CONSTRAINTS WHERE TABLE_NAME = '"
+                    + table + "' AND CONSTRAINT_TYPE = 'P'")) {
+                if (rs.next() && rs.getLong(1) > 0) {
+                    stmt.execute("ALTER TABLE " + table + " DROP PRIMARY KEY DROP INDEX");
+                }
+            }
+            List<String> indexNames = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT INDEX_NAME FROM USER_INDEXES WHERE TABLE_NAME = '" + table + "'")) {
+                while (rs.next()) {
+                    indexNames.add(rs.getString(1));
+                }
+            }
+            for (String indexName : indexNames) {
+                stmt.execute("DROP INDEX " + indexName);
+            }
+        }
+    }
+
+    private long countRows(Statement stmt, String table) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String indexName(String table, IndexDef index) {
+        // KAMCO_AUCTION_ITEMS_A → IX_KAI_A_<suffix> (Oracle 식별자 길이 제한 고려)
+        return "IX_KAI_" + table.substring(table.length() - 1) + "_" + index.suffix();
+    }
+}
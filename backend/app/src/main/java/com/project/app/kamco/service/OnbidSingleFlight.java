@@ -0,0 +1,73 @@
+package com.project.app.kamco.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 키의 조회가 동시에 들어오면 한 번만 수행하고 결과를 나눠 갖습니다 (single flight)
+ *
+ * - 처음 들어온 호출(leader)이 자기 스레드에서 loader 를 실행하고, 그동안 들어온 같은 키의 호출은 그 결과를 기다립니다
+ * - loader 가 실패하면 기다리던 호출도 모두 같은 예외를 받습니다
+ * - 기다리는 호출은 maxWait 까지만 기다리고, 넘으면 호출 한도 초과(OnbidUpstreamException, throttled)로 실패합니다
+ * - 끝난 조회는 바로 잊으므로 결과를 보관하지 않습니다. 보관은 호출하는 쪽(OnbidListCache)이 합니다
+ */
+final class OnbidSingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+    private final AtomicLong coalesced = new AtomicLong();
+
+    OnbidSingleFlight(long maxWaitMillis) {
+        this.maxWaitMillis = Math.max(1, maxWaitMillis);
+    }
+
+    V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            try {
+                V value = loader.call();
+                mine.complete(value);
+                return value;
+            } catch (Throwable e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        coalesced.incrementAndGet();
+        try {
+            return running.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new OnbidUpstreamException("같은 조건의 조회 대기 시간 초과 (" + maxWaitMillis + "ms)", 0, null, true);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /** 이 키의 조회가 진행 중인지 */
+    boolean isRunning(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    /** 다른 호출의 결과를 나눠 받은 호출 수 */
+    long coalesced() {
+        return coalesced.get();
+    }
+
+    /** 지금 수행 중인 조회 수 */
+    int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.app.kamco.service;
+
+/**
+ * 온비드 OpenAPI 호출 실패
+ *
+ * - statusCode : HTTP 상태 코드 (연결 실패 등 응답이 없으면 0)
+ * - resultCode : HTTP 200 으로 내려온 OpenAPI 오류 응답의 결과 코드 (없으면 null)
+ * - throttled  : 호출 한도 초과(429, 결과 코드 22) 또는 거버너의 대기 한도 초과로 호출하지 않은 경우
+ */
+public class OnbidUpstreamException extends RuntimeException {
+
+    private final int statusCode;
+    private final String resultCode;
+    private final boolean throttled;
+
+    public OnbidUpstreamException(String message, int statusCode, String resultCode, boolean throttled) {
+        super(message);
+        this.statusCode = statusCode;
+        this.resultCode = resultCode;
+        this.throttled = throttled;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResultCode() {
+        return resultCode;
+    }
+
+    public boolean isThrottled() {
+        return throttled;
+    }
+}
@@ -0,0 +1,432 @@
+package com.project.app.kamco.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 온비드 OpenAPI 호출 거버너 (배치 수집과 화면 조회가 함께 사용)
+ *
+ * - 토큰 버킷 : 초당 rate 개 토큰, 최대 burst 개까지 적립. 호출 1건에 토큰 1개
+ * - 우선순위   : INTERACTIVE(화면 조회) 대기자가 있으면 BATCH 는 토큰을 가져가지 않습니다
+ * - 적응 속도   : 성공하면 rate 를 조금씩 올리고(가산), 한도 초과/서버 오류가 나면 크게 내립니다(승산) - AIMD
+ * - 재시도     : 한도 초과, 5xx, 연결 오류만 지수 백오프 + full jitter 로 재시도. 그 외 4xx 는 바로 실패
+ * - INTERACTIVE 는 interactive-max-wait-ms 이상 기다려야 하면 호출하지 않고 거절합니다 (BATCH 는 계속 대기)
+ * - PREFETCH(다음 페이지 미리 조회)는 기다리지 않습니다. 남는 토큰이 없거나 화면 조회가 대기 중이거나 회로가 닫혀 있지 않으면
+ *   바로 거절하고(throttled), 실패해도 재시도하지 않습니다
+ * - 회로 차단 : 서버/연결 오류가 circuit-failure-threshold 번 연속되면 circuit-open-ms 동안 호출하지 않습니다 (OPEN).
+ *              그동안 INTERACTIVE 는 바로 503 으로 실패하고 BATCH 는 기다립니다. 시간이 지나면 호출 하나만 시험 삼아 보내고(HALF_OPEN)
+ *              성공하면 닫고, 실패하면 다시 엽니다. 한도 초과(429)는 속도 조절 대상이므로 세지 않습니다
+ */
+@Slf4j
+@Component
+public class OnbidUpstreamGovernor {
+
+    public enum Priority {
+        INTERACTIVE, BATCH, PREFETCH
+    }
+
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** 현재 상태 (/api/onbid/upstream/stats) */
+    public record Stats(double currentRate, double configuredRate, double minRate, int burst, double availableTokens,
+            long interactiveCalls, long batchCalls, long interactiveWaitMillis, long batchWaitMillis,
+            long maxWaitMillis, long rejected, long throttled, long errors, long retries, CircuitState circuitState,
+            long circuitOpens, long circuitRejected, long prefetchCalls, long prefetchRejected) {
+    }
+
+    // OpenAPI 결과 코드: 22 = LIMITED_NUMBER_OF_SERVICE_REQUESTS_EXCEEDS_ERROR, 01/04/05 = 일시적 서버 오류
+    private static final String RESULT_THROTTLED = "22";
+    private static final Set<String> RESULT_TRANSIENT = Set.of("01", "04", "05");
+    // 결과 코드는 응답 앞부분(header)에 있으므로 앞부분만 확인
+    private static final int RESULT_CODE_SCAN_BYTES = 1024;
+    // 연속 실패가 동시에 여러 번 들어와도 속도를 한 번만 낮추기 위한 간격
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 회로가 열려 있거나 시험 호출 중일 때 BATCH 가 다시 확인하는 간격
+    private static final long CIRCUIT_RECHECK_MILLIS = 200;
+
+    private final double configuredRate;
+    private final double minRate;
+    private final int burst;
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long interactiveMaxWaitNanos;
+    private final int circuitFailureThreshold;
+    private final long circuitOpenNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition tokenAvailable = lock.newCondition();
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+    private int interactiveWaiting;
+    private CircuitState circuitState = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long circuitOpenUntilNanos;
+
+    private final AtomicLong interactiveCalls = new AtomicLong();
+    private final AtomicLong batchCalls = new AtomicLong();
+    private final AtomicLong interactiveWaitNanos = new AtomicLong();
+    private final AtomicLong batchWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong circuitOpens = new AtomicLong();
+    private final AtomicLong circuitRejected = new AtomicLong();
+    private final AtomicLong prefetchCalls = new AtomicLong();
+    private final AtomicLong prefetchRejected = new AtomicLong();
+
+    public OnbidUpstreamGovernor(
+            @Value("${onbid.upstream.rate:5}") double configuredRate,
+            @Value("${onbid.upstream.min-rate:0.5}") double minRate,
+            @Value("${onbid.upstream.burst:5}") int burst,
+            @Value("${onbid.upstream.max-retries:3}") int maxRetries,
+            @Value("${onbid.upstream.base-backoff-ms:500}") long baseBackoffMillis,
+            @Value("${onbid.upstream.max-backoff-ms:10000}") long maxBackoffMillis,
+            @Value("${onbid.upstream.interactive-max-wait-ms:3000}") long interactiveMaxWaitMillis,
+            @Value("${onbid.upstream.circuit-failure-threshold:5}") int circuitFailureThreshold,
+            @Value("${onbid.upstream.circuit-open-ms:30000}") long circuitOpenMillis) {
+        this.configuredRate = configuredRate;
+        this.minRate = Math.min(minRate, configuredRate);
+        this.burst = Math.max(1, burst);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.interactiveMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMillis);
+        this.circuitFailureThreshold = Math.max(1, circuitFailureThreshold);
+        this.circuitOpenNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, circuitOpenMillis));
+        this.rate = configuredRate;
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰을 얻은 뒤 call 을 실행하고, 재시도 가능한 실패면 백오프 후 다시 토큰을 얻어 재시도합니다.
+     * 마지막 실패는 그대로 던집니다. 회로가 열려 있으면 INTERACTIVE 는 호출하지 않고 503 으로 실패합니다.
+     */
+    public <T> T execute(Priority priority, Callable<T> call) throws Exception {
+        for (int attempt = 0;; attempt++) {
+            boolean probe = admit(priority);
+            try {
+                acquire(priority);
+            } catch (InterruptedException | RuntimeException e) {
+                if (probe) {
+                    releaseProbe();
+                }
+                throw e;
+            }
+            try {
+                T result = call.call();
+                onSuccess();
+                return result;
+            } catch (Exception e) {
+                boolean isThrottle = isThrottle(e);
+                if (!isThrottle && !isTransient(e)) {
+                    onCircuitResult(true, probe); // 응답은 받았으므로 회로 입장에서는 성공
+                    throw e;
+                }
+                onFailure(isThrottle, probe);
+                if (attempt >= maxRetries || priority == Priority.PREFETCH) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                retries.incrementAndGet();
+                log.warn("온비드 호출 실패({}), {}ms 후 재시도 {}/{} (현재 속도 {}/s): {}", priority, backoff, attempt + 1,
+                        maxRetries, String.format("%.2f", currentRate()), e.getMessage());
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * HTTP 200 으로 내려온 OpenAPI 오류 응답을 예외로 바꿉니다.
+     * (한도 초과는 throttled, 일시적 오류는 재시도 대상이 되도록 상태 코드 503 으로 표시)
+     */
+    public static void checkResultCode(byte[] body) {
+        int length = Math.min(body.length, RESULT_CODE_SCAN_BYTES);
+        checkResultCode(new String(body, 0, length, StandardCharsets.UTF_8));
+    }
+
+    public static void checkResultCode(String body) {
+        if (body == null) {
+            return;
+        }
+        String head = body.length() > RESULT_CODE_SCAN_BYTES ? body.substring(0, RESULT_CODE_SCAN_BYTES) : body;
+        String code = tagText(head, "resultCode");
+        if (code == null) {
+            code = tagText(head, "returnReasonCode"); // 공공데이터포털 게이트웨이 오류 형식
+        }
+        if (RESULT_THROTTLED.equals(code)) {
+            throw new OnbidUpstreamException("OpenAPI 호출 한도 초과 (결과 코드 " + code + ")", 200, code, true);
+        }
+        if (code != null && RESULT_TRANSIENT.contains(code)) {
+            throw new OnbidUpstreamException("OpenAPI 일시 오류 (결과 코드 " + code + ")", 503, code, false);
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return new Stats(rate, configuredRate, minRate, burst, tokens, interactiveCalls.get(), batchCalls.get(),
+                    TimeUnit.NANOSECONDS.toMillis(interactiveWaitNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(batchWaitNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()), rejected.get(), throttled.get(), errors.get(),
+                    retries.get(), circuitState, circuitOpens.get(), circuitRejected.get(), prefetchCalls.get(),
+                    prefetchRejected.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double currentRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 지금 PREFETCH 호출이 바로 토큰을 얻을 수 있는지 (회로 닫힘, 화면 조회 대기 없음, 남는 토큰 있음) */
+    public boolean hasSpareCapacity() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return circuitState == CircuitState.CLOSED && interactiveWaiting == 0 && tokens >= 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CircuitState circuitState() {
+        lock.lock();
+        try {
+            return circuitState;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 회로 상태를 확인합니다. 닫혀 있으면 통과, 열린 시간이 지났으면 이 호출을 시험 호출로 통과시키고 true 를 돌려줍니다.
+     * 그 외에는 INTERACTIVE 는 503 으로 실패하고, BATCH 는 통과할 수 있을 때까지 기다립니다.
+     */
+    private boolean admit(Priority priority) throws InterruptedException {
+        while (true) {
+            lock.lock();
+            try {
+                if (circuitState == CircuitState.CLOSED) {
+                    return false;
+                }
+                if (priority == Priority.PREFETCH) {
+                    prefetchRejected.incrementAndGet(); // 시험 호출은 실제 요청에 맡깁니다
+                    throw new OnbidUpstreamException("회로가 닫혀 있지 않아 미리 조회하지 않습니다", 429, null, true);
+                }
+                if (circuitState == CircuitState.OPEN && System.nanoTime() - circuitOpenUntilNanos >= 0) {
+                    circuitState = CircuitState.HALF_OPEN;
+                    log.info("온비드 회로 시험 호출 ({})", priority);
+                    return true;
+                }
+                if (priority == Priority.INTERACTIVE) {
+                    circuitRejected.incrementAndGet();
+                    throw new OnbidUpstreamException("온비드 OpenAPI 장애로 호출을 잠시 멈췄습니다 (회로 " + circuitState + ")",
+                            503, null, false);
+                }
+            } finally {
+                lock.unlock();
+            }
+            Thread.sleep(CIRCUIT_RECHECK_MILLIS);
+        }
+    }
+
+    // 시험 호출이 토큰을 얻지 못했으면 다음 호출이 바로 시험할 수 있게 되돌립니다
+    private void releaseProbe() {
+        lock.lock();
+        try {
+            circuitState = CircuitState.OPEN;
+            circuitOpenUntilNanos = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 시험 호출 결과로 회로를 닫거나 다시 엽니다. 닫힌 회로에서는 연속 실패 수만 관리합니다
+    private void onCircuitResult(boolean success, boolean probe) {
+        lock.lock();
+        try {
+            if (success) {
+                consecutiveFailures = 0;
+                if (probe || circuitState == CircuitState.HALF_OPEN) {
+                    circuitState = CircuitState.CLOSED;
+                    log.info("온비드 회로 닫힘 (시험 호출 성공)");
+                }
+                return;
+            }
+            consecutiveFailures++;
+            if (probe || (circuitState == CircuitState.CLOSED && consecutiveFailures >= circuitFailureThreshold)) {
+                circuitState = CircuitState.OPEN;
+                circuitOpenUntilNanos = System.nanoTime() + circuitOpenNanos;
+                circuitOpens.incrementAndGet();
+                log.warn("온비드 회로 열림: 연속 실패 {}회, {}ms 동안 호출 중지", consecutiveFailures,
+                        TimeUnit.NANOSECONDS.toMillis(circuitOpenNanos));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void acquire(Priority priority) throws InterruptedException {
+        if (priority == Priority.PREFETCH) {
+            acquirePrefetch();
+            return;
+        }
+        long start = System.nanoTime();
+        boolean interactive = priority == Priority.INTERACTIVE;
+        lock.lock();
+        try {
+            if (interactive) {
+                interactiveWaiting++;
+            }
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (tokens >= 1 && (interactive || interactiveWaiting == 0)) {
+                        tokens -= 1;
+                        break;
+                    }
+                    // 다음 토큰이 생길 때까지 (INTERACTIVE 에게 양보 중이면 짧게) 대기
+                    long untilToken = tokens >= 1 ? TimeUnit.MILLISECONDS.toNanos(50)
+                            : (long) ((1 - tokens) / rate * 1_000_000_000L);
+                    if (interactive && now - start + untilToken > interactiveMaxWaitNanos) {
+                        rejected.incrementAndGet();
+                        throw new OnbidUpstreamException("온비드 호출 대기열 초과로 요청을 거절했습니다. 잠시 후 다시 시도하세요.", 429, null,
+                                true);
+                    }
+                    tokenAvailable.awaitNanos(Math.max(untilToken, 1_000_000L));
+                }
+            } finally {
+                if (interactive && --interactiveWaiting == 0) {
+                    tokenAvailable.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long waited = System.nanoTime() - start;
+        (interactive ? interactiveCalls : batchCalls).incrementAndGet();
+        (interactive ? interactiveWaitNanos : batchWaitNanos).addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    // 남는 토큰이 있을 때만 가져갑니다 (대기 없음)
+    private void acquirePrefetch() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            if (tokens < 1 || interactiveWaiting > 0) {
+                prefetchRejected.incrementAndGet();
+                throw new OnbidUpstreamException("남는 호출 여유가 없어 미리 조회하지 않습니다", 429, null, true);
+            }
+            tokens -= 1;
+        } finally {
+            lock.unlock();
+        }
+        prefetchCalls.incrementAndGet();
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * rate / 1_000_000_000L);
+        lastRefillNanos = now;
+    }
+
+    // 가산 증가: 성공 20번이면 설정 속도까지 회복
+    private void onSuccess() {
+        onCircuitResult(true, false);
+        lock.lock();
+        try {
+            if (rate < configuredRate) {
+                refill(System.nanoTime());
+                rate = Math.min(configuredRate, rate + configuredRate / 20);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 승산 감소: 한도 초과는 절반, 서버/연결 오류는 0.8배
+    private void onFailure(boolean isThrottle, boolean probe) {
+        (isThrottle ? throttled : errors).incrementAndGet();
+        if (isThrottle) {
+            onCircuitResult(true, probe); // 한도 초과는 살아 있는 응답
+        } else {
+            onCircuitResult(false, probe);
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) {
+                return;
+            }
+            lastDecreaseNanos = now;
+            refill(now);
+            rate = Math.max(minRate, rate * (isThrottle ? 0.5 : 0.8));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // full jitter: 0 ~ min(max, base * 2^attempt)
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private boolean isThrottle(Exception e) {
+        if (e instanceof OnbidUpstreamException ue) {
+            return ue.isThrottled() || ue.getStatusCode() == 429;
+        }
+        return e instanceof HttpStatusCodeException he && he.getStatusCode().value() == 429;
+    }
+
+    private boolean isTransient(Exception e) {
+        if (e instanceof OnbidUpstreamException ue) {
+            return ue.getStatusCode() == 0 || ue.getStatusCode() >= 500;
+        }
+        if (e instanceof HttpStatusCodeException he) {
+            return he.getStatusCode().is5xxServerError();
+        }
+        return e instanceof IOException || e instanceof ResourceAccessException;
+    }
+
+    private static String tagText(String xml, String tag) {
+        int start = xml.indexOf("<" + tag + ">");
+        if (start < 0) {
+            return null;
+        }
+        start += tag.length() + 2;
+        int end = xml.indexOf("</" + tag + ">", start);
+        return end < 0 ? null : xml.substring(start, end).trim();
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.app.kamco.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * OpenAPI 문자열 값을 숫자/일시 타입으로 변환 (적재 시 한 번만 변환)
+ *
+ * - 금액/건수 : "150,000,000원", "(10%)", "12,345km" 처럼 단위나 구분자가 섞여 와도 숫자만 읽습니다
+ * - 일시      : yyyyMMddHHmmss / yyyyMMddHHmm / yyyyMMdd (구분자 무시)
+ * - 값이 없거나 변환할 수 없으면 null 을 반환합니다 (적재를 멈추지 않음)
+ */
+public final class OnbidValues {
+
+    private static final DateTimeFormatter YMDHMS = DateTimeFormatter.ofPattern("uuuuMMddHHmmss");
+    private static final DateTimeFormatter YMDHM = DateTimeFormatter.ofPattern("uuuuMMddHHmm");
+
+    private OnbidValues() {
+    }
+
+    public static Long toLong(String value) {
+        String number = numeric(value);
+        if (number == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(number).longValue();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static Integer toInteger(String value) {
+        Long number = toLong(value);
+        return number == null || number > Integer.MAX_VALUE || number < Integer.MIN_VALUE ? null : number.intValue();
+    }
+
+    public static BigDecimal toDecimal(String value) {
+        String number = numeric(value);
+        if (number == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static LocalDateTime toDateTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(14);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        try {
+            return switch (digits.length()) {
+                case 14 -> LocalDateTime.parse(digits, YMDHMS);
+                case 12 -> LocalDateTime.parse(digits, YMDHM);
+                case 8 -> LocalDateTime.parse(digits + "0000", YMDHM);
+                default -> null;
+            };
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // 숫자, 소수점, 맨 앞 부호만 남깁니다 (숫자가 없으면 null)
+    private static String numeric(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        boolean hasDigit = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+                hasDigit = true;
+            } else if (c == '.' || (c == '-' && sb.isEmpty())) {
+                sb.append(c);
+            }
+        }
+        return hasDigit ? sb.toString() : null;
+    }
+}
@@ -0,0 +1,320 @@
+package com.project.app.kamco.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.stereotype.Component;
+
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidListItem;
+
+/**
+ * 온비드 OpenAPI XML 스트리밍(StAX) 파서
+ *
+ * - DOM 트리를 만들지 않고 응답 InputStream을 앞에서부터 한 번만 읽습니다
+ * - <item> 하나를 다 읽을 때마다 OnbidItem을 handler로 넘기므로
+ *   메모리 사용량은 페이지 크기가 아니라 호출 측 적재 단위(chunk)에 비례합니다
+ * - header의 resultCode/resultMsg, body의 totalCount는 PageSummary로 반환합니다
+ * - 화면 목록 조회(parseList)는 값을 변환하지 않고 원문 문자열 그대로 OnbidListItem 으로 읽습니다
+ */
+@Component
+public class OnbidXmlStreamParser {
+
+    /** 아이템 단위 콜백 (DB 적재 등 checked 예외를 그대로 전달) */
+    @FunctionalInterface
+    public interface ItemHandler {
+        void handle(OnbidItem item) throws Exception;
+    }
+
+    /** 페이지 파싱 결과 요약 */
+    public record PageSummary(int itemCount, int totalCount, String resultCode, String resultMsg) {
+    }
+
+    /** 화면 목록 조회 결과 (OpenAPI 원문 값) */
+    public record ListPage(int totalCount, String resultCode, String resultMsg, List<OnbidListItem> items) {
+    }
+
+    private static final int TOTAL_COUNT_SCAN_BYTES = 512;
+    // OpenAPI 태그 → OnbidListItem 컴포넌트 순번 (태그마다 camelCase 변환을 하지 않도록 미리 계산)
+    private static final Map<String, Integer> LIST_FIELD_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < OnbidListItem.TAGS.size(); i++) {
+            LIST_FIELD_INDEX.put(OnbidListItem.TAGS.get(i), i);
+        }
+    }
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public OnbidXmlStreamParser() {
+        // XMLInputFactory는 설정 후에는 thread-safe 하므로 하나만 만들어 재사용
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    public PageSummary parse(InputStream in, ItemHandler handler) throws Exception {
+        int itemCount = 0;
+        int totalCount = 0;
+        String resultCode = null;
+        String resultMsg = null;
+
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "item" -> {
+                        handler.handle(readItem(reader));
+                        itemCount++;
+                    }
+                    case "resultCode" -> resultCode = readText(reader);
+                    case "resultMsg" -> resultMsg = readText(reader);
+                    case "totalCount" -> totalCount = parseIntOrZero(readText(reader));
+                    default -> {
+                        // response, header, body, items, numOfRows, pageNo 등은 통과
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new PageSummary(itemCount, totalCount, resultCode, resultMsg);
+    }
+
+    /** 화면 목록 응답을 OnbidListItem 목록으로 읽습니다 (빈 태그는 빈 문자열, 모르는 태그와 이미지는 건너뜀) */
+    public ListPage parseList(InputStream in) throws Exception {
+        List<OnbidListItem> items = new ArrayList<>();
+        int totalCount = 0;
+        String resultCode = null;
+        String resultMsg = null;
+
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "item" -> items.add(readListItem(reader));
+                    case "resultCode" -> resultCode = readText(reader);
+                    case "resultMsg" -> resultMsg = readText(reader);
+                    case "totalCount" -> totalCount = parseIntOrZero(readText(reader));
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new ListPage(totalCount, resultCode, resultMsg, items);
+    }
+
+    /**
+     * 페이지 원문에서 totalCount 만 읽습니다 (수집 페이지 계획용).
+     * totalCount 는 응답 끝부분(body 의 items 뒤)에 있으므로 뒤쪽만 먼저 확인하고, 없으면 전체를 파싱합니다.
+     */
+    public int peekTotalCount(byte[] body) throws Exception {
+        int from = Math.max(0, body.length - TOTAL_COUNT_SCAN_BYTES);
+        String tail = new String(body, from, body.length - from, StandardCharsets.UTF_8);
+        int start = tail.lastIndexOf("<totalCount>");
+        int end = start < 0 ? -1 : tail.indexOf("</totalCount>", start);
+        if (end > 0) {
+            return parseIntOrZero(tail.substring(start + "<totalCount>".length(), end).trim());
+        }
+        return parse(new ByteArrayInputStream(body), item -> {
+        }).totalCount();
+    }
+
+    // <item> 시작 태그 위치에서 호출되어 </item> 까지 읽습니다
+    private OnbidItem readItem(XMLStreamReader reader) throws XMLStreamException {
+        OnbidItem item = new OnbidItem();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // </item>
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String tag = reader.getLocalName();
+            if ("CLTR_IMG_FILES".equals(tag)) {
+                readImages(reader, item);
+            } else {
+                setField(item, tag, readText(reader));
+            }
+        }
+        item.CONTENT_HASH = OnbidContentHash.of(item);
+        return item;
+    }
+
+    // <item> 시작 태그 위치에서 호출되어 </item> 까지 읽습니다 (하위 태그가 있는 태그는 readText 가 통째로 건너뜀)
+    private OnbidListItem readListItem(XMLStreamReader reader) throws XMLStreamException {
+        String[] values = new String[OnbidListItem.TAGS.size()];
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // </item>
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            Integer index = LIST_FIELD_INDEX.get(reader.getLocalName());
+            String text = readText(reader);
+            if (index != null) {
+                values[index] = text != null ? text : "";
+            }
+        }
+        return OnbidListItem.of(values);
+    }
+
+    // <CLTR_IMG_FILES><CLTR_IMG_FILE>url</CLTR_IMG_FILE>...</CLTR_IMG_FILES>
+    private void readImages(XMLStreamReader reader, OnbidItem item) throws XMLStreamException {
+        List<String> imageUrls = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break; // </CLTR_IMG_FILES>
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String imgUrl = readText(reader);
+            // 유효한 URL인 경우에만 리스트에 추가합니다.
+            if (imgUrl != null && (imgUrl.startsWith("https://") || imgUrl.startsWith("http://"))) {
+                imageUrls.add(imgUrl);
+            }
+        }
+        item.imageUrls = imageUrls;
+    }
+
+    /**
+     * 현재 시작 태그의 텍스트를 읽고 종료 태그까지 이동합니다.
+     * 하위 태그가 섞여 있어도 예외 없이 건너뛰며, 빈 값은 null 로 반환합니다.
+     */
+    private String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder sb = null;
+        String single = null;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (depth == 1) {
+                        // 대부분 텍스트 이벤트가 하나뿐이므로 StringBuilder는 필요할 때만 생성
+                        if (single == null) {
+                            single = reader.getText();
+                        } else {
+                            if (sb == null) {
+                                sb = new StringBuilder(single);
+                            }
+                            sb.append(reader.getText());
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        String text = sb != null ? sb.toString() : single;
+        if (text == null) {
+            return null;
+        }
+        text = text.trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private int parseIntOrZero(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void setField(OnbidItem item, String tag, String value) {
+        switch (tag) {
+            case "RNUM" -> item.RNUM = value;
+            case "PLNM_NO" -> item.PLNM_NO = value;
+            case "PBCT_NO" -> item.PBCT_NO = value;
+            case "PBCT_CDTN_NO" -> item.PBCT_CDTN_NO = value;
+            case "CLTR_NO" -> item.CLTR_NO = value;
+            case "CLTR_HSTR_NO" -> item.CLTR_HSTR_NO = value;
+            case "SCRN_GRP_CD" -> item.SCRN_GRP_CD = value;
+            case "CTGR_FULL_NM" -> item.CTGR_FULL_NM = value;
+            case "BID_MNMT_NO" -> item.BID_MNMT_NO = value;
+            case "CLTR_NM" -> item.CLTR_NM = value;
+            case "CLTR_MNMT_NO" -> item.CLTR_MNMT_NO = value;
+            case "LDNM_ADRS" -> item.LDNM_ADRS = value;
+            case "NMRD_ADRS" -> item.NMRD_ADRS = value;
+            case "LDNM_PNU" -> item.LDNM_PNU = value;
+            case "DPSL_MTD_CD" -> item.DPSL_MTD_CD = value;
+            case "DPSL_MTD_NM" -> item.DPSL_MTD_NM = value;
+            case "BID_MTD_NM" -> item.BID_MTD_NM = value;
+            case "MIN_BID_PRC" -> {
+                item.MIN_BID_PRC_TXT = value;
+                item.MIN_BID_PRC = OnbidValues.toLong(value);
+            }
+            case "APSL_ASES_AVG_AMT" -> {
+                item.APSL_ASES_AVG_AMT_TXT = value;
+                item.APSL_ASES_AVG_AMT = OnbidValues.toLong(value);
+            }
+            case "FEE_RATE" -> {
+                item.FEE_RATE_TXT = value;
+                item.FEE_RATE = OnbidValues.toDecimal(value);
+            }
+            case "PBCT_BEGN_DTM" -> {
+                item.PBCT_BEGN_DTM_TXT = value;
+                item.PBCT_BEGN_DTM = OnbidValues.toDateTime(value);
+            }
+            case "PBCT_CLS_DTM" -> {
+                item.PBCT_CLS_DTM_TXT = value;
+                item.PBCT_CLS_DTM = OnbidValues.toDateTime(value);
+            }
+            case "PBCT_CLTR_STAT_NM" -> item.PBCT_CLTR_STAT_NM = value;
+            case "USCBD_CNT" -> {
+                item.USCBD_CNT_TXT = value;
+                item.USCBD_CNT = OnbidValues.toInteger(value);
+            }
+            case "IQRY_CNT" -> {
+                item.IQRY_CNT_TXT = value;
+                item.IQRY_CNT = OnbidValues.toInteger(value);
+            }
+            case "GOODS_NM" -> item.GOODS_NM = value;
+            case "MANF" -> item.MANF = value;
+            case "MDL" -> item.MDL = value;
+            case "NRGT" -> item.NRGT = value;
+            case "GRBX" -> item.GRBX = value;
+            case "ENDPC" -> item.ENDPC = value;
+            case "VHCL_MLGE" -> {
+                item.VHCL_MLGE_TXT = value;
+                item.VHCL_MLGE = OnbidValues.toLong(value);
+            }
+            case "FUEL" -> item.FUEL = value;
+            case "SCRT_NM" -> item.SCRT_NM = value;
+            case "TPBZ" -> item.TPBZ = value;
+            case "ITM_NM" -> item.ITM_NM = value;
+            case "MMB_RGT_NM" -> item.MMB_RGT_NM = value;
+            default -> {
+                // 적재 대상이 아닌 태그는 무시
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 증분 적재(/api/onbid/batch?mode=INCREMENTAL) 지원
+-- 물건 내용 해시 컬럼과 업무 키 기준 PK
+
+ALTER TABLE KAMCO_AUCTION_ITEMS ADD (CONTENT_HASH NUMBER(20));
+
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS.CONTENT_HASH IS '물건 내용 해시 (RNUM 제외 전체 필드, 64bit FNV-1a)';
+
+-- MERGE/DELETE 가 업무 키로 행을 찾으므로 PK(또는 UNIQUE 인덱스)가 필요합니다
+-- 이미 같은 키의 PK가 있다면 생략하세요
+ALTER TABLE KAMCO_AUCTION_ITEMS ADD CONSTRAINT PK_KAMCO_AUCTION_ITEMS PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO);
@@ -0,0 +1,19 @@
+-- 섀도 적재(/api/onbid/batch?mode=SHADOW) 지원
+-- KAMCO_AUCTION_ITEMS 를 두 세대 테이블(_A, _B) + 시노님 구조로 전환합니다.
+-- 기존 조회/적재 SQL은 시노님 이름(KAMCO_AUCTION_ITEMS)을 그대로 사용합니다.
+
+-- 1. 기존 테이블을 A 세대로 이름 변경
+ALTER TABLE KAMCO_AUCTION_ITEMS RENAME TO KAMCO_AUCTION_ITEMS_A;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME CONSTRAINT PK_KAMCO_AUCTION_ITEMS TO PK_KAMCO_AUCTION_ITEMS_A;
+ALTER INDEX PK_KAMCO_AUCTION_ITEMS RENAME TO PK_KAMCO_AUCTION_ITEMS_A;
+
+-- 2. 같은 구조의 B 세대 테이블 (빈 테이블, 인덱스는 적재 후 생성)
+CREATE TABLE KAMCO_AUCTION_ITEMS_B NOLOGGING AS SELECT * FROM KAMCO_AUCTION_ITEMS_A WHERE 1 = 0;
+
+-- 3. 공개용 시노님 (현재 세대 = A)
+CREATE OR REPLACE SYNONYM KAMCO_AUCTION_ITEMS FOR KAMCO_AUCTION_ITEMS_A;
+
+COMMENT ON TABLE KAMCO_AUCTION_ITEMS_A IS '온비드 공매물건 (세대 A)';
+COMMENT ON TABLE KAMCO_AUCTION_ITEMS_B IS '온비드 공매물건 (세대 B)';
+
+-- 이후 KAMCO_AUCTION_ITEMS 구조를 바꾸는 스크립트는 _A, _B 두 테이블 모두에 적용해야 합니다.
@@ -0,0 +1,36 @@
+-- 배치 실행 이력 / 페이지 체크포인트
+-- 실패한 실행은 POST /api/onbid/batch/runs/{runId}/resume 으로 DONE 이 아닌 페이지만 다시 적재합니다.
+
+CREATE TABLE KAMCO_BATCH_RUN (
+    RUN_ID          VARCHAR2(40)    NOT NULL,
+    LOAD_MODE       VARCHAR2(20)    NOT NULL,
+    STATUS          VARCHAR2(20)    NOT NULL,
+    TOTAL_PAGES     NUMBER(10)      NOT NULL,
+    ITEM_COUNT      NUMBER(19)      DEFAULT 0,
+    FAILED_PAGES    VARCHAR2(4000),
+    TARGET_TABLE    VARCHAR2(128),
+    ERROR_MSG       VARCHAR2(4000),
+    STARTED_AT      TIMESTAMP       DEFAULT SYSTIMESTAMP NOT NULL,
+    ENDED_AT        TIMESTAMP,
+    CONSTRAINT PK_KAMCO_BATCH_RUN PRIMARY KEY (RUN_ID)
+);
+
+CREATE TABLE KAMCO_BATCH_PAGE (
+    RUN_ID          VARCHAR2(40)    NOT NULL,
+    PAGE_NO         NUMBER(10)      NOT NULL,
+    STATUS          VARCHAR2(20)    NOT NULL,
+    ITEM_COUNT      NUMBER(10),
+    PAGE_HASH       NUMBER(20),
+    ERROR_MSG       VARCHAR2(4000),
+    UPDATED_AT      TIMESTAMP       DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT PK_KAMCO_BATCH_PAGE PRIMARY KEY (RUN_ID, PAGE_NO),
+    CONSTRAINT FK_KAMCO_BATCH_PAGE_RUN FOREIGN KEY (RUN_ID) REFERENCES KAMCO_BATCH_RUN (RUN_ID)
+);
+
+COMMENT ON TABLE KAMCO_BATCH_RUN IS '온비드 적재 배치 실행 이력';
+COMMENT ON COLUMN KAMCO_BATCH_RUN.STATUS IS 'RUNNING / COMPLETED / FAILED';
+COMMENT ON COLUMN KAMCO_BATCH_RUN.FAILED_PAGES IS '실패 페이지 번호 (콤마 구분)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN.TARGET_TABLE IS '적재 대상 테이블 (섀도 적재 시 공개 전 세대 테이블)';
+COMMENT ON TABLE KAMCO_BATCH_PAGE IS '온비드 적재 배치 페이지 체크포인트';
+COMMENT ON COLUMN KAMCO_BATCH_PAGE.STATUS IS 'DONE / FAILED';
+COMMENT ON COLUMN KAMCO_BATCH_PAGE.PAGE_HASH IS '페이지 물건 CONTENT_HASH 를 순서대로 결합한 값';
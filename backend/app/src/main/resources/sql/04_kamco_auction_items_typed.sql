@@ -0,0 +1,117 @@
+-- 금액/건수/일시 컬럼을 VARCHAR2 에서 NUMBER/DATE 로 변경
+-- 조회 시점의 TO_NUMBER/TO_DATE 없이 범위 조건·정렬이 B-tree 인덱스를 사용할 수 있게 합니다.
+-- 02 스크립트 이후이므로 세대 테이블 _A, _B 모두에 적용합니다 (Oracle 12.2 이상: DEFAULT NULL ON CONVERSION ERROR).
+--
+-- 순서: 새 컬럼 추가 → 기존 문자열 변환 → 기존 컬럼 삭제 → 이름 변경 → 인덱스 생성
+-- 변환할 수 없는 값(빈 문자열, 형식 오류)은 NULL 이 됩니다.
+-- CONTENT_HASH 계산 방식이 숫자/일시 값 기준으로 바뀌므로 적용 후 첫 증분 적재는 전체를 변경으로 보고 한 번 MERGE 합니다.
+
+-- 1. KAMCO_AUCTION_ITEMS_A
+ALTER TABLE KAMCO_AUCTION_ITEMS_A ADD (
+    MIN_BID_PRC_N NUMBER(15),
+    APSL_ASES_AVG_AMT_N NUMBER(15),
+    FEE_RATE_N NUMBER(7,3),
+    PBCT_BEGN_DTM_N DATE,
+    PBCT_CLS_DTM_N DATE,
+    USCBD_CNT_N NUMBER(5),
+    IQRY_CNT_N NUMBER(10),
+    VHCL_MLGE_N NUMBER(10)
+);
+
+UPDATE KAMCO_AUCTION_ITEMS_A
+   SET MIN_BID_PRC_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(MIN_BID_PRC, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       APSL_ASES_AVG_AMT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(APSL_ASES_AVG_AMT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       FEE_RATE_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(FEE_RATE, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       PBCT_BEGN_DTM_N = CASE LENGTH(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', ''))
+                              WHEN 14 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MISS')
+                              WHEN 12 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MI')
+                              WHEN 8 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDD')
+                          END,
+       PBCT_CLS_DTM_N = CASE LENGTH(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', ''))
+                              WHEN 14 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MISS')
+                              WHEN 12 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MI')
+                              WHEN 8 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDD')
+                          END,
+       USCBD_CNT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(USCBD_CNT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       IQRY_CNT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(IQRY_CNT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       VHCL_MLGE_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(VHCL_MLGE, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR);
+COMMIT;
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_A DROP (MIN_BID_PRC, APSL_ASES_AVG_AMT, FEE_RATE, PBCT_BEGN_DTM, PBCT_CLS_DTM, USCBD_CNT, IQRY_CNT, VHCL_MLGE);
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN MIN_BID_PRC_N TO MIN_BID_PRC;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN APSL_ASES_AVG_AMT_N TO APSL_ASES_AVG_AMT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN FEE_RATE_N TO FEE_RATE;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN PBCT_BEGN_DTM_N TO PBCT_BEGN_DTM;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN PBCT_CLS_DTM_N TO PBCT_CLS_DTM;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN USCBD_CNT_N TO USCBD_CNT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN IQRY_CNT_N TO IQRY_CNT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_A RENAME COLUMN VHCL_MLGE_N TO VHCL_MLGE;
+
+CREATE INDEX IX_KAI_A_MIN_BID_PRC ON KAMCO_AUCTION_ITEMS_A (MIN_BID_PRC);
+CREATE INDEX IX_KAI_A_PBCT_BEGN_DTM ON KAMCO_AUCTION_ITEMS_A (PBCT_BEGN_DTM);
+CREATE INDEX IX_KAI_A_PBCT_CLS_DTM ON KAMCO_AUCTION_ITEMS_A (PBCT_CLS_DTM);
+
+-- 2. KAMCO_AUCTION_ITEMS_B
+ALTER TABLE KAMCO_AUCTION_ITEMS_B ADD (
+    MIN_BID_PRC_N NUMBER(15),
+    APSL_ASES_AVG_AMT_N NUMBER(15),
+    FEE_RATE_N NUMBER(7,3),
+    PBCT_BEGN_DTM_N DATE,
+    PBCT_CLS_DTM_N DATE,
+    USCBD_CNT_N NUMBER(5),
+    IQRY_CNT_N NUMBER(10),
+    VHCL_MLGE_N NUMBER(10)
+);
+
+UPDATE KAMCO_AUCTION_ITEMS_B
+   SET MIN_BID_PRC_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(MIN_BID_PRC, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       APSL_ASES_AVG_AMT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(APSL_ASES_AVG_AMT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       FEE_RATE_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(FEE_RATE, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       PBCT_BEGN_DTM_N = CASE LENGTH(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', ''))
+                              WHEN 14 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MISS')
+                              WHEN 12 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MI')
+                              WHEN 8 THEN TO_DATE(REGEXP_REPLACE(PBCT_BEGN_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDD')
+                          END,
+       PBCT_CLS_DTM_N = CASE LENGTH(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', ''))
+                              WHEN 14 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MISS')
+                              WHEN 12 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDDHH24MI')
+                              WHEN 8 THEN TO_DATE(REGEXP_REPLACE(PBCT_CLS_DTM, '[^0-9]', '') DEFAULT NULL ON CONVERSION ERROR, 'YYYYMMDD')
+                          END,
+       USCBD_CNT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(USCBD_CNT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       IQRY_CNT_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(IQRY_CNT, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR),
+       VHCL_MLGE_N = TO_NUMBER(NULLIF(REGEXP_REPLACE(VHCL_MLGE, '[^0-9.]', ''), '') DEFAULT NULL ON CONVERSION ERROR);
+COMMIT;
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_B DROP (MIN_BID_PRC, APSL_ASES_AVG_AMT, FEE_RATE, PBCT_BEGN_DTM, PBCT_CLS_DTM, USCBD_CNT, IQRY_CNT, VHCL_MLGE);
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN MIN_BID_PRC_N TO MIN_BID_PRC;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN APSL_ASES_AVG_AMT_N TO APSL_ASES_AVG_AMT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN FEE_RATE_N TO FEE_RATE;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN PBCT_BEGN_DTM_N TO PBCT_BEGN_DTM;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN PBCT_CLS_DTM_N TO PBCT_CLS_DTM;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN USCBD_CNT_N TO USCBD_CNT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN IQRY_CNT_N TO IQRY_CNT;
+ALTER TABLE KAMCO_AUCTION_ITEMS_B RENAME COLUMN VHCL_MLGE_N TO VHCL_MLGE;
+
+CREATE INDEX IX_KAI_B_MIN_BID_PRC ON KAMCO_AUCTION_ITEMS_B (MIN_BID_PRC);
+CREATE INDEX IX_KAI_B_PBCT_BEGN_DTM ON KAMCO_AUCTION_ITEMS_B (PBCT_BEGN_DTM);
+CREATE INDEX IX_KAI_B_PBCT_CLS_DTM ON KAMCO_AUCTION_ITEMS_B (PBCT_CLS_DTM);
+
+-- 섀도 적재는 적재 후 같은 이름의 인덱스를 다시 만듭니다 (OnbidShadowTableManager.SECONDARY_INDEXES).
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.MIN_BID_PRC IS '최저입찰가 (원)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.APSL_ASES_AVG_AMT IS '감정평가평균금액 (원)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.FEE_RATE IS '수수료율 (%)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.PBCT_BEGN_DTM IS '공고시작일시';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.PBCT_CLS_DTM IS '공고종료일시';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.USCBD_CNT IS '유찰횟수';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.IQRY_CNT IS '조회수';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.VHCL_MLGE IS '주행거리 (km)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.MIN_BID_PRC IS '최저입찰가 (원)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.APSL_ASES_AVG_AMT IS '감정평가평균금액 (원)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.FEE_RATE IS '수수료율 (%)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.PBCT_BEGN_DTM IS '공고시작일시';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.PBCT_CLS_DTM IS '공고종료일시';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.USCBD_CNT IS '유찰횟수';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.IQRY_CNT IS '조회수';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.VHCL_MLGE IS '주행거리 (km)';
@@ -0,0 +1,31 @@
+-- 물건 이미지 URL 을 KAMCO_AUCTION_ITEMS.CLTR_IMG_FILES(콤마 연결 문자열)에서 자식 테이블로 분리
+-- 목록 조회가 읽는 물건 행을 좁히고, 이미지는 상세 조회(GET /api/onbid/items/{cltrMnmtNo}/{cltrHstrNo}/images) 때만 읽습니다.
+-- 적재는 물건과 같은 writer 세션/트랜잭션에서 함께 씁니다 (OnbidItemWriter).
+--
+-- 이미지 테이블은 sql/11 에서 물건과 같은 세대(_A, _B)로 나눕니다.
+-- CONTENT_HASH 는 이전과 같은 값(URL 을 콤마로 이어 붙인 문자열 기준)으로 계산되므로 적용 후 전체 재적재가 필요하지 않습니다.
+--
+-- 순서: 테이블 생성 → 현재 공개 세대의 문자열을 행으로 분리 → _A, _B 에서 CLTR_IMG_FILES 삭제 (Oracle 12c 이상: CROSS APPLY)
+
+CREATE TABLE KAMCO_AUCTION_ITEM_IMAGES (
+    CLTR_MNMT_NO    VARCHAR2(100)   NOT NULL,
+    CLTR_HSTR_NO    VARCHAR2(100)   NOT NULL,
+    IMG_SEQ         NUMBER(5)       NOT NULL,
+    IMG_URL         VARCHAR2(1000)  NOT NULL,
+    CONSTRAINT PK_KAMCO_AUCTION_ITEM_IMAGES PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ)
+);
+
+COMMENT ON TABLE KAMCO_AUCTION_ITEM_IMAGES IS '온비드 공매물건 이미지';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEM_IMAGES.IMG_SEQ IS '이미지 순번 (응답의 CLTR_IMG_FILE 순서, 1부터)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEM_IMAGES.IMG_URL IS '이미지 URL';
+
+INSERT INTO KAMCO_AUCTION_ITEM_IMAGES (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ, IMG_URL)
+SELECT A.CLTR_MNMT_NO, A.CLTR_HSTR_NO, L.IMG_SEQ, REGEXP_SUBSTR(A.CLTR_IMG_FILES, '[^,]+', 1, L.IMG_SEQ)
+  FROM KAMCO_AUCTION_ITEMS A
+ CROSS APPLY (SELECT LEVEL AS IMG_SEQ FROM DUAL
+               CONNECT BY LEVEL <= REGEXP_COUNT(A.CLTR_IMG_FILES, '[^,]+')) L
+ WHERE A.CLTR_IMG_FILES IS NOT NULL;
+COMMIT;
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_A DROP (CLTR_IMG_FILES);
+ALTER TABLE KAMCO_AUCTION_ITEMS_B DROP (CLTR_IMG_FILES);
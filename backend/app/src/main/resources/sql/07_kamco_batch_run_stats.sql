@@ -0,0 +1,38 @@
+-- 적재 작업 실행 요약 (OnbidIngestMetrics)
+-- 작업(OnbidBatchJobManager 작업 ID)이 끝날 때마다 한 행씩 저장합니다. 재개 작업은 같은 RUN_ID 로 여러 행이 남을 수 있습니다.
+-- 조회: GET /api/onbid/batch/stats?count=20 (실시간 지표는 /actuator/metrics/onbid.ingest.*)
+
+CREATE TABLE KAMCO_BATCH_RUN_STATS (
+    JOB_ID          VARCHAR2(60)    NOT NULL,
+    RUN_ID          VARCHAR2(60),
+    JOB_KIND        VARCHAR2(20)    NOT NULL,
+    LOAD_MODE       VARCHAR2(20),
+    STATUS          VARCHAR2(20)    NOT NULL,
+    PLANNED_PAGES   NUMBER(10),
+    DONE_PAGES      NUMBER(10),
+    FAILED_PAGES    NUMBER(10),
+    PARSED_ITEMS    NUMBER(19),
+    WRITTEN_ROWS    NUMBER(19),
+    FETCHED_BYTES   NUMBER(19),
+    FETCH_MS        NUMBER(19),
+    PARSE_MS        NUMBER(19),
+    WRITE_MS        NUMBER(19),
+    JDBC_EXECUTE_MS NUMBER(19),
+    JDBC_COMMIT_MS  NUMBER(19),
+    ELAPSED_MS      NUMBER(19),
+    ROWS_PER_SECOND NUMBER(19),
+    ERROR_MSG       VARCHAR2(4000),
+    STARTED_AT      TIMESTAMP,
+    ENDED_AT        TIMESTAMP,
+    CONSTRAINT PK_KAMCO_BATCH_RUN_STATS PRIMARY KEY (JOB_ID)
+);
+
+CREATE INDEX IX_KAMCO_BATCH_RUN_STATS_START ON KAMCO_BATCH_RUN_STATS (STARTED_AT);
+
+COMMENT ON TABLE KAMCO_BATCH_RUN_STATS IS '온비드 적재 작업 실행 요약';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.FETCH_MS IS 'fetch 단계 누적 시간 (스레드 합계, 거버너 대기 포함)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.PARSE_MS IS 'parse 단계 누적 시간 (스레드 합계, writer 큐 대기 제외)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.WRITE_MS IS 'write 단계 누적 시간 (스레드 합계, commit 포함)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.JDBC_EXECUTE_MS IS 'executeBatch 누적 시간 (물건 + 이미지)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.JDBC_COMMIT_MS IS 'commit 누적 시간 (Spring Batch 잡은 트랜잭션 관리자가 확정하므로 0)';
+COMMENT ON COLUMN KAMCO_BATCH_RUN_STATS.ROWS_PER_SECOND IS '확정 건수 / 작업 전체 시간';
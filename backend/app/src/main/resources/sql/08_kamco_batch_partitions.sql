@@ -0,0 +1,39 @@
+-- 처분방식(DPSL_MTD_CD)별 파티션 적재 (onbid.batch.categories)
+-- 파티션마다 1페이지 totalCount 로 따로 페이지를 계획하고, 파티션 단위로 동시에 적재합니다 (onbid.batch.category-concurrency).
+-- 체크포인트는 (실행 ID, 파티션, 페이지) 단위이며, 재개하면 파티션별로 DONE 이 아닌 페이지만 다시 적재합니다.
+-- 파티션을 설정하지 않은 적재는 기본 목록 하나를 'ALL' 파티션으로 기록합니다 (이전 체크포인트도 'ALL').
+
+-- 1. 실행별 파티션 진행 상태
+CREATE TABLE KAMCO_BATCH_PARTITION (
+    RUN_ID          VARCHAR2(40)    NOT NULL,
+    PARTITION_CD    VARCHAR2(10)    NOT NULL,
+    STATUS          VARCHAR2(20)    NOT NULL,
+    TOTAL_PAGES     NUMBER(10)      NOT NULL,
+    REPORTED_TOTAL  NUMBER(10),
+    ITEM_COUNT      NUMBER(19)      DEFAULT 0,
+    FAILED_PAGES    VARCHAR2(4000),
+    ERROR_MSG       VARCHAR2(4000),
+    STARTED_AT      TIMESTAMP       DEFAULT SYSTIMESTAMP NOT NULL,
+    ENDED_AT        TIMESTAMP,
+    CONSTRAINT PK_KAMCO_BATCH_PARTITION PRIMARY KEY (RUN_ID, PARTITION_CD),
+    CONSTRAINT FK_KAMCO_BATCH_PARTITION_RUN FOREIGN KEY (RUN_ID) REFERENCES KAMCO_BATCH_RUN (RUN_ID)
+);
+
+COMMENT ON TABLE KAMCO_BATCH_PARTITION IS '온비드 적재 배치 파티션 진행 상태';
+COMMENT ON COLUMN KAMCO_BATCH_PARTITION.PARTITION_CD IS '처분방식코드(DPSL_MTD_CD) 요청값, 기본 목록은 ALL';
+COMMENT ON COLUMN KAMCO_BATCH_PARTITION.STATUS IS 'RUNNING / COMPLETED / FAILED / CANCELLED';
+COMMENT ON COLUMN KAMCO_BATCH_PARTITION.REPORTED_TOTAL IS '파티션 1페이지 응답의 totalCount';
+
+-- 2. 페이지 체크포인트에 파티션 추가 (기존 행은 ALL)
+ALTER TABLE KAMCO_BATCH_PAGE ADD (PARTITION_CD VARCHAR2(10) DEFAULT 'ALL' NOT NULL);
+ALTER TABLE KAMCO_BATCH_PAGE DROP CONSTRAINT PK_KAMCO_BATCH_PAGE DROP INDEX;
+ALTER TABLE KAMCO_BATCH_PAGE ADD CONSTRAINT PK_KAMCO_BATCH_PAGE PRIMARY KEY (RUN_ID, PARTITION_CD, PAGE_NO);
+
+-- 3. 물건 테이블 파티션 표시 (기본 목록으로 적재한 물건은 NULL)
+ALTER TABLE KAMCO_AUCTION_ITEMS_A ADD (PARTITION_CD VARCHAR2(10));
+ALTER TABLE KAMCO_AUCTION_ITEMS_B ADD (PARTITION_CD VARCHAR2(10));
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.PARTITION_CD IS '적재 파티션 (DPSL_MTD_CD 요청값)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.PARTITION_CD IS '적재 파티션 (DPSL_MTD_CD 요청값)';
+CREATE INDEX IX_KAI_A_PARTITION_CD ON KAMCO_AUCTION_ITEMS_A (PARTITION_CD);
+CREATE INDEX IX_KAI_B_PARTITION_CD ON KAMCO_AUCTION_ITEMS_B (PARTITION_CD);
+-- 섀도 적재는 적재 후 같은 이름의 인덱스를 다시 만듭니다 (OnbidShadowTableManager.SECONDARY_INDEXES).
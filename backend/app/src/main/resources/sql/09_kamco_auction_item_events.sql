@@ -0,0 +1,35 @@
+-- 적재 중 계산한 물건 변경 이벤트 (OnbidChangeFeed). 추가만 하며 수정/삭제하지 않습니다.
+-- 실행 시작 시 공개 테이블의 (업무 키, 최저입찰가, 물건상태) 를 기준으로 읽어 두고 수신한 물건과 비교합니다.
+--   NEW_ITEM       : 처음 보는 물건관리번호
+--   NEW_ROUND      : 기존 물건의 새 회차(CLTR_HSTR_NO), 최저입찰가는 같거나 오름
+--   PRICE_DROP     : 새 회차(또는 같은 회차)의 최저입찰가가 직전 회차보다 낮음
+--   STATUS_CHANGED : 같은 회차의 PBCT_CLTR_STAT_NM 변경
+--   REMOVED        : 기준에 있었지만 이번 실행 목록에서 사라진 회차 (전체 목록을 끝까지 본 실행만)
+-- 조회: GET /api/onbid/events?after={eventId} (JSON), GET /api/onbid/events/stream (SSE, Last-Event-ID 로 이어 받기)
+--
+-- EVENT_ID 가 커서입니다. 이벤트는 서버 한 곳에서 직렬화하여 쓰므로 EVENT_ID 순서와 커밋 순서가 같습니다.
+-- RAC 에서는 ORDER 옵션이 있어야 노드 사이에서도 번호 순서가 유지됩니다.
+
+CREATE TABLE KAMCO_AUCTION_ITEM_EVENTS (
+    EVENT_ID        NUMBER(19)      GENERATED ALWAYS AS IDENTITY (START WITH 1 CACHE 100 ORDER),
+    RUN_ID          VARCHAR2(60)    NOT NULL,
+    EVENT_TYPE      VARCHAR2(20)    NOT NULL,
+    CLTR_MNMT_NO    VARCHAR2(100)   NOT NULL,
+    CLTR_HSTR_NO    VARCHAR2(100)   NOT NULL,
+    PREV_HSTR_NO    VARCHAR2(100),
+    CLTR_NM         VARCHAR2(1000),
+    OLD_MIN_BID_PRC NUMBER(19),
+    NEW_MIN_BID_PRC NUMBER(19),
+    OLD_STAT_NM     VARCHAR2(100),
+    NEW_STAT_NM     VARCHAR2(100),
+    CREATED_AT      TIMESTAMP       DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT PK_KAMCO_AUCTION_ITEM_EVENTS PRIMARY KEY (EVENT_ID)
+);
+
+CREATE INDEX IX_KAMCO_ITEM_EVENTS_RUN ON KAMCO_AUCTION_ITEM_EVENTS (RUN_ID);
+CREATE INDEX IX_KAMCO_ITEM_EVENTS_KEY ON KAMCO_AUCTION_ITEM_EVENTS (CLTR_MNMT_NO, CLTR_HSTR_NO);
+
+COMMENT ON TABLE KAMCO_AUCTION_ITEM_EVENTS IS '온비드 공매물건 변경 이벤트 (적재 중 계산, 추가 전용)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEM_EVENTS.EVENT_ID IS '이벤트 순번 (구독 커서)';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEM_EVENTS.EVENT_TYPE IS 'NEW_ITEM, NEW_ROUND, PRICE_DROP, STATUS_CHANGED, REMOVED';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEM_EVENTS.PREV_HSTR_NO IS '비교한 직전 회차 물건이력번호 (NEW_ROUND, 회차가 바뀐 PRICE_DROP)';
@@ -0,0 +1,13 @@
+-- 목록 조회(/api/onbid/list)를 적재된 KAMCO_AUCTION_ITEMS 에서 처리하기 위한 인덱스 (OnbidLocalListService)
+-- 정렬은 업무 키(CLTR_MNMT_NO, CLTR_HSTR_NO) 순이며, 다음 페이지는 직전 페이지 마지막 키 뒤부터 읽습니다 (keyset).
+--   처분방식코드 조건 : (DPSL_MTD_CD, CLTR_MNMT_NO, CLTR_HSTR_NO) 인덱스로 조건 + 정렬 + keyset 을 한 번에 처리
+--   지역 조건        : 지번주소(LDNM_ADRS) 앞부분 일치 ('서울특별시 성북구 성북동%') 범위 조회
+--   조건 없음        : 기본키 인덱스 (CLTR_MNMT_NO, CLTR_HSTR_NO)
+-- 02 스크립트 이후이므로 세대 테이블 _A, _B 모두에 만듭니다.
+-- 섀도 적재는 적재 후 같은 이름의 인덱스를 다시 만듭니다 (OnbidShadowTableManager.SECONDARY_INDEXES).
+
+CREATE INDEX IX_KAI_A_LIST_DPSL ON KAMCO_AUCTION_ITEMS_A (DPSL_MTD_CD, CLTR_MNMT_NO, CLTR_HSTR_NO);
+CREATE INDEX IX_KAI_B_LIST_DPSL ON KAMCO_AUCTION_ITEMS_B (DPSL_MTD_CD, CLTR_MNMT_NO, CLTR_HSTR_NO);
+CREATE INDEX IX_KAI_A_LDNM_ADRS ON KAMCO_AUCTION_ITEMS_A (LDNM_ADRS);
+CREATE INDEX IX_KAI_B_LDNM_ADRS ON KAMCO_AUCTION_ITEMS_B (LDNM_ADRS);
+
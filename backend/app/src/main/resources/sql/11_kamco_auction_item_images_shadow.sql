@@ -0,0 +1,43 @@
+-- 물건 이미지도 물건과 같은 세대(_A, _B)로 나눕니다 (sql/06 의 "세대를 나누지 않음"을 대체)
+-- 섀도 적재는 공개되지 않은 세대의 이미지 테이블에 쓰므로 공개 중인 이미지를 건드리지 않고,
+-- 롤백(이전 세대로 시노님 전환)하면 이미지도 함께 이전 세대로 돌아갑니다.
+--
+-- KAMCO_AUCTION_ITEM_IMAGES 는 뷰로 바꾸어 시노님 KAMCO_AUCTION_ITEMS 가 가리키는 세대의 이미지만 보여 줍니다.
+-- 시노님 전환 한 번으로 물건과 이미지가 함께 바뀌므로 조회 SQL(OnbidItemMapper.selectItemImages)은 그대로 둡니다.
+-- 적재는 OnbidShadowTableManager 가 알려 주는 세대 테이블에 직접 씁니다 (뷰에는 쓸 수 없음).
+--
+-- 순서: 세대 테이블 생성(현재 이미지는 공개 세대 쪽으로 복사) → PK → 기존 테이블 삭제 → 뷰 생성
+-- 공개되지 않은 세대는 이미지가 비어 있으므로 다음 섀도 적재 전까지 롤백하면 이미지가 보이지 않습니다.
+
+CREATE TABLE KAMCO_AUCTION_ITEM_IMAGES_A AS
+SELECT * FROM KAMCO_AUCTION_ITEM_IMAGES
+ WHERE EXISTS (SELECT 1 FROM USER_SYNONYMS
+                WHERE SYNONYM_NAME = 'KAMCO_AUCTION_ITEMS' AND TABLE_NAME = 'KAMCO_AUCTION_ITEMS_A');
+
+CREATE TABLE KAMCO_AUCTION_ITEM_IMAGES_B AS
+SELECT * FROM KAMCO_AUCTION_ITEM_IMAGES
+ WHERE EXISTS (SELECT 1 FROM USER_SYNONYMS
+                WHERE SYNONYM_NAME = 'KAMCO_AUCTION_ITEMS' AND TABLE_NAME = 'KAMCO_AUCTION_ITEMS_B');
+
+ALTER TABLE KAMCO_AUCTION_ITEM_IMAGES_A ADD CONSTRAINT PK_KAMCO_AUCTION_ITEM_IMAGES_A
+    PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ);
+ALTER TABLE KAMCO_AUCTION_ITEM_IMAGES_B ADD CONSTRAINT PK_KAMCO_AUCTION_ITEM_IMAGES_B
+    PRIMARY KEY (CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ);
+
+COMMENT ON TABLE KAMCO_AUCTION_ITEM_IMAGES_A IS '온비드 공매물건 이미지 (세대 A)';
+COMMENT ON TABLE KAMCO_AUCTION_ITEM_IMAGES_B IS '온비드 공매물건 이미지 (세대 B)';
+
+DROP TABLE KAMCO_AUCTION_ITEM_IMAGES;
+
+CREATE OR REPLACE VIEW KAMCO_AUCTION_ITEM_IMAGES AS
+SELECT CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ, IMG_URL
+  FROM KAMCO_AUCTION_ITEM_IMAGES_A
+ WHERE EXISTS (SELECT 1 FROM USER_SYNONYMS
+                WHERE SYNONYM_NAME = 'KAMCO_AUCTION_ITEMS' AND TABLE_NAME = 'KAMCO_AUCTION_ITEMS_A')
+UNION ALL
+SELECT CLTR_MNMT_NO, CLTR_HSTR_NO, IMG_SEQ, IMG_URL
+  FROM KAMCO_AUCTION_ITEM_IMAGES_B
+ WHERE EXISTS (SELECT 1 FROM USER_SYNONYMS
+                WHERE SYNONYM_NAME = 'KAMCO_AUCTION_ITEMS' AND TABLE_NAME = 'KAMCO_AUCTION_ITEMS_B');
+
+COMMENT ON TABLE KAMCO_AUCTION_ITEM_IMAGES IS '온비드 공매물건 이미지 (공개 세대, 읽기 전용 뷰)';
@@ -0,0 +1,45 @@
+-- 숫자/일시로 바꾼 컬럼(sql/04)의 OpenAPI 원문 문자열을 함께 저장합니다
+-- 적재 데이터로 답하는 목록 조회(OnbidLocalListService)가 OpenAPI 응답과 같은 문자열을 돌려주기 위함입니다.
+-- 숫자/일시 값만으로는 원문을 되살릴 수 없습니다 ("(10%)" → 10, "202410011000" → 분 단위 일시 등).
+--
+-- 원문이 없는 기존 행은 목록 조회에서 숫자/일시 값을 문자열로 바꾸어 돌려줍니다.
+-- CONTENT_HASH 에 원문이 포함되므로 적용 후 첫 증분 적재는 전체를 변경으로 보고 한 번 MERGE 합니다.
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_A ADD (
+    MIN_BID_PRC_TXT VARCHAR2(100),
+    APSL_ASES_AVG_AMT_TXT VARCHAR2(100),
+    FEE_RATE_TXT VARCHAR2(100),
+    PBCT_BEGN_DTM_TXT VARCHAR2(40),
+    PBCT_CLS_DTM_TXT VARCHAR2(40),
+    USCBD_CNT_TXT VARCHAR2(40),
+    IQRY_CNT_TXT VARCHAR2(40),
+    VHCL_MLGE_TXT VARCHAR2(100)
+);
+
+ALTER TABLE KAMCO_AUCTION_ITEMS_B ADD (
+    MIN_BID_PRC_TXT VARCHAR2(100),
+    APSL_ASES_AVG_AMT_TXT VARCHAR2(100),
+    FEE_RATE_TXT VARCHAR2(100),
+    PBCT_BEGN_DTM_TXT VARCHAR2(40),
+    PBCT_CLS_DTM_TXT VARCHAR2(40),
+    USCBD_CNT_TXT VARCHAR2(40),
+    IQRY_CNT_TXT VARCHAR2(40),
+    VHCL_MLGE_TXT VARCHAR2(100)
+);
+
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.MIN_BID_PRC_TXT IS '최저입찰가 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.APSL_ASES_AVG_AMT_TXT IS '감정평가평균금액 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.FEE_RATE_TXT IS '수수료율 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.PBCT_BEGN_DTM_TXT IS '공고시작일시 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.PBCT_CLS_DTM_TXT IS '공고종료일시 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.USCBD_CNT_TXT IS '유찰횟수 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.IQRY_CNT_TXT IS '조회수 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_A.VHCL_MLGE_TXT IS '주행거리 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.MIN_BID_PRC_TXT IS '최저입찰가 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.APSL_ASES_AVG_AMT_TXT IS '감정평가평균금액 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.FEE_RATE_TXT IS '수수료율 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.PBCT_BEGN_DTM_TXT IS '공고시작일시 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.PBCT_CLS_DTM_TXT IS '공고종료일시 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.USCBD_CNT_TXT IS '유찰횟수 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.IQRY_CNT_TXT IS '조회수 OpenAPI 원문';
+COMMENT ON COLUMN KAMCO_AUCTION_ITEMS_B.VHCL_MLGE_TXT IS '주행거리 OpenAPI 원문';
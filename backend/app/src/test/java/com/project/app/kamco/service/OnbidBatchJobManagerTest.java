@@ -0,0 +1,111 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidBatchResult;
+import com.project.app.kamco.dto.OnbidLoadMode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OnbidBatchJobManagerTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final BlockingBatchService batchService = new BlockingBatchService();
+	private final OnbidBatchJobManager manager = new OnbidBatchJobManager(batchService, null,
+			new OnbidIngestMetrics(new SimpleMeterRegistry(), null), new OnbidSearchService(null, null, false, 100));
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		manager.shutdown();
+	}
+
+	@Test
+	void sameModeStartAttachesToRunningJob() throws Exception {
+		OnbidBatchJobManager.Submission first = manager.start(OnbidLoadMode.INCREMENTAL);
+		OnbidBatchJobManager.Submission second = manager.start(OnbidLoadMode.INCREMENTAL);
+
+		assertFalse(first.attached());
+		assertTrue(second.attached());
+		assertSame(first.job(), second.job());
+
+		release.countDown();
+		assertEquals(first.job().getRunId(), first.job().await().getRunId());
+		assertEquals(1, batchService.calls);
+	}
+
+	@Test
+	void otherWorkConflictsWithRunningJob() {
+		manager.start(OnbidLoadMode.INCREMENTAL);
+
+		assertThrows(IllegalStateException.class, () -> manager.start(OnbidLoadMode.FULL));
+		assertThrows(IllegalStateException.class, () -> manager.resume("20240101000000000"));
+		assertThrows(IllegalStateException.class, () -> manager.replay("20240101000000000", OnbidLoadMode.INCREMENTAL));
+	}
+
+	@Test
+	void sameReplayAttachesButOtherModeConflicts() {
+		OnbidBatchJobManager.Submission first = manager.replay("20240101000000000", OnbidLoadMode.SHADOW);
+
+		assertTrue(manager.replay("20240101000000000", OnbidLoadMode.SHADOW).attached());
+		assertThrows(IllegalStateException.class, () -> manager.replay("20240101000000000", OnbidLoadMode.FULL));
+		assertThrows(IllegalStateException.class, () -> manager.replay("20240202000000000", OnbidLoadMode.SHADOW));
+		assertEquals("20240101000000000", first.job().getReplayOf());
+	}
+
+	@Test
+	void shadowRollbackWaitsForRunningJob() throws Exception {
+		OnbidBatchJob job = manager.start(OnbidLoadMode.SHADOW).job();
+
+		assertThrows(IllegalStateException.class, manager::rollbackShadow);
+
+		release.countDown();
+		job.await();
+		assertEquals("KAMCO_AUCTION_ITEMS_A", manager.rollbackShadow());
+	}
+
+	/** 적재 대신 release 가 풀릴 때까지 기다렸다가 빈 결과를 돌려주는 적재 서비스 */
+	private class BlockingBatchService extends OnbidBatchService {
+		private volatile int calls;
+
+		BlockingBatchService() {
+			super(null, null, null, null, null, null, null, null);
+		}
+
+		@Override
+		public OnbidBatchResult run(OnbidLoadMode mode, OnbidBatchJob job) throws Exception {
+			return block(mode, job);
+		}
+
+		@Override
+		public OnbidBatchResult resume(String runId, OnbidBatchJob job) throws Exception {
+			return block(null, job);
+		}
+
+		@Override
+		public OnbidBatchResult replay(String archivedRunId, OnbidLoadMode mode, OnbidBatchJob job) throws Exception {
+			return block(mode, job);
+		}
+
+		@Override
+		public String rollbackShadow() {
+			return "KAMCO_AUCTION_ITEMS_A";
+		}
+
+		private OnbidBatchResult block(OnbidLoadMode mode, OnbidBatchJob job) throws InterruptedException {
+			calls++;
+			assertTrue(release.await(10, TimeUnit.SECONDS));
+			return OnbidBatchResult.builder().mode(mode).runId(job.getRunId()).build();
+		}
+	}
+}
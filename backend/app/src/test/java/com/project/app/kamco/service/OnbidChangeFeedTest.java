@@ -0,0 +1,67 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidChangeEventDto;
+import com.project.app.kamco.dto.OnbidItem;
+
+class OnbidChangeFeedTest {
+
+	private final List<OnbidChangeEventDto> appended = new ArrayList<>();
+	private final OnbidChangeEventService events = new OnbidChangeEventService(null, null, 1000, 60000, 60000) {
+		@Override
+		public synchronized void append(List<OnbidChangeEventDto> batch) {
+			appended.addAll(batch);
+		}
+	};
+
+	@AfterEach
+	void shutdown() {
+		events.shutdown();
+	}
+
+	@Test
+	void classifiesItemsAgainstBaselineAndPublishesOnCommit() throws Exception {
+		OnbidChangeFeed feed = new OnbidChangeFeed("run-1", Map.of(
+				"M1|1", new OnbidItemWriter.StoredItem(1L, 100_000L, "입찰준비중"),
+				"M1|2", new OnbidItemWriter.StoredItem(2L, 90_000L, "입찰준비중"),
+				"M2|1", new OnbidItemWriter.StoredItem(3L, 50_000L, "입찰준비중")), events);
+		OnbidIngestPipeline.ChunkWriter writer = feed.wrap(chunk -> chunk.size());
+
+		writer.write(List.of(
+				item("M1", "3", 81_000L, "입찰준비중"),	// 직전 회차(2) 보다 낮음
+				item("M2", "1", 50_000L, "입찰진행중"),	// 같은 회차 상태 변경
+				item("M3", "1", 10_000L, "입찰준비중")));	// 처음 보는 물건
+		assertEquals(0, appended.size());
+		writer.commit();
+
+		assertEquals(List.of("PRICE_DROP", "STATUS_CHANGED", "NEW_ITEM"),
+				appended.stream().map(OnbidChangeEventDto::getEventType).toList());
+		assertEquals("2", appended.get(0).getPrevHstrNo());
+		assertEquals(90_000L, appended.get(0).getOldMinBidPrc());
+
+		writer.write(List.of(item("M2", "2", 60_000L, "입찰준비중")));
+		writer.rollback();
+		feed.removed(List.of("M1|1"));
+
+		assertEquals("REMOVED", appended.get(3).getEventType());
+		assertEquals(4, appended.size());
+		assertEquals(Map.of("PRICE_DROP", 1L, "STATUS_CHANGED", 1L, "NEW_ITEM", 1L, "REMOVED", 1L), feed.counts());
+	}
+
+	private static OnbidItem item(String mnmtNo, String hstrNo, Long price, String status) {
+		OnbidItem item = new OnbidItem();
+		item.CLTR_MNMT_NO = mnmtNo;
+		item.CLTR_HSTR_NO = hstrNo;
+		item.MIN_BID_PRC = price;
+		item.PBCT_CLTR_STAT_NM = status;
+		return item;
+	}
+}
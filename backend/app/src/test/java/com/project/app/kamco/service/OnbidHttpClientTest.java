@@ -0,0 +1,92 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class OnbidHttpClientTest {
+
+	private static final String PAGE = "<response><header><resultCode>00</resultCode></header>"
+			+ "<body><items><item><CLTR_NM>서울 아파트</CLTR_NM></item></items></body></response>";
+
+	private HttpServer server;
+	private String acceptEncoding;
+	private final OnbidHttpClient client = new OnbidHttpClient(HttpClient.newHttpClient(), 5000, true);
+
+	@BeforeEach
+	void startServer() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/gzip", exchange -> {
+			acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+			byte[] body = gzip(PAGE.getBytes(StandardCharsets.UTF_8));
+			exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.createContext("/throttled", exchange -> {
+			byte[] body = "<response><header><resultCode>22</resultCode></header></response>".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.createContext("/error", exchange -> {
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void requestsGzipAndDecodesBody() throws Exception {
+		byte[] body = client.getBytes(uri("/gzip"));
+
+		assertEquals("gzip", acceptEncoding);
+		assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), body);
+	}
+
+	@Test
+	void mapsResultCodeAndHttpStatusToUpstreamExceptions() {
+		OnbidUpstreamException throttled = assertThrows(OnbidUpstreamException.class,
+				() -> client.getBytes(uri("/throttled")));
+		assertTrue(throttled.isThrottled());
+
+		OnbidUpstreamException error = assertThrows(OnbidUpstreamException.class, () -> client.getBytes(uri("/error")));
+		assertEquals(503, error.getStatusCode());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+	}
+
+	private static byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(data);
+		}
+		return bytes.toByteArray();
+	}
+}
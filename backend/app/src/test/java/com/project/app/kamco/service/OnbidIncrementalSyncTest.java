@@ -0,0 +1,59 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+class OnbidIncrementalSyncTest {
+
+	@Test
+	void writesOnlyNewAndChangedItemsAndCountsOnCommit() {
+		OnbidIncrementalSync sync = new OnbidIncrementalSync(Map.of(
+				"A|1", new OnbidItemWriter.StoredItem(10L, null, null),
+				"B|1", new OnbidItemWriter.StoredItem(20L, null, null),
+				"C|1", new OnbidItemWriter.StoredItem(30L, null, null)));
+		OnbidIngestPipeline.ChunkFilter filter = sync.session();
+
+		List<OnbidItem> changed = filter.apply(List.of(item("A", 10L), item("B", 21L), item("D", 40L), item("A", 10L)));
+
+		assertEquals(List.of("B", "D"), changed.stream().map(item -> item.CLTR_MNMT_NO).toList());
+		assertEquals(0, sync.getInserted()); // 확정 전에는 세지 않습니다
+		filter.committed();
+		assertEquals(1, sync.getInserted());
+		assertEquals(1, sync.getUpdated());
+		assertEquals(1, sync.getUnchanged());
+		assertEquals(List.of("C|1"), sync.removedKeys());
+	}
+
+	@Test
+	void forgetsKeysOfRolledBackChunks() {
+		OnbidIncrementalSync sync = new OnbidIncrementalSync(Map.of(
+				"A|1", new OnbidItemWriter.StoredItem(10L, null, null)));
+		OnbidIngestPipeline.ChunkFilter filter = sync.session();
+
+		filter.apply(List.of(item("A", 11L), item("D", 40L)));
+		filter.rolledBack();
+
+		// 롤백된 물건은 받지 않은 것으로 보고, 다시 받으면 다시 씁니다
+		assertEquals(List.of("A|1"), sync.removedKeys());
+		assertEquals(0, sync.getUpdated() + sync.getInserted());
+		assertEquals(2, filter.apply(List.of(item("A", 11L), item("D", 40L))).size());
+		filter.committed();
+		assertEquals(1, sync.getInserted());
+		assertEquals(1, sync.getUpdated());
+		assertEquals(List.of(), sync.removedKeys());
+	}
+
+	private static OnbidItem item(String cltrMnmtNo, long contentHash) {
+		OnbidItem item = new OnbidItem();
+		item.CLTR_MNMT_NO = cltrMnmtNo;
+		item.CLTR_HSTR_NO = "1";
+		item.CONTENT_HASH = contentHash;
+		return item;
+	}
+}
@@ -0,0 +1,157 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+class OnbidIngestPipelineTest {
+
+	private static final int ITEMS_PER_PAGE = 3;
+
+	private final OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+	private final List<String> committed = new CopyOnWriteArrayList<>();
+	private final Set<Integer> completedPages = new ConcurrentSkipListSet<>();
+	private final Set<Integer> failedPages = new ConcurrentSkipListSet<>();
+
+	@Test
+	void failedFetchFailsOnlyThatPage() throws Exception {
+		OnbidIngestPipeline.PageFetcher fetcher = pageNo -> {
+			if (pageNo == 3) {
+				throw new IOException("upstream 500");
+			}
+			return page(pageNo);
+		};
+
+		OnbidIngestPipeline.Result result = pipeline(fetcher, () -> new FakeWriter(null)).run(List.of(1, 2, 3, 4));
+
+		assertEquals(List.of(3), result.failedPages());
+		assertEquals(Set.of(1, 2, 4), completedPages);
+		assertEquals(Set.of(3), failedPages);
+		assertEquals(9, result.writtenRows());
+		assertEquals(keys(1, 2, 4), new TreeSet<>(committed));
+	}
+
+	@Test
+	void failedWriteRollsBackUncommittedChunksAndFailsTheirPages() throws Exception {
+		OnbidIngestPipeline.Result result = pipeline(this::page, () -> new FakeWriter("2-1")).run(List.of(1, 2, 3));
+
+		// 실패한 chunk 와 함께 확정을 기다리던 chunk 의 페이지도 실패하고, 확정된 페이지만 완료됩니다
+		assertTrue(result.failedPages().contains(2));
+		assertEquals(new TreeSet<>(result.failedPages()), failedPages);
+		assertEquals(Set.of(1, 2, 3), union(completedPages, failedPages));
+		assertEquals(keys(completedPages.stream().mapToInt(Integer::intValue).toArray()), new TreeSet<>(committed));
+		assertEquals(committed.size(), result.writtenRows());
+	}
+
+	@Test
+	void refetchedPageIsWrittenAfterRollback() throws Exception {
+		OnbidItemDedup dedup = new OnbidItemDedup();
+		AtomicBoolean failOnce = new AtomicBoolean(true);
+		OnbidIngestPipeline.WriterFactory writers = () -> new FakeWriter(null) {
+			@Override
+			public int write(List<OnbidItem> chunk) throws Exception {
+				if (chunk.stream().anyMatch(item -> item.CLTR_MNMT_NO.startsWith("2-")) && failOnce.getAndSet(false)) {
+					throw new IllegalStateException("ORA-00001");
+				}
+				return super.write(chunk);
+			}
+		}.filtered(dedup.session());
+
+		OnbidIngestPipeline.Result first = pipeline(this::page, writers).run(List.of(2));
+		assertEquals(List.of(2), first.failedPages());
+
+		// 경계 페이지 재수집처럼 같은 실행(같은 중복 제거)에서 다시 받으면 롤백된 물건을 다시 씁니다
+		OnbidIngestPipeline.Result second = pipeline(this::page, writers).run(List.of(2));
+		assertEquals(List.of(), second.failedPages());
+		assertEquals(keys(2), new TreeSet<>(committed));
+		assertEquals(0, dedup.skipped());
+	}
+
+	private OnbidIngestPipeline pipeline(OnbidIngestPipeline.PageFetcher fetcher,
+			OnbidIngestPipeline.WriterFactory writers) {
+		return new OnbidIngestPipeline(new OnbidIngestPipeline.Settings(2, 1, 1, 4, 2, 100), fetcher, parser, writers,
+				new OnbidIngestPipeline.PageListener() {
+					@Override
+					public void pageCompleted(int pageNo, int itemCount, long pageHash) {
+						completedPages.add(pageNo);
+					}
+
+					@Override
+					public void pageFailed(int pageNo, Exception cause) {
+						failedPages.add(pageNo);
+					}
+				});
+	}
+
+	/** 확정 전까지 쓴 물건을 모아 두었다가 commit 하면 committed 로 옮기는 writer. failKey 물건을 쓰면 실패 */
+	private class FakeWriter implements OnbidIngestPipeline.ChunkWriter {
+		private final String failKey;
+		private final List<String> pending = new ArrayList<>();
+
+		FakeWriter(String failKey) {
+			this.failKey = failKey;
+		}
+
+		@Override
+		public int write(List<OnbidItem> chunk) throws Exception {
+			for (OnbidItem item : chunk) {
+				if (item.CLTR_MNMT_NO.equals(failKey)) {
+					throw new IllegalStateException("ORA-01400");
+				}
+				pending.add(item.CLTR_MNMT_NO);
+			}
+			return chunk.size();
+		}
+
+		@Override
+		public void commit() {
+			committed.addAll(pending);
+			pending.clear();
+		}
+
+		@Override
+		public void rollback() {
+			pending.clear();
+		}
+	}
+
+	private byte[] page(int pageNo) {
+		StringBuilder items = new StringBuilder();
+		for (int i = 1; i <= ITEMS_PER_PAGE; i++) {
+			items.append("<item><CLTR_MNMT_NO>").append(pageNo).append('-').append(i)
+					.append("</CLTR_MNMT_NO><CLTR_HSTR_NO>1</CLTR_HSTR_NO></item>");
+		}
+		return ("<response><header><resultCode>00</resultCode></header><body><items>" + items
+				+ "</items><pageNo>" + pageNo + "</pageNo><totalCount>100</totalCount></body></response>")
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Set<String> keys(int... pages) {
+		Set<String> keys = new TreeSet<>();
+		for (int pageNo : pages) {
+			for (int i = 1; i <= ITEMS_PER_PAGE; i++) {
+				keys.add(pageNo + "-" + i);
+			}
+		}
+		return keys;
+	}
+
+	private static Set<Integer> union(Set<Integer> a, Set<Integer> b) {
+		return Stream.concat(a.stream(), b.stream()).collect(Collectors.toSet());
+	}
+}
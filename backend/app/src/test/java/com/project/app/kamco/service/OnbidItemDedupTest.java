@@ -0,0 +1,121 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+class OnbidItemDedupTest {
+
+	@Test
+	void dropsItemsSeenOnEarlierPages() {
+		OnbidItemDedup dedup = new OnbidItemDedup();
+		OnbidIngestPipeline.ChunkFilter filter = dedup.session();
+
+		assertEquals(2, filter.apply(List.of(item("2024-0001-001", "1"), item("2024-0001-002", "1"))).size());
+		List<OnbidItem> second = filter.apply(List.of(item("2024-0001-002", "1"), item("2024-0001-002", "2")));
+		filter.committed();
+
+		assertEquals(1, second.size());
+		assertEquals("2", second.get(0).CLTR_HSTR_NO);
+		assertEquals(1, dedup.skipped());
+		assertEquals(3, dedup.size());
+	}
+
+	@Test
+	void forgetsKeysOfRolledBackChunks() {
+		OnbidItemDedup dedup = new OnbidItemDedup();
+		OnbidIngestPipeline.ChunkFilter writer1 = dedup.session();
+		OnbidIngestPipeline.ChunkFilter writer2 = dedup.session();
+		writer1.apply(List.of(item("2024-0001-001", "1")));
+		writer1.committed();
+		writer2.apply(List.of(item("2024-0001-001", "1"), item("2024-0001-002", "1")));
+		writer2.rolledBack();
+
+		// 롤백된 chunk 의 새 키만 잊고, 확정된 키는 계속 거릅니다
+		List<OnbidItem> refetched = writer2.apply(List.of(item("2024-0001-001", "1"), item("2024-0001-002", "1")));
+		writer2.committed();
+		assertEquals(List.of("2024-0001-002"), refetched.stream().map(item -> item.CLTR_MNMT_NO).toList());
+		assertEquals(1, dedup.skipped());
+		assertEquals(2, dedup.size());
+	}
+
+	@Test
+	void keepsKeysOfRowsCommittedByDirectPathWrites() throws Exception {
+		OnbidItemDedup dedup = new OnbidItemDedup();
+		List<String> durable = new ArrayList<>();
+		boolean[] failOnce = { true };
+		// direct-path 세션처럼 write 할 때마다(2건 단위) 확정하는 writer. 처음 C 를 쓸 때 실패
+		OnbidIngestPipeline.ChunkWriter directPath = new OnbidIngestPipeline.ChunkWriter() {
+			@Override
+			public int write(List<OnbidItem> chunk) {
+				if (failOnce[0] && chunk.stream().anyMatch(item -> item.CLTR_MNMT_NO.equals("C"))) {
+					failOnce[0] = false;
+					throw new IllegalStateException("ORA-01653");
+				}
+				chunk.forEach(item -> durable.add(item.CLTR_MNMT_NO));
+				return chunk.size();
+			}
+
+			@Override
+			public int autoCommitRows() {
+				return 2;
+			}
+		};
+		OnbidIngestPipeline.ChunkWriter writer = directPath.filtered(dedup.session());
+		List<OnbidItem> chunk = List.of(item("A", "1"), item("B", "1"), item("C", "1"), item("D", "1"), item("E", "1"));
+
+		assertThrows(IllegalStateException.class, () -> writer.write(chunk));
+		writer.rollback();
+
+		// 이미 확정된 A, B 는 다시 쓰지 않고, 롤백된 나머지만 씁니다
+		assertEquals(3, writer.write(chunk));
+		writer.commit();
+		assertEquals(List.of("A", "B", "C", "D", "E"), durable);
+		assertEquals(2, dedup.skipped());
+	}
+
+	@Test
+	void keySetRemovesWithoutBreakingProbeChains() {
+		OnbidLongKeySet set = new OnbidLongKeySet();
+		for (long key = 0; key < 10_000; key++) {
+			set.add(key * 31);
+		}
+		for (long key = 0; key < 10_000; key += 2) {
+			assertTrue(set.remove(key * 31));
+		}
+		assertFalse(set.remove(31 * 2));
+		for (long key = 0; key < 10_000; key++) {
+			assertEquals(key % 2 == 1, set.contains(key * 31));
+		}
+		assertEquals(5_000, set.size());
+	}
+
+	@Test
+	void keySetGrowsAndKeepsZeroKey() {
+		OnbidLongKeySet set = new OnbidLongKeySet();
+		for (long key = 0; key < 100_000; key++) {
+			assertTrue(set.add(key * 31));
+		}
+		for (long key = 0; key < 100_000; key++) {
+			assertFalse(set.add(key * 31));
+		}
+		assertTrue(set.contains(0));
+		assertFalse(set.contains(1));
+		assertEquals(100_000, set.size());
+	}
+
+	private static OnbidItem item(String mnmtNo, String hstrNo) {
+		OnbidItem item = new OnbidItem();
+		item.CLTR_MNMT_NO = mnmtNo;
+		item.CLTR_HSTR_NO = hstrNo;
+		return item;
+	}
+}
@@ -0,0 +1,150 @@
+package com.project.app.kamco.service;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+import com.project.app.kamco.mapper.OnbidItemMapper;
+
+/**
+ * OnbidItemMapper.xml 을 애플리케이션과 같은 MyBatis 설정(mapUnderscoreToCamelCase, dto 별칭)으로 읽고,
+ * 조회는 가짜 JDBC 가 처리하는 테스트 도구.
+ * 결과 컬럼은 실행된 SQL 의 SELECT 목록 그대로이며, 값은 addRow 로 넣은 컬럼 값(없으면 NULL)입니다.
+ */
+final class OnbidItemMapperFixture {
+
+	private final List<Map<String, Object>> rows = new ArrayList<>();
+	private final List<String> columns = new ArrayList<>();
+	private final OnbidItemMapper mapper;
+
+	OnbidItemMapperFixture() throws Exception {
+		Configuration configuration = new Configuration(
+				new Environment("test", new JdbcTransactionFactory(), proxy(DataSource.class, (method, args) ->
+						method.equals("getConnection") ? connection() : null)));
+		configuration.setMapUnderscoreToCamelCase(true);
+		configuration.getTypeAliasRegistry().registerAliases("com.project.app.kamco.dto");
+		String resource = "mapper/OnbidItemMapper.xml";
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+			new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+		}
+		mapper = new DefaultSqlSessionFactory(configuration).openSession(true).getMapper(OnbidItemMapper.class);
+	}
+
+	OnbidItemMapper mapper() {
+		return mapper;
+	}
+
+	void addRow(Map<String, Object> values) {
+		rows.add(values);
+	}
+
+	/** 마지막으로 실행된 조회의 SELECT 컬럼 */
+	List<String> columns() {
+		return columns;
+	}
+
+	private Connection connection() {
+		return proxy(Connection.class, (method, args) -> method.equals("prepareStatement")
+				? statement(selectColumns((String) args[0]))
+				: null);
+	}
+
+	private PreparedStatement statement(List<String> selected) {
+		columns.clear();
+		columns.addAll(selected);
+		return proxy(PreparedStatement.class, (method, args) -> switch (method) {
+			case "execute" -> true;
+			case "getResultSet" -> resultSet(selected);
+			case "getUpdateCount" -> -1;
+			default -> null;
+		});
+	}
+
+	private ResultSet resultSet(List<String> selected) {
+		int[] row = { -1 };
+		Object[] last = { null };
+		ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> switch (method) {
+			case "getColumnCount" -> selected.size();
+			case "getColumnLabel", "getColumnName" -> selected.get((Integer) args[0] - 1);
+			case "getColumnType" -> jdbcType(selected.get((Integer) args[0] - 1));
+			default -> null;
+		});
+		return proxy(ResultSet.class, (method, args) -> {
+			switch (method) {
+				case "next":
+					return ++row[0] < rows.size();
+				case "getMetaData":
+					return metaData;
+				case "wasNull":
+					return last[0] == null;
+				case "getString", "getLong", "getInt", "getBigDecimal", "getObject":
+					last[0] = rows.get(row[0]).get(((String) args[0]).toUpperCase(Locale.ROOT));
+					return value(method, last[0]);
+				default:
+					return null;
+			}
+		});
+	}
+
+	// ResultSet getter 별 반환 타입 (NULL 이면 JDBC 처럼 0)
+	private static Object value(String getter, Object value) {
+		return switch (getter) {
+			case "getString" -> value == null ? null : value.toString();
+			case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+			case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+			default -> value;
+		};
+	}
+
+	private int jdbcType(String column) {
+		Object sample = rows.isEmpty() ? null : rows.get(0).get(column);
+		if (sample instanceof LocalDateTime) {
+			return Types.TIMESTAMP;
+		}
+		return sample instanceof Number || sample instanceof BigDecimal ? Types.NUMERIC : Types.VARCHAR;
+	}
+
+	// "SELECT A, B, C FROM ..." 의 컬럼 목록
+	private static List<String> selectColumns(String sql) {
+		String normalized = sql.replaceAll("\\s+", " ").trim();
+		String list = normalized.substring("SELECT ".length(), normalized.indexOf(" FROM "));
+		List<String> selected = new ArrayList<>();
+		for (String column : list.split(",")) {
+			selected.add(column.trim());
+		}
+		return selected;
+	}
+
+	private interface Handler {
+		Object invoke(String method, Object[] args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		Map<Class<?>, Object> defaults = new HashMap<>(Map.of(boolean.class, false, int.class, 0, long.class, 0L));
+		return (T) Proxy.newProxyInstance(OnbidItemMapperFixture.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Object result = handler.invoke(method.getName(), args);
+					return result == null ? defaults.get(method.getReturnType()) : result;
+				});
+	}
+}
@@ -0,0 +1,102 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidListQueryDto;
+import com.project.app.kamco.dto.OnbidSearchHit;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+
+class OnbidItemMapperTest {
+
+	@Test
+	void mapsEveryLocalListColumnToItemField() throws Exception {
+		OnbidItemMapperFixture fixture = new OnbidItemMapperFixture();
+		Map<String, Object> row = new HashMap<>();
+		for (Field field : OnbidItem.class.getFields()) {
+			row.put(field.getName(), sample(field.getType()));
+		}
+		row.put("CLTR_MNMT_NO", "2024-0100-000001");
+		row.put("MIN_BID_PRC", 150000000L);
+		row.put("PBCT_BEGN_DTM", LocalDateTime.of(2024, 10, 1, 10, 0));
+		fixture.addRow(row);
+
+		List<OnbidItem> items = fixture.mapper().selectLocalItems(OnbidListQueryDto.builder().numOfRows(10).offset(0).build());
+
+		OnbidItem item = items.get(0);
+		assertEquals("2024-0100-000001", item.CLTR_MNMT_NO);
+		assertEquals(150000000L, item.MIN_BID_PRC);
+		assertEquals(LocalDateTime.of(2024, 10, 1, 10, 0), item.PBCT_BEGN_DTM);
+		// 조회하는 컬럼은 모두 같은 이름의 필드로 읽혀야 합니다
+		for (String column : fixture.columns()) {
+			assertNotNull(OnbidItem.class.getField(column).get(item), column);
+		}
+	}
+
+	@Test
+	void buildsSearchIndexFromMappedRows() throws Exception {
+		OnbidItemMapperFixture fixture = new OnbidItemMapperFixture();
+		fixture.addRow(Map.of("CLTR_MNMT_NO", "M1", "CLTR_HSTR_NO", "1", "CONTENT_HASH", 11L,
+				"CLTR_NM", "강남구 역삼동 아파트", "LDNM_ADRS", "서울특별시 강남구 역삼동 123"));
+		fixture.addRow(Map.of("CLTR_MNMT_NO", "M2", "CLTR_HSTR_NO", "1", "CONTENT_HASH", 12L,
+				"CLTR_NM", "BMW 520d 승용차", "GOODS_NM", "BMW 520d"));
+		OnbidSearchService search = new OnbidSearchService(fixture.mapper(), localList(fixture), true, 100);
+
+		search.refresh("run-1");
+
+		Map<String, Object> found = search.search("역삼", 10);
+		assertEquals(2, found.get("indexedCount"));
+		assertEquals(List.of("M1|1"), keys(found));
+		assertEquals(List.of("M2|1"), keys(search.search("bmw", 10)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> keys(Map<String, Object> found) {
+		return ((List<OnbidSearchHit>) found.get("items")).stream()
+				.map(hit -> hit.cltrMnmtNo() + "|" + hit.cltrHstrNo())
+				.toList();
+	}
+
+	// 실행 run-1 이 완료된 적재 상태
+	private static OnbidLocalListService localList(OnbidItemMapperFixture fixture) {
+		OnbidBatchMapper batchMapper = (OnbidBatchMapper) Proxy.newProxyInstance(
+				OnbidItemMapperTest.class.getClassLoader(), new Class<?>[] { OnbidBatchMapper.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "selectRecentRuns" -> List.of(OnbidBatchRunDto.builder().runId("run-1").loadMode("FULL")
+							.status("COMPLETED").endedAt(LocalDateTime.now().minusMinutes(5)).build());
+					case "selectPartitions" -> List.of(OnbidBatchPartitionDto.builder().runId("run-1")
+							.partitionCd("ALL").build());
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+		return new OnbidLocalListService(fixture.mapper(), batchMapper, true, 60, 0);
+	}
+
+	private static Object sample(Class<?> type) {
+		if (type == Long.class || type == long.class) {
+			return 7L;
+		}
+		if (type == Integer.class) {
+			return 3;
+		}
+		if (type == BigDecimal.class) {
+			return new BigDecimal("1.5");
+		}
+		if (type == LocalDateTime.class) {
+			return LocalDateTime.of(2025, 1, 2, 3, 4);
+		}
+		return "x";
+	}
+}
@@ -0,0 +1,168 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OnbidListCacheTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final OnbidListCache cache = new OnbidListCache(registry, true, 1, 60, 1440, 5000);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void servesNormalizedKeysFromCache() throws Exception {
+		Map<String, Object> first = cache.get(OnbidListCache.Key.of(10, 1, "0001", "서울특별시", "", null, null, null), this::load);
+		Map<String, Object> second = cache.get(OnbidListCache.Key.of(10, 1, "0001", " 서울특별시 ", null, "", null, " "), this::load);
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.stats().hitCount());
+		assertEquals(1.0, registry.get("cache.gets").tag("cache", "onbid.list").tag("result", "hit").functionCounter().count());
+
+		cache.get(OnbidListCache.Key.of(10, 2, "0001", "서울특별시", null, null, null, null), this::load);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void cachedResultIsReadOnly() throws Exception {
+		Map<String, Object> result = cache.get(OnbidListCache.Key.of(10, 1, "0001", null, null, null, null, null), this::load);
+
+		assertThrows(UnsupportedOperationException.class, () -> result.put("totalCount", 0));
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> items = (List<Map<String, Object>>) result.get("items");
+		assertThrows(UnsupportedOperationException.class, () -> items.get(0).put("cltrNm", ""));
+	}
+
+	@Test
+	void concurrentMissesShareOneLoadAndItsFailure() throws Exception {
+		OnbidListCache.Key key = OnbidListCache.Key.of(10, 1, "0001", null, null, null, null, null);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Future<Map<String, Object>> leader = pool.submit(() -> cache.get(key, () -> {
+				started.countDown();
+				release.await();
+				throw new OnbidUpstreamException("upstream 500", 500, null, false);
+			}));
+			started.await();
+			List<Future<Map<String, Object>>> waiters = List.of(
+					pool.submit(() -> cache.get(key, this::load)),
+					pool.submit(() -> cache.get(key, this::load)));
+			while (registry.get("onbid.list.coalesced").functionCounter().count() < 2) {
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<Map<String, Object>> waiter : waiters) {
+				Exception e = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+				assertEquals("upstream 500", e.getCause().getMessage());
+			}
+			assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+			assertEquals(0, loads.get());
+			assertEquals(0.0, registry.get("onbid.list.in.flight").gauge().value());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void servesStaleResultWhileRefreshFails() throws Exception {
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		OnbidListCache shortTtl = new OnbidListCache(meters, true, 1, 1, 1440, 5000);
+		try {
+			OnbidListCache.Key key = OnbidListCache.Key.of(10, 1, "0001", null, null, null, null, null);
+			shortTtl.get(key, this::load);
+			Thread.sleep(1100);
+
+			CountDownLatch refreshed = new CountDownLatch(1);
+			Map<String, Object> stale = shortTtl.get(key, () -> {
+				refreshed.countDown();
+				throw new OnbidUpstreamException("upstream down", 503, null, false);
+			});
+			assertEquals(true, stale.get("stale"));
+			assertEquals(1L, stale.get("ageSeconds"));
+			assertEquals(1, stale.get("totalCount"));
+			assertEquals(true, refreshed.await(5, TimeUnit.SECONDS));
+			while (meters.get("onbid.list.refresh.failures").functionCounter().count() < 1) {
+				Thread.sleep(5);
+			}
+
+			// 갱신이 실패해도 다음 요청은 계속 이전 결과를 받고, 갱신이 성공하면 새 결과
+			assertEquals(true, shortTtl.get(key, this::load).get("stale"));
+			for (int i = 0; i < 200 && shortTtl.get(key, this::load).containsKey("stale"); i++) {
+				Thread.sleep(5);
+			}
+			assertEquals(null, shortTtl.get(key, this::load).get("stale"));
+			assertEquals(2, loads.get());
+		} finally {
+			shortTtl.shutdown();
+		}
+	}
+
+	@Test
+	void countsPrefetchedPageOnFirstUse() throws Exception {
+		OnbidListCache.Key page1 = OnbidListCache.Key.of(10, 1, "0001", null, null, null, null, null);
+		OnbidListCache.Key page2 = page1.withPageNo(2);
+		cache.prefetch(page2, this::load);
+		while (registry.get("onbid.list.prefetch").tag("result", "loaded").functionCounter().count() < 1) {
+			Thread.sleep(5);
+		}
+		cache.prefetch(page2, this::load); // 이미 새 결과가 있으면 건너뜀
+
+		cache.get(page2, this::load);
+		cache.get(page2, this::load);
+
+		assertEquals(1, loads.get());
+		assertEquals(1.0, registry.get("onbid.list.prefetch").tag("result", "hit").functionCounter().count());
+	}
+
+	@Test
+	void requestDoesNotJoinThrottledPrefetch() throws Exception {
+		OnbidListCache.Key key = OnbidListCache.Key.of(10, 2, "0001", null, null, null, null, null);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		cache.prefetch(key, () -> {
+			started.countDown();
+			release.await();
+			throw new OnbidUpstreamException("호출 한도 초과", 429, null, true);
+		});
+		started.await();
+		try {
+			// 미리 조회가 끝나기 전에 들어온 요청은 직접 조회하여 성공합니다
+			assertEquals(1, cache.get(key, this::load).get("totalCount"));
+			assertEquals(0.0, registry.get("onbid.list.coalesced").functionCounter().count());
+		} finally {
+			release.countDown();
+		}
+		while (registry.get("onbid.list.prefetch").tag("result", "skipped").functionCounter().count() < 1) {
+			Thread.sleep(5);
+		}
+		assertEquals(1, loads.get());
+	}
+
+	private Map<String, Object> load() {
+		loads.incrementAndGet();
+		Map<String, Object> item = new HashMap<>();
+		item.put("cltrNm", "서울 아파트");
+		Map<String, Object> result = new HashMap<>();
+		result.put("totalCount", 1);
+		result.put("items", List.of(item));
+		return result;
+	}
+}
@@ -0,0 +1,142 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * 목록 조회 변환 + JSON 직렬화 성능 비교
+ * (기존 XmlMapper.readTree + 항목별 camelCase HashMap 방식 vs OnbidXmlStreamParser.parseList + record 직렬화)
+ *
+ * 실행: ./gradlew benchmark -PonbidBenchFile=/path/to/recorded-page.xml
+ * - 파일을 지정하지 않으면 100건짜리 합성 페이지(화면 목록 최대 크기)로 측정합니다
+ */
+@Tag("benchmark")
+class OnbidListConvertBenchmark {
+
+	private static final int WARMUP = 200;
+	private static final int ROUNDS = 1000;
+
+	private final XmlMapper xmlMapper = new XmlMapper();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+
+	@Test
+	void treeVersusTyped() throws Exception {
+		byte[] page = loadPage();
+		assertEquals(viaTree(page).get("items") instanceof List<?> l ? l.size() : -1,
+				parser.parseList(new ByteArrayInputStream(page)).items().size());
+
+		System.out.printf("page: %,d bytes%n", page.length);
+		report("tree ", () -> objectMapper.writeValueAsBytes(viaTree(page)).length);
+		report("typed", () -> objectMapper.writeValueAsBytes(viaTyped(page)).length);
+	}
+
+	private interface Run {
+		int run() throws Exception;
+	}
+
+	private void report(String name, Run run) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			run.run();
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long tid = Thread.currentThread().threadId();
+		long allocBefore = threadBean.getThreadAllocatedBytes(tid);
+		long t0 = System.nanoTime();
+		for (int i = 0; i < ROUNDS; i++) {
+			run.run();
+		}
+		long nanos = System.nanoTime() - t0;
+		long allocated = threadBean.getThreadAllocatedBytes(tid) - allocBefore;
+		System.out.printf("%s: %,d us, allocated %,d KB per request%n", name, nanos / ROUNDS / 1000,
+				allocated / ROUNDS / 1024);
+	}
+
+	private Map<String, Object> viaTyped(byte[] page) throws Exception {
+		OnbidXmlStreamParser.ListPage parsed = parser.parseList(new ByteArrayInputStream(page));
+		Map<String, Object> result = new HashMap<>();
+		result.put("totalCount", parsed.totalCount());
+		result.put("items", parsed.items());
+		return result;
+	}
+
+	// 기존 OnbidApiService 의 목록 변환과 같은 방식
+	private Map<String, Object> viaTree(byte[] page) throws Exception {
+		JsonNode bodyNode = xmlMapper.readTree(new ByteArrayInputStream(page)).path("body");
+		JsonNode itemsNode = bodyNode.path("items").path("item");
+		List<Map<String, Object>> itemList = new ArrayList<>();
+		if (itemsNode.isArray()) {
+			for (JsonNode item : itemsNode) {
+				itemList.add(toCamelCaseMap(item));
+			}
+		} else if (itemsNode.isObject()) {
+			itemList.add(toCamelCaseMap(itemsNode));
+		}
+		Map<String, Object> result = new HashMap<>();
+		result.put("totalCount", bodyNode.path("totalCount").asInt(0));
+		result.put("items", itemList);
+		return result;
+	}
+
+	private Map<String, Object> toCamelCaseMap(JsonNode node) {
+		Map<String, Object> map = new HashMap<>();
+		Iterator<String> fieldNames = node.fieldNames();
+		while (fieldNames.hasNext()) {
+			String originalKey = fieldNames.next();
+			JsonNode valueNode = node.get(originalKey);
+			String key = toCamelCase(originalKey);
+			if (key.equals("cltrImgFiles")) {
+				continue;
+			}
+			if (valueNode.isObject()) {
+				map.put(key, toCamelCaseMap(valueNode));
+			} else if (valueNode.isValueNode()) {
+				map.put(key, valueNode.asText("").trim());
+			} else {
+				map.put(key, "");
+			}
+		}
+		return map;
+	}
+
+	private String toCamelCase(String snakeCase) {
+		StringBuilder camelCase = new StringBuilder();
+		boolean upper = false;
+		for (int i = 0; i < snakeCase.length(); i++) {
+			char c = snakeCase.charAt(i);
+			if (c == '_') {
+				upper = true;
+			} else {
+				camelCase.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+				upper = false;
+			}
+		}
+		return camelCase.toString();
+	}
+
+	private byte[] loadPage() throws Exception {
+		String file = System.getProperty("onbid.bench.file", "");
+		if (!file.isBlank()) {
+			return Files.readAllBytes(Path.of(file));
+		}
+		return OnbidXmlParseBenchmark.syntheticPage(100).getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,257 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidBatchPartitionDto;
+import com.project.app.kamco.dto.OnbidBatchRunDto;
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidListItem;
+import com.project.app.kamco.dto.OnbidListQueryDto;
+import com.project.app.kamco.mapper.OnbidBatchMapper;
+import com.project.app.kamco.mapper.OnbidItemMapper;
+
+class OnbidLocalListServiceTest {
+
+	private final List<OnbidBatchRunDto> runs = new ArrayList<>();
+	private final List<OnbidBatchPartitionDto> partitions = new ArrayList<>();
+	private final List<OnbidListQueryDto> queries = new ArrayList<>();
+
+	private final OnbidLocalListService service = new OnbidLocalListService(itemMapper(), batchMapper(), true, 60, 0);
+
+	@Test
+	void servesPagesWithKeysetAfterFirstPage() {
+		completedRun("run-1", "ALL");
+
+		Map<String, Object> first = service.find(key(1, "서울특별시", "강남구", null, "50%"));
+		Map<String, Object> second = service.find(key(2, "서울특별시", "강남구", null, "50%"));
+
+		assertEquals(5, first.get("totalCount"));
+		assertEquals("local", first.get("source"));
+		assertEquals("서울특별시 강남구", queries.get(0).getAdrsPrefix());
+		assertEquals("50\\%", queries.get(0).getCltrNm());
+		assertEquals(0, queries.get(0).getOffset());
+		assertEquals("M2", queries.get(1).getAfterMnmtNo());
+		assertNull(queries.get(1).getOffset());
+		@SuppressWarnings("unchecked")
+		List<OnbidListItem> items = (List<OnbidListItem>) second.get("items");
+		assertEquals("3", items.get(0).rnum());
+		assertEquals("1.5", items.get(0).feeRate());
+		assertEquals("20250102030405", items.get(0).pbctBegnDtm());
+		assertEquals("", items.get(0).goodsNm());
+	}
+
+	@Test
+	void fallsBackWhenDataCannotAnswer() {
+		assertNull(service.find(key(1, null, null, null, null))); // 완료된 적재 없음
+
+		completedRun("run-1", "0002");
+		assertNull(service.find(key(1, null, null, null, null))); // 요청한 물건구분(0001)이 파티션에 없음
+		assertNull(service.find(key(1, null, "강남구", null, null))); // 시도 없는 시군구
+
+		runs.add(0, OnbidBatchRunDto.builder().runId("run-2").loadMode("FULL").status("RUNNING").build());
+		partitions.set(0, OnbidBatchPartitionDto.builder().partitionCd("ALL").build());
+		assertNull(service.find(key(1, null, null, null, null))); // 전체 적재 진행 중
+	}
+
+	@Test
+	void storedItemsReadBackAsUpstreamListItems() throws Exception {
+		byte[] page = UPSTREAM_PAGE.strip().getBytes(StandardCharsets.UTF_8);
+		OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+		List<OnbidListItem> upstream = parser.parseList(new ByteArrayInputStream(page)).items();
+		List<OnbidItem> parsed = new ArrayList<>();
+		parser.parse(new ByteArrayInputStream(page), parsed::add);
+
+		// 적재 INSERT 에 바인딩되는 값 그대로 저장된 행을 실제 매퍼 설정으로 다시 읽습니다
+		OnbidItemMapperFixture fixture = new OnbidItemMapperFixture();
+		for (OnbidItem item : parsed) {
+			fixture.addRow(boundColumns(item));
+		}
+		List<OnbidItem> stored = fixture.mapper().selectLocalItems(OnbidListQueryDto.builder().numOfRows(10).build());
+
+		assertEquals(upstream.size(), stored.size());
+		for (int i = 0; i < upstream.size(); i++) {
+			OnbidListItem expected = upstream.get(i);
+			OnbidListItem actual = OnbidLocalListService.toRow(stored.get(i), Long.parseLong(expected.rnum()));
+			for (RecordComponent component : OnbidListItem.class.getRecordComponents()) {
+				assertEquals(component.getAccessor().invoke(expected), component.getAccessor().invoke(actual),
+						expected.cltrMnmtNo() + " " + component.getName());
+			}
+		}
+	}
+
+	// OnbidItemWriter.bindItem 이 INSERT 에 바인딩하는 컬럼 값 (DATE 는 JDBC 처럼 LocalDateTime 으로 읽힘)
+	private static Map<String, Object> boundColumns(OnbidItem item) throws Exception {
+		Map<String, Object> row = new HashMap<>();
+		PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(
+				OnbidLocalListServiceTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+				(proxy, method, args) -> {
+					if (method.getName().startsWith("set")) {
+						Object value = method.getName().equals("setNull") ? null : args[1];
+						row.put(OnbidItemWriter.COLUMNS.get((Integer) args[0] - 1),
+								value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+					}
+					return null;
+				});
+		OnbidItemWriter.bindItem(ps, item);
+		return row;
+	}
+
+	private static final String UPSTREAM_PAGE = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<response>
+			  <header><resultCode>00</resultCode><resultMsg>NORMAL SERVICE.</resultMsg></header>
+			  <body>
+			    <items>
+			      <item>
+			        <RNUM>1</RNUM>
+			        <PLNM_NO>123456</PLNM_NO>
+			        <PBCT_NO>7654321</PBCT_NO>
+			        <PBCT_CDTN_NO>1234567</PBCT_CDTN_NO>
+			        <CLTR_NO>1122334</CLTR_NO>
+			        <CLTR_HSTR_NO>2233445</CLTR_HSTR_NO>
+			        <SCRN_GRP_CD>0001</SCRN_GRP_CD>
+			        <CTGR_FULL_NM>부동산 / 주거용건물 / 아파트</CTGR_FULL_NM>
+			        <BID_MNMT_NO>2024-1234-001</BID_MNMT_NO>
+			        <CLTR_NM>서울특별시 강남구 역삼동 123 래미안 101동 1001호</CLTR_NM>
+			        <CLTR_MNMT_NO>2024-01234-001</CLTR_MNMT_NO>
+			        <LDNM_ADRS>서울특별시 강남구 역삼동 123</LDNM_ADRS>
+			        <NMRD_ADRS>서울특별시 강남구 테헤란로 1</NMRD_ADRS>
+			        <LDNM_PNU>1168010100101230000</LDNM_PNU>
+			        <DPSL_MTD_CD>0001</DPSL_MTD_CD>
+			        <DPSL_MTD_NM>매각</DPSL_MTD_NM>
+			        <BID_MTD_NM>일반경쟁(최고가방식) / 총액</BID_MTD_NM>
+			        <MIN_BID_PRC>150000000</MIN_BID_PRC>
+			        <APSL_ASES_AVG_AMT>210,000,000원</APSL_ASES_AVG_AMT>
+			        <FEE_RATE>(10%)</FEE_RATE>
+			        <PBCT_BEGN_DTM>202410011000</PBCT_BEGN_DTM>
+			        <PBCT_CLS_DTM>20241003170000</PBCT_CLS_DTM>
+			        <PBCT_CLTR_STAT_NM>인터넷입찰진행중</PBCT_CLTR_STAT_NM>
+			        <USCBD_CNT>2</USCBD_CNT>
+			        <IQRY_CNT>1,024</IQRY_CNT>
+			        <GOODS_NM></GOODS_NM>
+			        <MANF></MANF>
+			        <MDL></MDL>
+			        <NRGT></NRGT>
+			        <GRBX></GRBX>
+			        <ENDPC></ENDPC>
+			        <VHCL_MLGE></VHCL_MLGE>
+			        <FUEL></FUEL>
+			        <SCRT_NM></SCRT_NM>
+			        <TPBZ></TPBZ>
+			        <ITM_NM></ITM_NM>
+			        <MMB_RGT_NM></MMB_RGT_NM>
+			        <CLTR_IMG_FILES>
+			          <CLTR_IMG_FILE>https://www.onbid.co.kr/a.jpg</CLTR_IMG_FILE>
+			        </CLTR_IMG_FILES>
+			      </item>
+			      <item>
+			        <RNUM>2</RNUM>
+			        <PLNM_NO>123457</PLNM_NO>
+			        <PBCT_NO>7654322</PBCT_NO>
+			        <PBCT_CDTN_NO>1234568</PBCT_CDTN_NO>
+			        <CLTR_NO>1122335</CLTR_NO>
+			        <CLTR_HSTR_NO>2233446</CLTR_HSTR_NO>
+			        <SCRN_GRP_CD>0002</SCRN_GRP_CD>
+			        <CTGR_FULL_NM>자동차 / 승용차</CTGR_FULL_NM>
+			        <BID_MNMT_NO>2024-1234-002</BID_MNMT_NO>
+			        <CLTR_NM>BMW 520d 승용차</CLTR_NM>
+			        <CLTR_MNMT_NO>2024-01234-002</CLTR_MNMT_NO>
+			        <LDNM_ADRS>경기도 성남시 분당구 정자동 1</LDNM_ADRS>
+			        <NMRD_ADRS></NMRD_ADRS>
+			        <LDNM_PNU></LDNM_PNU>
+			        <DPSL_MTD_CD>0001</DPSL_MTD_CD>
+			        <DPSL_MTD_NM>매각</DPSL_MTD_NM>
+			        <BID_MTD_NM>일반경쟁(최고가방식) / 총액</BID_MTD_NM>
+			        <MIN_BID_PRC>12,500,000</MIN_BID_PRC>
+			        <APSL_ASES_AVG_AMT>15000000</APSL_ASES_AVG_AMT>
+			        <FEE_RATE>0.50</FEE_RATE>
+			        <PBCT_BEGN_DTM>2024-10-01 10:00</PBCT_BEGN_DTM>
+			        <PBCT_CLS_DTM>20241003</PBCT_CLS_DTM>
+			        <PBCT_CLTR_STAT_NM>입찰준비중</PBCT_CLTR_STAT_NM>
+			        <USCBD_CNT>0</USCBD_CNT>
+			        <IQRY_CNT>15</IQRY_CNT>
+			        <GOODS_NM>BMW 520d</GOODS_NM>
+			        <MANF>BMW</MANF>
+			        <MDL>520d</MDL>
+			        <NRGT>1,995cc</NRGT>
+			        <GRBX>자동</GRBX>
+			        <ENDPC>190마력</ENDPC>
+			        <VHCL_MLGE>85,000km</VHCL_MLGE>
+			        <FUEL>경유</FUEL>
+			        <SCRT_NM></SCRT_NM>
+			        <TPBZ></TPBZ>
+			        <ITM_NM></ITM_NM>
+			        <MMB_RGT_NM></MMB_RGT_NM>
+			      </item>
+			    </items>
+			    <numOfRows>10</numOfRows>
+			    <pageNo>1</pageNo>
+			    <totalCount>2</totalCount>
+			  </body>
+			</response>
+			""";
+
+	private void completedRun(String runId, String partitionCd) {
+		runs.add(OnbidBatchRunDto.builder().runId(runId).loadMode("INCREMENTAL").status("COMPLETED")
+				.endedAt(LocalDateTime.now().minusMinutes(5)).build());
+		partitions.add(OnbidBatchPartitionDto.builder().runId(runId).partitionCd(partitionCd).build());
+	}
+
+	private static OnbidListCache.Key key(int pageNo, String sido, String sgk, String emd, String cltrNm) {
+		return OnbidListCache.Key.of(2, pageNo, "0001", sido, sgk, emd, null, cltrNm);
+	}
+
+	// 업무 키 M1..M5 다섯 건을 keyset/offset 조건대로 돌려주는 매퍼
+	private OnbidItemMapper itemMapper() {
+		return (OnbidItemMapper) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { OnbidItemMapper.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "countLocalItems" -> 5;
+					case "selectLocalItems" -> {
+						OnbidListQueryDto query = (OnbidListQueryDto) args[0];
+						queries.add(query);
+						int from = query.getAfterMnmtNo() != null
+								? Integer.parseInt(query.getAfterMnmtNo().substring(1)) : query.getOffset();
+						List<OnbidItem> rows = new ArrayList<>();
+						for (int i = from + 1; i <= Math.min(5, from + query.getNumOfRows()); i++) {
+							rows.add(item("M" + i));
+						}
+						yield rows;
+					}
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private OnbidBatchMapper batchMapper() {
+		return (OnbidBatchMapper) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { OnbidBatchMapper.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "selectRecentRuns" -> List.copyOf(runs);
+					case "selectPartitions" -> List.copyOf(partitions);
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private static OnbidItem item(String mnmtNo) {
+		OnbidItem item = new OnbidItem();
+		item.CLTR_MNMT_NO = mnmtNo;
+		item.CLTR_HSTR_NO = "1";
+		item.FEE_RATE = new BigDecimal("1.50");
+		item.PBCT_BEGN_DTM = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+		return item;
+	}
+}
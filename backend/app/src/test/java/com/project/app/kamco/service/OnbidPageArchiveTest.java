@@ -0,0 +1,71 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OnbidPageArchiveTest {
+
+	@TempDir
+	Path dir;
+
+	private final OnbidIngestPipeline.PageFetcher live = pageNo -> ("<page>" + pageNo + "</page>").getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void replaysArchivedPages() throws Exception {
+		OnbidPageArchive archive = new OnbidPageArchive(true, dir.toString(), 3);
+		OnbidIngestPipeline.PageFetcher archiving = archive.archiving("20261018-100000-aaaaaa", live);
+		archiving.fetch(1);
+		archiving.fetch(2);
+
+		OnbidPageArchive.ArchivedRun run = archive.find("20261018-100000-aaaaaa");
+		assertEquals(List.of(1, 2), run.pages());
+		OnbidIngestPipeline.PageFetcher replay = archive.replaying("20261018-100000-aaaaaa");
+		assertArrayEquals(live.fetch(2), replay.fetch(2));
+		assertThrows(IllegalStateException.class, () -> replay.fetch(3));
+	}
+
+	@Test
+	void keepsOnlyRecentRuns() throws Exception {
+		OnbidPageArchive archive = new OnbidPageArchive(true, dir.toString(), 2);
+		for (String runId : List.of("20261016-100000-aaaaaa", "20261017-100000-bbbbbb", "20261018-100000-cccccc")) {
+			archive.archiving(runId, live).fetch(1);
+		}
+		assertEquals(List.of("20261018-100000-cccccc", "20261017-100000-bbbbbb"),
+				archive.list().stream().map(OnbidPageArchive.ArchivedRun::runId).toList());
+		assertNull(archive.find("20261016-100000-aaaaaa"));
+	}
+
+	@Test
+	void prunesPartitionArchivesByRun() throws Exception {
+		OnbidPageArchive archive = new OnbidPageArchive(true, dir.toString(), 2);
+		archive.archiving("20261016-100000-aaaaaa_A", live).fetch(1);
+		archive.archiving("20261016-100000-aaaaaa_B", live).fetch(1);
+		// 파티션이 keep-runs 보다 많아도 같은 실행의 앞선 파티션은 지우지 않습니다
+		for (String partitionCd : List.of("A", "B", "C")) {
+			archive.archiving("20261017-100000-bbbbbb_" + partitionCd, live).fetch(1);
+		}
+		assertEquals(5, archive.list().size());
+
+		archive.archiving("20261018-100000-cccccc_A", live).fetch(1);
+		assertEquals(List.of("20261017-100000-bbbbbb_A", "20261017-100000-bbbbbb_B", "20261017-100000-bbbbbb_C"),
+				archive.findRun("20261017-100000-bbbbbb").stream().map(OnbidPageArchive.ArchivedRun::runId).toList());
+		assertEquals(List.of(), archive.findRun("20261016-100000-aaaaaa"));
+	}
+
+	@Test
+	void disabledArchiveReturnsSourceAndRejectsPathLikeRunIds() {
+		OnbidPageArchive archive = new OnbidPageArchive(false, dir.toString(), 3);
+		assertSame(live, archive.archiving("20261018-100000-aaaaaa", live));
+		assertThrows(IllegalArgumentException.class, () -> archive.replaying("../etc"));
+	}
+}
@@ -0,0 +1,56 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import com.project.app.kamco.dto.OnbidItem;
+
+class OnbidPageItemReaderTest {
+
+	private final OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+	private final byte[] page = OnbidXmlParseBenchmark.syntheticPage(5).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void restartsFromLastCommittedOffset() throws Exception {
+		ExecutionContext context = new ExecutionContext();
+		OnbidPageItemReader first = new OnbidPageItemReader(pageNo -> page, parser, 3);
+		first.open(context);
+		OnbidItem a = first.read();
+		OnbidItem b = first.read();
+		first.update(context);	// chunk(2건) 커밋 시점
+		first.read();			// 커밋되지 않은 채 실패
+		first.close();
+
+		OnbidPageItemReader restarted = new OnbidPageItemReader(pageNo -> page, parser, 3);
+		restarted.open(context);
+		OnbidItem c = restarted.read();
+		assertEquals(3, countDistinct(a, b, c));
+		int remaining = 1;
+		while (restarted.read() != null) {
+			remaining++;
+		}
+		assertEquals(3, remaining);
+		assertNull(restarted.read());
+	}
+
+	@Test
+	void failsPageOnErrorResultCode() {
+		byte[] error = """
+				<response><header><resultCode>22</resultCode><resultMsg>LIMITED NUMBER OF SERVICE REQUESTS EXCEEDS ERROR.</resultMsg></header></response>
+				""".getBytes(StandardCharsets.UTF_8);
+		OnbidPageItemReader reader = new OnbidPageItemReader(pageNo -> error, parser, 1);
+		reader.open(new ExecutionContext());
+		assertThrows(IllegalStateException.class, reader::read);
+	}
+
+	private long countDistinct(OnbidItem... items) {
+		return Arrays.stream(items).map(OnbidItem::itemKey).distinct().count();
+	}
+}
@@ -0,0 +1,125 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 물건 검색 성능 비교 (전체 물건 순차 포함 검사 = LIKE '%검색어%' 전체 스캔 vs OnbidSearchIndex)
+ *
+ * 실행: ./gradlew benchmark --tests '*OnbidSearchIndexBenchmark'
+ * - 12만 건짜리 합성 물건(시도/시군구/읍면동 주소, 부동산/차량 물건명)으로 측정합니다
+ */
+@Tag("benchmark")
+class OnbidSearchIndexBenchmark {
+
+	private static final int DOCS = 120_000;
+	private static final int ROUNDS = 2_000;
+	private static final String[] QUERIES = { "아파트", "역삼동", "강남구 아파트", "해운대", "소나타", "답", "전라남도 임야" };
+
+	private static final String[] SIDO = { "서울특별시", "부산광역시", "경기도", "전라남도", "경상북도", "강원특별자치도" };
+	private static final String[] SGK = { "강남구", "해운대구", "성남시 분당구", "순천시", "포항시 남구", "춘천시", "수원시 팔달구" };
+	private static final String[] EMD = { "역삼동", "우동", "정자동", "조례동", "대잠동", "효자동", "인계동", "중동" };
+	private static final String[] KIND = { "아파트", "다세대주택", "근린생활시설", "대지", "임야", "전", "답", "상가", "오피스텔" };
+	private static final String[] CAR = { "소나타", "그랜저", "BMW 520d", "포터2", "카니발" };
+
+	@Test
+	void scanVersusIndex() {
+		List<OnbidSearchIndex.Doc> docs = synthetic(new Random(42));
+
+		long t0 = System.nanoTime();
+		OnbidSearchIndex index = OnbidSearchIndex.build("run-1", docs);
+		long buildMillis = (System.nanoTime() - t0) / 1_000_000;
+
+		// 1% 변경 후 갱신 (추가 세그먼트만 색인)
+		List<OnbidSearchIndex.Doc> next = new ArrayList<>(docs);
+		Random random = new Random(7);
+		for (int i = 0; i < DOCS / 100; i++) {
+			int at = random.nextInt(DOCS);
+			OnbidSearchIndex.Doc d = next.get(at);
+			next.set(at, new OnbidSearchIndex.Doc(d.cltrMnmtNo(), d.cltrHstrNo(), d.contentHash() + 1,
+					d.cltrNm() + " 재공고", d.goodsNm(), d.ldnmAdrs(), d.nmrdAdrs()));
+		}
+		t0 = System.nanoTime();
+		OnbidSearchIndex updated = index.update("run-2", next);
+		long updateMillis = (System.nanoTime() - t0) / 1_000_000;
+
+		System.out.printf("docs: %,d, build %,d ms, 1%% update %,d ms (delta %,d), index %,d KB%n", DOCS, buildMillis,
+				updateMillis, updated.deltaSize(), updated.indexBytes() / 1024);
+		for (String query : QUERIES) {
+			assertEquals(scan(docs, query), index.search(query, 20).total(), query);
+			long scanNanos = time(() -> scan(docs, query), 20);
+			long indexNanos = time(() -> index.search(query, 20).total(), ROUNDS);
+			System.out.printf("%-10s hits %,7d  scan %,8d us  index %,6d us%n", query, index.search(query, 20).total(),
+					scanNanos / 1000, indexNanos / 1000);
+		}
+	}
+
+	private interface Run {
+		int run();
+	}
+
+	// 중앙값 (ns)
+	private static long time(Run run, int rounds) {
+		for (int i = 0; i < Math.max(5, rounds / 10); i++) {
+			run.run();
+		}
+		long[] samples = new long[rounds];
+		for (int i = 0; i < rounds; i++) {
+			long t0 = System.nanoTime();
+			run.run();
+			samples[i] = System.nanoTime() - t0;
+		}
+		Arrays.sort(samples);
+		return samples[rounds / 2];
+	}
+
+	// 네 필드 중 하나에 모든 검색어가 포함된 물건 수 (대소문자 무시)
+	private static int scan(List<OnbidSearchIndex.Doc> docs, String query) {
+		String[] terms = OnbidSearchIndex.terms(query);
+		int count = 0;
+		for (OnbidSearchIndex.Doc doc : docs) {
+			boolean all = true;
+			for (String term : terms) {
+				boolean found = false;
+				for (int f = 0; f < 4 && !found; f++) {
+					String text = doc.field(f);
+					found = text != null && text.toLowerCase().contains(term);
+				}
+				if (!found) {
+					all = false;
+					break;
+				}
+			}
+			if (all) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static List<OnbidSearchIndex.Doc> synthetic(Random random) {
+		List<OnbidSearchIndex.Doc> docs = new ArrayList<>(DOCS);
+		for (int i = 0; i < DOCS; i++) {
+			String address = pick(random, SIDO) + " " + pick(random, SGK) + " " + pick(random, EMD) + " "
+					+ (1 + random.nextInt(999)) + "-" + (1 + random.nextInt(30));
+			boolean car = random.nextInt(10) == 0;
+			String goods = car ? pick(random, CAR) : null;
+			String name = car ? goods + " " + (2010 + random.nextInt(15)) + "년식"
+					: address.substring(address.indexOf(' ') + 1) + " " + pick(random, KIND);
+			docs.add(new OnbidSearchIndex.Doc(String.format("2025-%07d-001", i), "1", i, name, goods, address,
+					car ? null : address.substring(0, address.indexOf(' ')) + " 도로명 " + random.nextInt(300) + "번길"));
+		}
+		return docs;
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+}
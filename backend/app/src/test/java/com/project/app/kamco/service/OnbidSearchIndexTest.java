@@ -0,0 +1,64 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OnbidSearchIndexTest {
+
+	private final List<OnbidSearchIndex.Doc> docs = new ArrayList<>(List.of(
+			doc("M1", 1, "강남구 역삼동 아파트", null, "서울특별시 강남구 역삼동 123", "서울특별시 강남구 테헤란로 1"),
+			doc("M2", 1, "BMW 520d 승용차", "BMW 520d", "경기도 성남시 분당구", null),
+			doc("M3", 1, "전답", null, "전라남도 강진군 남구리 5", "전라남도 강진군 강진읍 진읍리 5"),
+			doc("M4", 1, "상가", null, "부산광역시 해운대구 우동 9", "부산광역시 해운대구 아파트로 3")));
+
+	@Test
+	void findsSubstringsAcrossFieldsRankedByField() {
+		OnbidSearchIndex index = OnbidSearchIndex.build("run-1", docs);
+
+		assertEquals(List.of("M1", "M4"), keys(index.search("아파트", 10))); // 물건명 > 도로명주소
+		assertEquals(List.of("M1"), keys(index.search("역삼 강남구", 10))); // 모든 검색어 포함
+		assertEquals(List.of("M2"), keys(index.search("bmw 520", 10))); // 대소문자 무시
+		assertEquals(List.of("M3"), keys(index.search("답", 10))); // 한 글자
+		assertEquals(0, index.search("강남구역삼동", 10).total()); // 공백을 건너 이어 붙이지 않음
+		assertEquals(0, index.search("강진읍리", 10).total()); // trigram(강진읍, 진읍리)은 있지만 이어지지 않음
+	}
+
+	@Test
+	void limitsHitsButCountsAll() {
+		OnbidSearchIndex.Result result = OnbidSearchIndex.build("run-1", docs).search("구", 1);
+
+		assertEquals(4, result.total());
+		assertEquals(List.of("M1"), keys(result));
+	}
+
+	@Test
+	void updatesOnlyChangedItems() {
+		OnbidSearchIndex index = OnbidSearchIndex.build("run-1", docs);
+
+		docs.set(0, doc("M1", 2, "강남구 역삼동 오피스텔", null, "서울특별시 강남구 역삼동 123", null)); // 내용 변경
+		docs.remove(3); // M4 삭제
+		docs.add(doc("M5", 1, "해운대 아파트", null, "부산광역시 해운대구 중동 1", null)); // 신규
+		OnbidSearchIndex updated = index.update("run-2", docs);
+
+		assertEquals("run-2", updated.version());
+		assertEquals(4, updated.size());
+		assertEquals(2, updated.deltaSize());
+		assertEquals(List.of("M5"), keys(updated.search("아파트", 10)));
+		assertEquals(List.of("M1"), keys(updated.search("오피스텔", 10)));
+		assertEquals(List.of("M5"), keys(updated.search("해운대구", 10))); // 삭제된 M4 제외
+		assertEquals(List.of("M1", "M4"), keys(index.search("아파트", 10))); // 이전 색인은 그대로
+	}
+
+	private static List<String> keys(OnbidSearchIndex.Result result) {
+		return result.hits().stream().map(hit -> hit.doc().cltrMnmtNo()).toList();
+	}
+
+	private static OnbidSearchIndex.Doc doc(String mnmtNo, long hash, String cltrNm, String goodsNm, String ldnmAdrs,
+			String nmrdAdrs) {
+		return new OnbidSearchIndex.Doc(mnmtNo, "1", hash, cltrNm, goodsNm, ldnmAdrs, nmrdAdrs);
+	}
+}
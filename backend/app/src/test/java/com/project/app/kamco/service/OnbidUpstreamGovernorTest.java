@@ -0,0 +1,92 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class OnbidUpstreamGovernorTest {
+
+	// rate 100/s, burst 1, 재시도 3회, 백오프 최대 5ms, 화면 조회 대기 한도 50ms, 연속 실패 5회면 회로 30초 열림
+	private final OnbidUpstreamGovernor governor = new OnbidUpstreamGovernor(100, 1, 1, 3, 1, 5, 50, 5, 30000);
+
+	@Test
+	void retriesThrottledCallsAndLowersRate() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		String body = governor.execute(OnbidUpstreamGovernor.Priority.BATCH, () -> {
+			if (attempts.incrementAndGet() < 3) {
+				OnbidUpstreamGovernor.checkResultCode(
+						"<response><header><resultCode>22</resultCode></header></response>");
+			}
+			return "ok";
+		});
+
+		assertEquals("ok", body);
+		assertEquals(3, attempts.get());
+		OnbidUpstreamGovernor.Stats stats = governor.stats();
+		assertEquals(2, stats.throttled());
+		assertEquals(2, stats.retries());
+		assertTrue(stats.currentRate() < 100, "한도 초과 후 속도가 낮아져야 함: " + stats.currentRate());
+	}
+
+	@Test
+	void doesNotRetryClientErrors() {
+		AtomicInteger attempts = new AtomicInteger();
+		assertThrows(OnbidUpstreamException.class, () -> governor.execute(OnbidUpstreamGovernor.Priority.BATCH, () -> {
+			attempts.incrementAndGet();
+			throw new OnbidUpstreamException("bad request", 400, null, false);
+		}));
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	void rejectsInteractiveCallsThatWouldWaitTooLong() throws Exception {
+		OnbidUpstreamGovernor slow = new OnbidUpstreamGovernor(0.1, 0.1, 1, 0, 1, 5, 50, 5, 30000);
+		slow.execute(OnbidUpstreamGovernor.Priority.INTERACTIVE, () -> "first"); // 적립된 토큰 1개 사용
+
+		OnbidUpstreamException e = assertThrows(OnbidUpstreamException.class,
+				() -> slow.execute(OnbidUpstreamGovernor.Priority.INTERACTIVE, () -> "second"));
+		assertTrue(e.isThrottled());
+		assertEquals(1, slow.stats().rejected());
+	}
+
+	@Test
+	void opensCircuitAfterConsecutiveFailuresAndClosesOnProbe() throws Exception {
+		// 연속 실패 2회면 100ms 동안 열림
+		OnbidUpstreamGovernor breaker = new OnbidUpstreamGovernor(100, 1, 1, 1, 1, 5, 50, 2, 100);
+		AtomicInteger calls = new AtomicInteger();
+		assertThrows(OnbidUpstreamException.class, () -> breaker.execute(OnbidUpstreamGovernor.Priority.BATCH, () -> {
+			calls.incrementAndGet();
+			throw new OnbidUpstreamException("server error", 503, null, false);
+		}));
+		assertEquals(2, calls.get());
+		assertEquals(OnbidUpstreamGovernor.CircuitState.OPEN, breaker.circuitState());
+
+		OnbidUpstreamException e = assertThrows(OnbidUpstreamException.class,
+				() -> breaker.execute(OnbidUpstreamGovernor.Priority.INTERACTIVE, calls::incrementAndGet));
+		assertEquals(503, e.getStatusCode());
+		assertEquals(2, calls.get()); // 열린 동안은 호출하지 않음
+		assertEquals(1, breaker.stats().circuitRejected());
+
+		Thread.sleep(120);
+		assertEquals(3, breaker.execute(OnbidUpstreamGovernor.Priority.INTERACTIVE, calls::incrementAndGet));
+		assertEquals(OnbidUpstreamGovernor.CircuitState.CLOSED, breaker.circuitState());
+	}
+
+	@Test
+	void prefetchOnlyUsesSpareTokens() throws Exception {
+		OnbidUpstreamGovernor slow = new OnbidUpstreamGovernor(0.1, 0.1, 1, 3, 1, 5, 50, 5, 30000);
+		assertTrue(slow.hasSpareCapacity());
+		assertEquals("first", slow.execute(OnbidUpstreamGovernor.Priority.PREFETCH, () -> "first"));
+
+		assertTrue(!slow.hasSpareCapacity());
+		OnbidUpstreamException e = assertThrows(OnbidUpstreamException.class,
+				() -> slow.execute(OnbidUpstreamGovernor.Priority.PREFETCH, () -> "second"));
+		assertTrue(e.isThrottled());
+		assertEquals(1, slow.stats().prefetchCalls());
+		assertEquals(1, slow.stats().prefetchRejected());
+	}
+}
@@ -0,0 +1,142 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * 온비드 페이지 파싱 성능 비교 (기존 DOM + getElementsByTagName 방식 vs StAX 스트리밍)
+ *
+ * 실행: ./gradlew benchmark -PonbidBenchFile=/path/to/recorded-page.xml
+ * - 파일을 지정하지 않으면 10,000건짜리 합성 페이지로 측정합니다
+ */
+@Tag("benchmark")
+class OnbidXmlParseBenchmark {
+
+	private static final String[] FIELDS = { "RNUM", "PLNM_NO", "PBCT_NO", "PBCT_CDTN_NO", "CLTR_NO", "CLTR_HSTR_NO",
+			"SCRN_GRP_CD", "CTGR_FULL_NM", "BID_MNMT_NO", "CLTR_NM", "CLTR_MNMT_NO", "LDNM_ADRS", "NMRD_ADRS",
+			"LDNM_PNU", "DPSL_MTD_CD", "DPSL_MTD_NM", "BID_MTD_NM", "MIN_BID_PRC", "APSL_ASES_AVG_AMT", "FEE_RATE",
+			"PBCT_BEGN_DTM", "PBCT_CLS_DTM", "PBCT_CLTR_STAT_NM", "USCBD_CNT", "IQRY_CNT", "GOODS_NM", "MANF", "MDL",
+			"NRGT", "GRBX", "ENDPC", "VHCL_MLGE", "FUEL", "SCRT_NM", "TPBZ", "ITM_NM", "MMB_RGT_NM" };
+
+	private static final int WARMUP = 3;
+	private static final int ROUNDS = 5;
+
+	@Test
+	void domVersusStax() throws Exception {
+		byte[] page = loadPage();
+		OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+		int expected = parseWithStax(parser, page);
+		assertEquals(expected, parseWithDom(page));
+
+		System.out.printf("page: %,d bytes, %,d items%n", page.length, expected);
+		report("DOM ", () -> parseWithDom(page));
+		report("StAX", () -> parseWithStax(parser, page));
+	}
+
+	private interface ParseRun {
+		int run() throws Exception;
+	}
+
+	private void report(String name, ParseRun run) throws Exception {
+		for (int i = 0; i < WARMUP; i++) {
+			run.run();
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long tid = Thread.currentThread().threadId();
+		long bestNanos = Long.MAX_VALUE;
+		long allocated = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long allocBefore = threadBean.getThreadAllocatedBytes(tid);
+			long t0 = System.nanoTime();
+			run.run();
+			bestNanos = Math.min(bestNanos, System.nanoTime() - t0);
+			allocated = threadBean.getThreadAllocatedBytes(tid) - allocBefore;
+		}
+		System.out.printf("%s: best %,d ms, allocated %,d KB per page%n", name, bestNanos / 1_000_000,
+				allocated / 1024);
+	}
+
+	private int parseWithStax(OnbidXmlStreamParser parser, byte[] page) throws Exception {
+		return parser.parse(new ByteArrayInputStream(page), item -> {
+		}).itemCount();
+	}
+
+	// 기존 OnbidBatchApp.parseXmlToList 와 동일한 접근 방식 (필드마다 getElementsByTagName)
+	private int parseWithDom(byte[] page) throws Exception {
+		String xml = new String(page, StandardCharsets.UTF_8);
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+				.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+		doc.getDocumentElement().normalize();
+		NodeList items = doc.getElementsByTagName("item");
+		int count = 0;
+		for (int i = 0; i < items.getLength(); i++) {
+			Element e = (Element) items.item(i);
+			for (String field : FIELDS) {
+				NodeList nodes = e.getElementsByTagName(field);
+				if (nodes.getLength() > 0 && nodes.item(0).getFirstChild() != null) {
+					nodes.item(0).getTextContent().trim();
+				}
+			}
+			NodeList images = e.getElementsByTagName("CLTR_IMG_FILE");
+			for (int k = 0; k < images.getLength(); k++) {
+				images.item(k).getTextContent().trim();
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private byte[] loadPage() throws Exception {
+		String file = System.getProperty("onbid.bench.file", "");
+		if (!file.isBlank()) {
+			return Files.readAllBytes(Path.of(file));
+		}
+		return syntheticPage(10_000).getBytes(StandardCharsets.UTF_8);
+	}
+
+	static String syntheticPage(int itemCount) {
+		StringBuilder sb = new StringBuilder(itemCount * 2048);
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><response><header><resultCode>00</resultCode>")
+				.append("<resultMsg>NORMAL SERVICE.</resultMsg></header><body><items>");
+		for (int i = 0; i < itemCount; i++) {
+			sb.append("<item>");
+			for (String field : FIELDS) {
+				sb.append('<').append(field).append('>');
+				switch (field) {
+					case "RNUM" -> sb.append(i + 1);
+					case "CLTR_MNMT_NO" -> sb.append("2024-").append(10000 + i).append("-001");
+					case "CLTR_HSTR_NO" -> sb.append(3000000 + i);
+					case "CLTR_NM" -> sb.append("서울특별시 강남구 역삼동 ").append(i).append("번지 근린생활시설");
+					case "LDNM_ADRS", "NMRD_ADRS" -> sb.append("서울특별시 강남구 테헤란로 ").append(i);
+					case "MIN_BID_PRC", "APSL_ASES_AVG_AMT" -> sb.append(100_000_000L + i * 1000L);
+					case "PBCT_BEGN_DTM", "PBCT_CLS_DTM" -> sb.append("202410011000");
+					default -> sb.append("값").append(field);
+				}
+				sb.append("</").append(field).append('>');
+			}
+			sb.append("<CLTR_IMG_FILES>");
+			for (int k = 0; k < 3; k++) {
+				sb.append("<CLTR_IMG_FILE>https://www.onbid.co.kr/op/common/downloadFile.do?fileNo=").append(i)
+						.append('_').append(k).append("</CLTR_IMG_FILE>");
+			}
+			sb.append("</CLTR_IMG_FILES></item>");
+		}
+		sb.append("</items><numOfRows>").append(itemCount).append("</numOfRows><pageNo>1</pageNo><totalCount>")
+				.append(itemCount).append("</totalCount></body></response>");
+		return sb.toString();
+	}
+}
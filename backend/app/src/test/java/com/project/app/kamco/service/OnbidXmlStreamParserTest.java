@@ -0,0 +1,132 @@
+package com.project.app.kamco.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.app.kamco.dto.OnbidItem;
+import com.project.app.kamco.dto.OnbidListItem;
+
+class OnbidXmlStreamParserTest {
+
+	private final OnbidXmlStreamParser parser = new OnbidXmlStreamParser();
+
+	private static final String PAGE = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<response>
+			  <header><resultCode>00</resultCode><resultMsg>NORMAL SERVICE.</resultMsg></header>
+			  <body>
+			    <items>
+			      <item>
+			        <RNUM>1</RNUM>
+			        <CLTR_MNMT_NO>2024-01234-001</CLTR_MNMT_NO>
+			        <CLTR_HSTR_NO>1234567</CLTR_HSTR_NO>
+			        <CLTR_NM> 서울특별시 강남구 역삼동 아파트 </CLTR_NM>
+			        <MIN_BID_PRC>150000000</MIN_BID_PRC>
+			        <APSL_ASES_AVG_AMT>210,000,000원</APSL_ASES_AVG_AMT>
+			        <FEE_RATE>(10%)</FEE_RATE>
+			        <PBCT_BEGN_DTM>202410011000</PBCT_BEGN_DTM>
+			        <USCBD_CNT></USCBD_CNT>
+			        <GOODS_NM></GOODS_NM>
+			        <CLTR_IMG_FILES>
+			          <CLTR_IMG_FILE>https://www.onbid.co.kr/a.jpg</CLTR_IMG_FILE>
+			          <CLTR_IMG_FILE>invalid</CLTR_IMG_FILE>
+			          <CLTR_IMG_FILE>http://www.onbid.co.kr/b.jpg</CLTR_IMG_FILE>
+			        </CLTR_IMG_FILES>
+			      </item>
+			      <item>
+			        <RNUM>2</RNUM>
+			        <CLTR_MNMT_NO>2024-01234-002</CLTR_MNMT_NO>
+			        <CLTR_NM><![CDATA[A&B 창고]]></CLTR_NM>
+			      </item>
+			    </items>
+			    <numOfRows>10</numOfRows>
+			    <pageNo>1</pageNo>
+			    <totalCount>2</totalCount>
+			  </body>
+			</response>
+			""";
+
+	@Test
+	void parsesItemsImagesAndSummary() throws Exception {
+		List<OnbidItem> items = new ArrayList<>();
+		OnbidXmlStreamParser.PageSummary summary = parser.parse(
+				new ByteArrayInputStream(PAGE.strip().getBytes(StandardCharsets.UTF_8)), items::add);
+
+		assertEquals(2, summary.itemCount());
+		assertEquals(2, summary.totalCount());
+		assertEquals("00", summary.resultCode());
+		assertEquals(2, items.size());
+
+		OnbidItem first = items.get(0);
+		assertEquals("2024-01234-001", first.CLTR_MNMT_NO);
+		assertEquals("1234567", first.CLTR_HSTR_NO);
+		assertEquals("서울특별시 강남구 역삼동 아파트", first.CLTR_NM);
+		assertEquals(150000000L, first.MIN_BID_PRC);
+		assertEquals(210000000L, first.APSL_ASES_AVG_AMT);
+		assertEquals(new BigDecimal("10"), first.FEE_RATE);
+		assertEquals(LocalDateTime.of(2024, 10, 1, 10, 0), first.PBCT_BEGN_DTM);
+		assertNull(first.USCBD_CNT);
+		assertNull(first.GOODS_NM);
+		assertEquals(List.of("https://www.onbid.co.kr/a.jpg", "http://www.onbid.co.kr/b.jpg"), first.imageUrls);
+		// 해시 계산이 바뀌면 증분 적재가 전체를 변경으로 봅니다. 마지막 변경은 숫자/일시 원문(*_TXT)을 넣은 sql/12
+		assertEquals(0xd8bfaa06832ffe6dL, first.CONTENT_HASH);
+
+		OnbidItem second = items.get(1);
+		assertEquals("A&B 창고", second.CLTR_NM);
+		assertNull(second.CLTR_HSTR_NO);
+		assertEquals(List.of(), second.imageUrls);
+		assertEquals(0x4aa9719a24b5143eL, second.CONTENT_HASH);
+	}
+
+	@Test
+	void parsesListItemsAsRawStrings() throws Exception {
+		OnbidXmlStreamParser.ListPage page = parser.parseList(
+				new ByteArrayInputStream(PAGE.strip().getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(2, page.totalCount());
+		assertEquals("00", page.resultCode());
+		assertEquals(2, page.items().size());
+
+		OnbidListItem first = page.items().get(0);
+		assertEquals("2024-01234-001", first.cltrMnmtNo());
+		assertEquals("서울특별시 강남구 역삼동 아파트", first.cltrNm());
+		assertEquals("210,000,000원", first.apslAsesAvgAmt());
+		assertEquals("(10%)", first.feeRate());
+		assertEquals("", first.goodsNm()); // 빈 태그
+		assertNull(first.manf()); // 없는 태그
+
+		assertEquals("A&B 창고", page.items().get(1).cltrNm());
+	}
+
+	@Test
+	void emptyPageReturnsZeroItems() throws Exception {
+		String xml = "<response><header><resultCode>00</resultCode></header>"
+				+ "<body><items/><totalCount>0</totalCount></body></response>";
+		List<OnbidItem> items = new ArrayList<>();
+		OnbidXmlStreamParser.PageSummary summary = parser.parse(
+				new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), items::add);
+
+		assertEquals(0, summary.itemCount());
+		assertEquals(0, summary.totalCount());
+		assertEquals(0, items.size());
+	}
+
+	@Test
+	void peeksTotalCountFromTail() throws Exception {
+		assertEquals(2, parser.peekTotalCount(PAGE.strip().getBytes(StandardCharsets.UTF_8)));
+
+		// totalCount 가 뒤쪽에 없으면 전체 파싱으로 확인
+		String padded = "<response><body><totalCount>7</totalCount><items>" + "<item><RNUM>1</RNUM></item>".repeat(50)
+				+ "</items></body></response>";
+		assertEquals(7, parser.peekTotalCount(padded.getBytes(StandardCharsets.UTF_8)));
+	}
+}
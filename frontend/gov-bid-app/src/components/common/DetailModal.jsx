@@ -1,7 +1,7 @@
 // src/components/common/DetailModal.jsx
 import React, { useState, useEffect, useCallback, useRef } from 'react';
 import api from '../../api';
-import { formatCurrency, formatBidAmountInput, getImageUrls } from '../../util/formatters';
+import { formatCurrency, formatBidAmountInput } from '../../util/formatters';
 import '../../css/DetailModal.css';
 
 const MESSAGES = {
@@ -21,6 +21,7 @@ const DetailModal = ({ isOpen, onClose, item, openPage, onSearch }) => {
     const [isFavorite, setIsFavorite] = useState(false);
     const [isBid, setIsBid] = useState(false);
     const [auctionItems, setAuctionItems] = useState([]);
+    const [itemImages, setItemImages] = useState([]); // 📢 상세 조회 시에만 따로 불러오는 이미지 목록
 
     const [isLoadingMyData, setIsLoadingMyData] = useState(true);
     const [isLoadingAuctionData, setIsLoadingAuctionData] = useState(false);
@@ -44,9 +45,6 @@ const DetailModal = ({ isOpen, onClose, item, openPage, onSearch }) => {
     const hasFetchedMyDataRef = useRef(false);
     const hasFetchedAuctionDataRef = useRef(false);
 
-    // currentItem이 변경될 때마다 imageUrls 갱신
-    const imageUrls = getImageUrls(currentItem?.cltrImgFiles);
-
     // 📢 prop 'item'이 변경될 때 currentItem을 업데이트하고 관련 상태를 초기화합니다.
     // 이 useEffect는 오직 prop 'item'이 변경될 때만 실행됩니다.
     // 여기서 API 호출 플래그도 초기화하여 새 item이 오면 다시 API를 호출할 수 있도록 합니다.
@@ -175,6 +173,30 @@ const DetailModal = ({ isOpen, onClose, item, openPage, onSearch }) => {
     }, [setCurrentItem]); // 📢 의존성: setCurrentItem (setItemToFetch 제거)
 
 
+    // ===============================================
+    // ==== (3) 백엔드 API (onbid/items/.../images) 호출: 목록 응답에 없는 이미지 목록 조회 ====
+    // 물건 식별자(물건관리번호 + 이력번호)가 바뀔 때만 다시 호출합니다.
+    const imageMnmtNo = isOpen ? currentItem?.cltrMnmtNo : null;
+    const imageHstrNo = isOpen ? currentItem?.cltrHstrNo : null;
+    useEffect(() => {
+        setItemImages([]);
+        if (!imageMnmtNo || !imageHstrNo) {
+            return;
+        }
+        let cancelled = false;
+        api.get(`/onbid/items/${encodeURIComponent(imageMnmtNo)}/${encodeURIComponent(imageHstrNo)}/images`)
+            .then((response) => {
+                if (!cancelled) {
+                    setItemImages(response.data || []);
+                }
+            })
+            .catch((err) => console.error("물건 이미지 로드 중 오류 발생:", err));
+        return () => {
+            cancelled = true;
+        };
+    }, [imageMnmtNo, imageHstrNo]);
+
+
     // 📢 모든 API 호출을 제어하는 주 useEffect
     // 이 useEffect는 모달의 열림 상태와 현재 아이템이 유효한지 여부를 주로 감시합니다.
     useEffect(() => {
@@ -431,9 +453,9 @@ const DetailModal = ({ isOpen, onClose, item, openPage, onSearch }) => {
                                 <td className="detail-table-label">이미지</td>
                                 <td className="detail-table-value" colSpan="3">
                                     <div className="detail-image-grid">
-                                        {/* 📢 currentItem.imageLinks가 배열이고 내용이 있을 때만 map 함수 호출 */}
-                                        {currentItem.imageLinks && currentItem.imageLinks.length > 0 ? (
-                                            currentItem.imageLinks.map((linkInfo, idx) => (
+                                        {/* 📢 itemImages(상세 조회 시 불러온 이미지)가 있을 때만 map 함수 호출 */}
+                                        {itemImages.length > 0 ? (
+                                            itemImages.map((linkInfo, idx) => (
                                                 <a
                                                     key={idx}
                                                     href={linkInfo.url} // linkInfo 객체의 url 속성을 사용